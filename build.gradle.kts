@@ -18,6 +18,7 @@ buildscript {
 plugins {
     id("com.matthewprenger.cursegradle") version "1.1.0"
     id("maven-publish")
+    id("me.champeau.gradle.jmh") version "0.4.8"
 }
 
 apply {
@@ -114,6 +115,11 @@ tasks.withType<Test>() {
     }
 }
 
+// benchmarks live in src/jmh and reuse the test Bootstrap
+configure<me.champeau.gradle.JMHPluginExtension> {
+    isIncludeTests = true
+}
+
 val sourceTask: Jar = tasks.create("source", Jar::class.java) {
     from(sourceSets["main"].allSource)
     classifier = "sources"
@@ -0,0 +1,34 @@
+package gregtech;
+
+import gregtech.api.GregTechAPI;
+import gregtech.api.unification.material.Material;
+import gregtech.api.unification.ore.OrePrefix;
+import gregtech.loaders.recipe.chemistry.ReactorRecipes;
+import gregtech.loaders.recipe.handlers.RecipeHandlerList;
+
+/**
+ * Bootstraps like the tests do, then fills the RecipeMaps with real recipes:
+ * everything the ore prefix handlers generate for the registered materials, plus the chemical reactor recipes.
+ */
+public class BenchmarkBootstrap {
+
+    private static boolean recipesLoaded = false;
+
+    public static void loadRecipes() {
+        if (recipesLoaded) {
+            return;
+        }
+        Bootstrap.perform();
+        RecipeHandlerList.register();
+        for (Material material : GregTechAPI.MATERIAL_REGISTRY) {
+            for (OrePrefix orePrefix : OrePrefix.values()) {
+                if (orePrefix.doGenerateItem(material)) {
+                    orePrefix.processOreRegistration(material);
+                }
+            }
+        }
+        OrePrefix.runMaterialHandlers();
+        ReactorRecipes.init();
+        recipesLoaded = true;
+    }
+}
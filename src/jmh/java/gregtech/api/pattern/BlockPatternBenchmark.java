@@ -0,0 +1,122 @@
+package gregtech.api.pattern;
+
+import gregtech.Bootstrap;
+import gregtech.api.GregTechAPI;
+import gregtech.api.metatileentity.MetaTileEntity;
+import gregtech.api.metatileentity.interfaces.IGregTechTileEntity;
+import gregtech.api.metatileentity.multiblock.MultiblockControllerBase;
+import gregtech.api.util.BlockInfo;
+import gregtech.api.util.world.DummyWorld;
+import gregtech.common.blocks.MetaBlocks;
+import gregtech.common.metatileentities.MetaTileEntities;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks the structures of the 4 largest registered multiblocks which form from their first JEI preview shape.
+ * <p>
+ * {@code scan} clears the pattern cache before every check, so every block of the structure is tested by its predicate.
+ * {@code cached} keeps the cache, so every check only compares the cached blocks against the world.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlockPatternBenchmark {
+
+    private static final int STRUCTURES = 4;
+
+    @Param({"scan", "cached"})
+    public String check;
+
+    private DummyWorld world;
+    private final List<MultiblockControllerBase> controllers = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        Bootstrap.perform();
+        MetaBlocks.init();
+        MetaTileEntities.init();
+        world = new DummyWorld();
+
+        List<MultiblockShapeInfo> shapes = new ArrayList<>();
+        for (MetaTileEntity metaTileEntity : GregTechAPI.MTE_REGISTRY) {
+            if (metaTileEntity instanceof MultiblockControllerBase) {
+                List<MultiblockShapeInfo> matchingShapes = ((MultiblockControllerBase) metaTileEntity).getMatchingShapes();
+                if (!matchingShapes.isEmpty()) {
+                    shapes.add(matchingShapes.get(0));
+                }
+            }
+        }
+        shapes.sort(Comparator.comparingInt(BlockPatternBenchmark::countBlocks).reversed());
+
+        // every structure gets its own place in the world, 64 blocks apart
+        for (MultiblockShapeInfo shape : shapes) {
+            MultiblockControllerBase controller = place(shape, new BlockPos(controllers.size() * 64, 64, 0));
+            if (controller != null && controller.structurePattern.checkPatternFastAt(world, controller.getPos(), controller.getFrontFacing().getOpposite()) != null) {
+                controllers.add(controller);
+                if (controllers.size() == STRUCTURES) {
+                    break;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public int checkStructures() {
+        int formed = 0;
+        for (MultiblockControllerBase controller : controllers) {
+            if (check.equals("scan")) {
+                controller.structurePattern.clearCache();
+            }
+            if (controller.structurePattern.checkPatternFastAt(world, controller.getPos(), controller.getFrontFacing().getOpposite()) != null) {
+                formed++;
+            }
+        }
+        return formed;
+    }
+
+    private MultiblockControllerBase place(MultiblockShapeInfo shape, BlockPos origin) {
+        MultiblockControllerBase controller = null;
+        BlockInfo[][][] blocks = shape.getBlocks();
+        for (int x = 0; x < blocks.length; x++) {
+            for (int y = 0; y < blocks[x].length; y++) {
+                for (int z = 0; z < blocks[x][y].length; z++) {
+                    BlockInfo info = blocks[x][y][z];
+                    info.apply(world, origin.add(x, y, z));
+                    if (info.getTileEntity() instanceof IGregTechTileEntity &&
+                            ((IGregTechTileEntity) info.getTileEntity()).getMetaTileEntity() instanceof MultiblockControllerBase) {
+                        controller = (MultiblockControllerBase) ((IGregTechTileEntity) info.getTileEntity()).getMetaTileEntity();
+                    }
+                }
+            }
+        }
+        if (controller != null) {
+            // the pattern was created before the controller had a world
+            controller.reinitializeStructurePattern();
+        }
+        return controller;
+    }
+
+    private static int countBlocks(MultiblockShapeInfo shape) {
+        int count = 0;
+        for (BlockInfo[][] aisle : shape.getBlocks()) {
+            for (BlockInfo[] column : aisle) {
+                for (BlockInfo info : column) {
+                    if (info.getBlockState().getBlock() != Blocks.AIR) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+}
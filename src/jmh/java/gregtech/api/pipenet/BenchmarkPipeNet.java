@@ -0,0 +1,83 @@
+package gregtech.api.pipenet;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * A pipe net without node data or world, for benchmarking the net structure itself.
+ * Can rebuild on node removal with the former implementation, which searched the whole net from every neighbour.
+ */
+public class BenchmarkPipeNet extends PipeNet<Object> {
+
+    private final boolean flood;
+
+    public BenchmarkPipeNet(WorldNet world) {
+        super(world);
+        this.flood = world.flood;
+    }
+
+    @Override
+    protected void rebuildNetworkOnNodeRemoval(BlockPos nodePos, Node<Object> selfNode) {
+        if (!flood) {
+            super.rebuildNetworkOnNodeRemoval(nodePos, selfNode);
+            return;
+        }
+        int amountOfConnectedSides = 0;
+        for (EnumFacing facing : EnumFacing.VALUES) {
+            if (containsNode(nodePos.offset(facing)))
+                amountOfConnectedSides++;
+        }
+        if (amountOfConnectedSides >= 2) {
+            for (EnumFacing facing : EnumFacing.VALUES) {
+                BlockPos offsetPos = nodePos.offset(facing);
+                Node<Object> secondNode = getNodeAt(offsetPos);
+                if (secondNode == null || !canNodesConnect(selfNode, facing, secondNode, this)) {
+                    continue;
+                }
+                Long2ObjectOpenHashMap<Node<Object>> thisENet = findAllConnectedBlocks(offsetPos);
+                if (getAllNodes().size() == thisENet.size()) {
+                    break;
+                }
+                PipeNet<Object> newPipeNet = worldData.createNetInstance();
+                removeNodesWithoutRebuilding(thisENet.keySet());
+                newPipeNet.transferNodeData(thisENet, this);
+                worldData.addPipeNet(newPipeNet);
+            }
+        }
+        if (getAllNodes().isEmpty()) {
+            worldData.removePipeNet(this);
+        }
+        onNodeConnectionsUpdate();
+        worldData.markDirty();
+    }
+
+    @Override
+    protected void writeNodeData(Object nodeData, NBTTagCompound tagCompound) {
+    }
+
+    @Override
+    protected Object readNodeData(NBTTagCompound tagCompound) {
+        return new Object();
+    }
+
+    public static class WorldNet extends WorldPipeNet<Object, BenchmarkPipeNet> {
+
+        private final boolean flood;
+
+        public WorldNet(boolean flood) {
+            super("benchmark");
+            this.flood = flood;
+        }
+
+        public int getNetCount() {
+            return pipeNets.size();
+        }
+
+        @Override
+        protected BenchmarkPipeNet createNetInstance() {
+            return new BenchmarkPipeNet(this);
+        }
+    }
+}
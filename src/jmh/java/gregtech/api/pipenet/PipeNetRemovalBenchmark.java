@@ -0,0 +1,76 @@
+package gregtech.api.pipenet;
+
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removes 100 random nodes from a net of about 50k nodes.
+ * <p>
+ * {@code grid} is a 37x37x37 cube, where no removal splits the net. {@code comb} is a spine with 224 teeth of 223
+ * nodes, where every removal splits off a part. {@code flood} runs the former rebuild, which searched the whole net
+ * from every neighbour of the removed node, {@code split} only searches until the neighbours meet or a part splits off.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PipeNetRemovalBenchmark {
+
+    private static final int REMOVALS = 100;
+
+    @Param({"grid", "comb"})
+    public String topology;
+
+    @Param({"flood", "split"})
+    public String rebuild;
+
+    private final Random random = new Random(50000);
+    private BenchmarkPipeNet.WorldNet worldNet;
+    private List<BlockPos> removedNodes;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        List<BlockPos> nodes = new ArrayList<>();
+        if (topology.equals("grid")) {
+            for (int x = 0; x < 37; x++) {
+                for (int y = 0; y < 37; y++) {
+                    for (int z = 0; z < 37; z++) {
+                        nodes.add(new BlockPos(x, 64 + y, z));
+                    }
+                }
+            }
+        } else {
+            for (int x = 0; x < 448; x++) {
+                nodes.add(new BlockPos(x, 64, 0));
+                if (x % 2 == 0) {
+                    for (int z = 1; z <= 223; z++) {
+                        nodes.add(new BlockPos(x, 64, z));
+                    }
+                }
+            }
+        }
+        worldNet = new BenchmarkPipeNet.WorldNet(rebuild.equals("flood"));
+        Object nodeData = new Object();
+        for (BlockPos pos : nodes) {
+            worldNet.addNode(pos, nodeData, Node.DEFAULT_MARK, 0b111111, false);
+        }
+        Collections.shuffle(nodes, random);
+        removedNodes = nodes.subList(0, REMOVALS);
+    }
+
+    @Benchmark
+    public int removeNodes() {
+        for (BlockPos pos : removedNodes) {
+            worldNet.removeNode(pos);
+        }
+        return worldNet.getNetCount();
+    }
+}
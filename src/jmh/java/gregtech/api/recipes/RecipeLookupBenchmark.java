@@ -0,0 +1,72 @@
+package gregtech.api.recipes;
+
+import gregtech.BenchmarkBootstrap;
+import gregtech.api.recipes.ingredients.GTRecipeInput;
+import net.minecraft.init.Blocks;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.FluidStack;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link gregtech.api.recipes.map.Branch} trie against the compiled lookup on real RecipeMap contents.
+ * Every invocation searches the inputs of the next recipe of the map, every fourth search is a miss.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecipeLookupBenchmark {
+
+    @Param({"macerator", "chemical_reactor", "assembler"})
+    public String recipeMap;
+
+    @Param({"trie", "compiled"})
+    public String lookup;
+
+    private RecipeMap<?> map;
+    private final List<List<ItemStack>> itemInputs = new ArrayList<>();
+    private final List<List<FluidStack>> fluidInputs = new ArrayList<>();
+    private int next;
+
+    @Setup
+    public void setup() {
+        BenchmarkBootstrap.loadRecipes();
+        map = RecipeMap.getByName(recipeMap);
+        if ("compiled".equals(lookup)) {
+            map.compileLookup();
+        }
+
+        int recipes = 0;
+        for (Recipe recipe : map.getRecipeList()) {
+            List<ItemStack> items = new ArrayList<>();
+            for (GTRecipeInput input : recipe.getInputs()) {
+                ItemStack stack = input.getInputStacks()[0].copy();
+                stack.setCount(Math.max(1, input.getAmount()));
+                items.add(stack);
+            }
+            List<FluidStack> fluids = new ArrayList<>();
+            for (GTRecipeInput input : recipe.getFluidInputs()) {
+                fluids.add(input.getInputFluidStack().copy());
+            }
+            itemInputs.add(items);
+            fluidInputs.add(fluids);
+            if (++recipes % 3 == 0) {
+                itemInputs.add(Collections.singletonList(new ItemStack(Blocks.BEDROCK)));
+                fluidInputs.add(Collections.emptyList());
+            }
+        }
+    }
+
+    @Benchmark
+    public Recipe findRecipe() {
+        int index = next++ % itemInputs.size();
+        return map.findRecipe(Long.MAX_VALUE, itemInputs.get(index), fluidInputs.get(index), Integer.MAX_VALUE);
+    }
+}
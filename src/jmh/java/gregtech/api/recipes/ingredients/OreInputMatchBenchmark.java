@@ -0,0 +1,91 @@
+package gregtech.api.recipes.ingredients;
+
+import gregtech.BenchmarkBootstrap;
+import gregtech.api.recipes.Recipe;
+import gregtech.api.recipes.RecipeMap;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.oredict.OreDictionary;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests the ore dictionary ingredients of the next recipe of the map against every slot of a 16-slot input bus,
+ * like recipe matching does.
+ * <p>
+ * {@code getOreIDs} runs the former implementation of {@link GTRecipeOreInput#acceptsStack}, which scans the ids
+ * returned by {@link OreDictionary#getOreIDs(ItemStack)}. {@code index} tests a bit of the
+ * {@link gregtech.api.unification.OreDictIdIndex}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OreInputMatchBenchmark {
+
+    private static final int SLOTS = 16;
+
+    @Param({"macerator", "chemical_reactor"})
+    public String recipeMap;
+
+    @Param({"getOreIDs", "index"})
+    public String matching;
+
+    private final List<GTRecipeInput[]> oreInputs = new ArrayList<>();
+    private final ItemStack[] bus = new ItemStack[SLOTS];
+    private int next;
+
+    @Setup
+    public void setup() {
+        BenchmarkBootstrap.loadRecipes();
+        List<ItemStack> stacks = new ArrayList<>();
+        for (Recipe recipe : RecipeMap.getByName(recipeMap).getRecipeList()) {
+            List<GTRecipeInput> inputs = new ArrayList<>();
+            for (GTRecipeInput input : recipe.getInputs()) {
+                if (input.isOreDict()) {
+                    inputs.add(input);
+                }
+                if (input.getInputStacks().length > 0) {
+                    stacks.add(input.getInputStacks()[0]);
+                }
+            }
+            if (!inputs.isEmpty()) {
+                oreInputs.add(inputs.toArray(new GTRecipeInput[0]));
+            }
+        }
+        // spread the bus over the ingredients of the whole map, so most tests are misses
+        for (int i = 0; i < SLOTS; i++) {
+            bus[i] = stacks.get(i * stacks.size() / SLOTS).copy();
+        }
+    }
+
+    @Benchmark
+    public int acceptsStack() {
+        GTRecipeInput[] inputs = oreInputs.get(next++ % oreInputs.size());
+        int accepted = 0;
+        for (GTRecipeInput input : inputs) {
+            for (ItemStack stack : bus) {
+                if ("index".equals(matching) ? input.acceptsStack(stack) : acceptsStackGetOreIDs(input, stack)) {
+                    accepted++;
+                }
+            }
+        }
+        return accepted;
+    }
+
+    private static boolean acceptsStackGetOreIDs(GTRecipeInput input, ItemStack stack) {
+        if (stack.isEmpty()) {
+            return false;
+        }
+        for (int i : OreDictionary.getOreIDs(stack)) {
+            if (i == input.getOreDict()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,133 @@
+package gregtech.api.recipes.logic;
+
+import gregtech.Bootstrap;
+import gregtech.api.capability.IMultipleTankHandler;
+import gregtech.api.capability.impl.FluidTankList;
+import gregtech.api.recipes.Recipe;
+import gregtech.api.recipes.RecipeMaps;
+import gregtech.api.recipes.ingredients.GTRecipeInput;
+import gregtech.api.unification.material.Materials;
+import gregtech.api.util.GTHashMaps;
+import gregtech.api.util.GTUtility;
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.FluidTank;
+import net.minecraftforge.items.IItemHandlerModifiable;
+import net.minecraftforge.items.ItemStackHandler;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recipe matching and parallel counting against a full 16-slot input bus.
+ * <p>
+ * {@code copying} runs the former entry points: list wrappers with boxed per-slot amounts for matching,
+ * and the deprecated item and fluid count maps for the multiplier. {@code view} reads the handlers in place through
+ * {@link RecipeMatcher}. Run with {@code -prof gc} to compare the allocation rate of both.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecipeMatchBenchmark {
+
+    @Param({"copying", "view"})
+    public String matching;
+
+    private Recipe recipe;
+    private IItemHandlerModifiable inputs;
+    private IMultipleTankHandler fluidInputs;
+
+    @Setup
+    public void setup() {
+        Bootstrap.perform();
+        recipe = RecipeMaps.ASSEMBLER_RECIPES.recipeBuilder()
+                .inputs(new ItemStack(Items.IRON_INGOT, 4), new ItemStack(Items.REDSTONE, 2), new ItemStack(Blocks.GLASS))
+                .fluidInputs(Materials.Water.getFluid(100))
+                .outputs(new ItemStack(Blocks.PISTON))
+                .EUt(30).duration(100)
+                .build().getResult();
+
+        // fill the bus with unrelated stacks, and put the ingredients in the last slots
+        inputs = new ItemStackHandler(16);
+        for (int i = 0; i < 13; i++) {
+            inputs.setStackInSlot(i, new ItemStack(Blocks.WOOL, 64, i));
+        }
+        inputs.setStackInSlot(13, new ItemStack(Items.IRON_INGOT, 64));
+        inputs.setStackInSlot(14, new ItemStack(Items.REDSTONE, 64));
+        inputs.setStackInSlot(15, new ItemStack(Blocks.GLASS, 64));
+
+        FluidTank water = new FluidTank(64000);
+        water.fill(Materials.Water.getFluid(64000), true);
+        fluidInputs = new FluidTankList(false, new FluidTank(64000), new FluidTank(64000), water);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        if ("copying".equals(matching)) {
+            return matchesCopying(recipe, GTUtility.itemHandlerToList(inputs), GTUtility.fluidHandlerToList(fluidInputs));
+        }
+        return recipe.matches(false, inputs, fluidInputs);
+    }
+
+    @Benchmark
+    public int maxRecipeMultiplier() {
+        if ("copying".equals(matching)) {
+            int itemMultiplier = ParallelLogic.getMaxRatioItem(GTHashMaps.fromItemHandler(inputs), recipe, 64);
+            int fluidMultiplier = ParallelLogic.getMaxRatioFluid(GTHashMaps.fromFluidHandler(fluidInputs), recipe, 64);
+            return Math.min(itemMultiplier, fluidMultiplier);
+        }
+        return ParallelLogic.getMaxRecipeMultiplier(recipe, inputs, fluidInputs, 64);
+    }
+
+    /**
+     * The matching as it was before {@link RecipeMatcher}, kept as a baseline.
+     */
+    private static boolean matchesCopying(Recipe recipe, List<ItemStack> inputs, List<FluidStack> fluidInputs) {
+        Integer[] fluidAmountInTank = new Integer[fluidInputs.size()];
+        for (int i = 0; i < fluidAmountInTank.length; i++) {
+            FluidStack fluidInTank = fluidInputs.get(i);
+            fluidAmountInTank[i] = fluidInTank == null ? 0 : fluidInTank.amount;
+        }
+        for (GTRecipeInput fluid : recipe.getFluidInputs()) {
+            int fluidAmount = fluid.getAmount();
+            for (int i = 0; i < fluidInputs.size(); i++) {
+                FluidStack tankFluid = fluidInputs.get(i);
+                if (tankFluid == null || !fluid.acceptsFluid(tankFluid))
+                    continue;
+                int fluidAmountToConsume = Math.min(fluidAmountInTank[i], fluidAmount);
+                fluidAmount -= fluidAmountToConsume;
+                if (!fluid.isNonConsumable()) fluidAmountInTank[i] -= fluidAmountToConsume;
+                if (fluidAmount == 0) break;
+            }
+            if (fluidAmount > 0)
+                return false;
+        }
+
+        Integer[] itemAmountInSlot = new Integer[inputs.size()];
+        for (int i = 0; i < itemAmountInSlot.length; i++) {
+            ItemStack itemInSlot = inputs.get(i);
+            itemAmountInSlot[i] = itemInSlot.isEmpty() ? 0 : itemInSlot.getCount();
+        }
+        for (GTRecipeInput ingredient : recipe.getInputs()) {
+            int ingredientAmount = ingredient.getAmount();
+            for (int i = 0; i < inputs.size(); i++) {
+                ItemStack inputStack = inputs.get(i);
+                if (inputStack.isEmpty() || !ingredient.acceptsStack(inputStack))
+                    continue;
+                int itemAmountToConsume = Math.min(itemAmountInSlot[i], ingredientAmount);
+                ingredientAmount -= itemAmountToConsume;
+                if (!ingredient.isNonConsumable()) itemAmountInSlot[i] -= itemAmountToConsume;
+                if (ingredientAmount == 0) break;
+            }
+            if (ingredientAmount > 0)
+                return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,101 @@
+package gregtech.common.pipelike.itempipe.net;
+
+import gregtech.Bootstrap;
+import gregtech.api.unification.material.properties.ItemPipeProperties;
+import gregtech.api.util.world.DummyWorld;
+import gregtech.common.pipelike.itempipe.tile.TileEntityItemPipe;
+import net.minecraft.init.Blocks;
+import net.minecraft.item.ItemStack;
+import net.minecraft.tileentity.TileEntityChest;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One push of 16 items into a sorting net of 64 chests, of which only the last 4 have room left.
+ * <p>
+ * {@code cold} clears the route table before every push, so every chest is simulated and inserted into like before.
+ * {@code warm} keeps the route table, so the full chests are skipped until their results expire.
+ * The world time advances by one tick per push.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemNetBenchmark {
+
+    private static final int CHESTS = 64;
+    private static final int OPEN_CHESTS = 4;
+
+    @Param({"first", "roundRobin"})
+    public String distribution;
+
+    @Param({"cold", "warm"})
+    public String routeTable;
+
+    private DummyWorld world;
+    private ItemPipeNet net;
+    private TileEntityItemPipe pipe;
+    private ItemNetHandler handler;
+    private final List<TileEntityChest> openChests = new ArrayList<>();
+    private final ItemStack stack = new ItemStack(Blocks.STONE, 16);
+
+    @Setup
+    public void setup() {
+        Bootstrap.perform();
+        world = new DummyWorld();
+
+        // every chest sits on its own pipe, the open chests come last in the net data
+        List<ItemPipeNet.Inventory> inventories = new ArrayList<>();
+        ItemPipeProperties properties = new ItemPipeProperties(1, 1);
+        for (int i = 0; i < CHESTS; i++) {
+            BlockPos pipePos = new BlockPos(i * 2, 64, 0);
+            world.setBlockState(pipePos.up(), Blocks.CHEST.getDefaultState());
+            TileEntityChest chest = (TileEntityChest) world.getTileEntity(pipePos.up());
+            if (i < CHESTS - OPEN_CHESTS) {
+                for (int slot = 0; slot < chest.getSizeInventory(); slot++) {
+                    chest.setInventorySlotContents(slot, new ItemStack(Blocks.COBBLESTONE, 64));
+                }
+            } else {
+                openChests.add(chest);
+            }
+            inventories.add(new ItemPipeNet.Inventory(pipePos, EnumFacing.UP, i + 1, properties, Collections.emptyList()));
+        }
+        net = new ItemPipeNet(null) {
+            @Override
+            public List<Inventory> getNetData(BlockPos pipePos, EnumFacing facing) {
+                return inventories;
+            }
+        };
+
+        pipe = new TileEntityItemPipe();
+        pipe.setWorld(world);
+        pipe.setPos(new BlockPos(0, 80, 0));
+        handler = new ItemNetHandler(net, pipe, EnumFacing.UP);
+    }
+
+    @Benchmark
+    public ItemStack push() {
+        world.setTotalWorldTime(world.getTotalWorldTime() + 1);
+        if (routeTable.equals("cold")) {
+            net.getRouteTable().clear();
+        }
+        ItemStack remainder = distribution.equals("first") ?
+                handler.insertFirst(stack.copy(), false) :
+                handler.insertRoundRobin(stack.copy(), false, true);
+
+        // make room in the open chests again, and reset the transfer limit of the pipe
+        for (TileEntityChest chest : openChests) {
+            chest.clear();
+        }
+        pipe.transferItems(-pipe.getTransferredItems());
+        return remainder;
+    }
+}
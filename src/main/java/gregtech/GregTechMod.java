@@ -13,6 +13,8 @@ import gregtech.api.gui.UIFactory;
 import gregtech.api.items.gui.PlayerInventoryUIFactory;
 import gregtech.api.metatileentity.MetaTileEntityUIFactory;
 import gregtech.api.net.NetworkHandler;
+import gregtech.api.pattern.PatternCheckExecutor;
+import gregtech.api.pipenet.tickable.TickableWorldPipeNetEventHandler;
 import gregtech.api.recipes.RecipeMap;
 import gregtech.api.recipes.recipeproperties.TemperatureProperty;
 import gregtech.api.sound.GTSounds;
@@ -39,6 +41,7 @@ import gregtech.common.covers.CoverBehaviors;
 import gregtech.common.covers.filter.FilterTypeRegistry;
 import gregtech.common.items.MetaItems;
 import gregtech.common.metatileentities.MetaTileEntities;
+import gregtech.common.pipelike.fluidpipe.net.WorldFluidPipeNet;
 import gregtech.common.worldgen.LootTableHelper;
 import gregtech.integration.theoneprobe.TheOneProbeCompatibility;
 import gregtech.loaders.dungeon.DungeonLootLoader;
@@ -176,6 +179,7 @@ public class GregTechMod {
 
         LootTableHelper.initialize();
         FilterTypeRegistry.init();
+        TickableWorldPipeNetEventHandler.registerTickablePipeNet(WorldFluidPipeNet::getWorldPipeNet);
 
         /* Start Cover Definition Registration */
         COVER_REGISTRY.unfreeze();
@@ -225,18 +229,9 @@ public class GregTechMod {
         if (FMLCommonHandler.instance().getEffectiveSide() == Side.SERVER) {
             World world = FMLCommonHandler.instance().getMinecraftServerInstance().getEntityWorld();
             if (!world.isRemote) {
-                BedrockFluidVeinSaveData saveData = (BedrockFluidVeinSaveData) world.loadData(BedrockFluidVeinSaveData.class, BedrockFluidVeinSaveData.dataName);
-                BedrockOreVeinSaveData saveOreData = (BedrockOreVeinSaveData) world.loadData(BedrockOreVeinSaveData.class, BedrockOreVeinSaveData.dataName);
-                if (saveData == null) {
-                    saveData = new BedrockFluidVeinSaveData(BedrockFluidVeinSaveData.dataName);
-                    world.setData(BedrockFluidVeinSaveData.dataName, saveData);
-                }
-                if(saveOreData == null){
-                    saveOreData = new BedrockOreVeinSaveData(BedrockOreVeinSaveData.dataName);
-                    world.setData(BedrockOreVeinSaveData.dataName, saveOreData);
-                }
-                BedrockFluidVeinSaveData.setInstance(saveData);
-                BedrockOreVeinSaveData.setInstance(saveOreData);
+                // the veins saved by earlier versions are moved to the region files when loaded
+                world.loadData(BedrockFluidVeinSaveData.class, BedrockFluidVeinSaveData.dataName);
+                world.loadData(BedrockOreVeinSaveData.class, BedrockOreVeinSaveData.dataName);
             }
         }
     }
@@ -245,6 +240,7 @@ public class GregTechMod {
     public static void onServerStopped(FMLServerStoppedEvent event) {
         VirtualTankRegistry.clearMaps();
         CapesRegistry.clearMaps();
+        PatternCheckExecutor.shutdown();
     }
 
 }
@@ -63,6 +63,11 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
     protected boolean wasActiveAndNeedsUpdate;
     protected boolean isOutputsFull;
     protected boolean invalidInputsForRecipes;
+    protected boolean isWaitingForEnergy;
+    protected int batchedProgressTicks;
+    // the progress percentage and energy state last shown by the display of a multiblock
+    private int displayedProgress;
+    private boolean displayedNotEnoughEnergy;
 
     protected boolean hasPerfectOC = false;
 
@@ -91,6 +96,18 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
 
     protected abstract boolean drawEnergy(int recipeEUt, boolean simulate);
 
+    /**
+     * Draws the energy of several ticks of recipe progress at once.
+     * Logics which do not override this always progress tick by tick.
+     *
+     * @param recipeEUt the EU/t of the running recipe
+     * @param ticks     the amount of ticks to draw energy for
+     * @return true if the energy was drawn, else false
+     */
+    protected boolean drawEnergyForTicks(int recipeEUt, int ticks) {
+        return false;
+    }
+
     protected abstract long getMaxVoltage();
 
     protected IItemHandlerModifiable getInputInventory() {
@@ -151,6 +168,22 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
                 this.wasActiveAndNeedsUpdate = false;
                 setActive(false);
             }
+            int progress = (int) (getProgressPercent() * 100);
+            if (progress != displayedProgress || hasNotEnoughEnergy != displayedNotEnoughEnergy) {
+                this.displayedProgress = progress;
+                this.displayedNotEnoughEnergy = hasNotEnoughEnergy;
+                onDisplayStateChanged();
+            }
+        }
+    }
+
+    /**
+     * Called when the state shown by the display of a multiblock changes, like the progress percentage or whether
+     * the logic is active
+     */
+    protected void onDisplayStateChanged() {
+        if (metaTileEntity instanceof MultiblockWithDisplayBase) {
+            ((MultiblockWithDisplayBase) metaTileEntity).markDisplayDirty();
         }
     }
 
@@ -207,6 +240,17 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
         return true;
     }
 
+    /**
+     * @return true if updating this logic does nothing until its inputs, outputs, energy or working state change
+     */
+    public boolean isIdle() {
+        if (wasActiveAndNeedsUpdate) return false;
+        if (!workingEnabled) return true;
+        if (progressTime > 0 || hasNotifiedInputs()) return false;
+        if (invalidInputsForRecipes || isWaitingForEnergy) return true;
+        return isOutputsFull && !hasNotifiedOutputs();
+    }
+
     public void invalidateInputs() {
         this.invalidInputsForRecipes = true;
     }
@@ -217,10 +261,17 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
 
     public void setParallelRecipesPerformed(int amount) {
         this.parallelRecipesPerformed = amount;
+        onDisplayStateChanged();
     }
 
     protected void updateRecipeProgress() {
-        if (canRecipeProgress && drawEnergy(recipeEUt, true)) {
+        if (canRecipeProgress && (batchedProgressTicks > 0 || tryBatchRecipeProgress())) {
+            // the energy of this tick was paid for in advance, and no timed output is due
+            this.batchedProgressTicks--;
+            if (++progressTime > maxProgressTime) {
+                completeRecipe();
+            }
+        } else if (canRecipeProgress && drawEnergy(recipeEUt, true)) {
             drawEnergy(recipeEUt, false);
 
             //try to push timed output
@@ -252,6 +303,36 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
         }
     }
 
+    /**
+     * Pays for as many ticks of the current recipe as the stored energy covers, up to the end of the recipe
+     * or the next timed output. Those ticks then only advance the progress.
+     *
+     * @return true if at least two ticks were paid for
+     */
+    protected boolean tryBatchRecipeProgress() {
+        if (!ConfigHolder.machines.batchRecipeProgress || recipeEUt <= 0 || hasNotEnoughEnergy) {
+            return false;
+        }
+        // the tick at which progressTime reaches maxProgressTime completes the recipe
+        int ticks = maxProgressTime - progressTime + 1;
+        for (Recipe.TimeEntryItem entry : timedOutputs) {
+            if (entry.getTimeOC() >= progressTime) {
+                ticks = Math.min(ticks, entry.getTimeOC() - progressTime);
+            }
+        }
+        for (Recipe.TimeEntryFluid entry : timedFluidOutputs) {
+            if (entry.getTimeOC() >= progressTime) {
+                ticks = Math.min(ticks, entry.getTimeOC() - progressTime);
+            }
+        }
+        ticks = (int) Math.min(ticks, getEnergyStored() / recipeEUt);
+        if (ticks < 2 || !drawEnergyForTicks(recipeEUt, ticks)) {
+            return false;
+        }
+        this.batchedProgressTicks = ticks;
+        return true;
+    }
+
     protected void timedOutput(int time){
         Iterator<Recipe.TimeEntryItem> it = timedOutputs.iterator();
         while(it.hasNext()){
@@ -307,6 +388,7 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
     }
 
     protected void trySearchNewRecipe() {
+        this.isWaitingForEnergy = false;
         long maxVoltage = getMaxVoltage();
         Recipe currentRecipe;
         IItemHandlerModifiable importInventory = getInputInventory();
@@ -407,6 +489,7 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
 
     public void setParallelLimit(int amount) {
         parallelLimit = amount;
+        onDisplayStateChanged();
     }
 
     public Enum<ParallelLogicType> getParallelLogicType() {
@@ -462,6 +545,7 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
         performNonOverclockBonuses(overclockResults);
 
         if (!hasEnoughPower(overclockResults)) {
+            this.isWaitingForEnergy = true;
             return false;
         }
 
@@ -684,6 +768,8 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
 
         this.timedOutputs.forEach(entry -> entry.setOC(OC));
         this.timedFluidOutputs.forEach(entry -> entry.setOC(OC));
+        // the display may show details of the recipe, even if the logic stays active
+        onDisplayStateChanged();
 
         if (this.wasActiveAndNeedsUpdate) {
             this.wasActiveAndNeedsUpdate = false;
@@ -699,6 +785,7 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
         GTTransferUtils.addItemsToItemHandler(getOutputInventory(), false, itemOutputs);
         GTTransferUtils.addFluidsToFluidHandler(getOutputTank(), false, fluidOutputs);
         this.progressTime = 0;
+        this.batchedProgressTicks = 0;
         setMaxProgress(0);
         this.recipeEUt = 0;
         this.fluidOutputs = null;
@@ -743,6 +830,7 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
         if (this.isActive != active) {
             this.isActive = active;
             metaTileEntity.markDirty();
+            onDisplayStateChanged();
             World world = metaTileEntity.getWorld();
             if (world != null && !world.isRemote) {
                 writeCustomData(GregtechDataCodes.WORKABLE_ACTIVE, buf -> buf.writeBoolean(active));
@@ -754,6 +842,7 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
     public void setWorkingEnabled(boolean workingEnabled) {
         this.workingEnabled = workingEnabled;
         metaTileEntity.markDirty();
+        onDisplayStateChanged();
         World world = metaTileEntity.getWorld();
         if (world != null && !world.isRemote) {
             writeCustomData(GregtechDataCodes.WORKING_ENABLED, buf -> buf.writeBoolean(workingEnabled));
@@ -878,6 +967,7 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
             compound.setInteger("Progress", progressTime);
             compound.setInteger("MaxProgress", maxProgressTime);
             compound.setInteger("RecipeEUt", this.recipeEUt);
+            compound.setInteger("BatchedProgress", this.batchedProgressTicks);
             NBTTagList itemOutputsList = new NBTTagList();
             for (ItemStack itemOutput : itemOutputs) {
                 itemOutputsList.appendTag(itemOutput.writeToNBT(new NBTTagCompound()));
@@ -914,6 +1004,7 @@ public abstract class AbstractRecipeLogic extends MTETrait implements IWorkable,
             this.isActive = true;
             this.maxProgressTime = compound.getInteger("MaxProgress");
             this.recipeEUt = compound.getInteger("RecipeEUt");
+            this.batchedProgressTicks = compound.getInteger("BatchedProgress");
             NBTTagList itemOutputsList = compound.getTagList("ItemOutputs", Constants.NBT.TAG_COMPOUND);
             this.itemOutputs = NonNullList.create();
             for (int i = 0; i < itemOutputsList.tagCount(); i++) {
@@ -52,6 +52,7 @@ public class MultiblockRecipeLogic extends AbstractRecipeLogic {
     public void invalidate() {
         previousRecipe = null;
         progressTime = 0;
+        batchedProgressTicks = 0;
         maxProgressTime = 0;
         recipeEUt = 0;
         fluidOutputs = null;
@@ -352,6 +353,14 @@ public class MultiblockRecipeLogic extends AbstractRecipeLogic {
         } else return false;
     }
 
+    @Override
+    protected boolean drawEnergyForTicks(int recipeEUt, int ticks) {
+        long energy = (long) recipeEUt * ticks;
+        if (getEnergyStored() < energy) return false;
+        getEnergyContainer().changeEnergy(-energy);
+        return true;
+    }
+
     @Override
     protected long getMaxVoltage() {
         return Math.max(getEnergyContainer().getInputVoltage(), getEnergyContainer().getOutputVoltage());
@@ -40,6 +40,14 @@ public class RecipeLogicEnergy extends AbstractRecipeLogic {
         } else return false;
     }
 
+    @Override
+    protected boolean drawEnergyForTicks(int recipeEUt, int ticks) {
+        long energy = (long) recipeEUt * ticks;
+        if (getEnergyStored() < energy) return false;
+        energyContainer.get().changeEnergy(-energy);
+        return true;
+    }
+
     @Override
     protected long getMaxVoltage() {
         return Math.max(energyContainer.get().getInputVoltage(),
@@ -8,6 +8,7 @@ import gregtech.api.gui.widgets.WidgetUIAccess;
 import gregtech.api.net.NetworkHandler;
 import gregtech.api.net.packets.CPacketUIClientAction;
 import gregtech.api.net.packets.SPacketUIWidgetUpdate;
+import gregtech.api.net.packets.SPacketUIWidgetUpdateBatch;
 import gregtech.api.util.GTUtility;
 import gregtech.api.util.PerTickIntCounter;
 import io.netty.buffer.Unpooled;
@@ -32,6 +33,10 @@ public class ModularUIContainer extends Container implements WidgetUIAccess {
     public boolean accumulateWidgetUpdateData = false;
     public final List<SPacketUIWidgetUpdate> accumulatedUpdates = new ArrayList<>();
 
+    // updates written while the widgets detect their changes, sent together at the end
+    private boolean batchWidgetUpdates = false;
+    private final List<SPacketUIWidgetUpdate> batchedUpdates = new ArrayList<>();
+
     public ModularUIContainer(ModularUI modularUI) {
         this.modularUI = modularUI;
         modularUI.guiWidgets.values().forEach(widget -> widget.setUiAccess(this));
@@ -109,7 +114,7 @@ public class ModularUIContainer extends Container implements WidgetUIAccess {
     @Override
     public void addListener(@Nonnull IContainerListener listener) {
         super.addListener(listener);
-        modularUI.guiWidgets.values().forEach(Widget::detectAndSendChanges);
+        detectAndSendWidgetChanges();
     }
 
     @Override
@@ -134,8 +139,19 @@ public class ModularUIContainer extends Container implements WidgetUIAccess {
     public void detectAndSendChanges() {
         super.detectAndSendChanges();
         if (listeners.size() > 0) {
-            modularUI.guiWidgets.values().forEach(Widget::detectAndSendChanges);
+            detectAndSendWidgetChanges();
+        }
+    }
+
+    private void detectAndSendWidgetChanges() {
+        this.batchWidgetUpdates = true;
+        modularUI.guiWidgets.values().forEach(Widget::detectAndSendChanges);
+        this.batchWidgetUpdates = false;
+        if (!batchedUpdates.isEmpty() && modularUI.entityPlayer instanceof EntityPlayerMP) {
+            SPacketUIWidgetUpdateBatch batch = new SPacketUIWidgetUpdateBatch(windowId, batchedUpdates);
+            NetworkHandler.channel.sendTo(batch.toFMLPacket(), (EntityPlayerMP) modularUI.entityPlayer);
         }
+        batchedUpdates.clear();
     }
 
     @Nonnull
@@ -258,10 +274,12 @@ public class ModularUIContainer extends Container implements WidgetUIAccess {
         payloadWriter.accept(packetBuffer);
         if (modularUI.entityPlayer instanceof EntityPlayerMP) {
             SPacketUIWidgetUpdate widgetUpdate = new SPacketUIWidgetUpdate(windowId, widgetId, packetBuffer);
-            if (!accumulateWidgetUpdateData) {
-                NetworkHandler.channel.sendTo(widgetUpdate.toFMLPacket(), (EntityPlayerMP) modularUI.entityPlayer);
-            } else {
+            if (accumulateWidgetUpdateData) {
                 accumulatedUpdates.add(widgetUpdate);
+            } else if (batchWidgetUpdates) {
+                batchedUpdates.add(widgetUpdate);
+            } else {
+                NetworkHandler.channel.sendTo(widgetUpdate.toFMLPacket(), (EntityPlayerMP) modularUI.entityPlayer);
             }
         }
     }
@@ -4,6 +4,8 @@ import gregtech.api.gui.IRenderContext;
 import gregtech.api.gui.Widget;
 import gregtech.api.util.Position;
 import gregtech.api.util.Size;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.FontRenderer;
 import net.minecraft.client.gui.GuiScreen;
@@ -11,6 +13,7 @@ import net.minecraft.client.gui.GuiUtilRenderComponents;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.text.ITextComponent;
 import net.minecraft.util.text.Style;
+import net.minecraft.util.text.TextComponentString;
 import net.minecraft.util.text.TextComponentTranslation;
 import net.minecraft.util.text.TextFormatting;
 import net.minecraft.util.text.event.ClickEvent;
@@ -22,10 +25,12 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 import org.lwjgl.input.Mouse;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.IntSupplier;
 import java.util.stream.Collectors;
 
 /**
@@ -33,6 +38,10 @@ import java.util.stream.Collectors;
  * text from server and automatically synchronizes it with clients
  */
 public class AdvancedTextWidget extends Widget {
+    private static final byte LINE_JSON = 0;
+    private static final byte LINE_TRANSLATION = 1;
+    private static final byte LINE_TEXT = 2;
+
     protected int maxWidthLimit;
 
     @SideOnly(Side.CLIENT)
@@ -40,7 +49,13 @@ public class AdvancedTextWidget extends Widget {
 
     protected final Consumer<List<ITextComponent>> textSupplier;
     protected BiConsumer<String, ClickData> clickHandler;
+    @Nullable
+    protected IntSupplier versionSupplier;
+    private int lastVersion;
+    private boolean textDirty = true;
     private List<ITextComponent> displayText = new ArrayList<>();
+    // the lines as sent by the server, before they were wrapped to the width limit
+    private final List<ITextComponent> receivedText = new ArrayList<>();
     private final int color;
 
     public AdvancedTextWidget(int xPosition, int yPosition, Consumer<List<ITextComponent>> text, int color) {
@@ -79,6 +94,15 @@ public class AdvancedTextWidget extends Widget {
         return this;
     }
 
+    /**
+     * Makes the text only be rebuilt when the version changes, or after a click on it was handled.
+     * Without a version, the text is rebuilt every tick.
+     */
+    public AdvancedTextWidget setVersionSupplier(IntSupplier versionSupplier) {
+        this.versionSupplier = versionSupplier;
+        return this;
+    }
+
     @SideOnly(Side.CLIENT)
     private WrapScreen getWrapScreen() {
         if (wrapScreen == null)
@@ -112,19 +136,112 @@ public class AdvancedTextWidget extends Widget {
 
     @Override
     public void detectAndSendChanges() {
+        if (versionSupplier != null) {
+            int version = versionSupplier.getAsInt();
+            if (!textDirty && version == lastVersion) {
+                return;
+            }
+            this.lastVersion = version;
+        }
+        this.textDirty = false;
         ArrayList<ITextComponent> textBuffer = new ArrayList<>();
         textSupplier.accept(textBuffer);
-        if (!displayText.equals(textBuffer)) {
+        IntList changedLines = new IntArrayList();
+        for (int i = 0; i < textBuffer.size(); i++) {
+            if (i >= displayText.size() || !displayText.get(i).equals(textBuffer.get(i))) {
+                changedLines.add(i);
+            }
+        }
+        if (!changedLines.isEmpty() || textBuffer.size() != displayText.size()) {
             this.displayText = textBuffer;
             writeUpdateInfo(1, buffer -> {
-                buffer.writeVarInt(displayText.size());
-                for (ITextComponent textComponent : displayText) {
-                    buffer.writeString(ITextComponent.Serializer.componentToJson(textComponent));
+                buffer.writeVarInt(textBuffer.size());
+                buffer.writeVarInt(changedLines.size());
+                for (int i = 0; i < changedLines.size(); i++) {
+                    int line = changedLines.getInt(i);
+                    buffer.writeVarInt(line);
+                    writeLine(buffer, textBuffer.get(line));
                 }
             });
         }
     }
 
+    /**
+     * Writes a translation or a plain text without siblings, click or hover events as its key or text, style and
+     * arguments, and any other line as json
+     */
+    static void writeLine(PacketBuffer buffer, ITextComponent line) {
+        Style style = line.getStyle();
+        boolean simple = line.getSiblings().isEmpty() && style.getClickEvent() == null &&
+                style.getHoverEvent() == null && style.getInsertion() == null;
+        if (simple && line instanceof TextComponentTranslation) {
+            Object[] args = ((TextComponentTranslation) line).getFormatArgs();
+            for (Object arg : args) {
+                if (arg instanceof ITextComponent) {
+                    simple = false;
+                    break;
+                }
+            }
+            if (simple) {
+                buffer.writeByte(LINE_TRANSLATION);
+                buffer.writeString(((TextComponentTranslation) line).getKey());
+                writeStyle(buffer, style);
+                buffer.writeVarInt(args.length);
+                for (Object arg : args) {
+                    // translations only format their arguments as strings
+                    buffer.writeString(String.valueOf(arg));
+                }
+                return;
+            }
+        } else if (simple && line instanceof TextComponentString) {
+            buffer.writeByte(LINE_TEXT);
+            buffer.writeString(((TextComponentString) line).getText());
+            writeStyle(buffer, style);
+            return;
+        }
+        buffer.writeByte(LINE_JSON);
+        buffer.writeString(ITextComponent.Serializer.componentToJson(line));
+    }
+
+    private static void writeStyle(PacketBuffer buffer, Style style) {
+        int flags = (style.getBold() ? 1 : 0) | (style.getItalic() ? 2 : 0) | (style.getUnderlined() ? 4 : 0) |
+                (style.getStrikethrough() ? 8 : 0) | (style.getObfuscated() ? 16 : 0);
+        buffer.writeByte(flags);
+        buffer.writeByte(style.getColor() == null ? -1 : style.getColor().ordinal());
+    }
+
+    @SideOnly(Side.CLIENT)
+    static ITextComponent readLine(PacketBuffer buffer) {
+        byte type = buffer.readByte();
+        if (type == LINE_TRANSLATION) {
+            String key = buffer.readString(32767);
+            Style style = readStyle(buffer);
+            Object[] args = new Object[buffer.readVarInt()];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = buffer.readString(32767);
+            }
+            return new TextComponentTranslation(key, args).setStyle(style);
+        } else if (type == LINE_TEXT) {
+            String text = buffer.readString(32767);
+            return new TextComponentString(text).setStyle(readStyle(buffer));
+        }
+        return ITextComponent.Serializer.jsonToComponent(buffer.readString(32767));
+    }
+
+    @SideOnly(Side.CLIENT)
+    private static Style readStyle(PacketBuffer buffer) {
+        int flags = buffer.readByte();
+        int color = buffer.readByte();
+        Style style = new Style();
+        if ((flags & 1) != 0) style.setBold(true);
+        if ((flags & 2) != 0) style.setItalic(true);
+        if ((flags & 4) != 0) style.setUnderlined(true);
+        if ((flags & 8) != 0) style.setStrikethrough(true);
+        if ((flags & 16) != 0) style.setObfuscated(true);
+        if (color >= 0) style.setColor(TextFormatting.values()[color]);
+        return style;
+    }
+
     protected ITextComponent getTextUnderMouse(int mouseX, int mouseY) {
         FontRenderer fontRenderer = Minecraft.getMinecraft().fontRenderer;
         Position position = getPosition();
@@ -163,7 +280,7 @@ public class AdvancedTextWidget extends Widget {
     private void formatDisplayText() {
         FontRenderer fontRenderer = Minecraft.getMinecraft().fontRenderer;
         int maxTextWidthResult = maxWidthLimit == 0 ? Integer.MAX_VALUE : maxWidthLimit;
-        this.displayText = displayText.stream()
+        this.displayText = receivedText.stream()
                 .flatMap(c -> GuiUtilRenderComponents.splitText(c, maxTextWidthResult, fontRenderer, true, true).stream())
                 .collect(Collectors.toList());
     }
@@ -171,11 +288,19 @@ public class AdvancedTextWidget extends Widget {
     @Override
     public void readUpdateInfo(int id, PacketBuffer buffer) {
         if (id == 1) {
-            this.displayText.clear();
             int count = buffer.readVarInt();
-            for (int i = 0; i < count; i++) {
-                String jsonText = buffer.readString(32767);
-                this.displayText.add(ITextComponent.Serializer.jsonToComponent(jsonText));
+            while (receivedText.size() > count) {
+                receivedText.remove(receivedText.size() - 1);
+            }
+            int changedLines = buffer.readVarInt();
+            for (int i = 0; i < changedLines; i++) {
+                int line = buffer.readVarInt();
+                ITextComponent text = readLine(buffer);
+                if (line < receivedText.size()) {
+                    receivedText.set(line, text);
+                } else {
+                    receivedText.add(text);
+                }
             }
             formatDisplayText();
             updateComponentTextSize();
@@ -190,6 +315,8 @@ public class AdvancedTextWidget extends Widget {
             String componentData = buffer.readString(128);
             if (clickHandler != null) {
                 clickHandler.accept(componentData, clickData);
+                // the click usually changes the text
+                this.textDirty = true;
             }
         }
     }
@@ -27,10 +27,13 @@ import gregtech.api.recipes.RecipeMap;
 import gregtech.api.sound.GTSoundManager;
 import gregtech.api.util.GTTransferUtils;
 import gregtech.api.util.GTUtility;
+import gregtech.api.util.profiler.ProfiledType;
+import gregtech.api.util.profiler.TickProfiler;
 import gregtech.client.renderer.texture.Textures;
 import gregtech.client.utils.BloomEffectUtil;
 import gregtech.common.ConfigHolder;
 import gregtech.common.advancement.GTTriggers;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.BlockFaceShape;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
@@ -70,6 +73,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -83,6 +87,9 @@ public abstract class MetaTileEntity implements ICoverable, IVoidable {
     public static final String TAG_KEY_FRAGILE = "Fragile";
     public static final String TAG_KEY_MUFFLED = "Muffled";
 
+    // marks capabilities which were looked up and not provided
+    private static final Object NO_CAPABILITY = new Object();
+
     public final ResourceLocation metaTileEntityId;
     IGregTechTileEntity holder;
 
@@ -117,6 +124,9 @@ public abstract class MetaTileEntity implements ICoverable, IVoidable {
 
     private int playSoundCooldown = 0;
 
+    // the results of getCapability, per side and the null side last
+    private Map<Capability<?>, Object>[] capabilityCache;
+
     public MetaTileEntity(ResourceLocation metaTileEntityId) {
         this.metaTileEntityId = metaTileEntityId;
         initializeInventory();
@@ -130,6 +140,7 @@ public abstract class MetaTileEntity implements ICoverable, IVoidable {
         this.importFluids = createImportFluidHandler();
         this.exportFluids = createExportFluidHandler();
         this.fluidInventory = new FluidHandlerProxy(importFluids, exportFluids);
+        invalidateCapabilityCache();
     }
 
     public IGregTechTileEntity getHolder() {
@@ -149,9 +160,40 @@ public abstract class MetaTileEntity implements ICoverable, IVoidable {
     public void markDirty() {
         if (holder != null) {
             holder.markAsDirty();
+            // anything worth saving may also give a sleeping machine work to do
+            holder.wakeUp();
         }
     }
 
+    /**
+     * Sleeping MetaTileEntities are taken off the ticking list. They are woken up when they are marked dirty
+     * (which includes energy changes and cover placement or removal), when their notifiable handlers change,
+     * or when a neighbor changes.
+     *
+     * @return true if this MetaTileEntity has nothing to do until one of the above happens
+     */
+    public boolean canSleep() {
+        return false;
+    }
+
+    public void wakeUp() {
+        if (holder != null) {
+            holder.wakeUp();
+        }
+    }
+
+    /**
+     * @return true if any cover on this MetaTileEntity needs to be updated every tick
+     */
+    protected final boolean hasTickingCover() {
+        for (CoverBehavior coverBehavior : coverBehaviors) {
+            if (coverBehavior instanceof ITickable) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public boolean isFirstTick() {
         return holder != null && holder.isFirstTick();
     }
@@ -281,6 +323,7 @@ public abstract class MetaTileEntity implements ICoverable, IVoidable {
     }
 
     public <T> void addNotifiedInput(T input) {
+        wakeUp();
         if (input instanceof IItemHandlerModifiable) {
             if (!notifiedItemInputList.contains(input)) {
                 this.notifiedItemInputList.add((IItemHandlerModifiable) input);
@@ -293,6 +336,7 @@ public abstract class MetaTileEntity implements ICoverable, IVoidable {
     }
 
     public <T> void addNotifiedOutput(T output) {
+        wakeUp();
         if (output instanceof IItemHandlerModifiable) {
             if (!notifiedItemOutputList.contains(output)) {
                 this.notifiedItemOutputList.add((IItemHandlerModifiable) output);
@@ -324,6 +368,7 @@ public abstract class MetaTileEntity implements ICoverable, IVoidable {
             return false;
         });
         this.mteTraits.add(trait);
+        invalidateCapabilityCache();
     }
 
     protected IItemHandlerModifiable createImportItemHandler() {
@@ -657,15 +702,24 @@ public abstract class MetaTileEntity implements ICoverable, IVoidable {
     }
 
     public void update() {
+        boolean profile = !getWorld().isRemote && TickProfiler.isSampling();
         for (MTETrait mteTrait : this.mteTraits) {
             if (shouldUpdate(mteTrait)) {
+                long startTime = profile ? System.nanoTime() : 0;
                 mteTrait.update();
+                if (profile) {
+                    TickProfiler.record(ProfiledType.TRAIT, mteTrait.getClass(), System.nanoTime() - startTime);
+                }
             }
         }
         if (!getWorld().isRemote) {
             for (CoverBehavior coverBehavior : coverBehaviors) {
                 if (coverBehavior instanceof ITickable) {
+                    long startTime = profile ? System.nanoTime() : 0;
                     ((ITickable) coverBehavior).update();
+                    if (profile) {
+                        TickProfiler.record(ProfiledType.COVER, coverBehavior.getClass(), System.nanoTime() - startTime);
+                    }
                 }
             }
             if (getOffsetTimer() % 5 == 0L) {
@@ -831,6 +885,7 @@ public abstract class MetaTileEntity implements ICoverable, IVoidable {
         }
         this.isFragile = buf.readBoolean();
         this.muffled = buf.readBoolean();
+        invalidateCapabilityCache();
     }
 
     public void writeTraitData(MTETrait trait, int internalId, Consumer<PacketBuffer> dataWriter) {
@@ -852,6 +907,7 @@ public abstract class MetaTileEntity implements ICoverable, IVoidable {
     public void receiveCustomData(int dataId, PacketBuffer buf) {
         if (dataId == UPDATE_FRONT_FACING) {
             this.frontFacing = EnumFacing.VALUES[buf.readByte()];
+            invalidateCapabilityCache();
             scheduleRenderUpdate();
         } else if (dataId == UPDATE_PAINTING_COLOR) {
             this.paintingColor = buf.readInt();
@@ -906,13 +962,52 @@ public abstract class MetaTileEntity implements ICoverable, IVoidable {
     public final <T> T getCoverCapability(Capability<T> capability, EnumFacing side) {
         boolean isCoverable = capability == GregtechTileCapabilities.CAPABILITY_COVERABLE;
         CoverBehavior coverBehavior = side == null ? null : getCoverAtSide(side);
-        T originalCapability = getCapability(capability, side);
+        T originalCapability = getCachedCapability(capability, side);
         if (coverBehavior != null && !isCoverable) {
             return coverBehavior.getCapability(capability, originalCapability);
         }
         return originalCapability;
     }
 
+    @SuppressWarnings("unchecked")
+    private <T> T getCachedCapability(Capability<T> capability, EnumFacing side) {
+        if (!ConfigHolder.machines.cacheCapabilities || !canCacheCapabilities()) {
+            return getCapability(capability, side);
+        }
+        if (capabilityCache == null) {
+            this.capabilityCache = new Map[EnumFacing.VALUES.length + 1];
+        }
+        int index = side == null ? EnumFacing.VALUES.length : side.getIndex();
+        Map<Capability<?>, Object> sideCache = capabilityCache[index];
+        if (sideCache == null) {
+            sideCache = new Reference2ObjectOpenHashMap<>();
+            capabilityCache[index] = sideCache;
+        }
+        Object cachedCapability = sideCache.get(capability);
+        if (cachedCapability == null) {
+            T capabilityResult = getCapability(capability, side);
+            sideCache.put(capability, capabilityResult == null ? NO_CAPABILITY : capabilityResult);
+            return capabilityResult;
+        }
+        return cachedCapability == NO_CAPABILITY ? null : (T) cachedCapability;
+    }
+
+    /**
+     * @return whether the results of {@link #getCapability(Capability, EnumFacing)} only change together with the
+     * front facing, traits and inventories of this meta tile entity, or when {@link #invalidateCapabilityCache()} is called
+     */
+    protected boolean canCacheCapabilities() {
+        return true;
+    }
+
+    /**
+     * Makes the next capability lookups call {@link #getCapability(Capability, EnumFacing)} again.
+     * Must be called whenever state which decides the provided capabilities changes.
+     */
+    public void invalidateCapabilityCache() {
+        this.capabilityCache = null;
+    }
+
 
     public <T> T getCapability(Capability<T> capability, EnumFacing side) {
         if (capability == GregtechTileCapabilities.CAPABILITY_COVERABLE) {
@@ -1058,6 +1153,7 @@ public abstract class MetaTileEntity implements ICoverable, IVoidable {
     public void setFrontFacing(EnumFacing frontFacing) {
         Preconditions.checkNotNull(frontFacing, "frontFacing");
         this.frontFacing = frontFacing;
+        invalidateCapabilityCache();
         if (getWorld() != null && !getWorld().isRemote) {
             notifyBlockUpdate();
             markDirty();
@@ -1176,6 +1272,7 @@ public abstract class MetaTileEntity implements ICoverable, IVoidable {
 
         this.isFragile = data.getBoolean(TAG_KEY_FRAGILE);
         this.muffled = data.getBoolean(TAG_KEY_MUFFLED);
+        invalidateCapabilityCache();
     }
 
     @Override
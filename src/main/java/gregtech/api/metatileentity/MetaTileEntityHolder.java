@@ -18,8 +18,11 @@ import gregtech.api.net.NetworkHandler;
 import gregtech.api.net.packets.CPacketRecoverMTE;
 import gregtech.api.util.GTLog;
 import gregtech.api.util.GTUtility;
+import gregtech.api.util.profiler.ProfiledType;
+import gregtech.api.util.profiler.TickProfiler;
 import gregtech.client.particle.GTNameTagParticle;
 import gregtech.client.particle.GTParticleManager;
+import gregtech.common.ConfigHolder;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.nbt.NBTTagCompound;
@@ -65,6 +68,10 @@ public class MetaTileEntityHolder extends TickableTileEntityBase implements IGre
     private int timeStatisticsIndex = 0;
     private int lagWarningCount = 0;
 
+    private boolean sleeping = false;
+    private boolean offTickingList = false;
+    private long sleepStartTime;
+
     public MetaTileEntity getMetaTileEntity() {
         return metaTileEntity;
     }
@@ -174,6 +181,9 @@ public class MetaTileEntityHolder extends TickableTileEntityBase implements IGre
         long tickTime = System.nanoTime();
         if (metaTileEntity != null) {
             metaTileEntity.update();
+            if (!world.isRemote && ConfigHolder.machines.sleepIdleMachines && metaTileEntity.canSleep()) {
+                sleep();
+            }
         } else if (world.isRemote) { // recover the mte
             NetworkHandler.channel.sendToServer(new CPacketRecoverMTE(world.provider.getDimension(), getPos()).toFMLPacket());
         } else { // remove the block
@@ -193,6 +203,9 @@ public class MetaTileEntityHolder extends TickableTileEntityBase implements IGre
                 timeStatistics[timeStatisticsIndex] = (int) tickTime;
                 timeStatisticsIndex = (timeStatisticsIndex + 1) % timeStatistics.length;
             }
+            if (TickProfiler.isSampling()) {
+                TickProfiler.record(ProfiledType.META_TILE_ENTITY, getMetaTileEntity().getClass(), tickTime);
+            }
             if (tickTime > 100_000_000L && getMetaTileEntity().doTickProfileMessage() && lagWarningCount++ < 10)
                 GTLog.logger.warn("WARNING: Possible Lag Source at [" + getPos().getX() + ", " + getPos().getY() + ", " + getPos().getZ() + "] in Dimension " + world.provider.getDimension() + " with " + tickTime + "ns caused by an instance of " + getMetaTileEntity().getClass());
         }
@@ -202,6 +215,51 @@ public class MetaTileEntityHolder extends TickableTileEntityBase implements IGre
         super.update();
     }
 
+    @Override
+    public void sleep() {
+        if (!sleeping && world != null && !world.isRemote) {
+            this.sleeping = true;
+            MetaTileEntitySleepHandler.scheduleUpdate(this);
+        }
+    }
+
+    @Override
+    public void wakeUp() {
+        if (sleeping) {
+            this.sleeping = false;
+            MetaTileEntitySleepHandler.scheduleUpdate(this);
+        }
+    }
+
+    @Override
+    public boolean isSleeping() {
+        return sleeping;
+    }
+
+    /**
+     * @return true if this holder has to be removed from the ticking list
+     */
+    boolean leaveTickingList(long worldTime) {
+        if (offTickingList) {
+            return false;
+        }
+        this.offTickingList = true;
+        this.sleepStartTime = worldTime;
+        return true;
+    }
+
+    /**
+     * @return true if this holder has to be added back to the ticking list
+     */
+    boolean returnToTickingList(long worldTime) {
+        if (!offTickingList) {
+            return false;
+        }
+        this.offTickingList = false;
+        skipTicks(worldTime - sleepStartTime);
+        return true;
+    }
+
     public ArrayList<ITextComponent> getDebugInfo(EntityPlayer player, int logLevel) {
         ArrayList<ITextComponent> list = new ArrayList<>();
         if (logLevel > 2) {
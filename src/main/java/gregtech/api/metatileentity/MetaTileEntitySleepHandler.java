@@ -0,0 +1,67 @@
+package gregtech.api.metatileentity;
+
+import gregtech.api.GTValues;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Moves sleeping {@link MetaTileEntityHolder}s off and back onto the ticking list of their world.
+ * <p>
+ * Holders may fall asleep or be woken up at any point of a tick, including while the world iterates its ticking list,
+ * so the changes are only collected and applied once the world has finished its tick.
+ */
+@EventBusSubscriber(modid = GTValues.MODID)
+public class MetaTileEntitySleepHandler {
+
+    private static final Map<World, Set<MetaTileEntityHolder>> changedHolders = new HashMap<>();
+
+    static void scheduleUpdate(MetaTileEntityHolder holder) {
+        changedHolders.computeIfAbsent(holder.getWorld(), k -> new ReferenceOpenHashSet<>()).add(holder);
+    }
+
+    @SubscribeEvent
+    public static void onWorldTick(TickEvent.WorldTickEvent event) {
+        if (event.world.isRemote || event.phase != TickEvent.Phase.END) {
+            return;
+        }
+        Set<MetaTileEntityHolder> holders = changedHolders.get(event.world);
+        if (holders == null || holders.isEmpty()) {
+            return;
+        }
+        long time = event.world.getTotalWorldTime();
+        Set<TileEntity> fellAsleep = new ReferenceOpenHashSet<>();
+        for (MetaTileEntityHolder holder : holders) {
+            if (holder.isInvalid()) {
+                continue;
+            }
+            if (holder.isSleeping()) {
+                if (holder.leaveTickingList(time)) {
+                    fellAsleep.add(holder);
+                }
+            } else if (holder.returnToTickingList(time)) {
+                event.world.tickableTileEntities.add(holder);
+            }
+        }
+        holders.clear();
+        if (!fellAsleep.isEmpty()) {
+            // a single pass over the ticking list, instead of one per holder
+            event.world.tickableTileEntities.removeAll(fellAsleep);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        if (!event.getWorld().isRemote) {
+            changedHolders.remove(event.getWorld());
+        }
+    }
+}
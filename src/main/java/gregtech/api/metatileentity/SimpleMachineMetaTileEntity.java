@@ -78,7 +78,12 @@ public class SimpleMachineMetaTileEntity extends WorkableTieredMetaTileEntity im
                                        Function<Integer, Integer> tankScalingFunction) {
         super(metaTileEntityId, recipeMap, renderer, tier, tankScalingFunction);
         this.hasFrontFacing = hasFrontFacing;
-        this.chargerInventory = new ItemStackHandler(1);
+        this.chargerInventory = new ItemStackHandler(1) {
+            @Override
+            protected void onContentsChanged(int slot) {
+                markDirty();
+            }
+        };
     }
 
     @Override
@@ -182,6 +187,25 @@ public class SimpleMachineMetaTileEntity extends WorkableTieredMetaTileEntity im
         }
     }
 
+    @Override
+    public boolean canSleep() {
+        if (!super.canSleep() || !chargerInventory.getStackInSlot(0).isEmpty()) {
+            return false;
+        }
+        // keep pushing outputs out while there are any
+        if (isAutoOutputItems()) {
+            for (int i = 0; i < exportItems.getSlots(); i++) {
+                if (!exportItems.getStackInSlot(i).isEmpty()) return false;
+            }
+        }
+        if (isAutoOutputFluids()) {
+            for (int i = 0; i < exportFluids.getTanks(); i++) {
+                if (exportFluids.getTankAt(i).getFluidAmount() > 0) return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public boolean onScrewdriverClick(EntityPlayer playerIn, EnumHand hand, EnumFacing facing, CuboidRayTraceResult hitResult) {
         EnumFacing hitFacing = ICoverable.determineGridSideHit(hitResult);
@@ -255,6 +279,7 @@ public class SimpleMachineMetaTileEntity extends WorkableTieredMetaTileEntity im
         this.autoOutputFluids = data.getBoolean("AutoOutputFluids");
         this.allowInputFromOutputSideItems = data.getBoolean("AllowInputFromOutputSide");
         this.allowInputFromOutputSideFluids = data.getBoolean("AllowInputFromOutputSideF");
+        invalidateCapabilityCache();
     }
 
     @Override
@@ -273,6 +298,7 @@ public class SimpleMachineMetaTileEntity extends WorkableTieredMetaTileEntity im
         this.outputFacingFluids = EnumFacing.VALUES[buf.readByte()];
         this.autoOutputItems = buf.readBoolean();
         this.autoOutputFluids = buf.readBoolean();
+        invalidateCapabilityCache();
     }
 
     @Override
@@ -281,6 +307,7 @@ public class SimpleMachineMetaTileEntity extends WorkableTieredMetaTileEntity im
         if (dataId == UPDATE_OUTPUT_FACING) {
             this.outputFacingItems = EnumFacing.VALUES[buf.readByte()];
             this.outputFacingFluids = EnumFacing.VALUES[buf.readByte()];
+            invalidateCapabilityCache();
             scheduleRenderUpdate();
         } else if (dataId == UPDATE_AUTO_OUTPUT_ITEMS) {
             this.autoOutputItems = buf.readBoolean();
@@ -302,6 +329,7 @@ public class SimpleMachineMetaTileEntity extends WorkableTieredMetaTileEntity im
     public void setOutputFacing(EnumFacing outputFacing) {
         this.outputFacingItems = outputFacing;
         this.outputFacingFluids = outputFacing;
+        invalidateCapabilityCache();
         if (!getWorld().isRemote) {
             notifyBlockUpdate();
             writeCustomData(UPDATE_OUTPUT_FACING, buf -> {
@@ -314,6 +342,7 @@ public class SimpleMachineMetaTileEntity extends WorkableTieredMetaTileEntity im
 
     public void setOutputFacingItems(EnumFacing outputFacing) {
         this.outputFacingItems = outputFacing;
+        invalidateCapabilityCache();
         if (!getWorld().isRemote) {
             notifyBlockUpdate();
             writeCustomData(UPDATE_OUTPUT_FACING, buf -> {
@@ -326,6 +355,7 @@ public class SimpleMachineMetaTileEntity extends WorkableTieredMetaTileEntity im
 
     public void setOutputFacingFluids(EnumFacing outputFacing) {
         this.outputFacingFluids = outputFacing;
+        invalidateCapabilityCache();
         if (!getWorld().isRemote) {
             notifyBlockUpdate();
             writeCustomData(UPDATE_OUTPUT_FACING, buf -> {
@@ -354,6 +384,7 @@ public class SimpleMachineMetaTileEntity extends WorkableTieredMetaTileEntity im
 
     public void setAllowInputFromOutputSideItems(boolean allowInputFromOutputSide) {
         this.allowInputFromOutputSideItems = allowInputFromOutputSide;
+        invalidateCapabilityCache();
         if (!getWorld().isRemote) {
             markDirty();
         }
@@ -361,6 +392,7 @@ public class SimpleMachineMetaTileEntity extends WorkableTieredMetaTileEntity im
 
     public void setAllowInputFromOutputSideFluids(boolean allowInputFromOutputSide) {
         this.allowInputFromOutputSideFluids = allowInputFromOutputSide;
+        invalidateCapabilityCache();
         if (!getWorld().isRemote) {
             markDirty();
         }
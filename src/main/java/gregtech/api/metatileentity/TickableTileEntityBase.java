@@ -34,4 +34,14 @@ public abstract class TickableTileEntityBase extends SyncedTileEntityBase implem
     protected void onFirstTick() {
     }
 
+    /**
+     * Advances the timer over ticks this tile entity was not updated for,
+     * so checks on {@link #getOffsetTimer()} stay in phase.
+     *
+     * @param ticks the amount of skipped ticks
+     */
+    protected void skipTicks(long ticks) {
+        this.timer += ticks;
+    }
+
 }
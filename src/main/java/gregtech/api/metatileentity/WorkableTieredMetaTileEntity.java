@@ -11,6 +11,7 @@ import gregtech.api.recipes.FluidKey;
 import gregtech.api.recipes.RecipeMap;
 import gregtech.api.util.GTUtility;
 import gregtech.client.renderer.ICubeRenderer;
+import gregtech.common.ConfigHolder;
 import net.minecraft.client.resources.I18n;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.ResourceLocation;
@@ -92,6 +93,11 @@ public abstract class WorkableTieredMetaTileEntity extends TieredMetaTileEntity
         renderer.renderOrientedState(renderState, translation, pipeline, getFrontFacing(), workable.isActive(), workable.isWorkingEnabled());
     }
 
+    @Override
+    public boolean canSleep() {
+        return !isEnergyEmitter() && !ConfigHolder.machines.doTerrainExplosion && !hasTickingCover() && workable.isIdle();
+    }
+
     @Override
     protected IItemHandlerModifiable createImportItemHandler() {
         if (workable == null) return new ItemStackHandler(0);
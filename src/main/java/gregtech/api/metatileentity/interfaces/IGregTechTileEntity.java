@@ -24,4 +24,21 @@ public interface IGregTechTileEntity extends IHasWorldObjectAndCoords, IUIHolder
 
     @Deprecated
     boolean isFirstTick();
+
+    /**
+     * Takes this tile entity off the ticking list at the end of the current tick, until it is woken up again.
+     * Holders which can't stop ticking ignore this.
+     */
+    default void sleep() {
+    }
+
+    /**
+     * Puts a sleeping tile entity back on the ticking list at the end of the current tick
+     */
+    default void wakeUp() {
+    }
+
+    default boolean isSleeping() {
+        return false;
+    }
 }
@@ -14,11 +14,13 @@ import gregtech.api.metatileentity.interfaces.IGregTechTileEntity;
 import gregtech.api.pattern.*;
 import gregtech.api.sound.GTSoundManager;
 import gregtech.api.util.BlockInfo;
+import gregtech.api.util.GTLog;
 import gregtech.api.util.GTUtility;
 import gregtech.api.util.world.DummyWorld;
 import gregtech.client.renderer.ICubeRenderer;
 import gregtech.client.renderer.handler.MultiblockPreviewRenderer;
 import gregtech.client.renderer.texture.Textures;
+import gregtech.common.ConfigHolder;
 import gregtech.common.blocks.MetaBlocks;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
@@ -33,6 +35,7 @@ import net.minecraft.util.EnumHand;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
@@ -42,6 +45,8 @@ import org.apache.commons.lang3.tuple.Pair;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -50,11 +55,22 @@ import static gregtech.api.capability.GregtechDataCodes.STRUCTURE_FORMED;
 
 public abstract class MultiblockControllerBase extends MetaTileEntity implements IMultiblockController {
 
+    // smaller structures are checked faster than their blocks are copied for a check off the main thread
+    private static final int MIN_ASYNC_STRUCTURE_BLOCKS = 1000;
+    // blocks can be changed without a block update, which the structure index does not see
+    private static final int STRUCTURE_RECHECK_TICKS = 600;
+
     public BlockPattern structurePattern;
 
     private final Map<MultiblockAbility<Object>, List<Object>> multiblockAbilities = new HashMap<>();
     private final List<IMultiblockPart> multiblockParts = new ArrayList<>();
     private boolean structureFormed;
+    private boolean structureDirty = true;
+    private Future<PatternMatchContext> pendingStructureCheck;
+    // the structure pattern the pending check was started for
+    private BlockPattern pendingStructurePattern;
+    // a second instance of the pattern, which is checked off the main thread so the structure pattern stays usable
+    private BlockPattern asyncStructurePattern;
 
     public MultiblockControllerBase(ResourceLocation metaTileEntityId) {
         super(metaTileEntityId);
@@ -67,15 +83,25 @@ public abstract class MultiblockControllerBase extends MetaTileEntity implements
     }
 
     public void reinitializeStructurePattern() {
+        cancelStructureCheckAsync();
         this.structurePattern = createStructurePattern();
+        this.asyncStructurePattern = null;
     }
 
     @Override
     public void update() {
         super.update();
         if (!getWorld().isRemote) {
-            if (getOffsetTimer() % 20 == 0 || isFirstTick()) {
-                checkStructurePattern();
+            if (pendingStructureCheck != null) {
+                if (pendingStructureCheck.isDone()) {
+                    finishStructureCheckAsync();
+                }
+            } else if (isFirstTick() || needsStructureCheck()) {
+                if (canCheckStructureAsync()) {
+                    startStructureCheckAsync();
+                } else {
+                    checkStructurePattern();
+                }
             }
             // DummyWorld is the world for the JEI preview. We do not want to update the Multi in this world,
             // besides initially forming it in checkStructurePattern
@@ -85,6 +111,86 @@ public abstract class MultiblockControllerBase extends MetaTileEntity implements
         }
     }
 
+    private boolean needsStructureCheck() {
+        // block changes are only tracked in server worlds, anywhere else the structure is checked every second
+        if (getWorld() instanceof WorldServer) {
+            return structureDirty || getOffsetTimer() % STRUCTURE_RECHECK_TICKS == 0;
+        }
+        return getOffsetTimer() % 20 == 0;
+    }
+
+    private boolean canCheckStructureAsync() {
+        return ConfigHolder.machines.asyncStructureChecks && !isFirstTick() && getWorld() instanceof WorldServer &&
+                structurePattern != null && structurePattern.isSnapshotSafe() &&
+                structurePattern.getMaxBlockCount() >= MIN_ASYNC_STRUCTURE_BLOCKS;
+    }
+
+    private void startStructureCheckAsync() {
+        this.structureDirty = false;
+        if (asyncStructurePattern == null) {
+            this.asyncStructurePattern = createStructurePattern();
+        }
+        BlockPattern pattern = asyncStructurePattern;
+        World world = getWorld();
+        BlockPos pos = getPos();
+        EnumFacing facing = getFrontFacing().getOpposite();
+        BlockPatternSnapshot snapshot = pattern.createSnapshot(world, pos, facing);
+        this.pendingStructurePattern = structurePattern;
+        this.pendingStructureCheck = PatternCheckExecutor.submit(() -> pattern.checkPatternAt(world, snapshot, pos, facing));
+    }
+
+    private void finishStructureCheckAsync() {
+        Future<PatternMatchContext> structureCheck = pendingStructureCheck;
+        BlockPattern checkedPattern = asyncStructurePattern;
+        boolean patternReplaced = pendingStructurePattern != structurePattern;
+        this.pendingStructureCheck = null;
+        this.pendingStructurePattern = null;
+
+        PatternMatchContext context;
+        try {
+            context = structureCheck.get();
+        } catch (InterruptedException | ExecutionException e) {
+            GTLog.logger.error("Failed to check the structure of {} at {}", metaTileEntityId, getPos(), e);
+            checkStructurePattern();
+            return;
+        }
+        if (patternReplaced) {
+            // the pattern was replaced during the check
+            this.asyncStructurePattern = null;
+            checkStructurePattern();
+        } else if (!checkedPattern.isCacheValid(getWorld())) {
+            // a checked block changed after it was copied
+            startStructureCheckAsync();
+        } else {
+            // the checked pattern holds the result now, the former structure pattern is checked next time
+            structurePattern.clearCache();
+            this.asyncStructurePattern = structurePattern;
+            this.structurePattern = checkedPattern;
+            applyStructurePattern(context);
+        }
+    }
+
+    /**
+     * Drops the pending check without waiting for it. The worker may still be using the pattern it checks, so a new
+     * one is created for the next check.
+     */
+    private void cancelStructureCheckAsync() {
+        if (pendingStructureCheck != null) {
+            pendingStructureCheck.cancel(false);
+            this.pendingStructureCheck = null;
+            this.pendingStructurePattern = null;
+            this.asyncStructurePattern = null;
+        }
+    }
+
+    /**
+     * Makes the controller check its structure again on its next update
+     */
+    public void markStructureDirty() {
+        this.structureDirty = true;
+        wakeUp();
+    }
+
     /**
      * Called when the multiblock is formed and validation predicate is matched
      */
@@ -144,7 +250,8 @@ public abstract class MultiblockControllerBase extends MetaTileEntity implements
 
     public static TraceabilityPredicate metaTileEntities(MetaTileEntity... metaTileEntities) {
         ResourceLocation[] ids = Arrays.stream(metaTileEntities).filter(Objects::nonNull).map(tile -> tile.metaTileEntityId).toArray(ResourceLocation[]::new);
-        return tilePredicate((state, tile) -> ArrayUtils.contains(ids, tile.metaTileEntityId), getCandidates(metaTileEntities));
+        return tilePredicate((state, tile) -> ArrayUtils.contains(ids, tile.metaTileEntityId), getCandidates(metaTileEntities))
+                .setSnapshotSafe();
     }
 
     private static Supplier<BlockInfo[]> getCandidates(MetaTileEntity... metaTileEntities){
@@ -164,7 +271,8 @@ public abstract class MultiblockControllerBase extends MetaTileEntity implements
     public static TraceabilityPredicate abilities(MultiblockAbility<?>... allowedAbilities) {
         return tilePredicate((state, tile) -> tile instanceof IMultiblockAbilityPart<?> &&
                         ArrayUtils.contains(allowedAbilities, ((IMultiblockAbilityPart<?>) tile).getAbility()),
-                getCandidates(Arrays.stream(allowedAbilities).flatMap(ability -> MultiblockAbility.REGISTRY.get(ability).stream()).toArray(MetaTileEntity[]::new)));
+                getCandidates(Arrays.stream(allowedAbilities).flatMap(ability -> MultiblockAbility.REGISTRY.get(ability).stream()).toArray(MetaTileEntity[]::new)))
+                .setSnapshotSafe();
     }
 
     public static TraceabilityPredicate states(IBlockState... allowedStates) {
@@ -175,11 +283,12 @@ public abstract class MultiblockControllerBase extends MetaTileEntity implements
                 blockWorldState.getMatchContext().getOrPut("VABlock", new LinkedList<>()).add(blockWorldState.getPos());
             }
             return ArrayUtils.contains(allowedStates, state);
-        }, getCandidates(allowedStates));
+        }, getCandidates(allowedStates)).setSnapshotSafe();
     }
 
     public static TraceabilityPredicate blocks(Block... block) {
-        return new TraceabilityPredicate(blockWorldState -> ArrayUtils.contains(block, blockWorldState.getBlockState().getBlock()), getCandidates(Arrays.stream(block).map(Block::getDefaultState).toArray(IBlockState[]::new)));
+        return new TraceabilityPredicate(blockWorldState -> ArrayUtils.contains(block, blockWorldState.getBlockState().getBlock()), getCandidates(Arrays.stream(block).map(Block::getDefaultState).toArray(IBlockState[]::new)))
+                .setSnapshotSafe();
     }
 
     public static TraceabilityPredicate air() {
@@ -225,7 +334,16 @@ public abstract class MultiblockControllerBase extends MetaTileEntity implements
 
     public void checkStructurePattern() {
         if (structurePattern == null) return;
-        PatternMatchContext context = structurePattern.checkPatternFastAt(getWorld(), getPos(), getFrontFacing().getOpposite());
+        cancelStructureCheckAsync();
+        this.structureDirty = false;
+        applyStructurePattern(structurePattern.checkPatternFastAt(getWorld(), getPos(), getFrontFacing().getOpposite()));
+    }
+
+    private void applyStructurePattern(@Nullable PatternMatchContext context) {
+        MultiblockStructureIndex structureIndex = MultiblockStructureIndex.get(getWorld());
+        if (structureIndex != null) {
+            structureIndex.update(this, structurePattern.getCachedPositions());
+        }
         if (context != null && !structureFormed) {
             Set<IMultiblockPart> rawPartsSet = context.getOrCreate("MultiblockParts", HashSet::new);
             ArrayList<IMultiblockPart> parts = new ArrayList<>(rawPartsSet);
@@ -251,6 +369,7 @@ public abstract class MultiblockControllerBase extends MetaTileEntity implements
             this.structureFormed = true;
             writeCustomData(STRUCTURE_FORMED, buf -> buf.writeBoolean(true));
             formStructure(context);
+            invalidateCapabilityCache();
         } else if (context == null && structureFormed) {
             invalidateStructure();
         }
@@ -260,11 +379,17 @@ public abstract class MultiblockControllerBase extends MetaTileEntity implements
     }
 
     public void invalidateStructure() {
+        MultiblockStructureIndex structureIndex = MultiblockStructureIndex.get(getWorld());
+        if (structureIndex != null) {
+            // parts which could not be shared may be taken by another structure now
+            this.multiblockParts.forEach(part -> structureIndex.markDirty(((MetaTileEntity) part).getPos(), this));
+        }
         this.multiblockParts.forEach(part -> part.removeFromMultiBlock(this));
         this.multiblockAbilities.clear();
         this.multiblockParts.clear();
         this.structureFormed = false;
         writeCustomData(STRUCTURE_FORMED, buf -> buf.writeBoolean(false));
+        invalidateCapabilityCache();
     }
 
     @Override
@@ -275,6 +400,27 @@ public abstract class MultiblockControllerBase extends MetaTileEntity implements
         }
     }
 
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        cancelStructureCheckAsync();
+        removeFromStructureIndex();
+    }
+
+    @Override
+    public void onUnload() {
+        super.onUnload();
+        cancelStructureCheckAsync();
+        removeFromStructureIndex();
+    }
+
+    private void removeFromStructureIndex() {
+        MultiblockStructureIndex structureIndex = MultiblockStructureIndex.get(getWorld());
+        if (structureIndex != null) {
+            structureIndex.remove(this);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     public <T> List<T> getAbilities(MultiblockAbility<T> ability) {
         List<T> rawList = (List<T>) multiblockAbilities.getOrDefault(ability, Collections.emptyList());
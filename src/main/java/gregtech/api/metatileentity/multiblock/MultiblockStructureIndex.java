@@ -0,0 +1,153 @@
+package gregtech.api.metatileentity.multiblock;
+
+import gregtech.api.GTValues;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps the block positions of a world to the {@link MultiblockControllerBase}s whose structure pattern covers them,
+ * so a block change only makes the affected controllers check their structure again.
+ * <p>
+ * The positions of a controller are the ones its last structure check looked at. Block changes are received through
+ * a {@link MultiblockStructureListener} on the world, and loading a chunk marks every controller covering it,
+ * since the tile entities in it are new objects. Blocks set without a block update are not seen, so controllers still
+ * check their structure every 30 seconds.
+ */
+@EventBusSubscriber(modid = GTValues.MODID)
+public class MultiblockStructureIndex {
+
+    private static final Map<World, MultiblockStructureIndex> indices = new HashMap<>();
+
+    private final Long2ObjectOpenHashMap<List<MultiblockControllerBase>> controllersByPos = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectOpenHashMap<List<MultiblockControllerBase>> controllersByChunk = new Long2ObjectOpenHashMap<>();
+    private final Map<MultiblockControllerBase, long[]> positionsByController = new Reference2ObjectOpenHashMap<>();
+
+    /**
+     * @return the index of the world, or null if block changes of the world are not tracked
+     */
+    @Nullable
+    public static MultiblockStructureIndex get(World world) {
+        if (!(world instanceof WorldServer)) {
+            return null;
+        }
+        MultiblockStructureIndex index = indices.get(world);
+        if (index == null) {
+            index = new MultiblockStructureIndex();
+            indices.put(world, index);
+            world.addEventListener(new MultiblockStructureListener(index));
+        }
+        return index;
+    }
+
+    /**
+     * Replaces the positions covered by the controller
+     */
+    public void update(MultiblockControllerBase controller, LongSet positions) {
+        remove(controller);
+        long[] packedPositions = positions.toLongArray();
+        positionsByController.put(controller, packedPositions);
+        for (long pos : packedPositions) {
+            add(controllersByPos, pos, controller);
+        }
+        for (long chunk : getChunks(packedPositions)) {
+            add(controllersByChunk, chunk, controller);
+        }
+    }
+
+    public void remove(MultiblockControllerBase controller) {
+        long[] packedPositions = positionsByController.remove(controller);
+        if (packedPositions == null) {
+            return;
+        }
+        for (long pos : packedPositions) {
+            remove(controllersByPos, pos, controller);
+        }
+        for (long chunk : getChunks(packedPositions)) {
+            remove(controllersByChunk, chunk, controller);
+        }
+    }
+
+    /**
+     * Marks the controllers covering the position, except the given one, to check their structure again
+     */
+    public void markDirty(BlockPos pos, @Nullable MultiblockControllerBase except) {
+        List<MultiblockControllerBase> controllers = controllersByPos.get(pos.toLong());
+        if (controllers == null) {
+            return;
+        }
+        for (MultiblockControllerBase controller : controllers) {
+            if (controller != except) {
+                controller.markStructureDirty();
+            }
+        }
+    }
+
+    void markChunkDirty(int chunkX, int chunkZ) {
+        List<MultiblockControllerBase> controllers = controllersByChunk.get(ChunkPos.asLong(chunkX, chunkZ));
+        if (controllers == null) {
+            return;
+        }
+        for (MultiblockControllerBase controller : controllers) {
+            controller.markStructureDirty();
+        }
+    }
+
+    private static long[] getChunks(long[] packedPositions) {
+        LongSet chunks = new LongOpenHashSet();
+        for (long pos : packedPositions) {
+            BlockPos blockPos = BlockPos.fromLong(pos);
+            chunks.add(ChunkPos.asLong(blockPos.getX() >> 4, blockPos.getZ() >> 4));
+        }
+        return chunks.toLongArray();
+    }
+
+    private static void add(Long2ObjectOpenHashMap<List<MultiblockControllerBase>> map, long key, MultiblockControllerBase controller) {
+        List<MultiblockControllerBase> controllers = map.get(key);
+        if (controllers == null) {
+            // most positions are only covered by a single controller
+            controllers = new ArrayList<>(1);
+            map.put(key, controllers);
+        }
+        controllers.add(controller);
+    }
+
+    private static void remove(Long2ObjectOpenHashMap<List<MultiblockControllerBase>> map, long key, MultiblockControllerBase controller) {
+        List<MultiblockControllerBase> controllers = map.get(key);
+        if (controllers == null) {
+            return;
+        }
+        controllers.remove(controller);
+        if (controllers.isEmpty()) {
+            map.remove(key);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        MultiblockStructureIndex index = indices.get(event.getWorld());
+        if (index != null) {
+            index.markChunkDirty(event.getChunk().x, event.getChunk().z);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        indices.remove(event.getWorld());
+    }
+}
@@ -0,0 +1,84 @@
+package gregtech.api.metatileentity.multiblock;
+
+import gregtech.api.block.VariantActiveBlock;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.SoundCategory;
+import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IWorldEventListener;
+import net.minecraft.world.World;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Forwards the block changes of a world to its {@link MultiblockStructureIndex}
+ */
+public class MultiblockStructureListener implements IWorldEventListener {
+
+    private final MultiblockStructureIndex index;
+
+    public MultiblockStructureListener(MultiblockStructureIndex index) {
+        this.index = index;
+    }
+
+    @Override
+    public void notifyBlockUpdate(@Nonnull World world, @Nonnull BlockPos pos, @Nonnull IBlockState oldState, @Nonnull IBlockState newState, int flags) {
+        // tile entities also send block updates to sync themselves, without changing anything
+        if (oldState != newState && !isActiveStateChange(oldState, newState)) {
+            index.markDirty(pos, null);
+        }
+    }
+
+    // structures switch their casings on and off, which the structure patterns ignore
+    private static boolean isActiveStateChange(IBlockState oldState, IBlockState newState) {
+        return newState.getBlock() instanceof VariantActiveBlock && oldState.getBlock() == newState.getBlock() &&
+                oldState.withProperty(VariantActiveBlock.ACTIVE, newState.getValue(VariantActiveBlock.ACTIVE)) == newState;
+    }
+
+    @Override
+    public void notifyLightSet(@Nonnull BlockPos pos) {
+    }
+
+    @Override
+    public void markBlockRangeForRenderUpdate(int x1, int y1, int z1, int x2, int y2, int z2) {
+    }
+
+    @Override
+    public void playSoundToAllNearExcept(@Nullable EntityPlayer player, @Nonnull SoundEvent sound, @Nonnull SoundCategory category, double x, double y, double z, float volume, float pitch) {
+    }
+
+    @Override
+    public void playRecord(@Nonnull SoundEvent sound, @Nonnull BlockPos pos) {
+    }
+
+    @Override
+    public void spawnParticle(int particleID, boolean ignoreRange, double xCoord, double yCoord, double zCoord, double xSpeed, double ySpeed, double zSpeed, @Nonnull int... parameters) {
+    }
+
+    @Override
+    public void spawnParticle(int id, boolean ignoreRange, boolean minimiseParticleLevel, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed, @Nonnull int... parameters) {
+    }
+
+    @Override
+    public void onEntityAdded(@Nonnull Entity entity) {
+    }
+
+    @Override
+    public void onEntityRemoved(@Nonnull Entity entity) {
+    }
+
+    @Override
+    public void broadcastSound(int soundID, @Nonnull BlockPos pos, int data) {
+    }
+
+    @Override
+    public void playEvent(@Nullable EntityPlayer player, int type, @Nonnull BlockPos pos, int data) {
+    }
+
+    @Override
+    public void sendBlockBreakProgress(int breakerId, @Nonnull BlockPos pos, int progress) {
+    }
+}
@@ -70,6 +70,13 @@ public abstract class MultiblockWithDisplayBase extends MultiblockControllerBase
     // Used for data preservation with Maintenance Hatch
     private boolean storedTaped = false;
 
+    /**
+     * The refresh interval of controllers whose display text shows values which change continuously
+     */
+    protected static final int CONTINUOUS_DISPLAY_REFRESH_INTERVAL = 10;
+    private int displayVersion;
+    private boolean displayedObstructed;
+
     private final String NBT_VOIDING_MODE = "VoidingMode";
     private final String NBT_VOIDING_ITEMS = "VoidingItems";
     private final String NBT_VOIDING_FLUIDS = "VoidingFluids";
@@ -87,6 +94,7 @@ public abstract class MultiblockWithDisplayBase extends MultiblockControllerBase
      */
     public void setMaintenanceFixed(int index) {
         this.maintenance_problems |= 1 << index;
+        markDisplayDirty();
     }
 
     /**
@@ -94,6 +102,7 @@ public abstract class MultiblockWithDisplayBase extends MultiblockControllerBase
      */
     protected void causeMaintenanceProblems() {
         this.maintenance_problems &= ~(1 << ((int) (GTValues.RNG.nextFloat() * 5)));
+        markDisplayDirty();
     }
 
     /**
@@ -159,6 +168,7 @@ public abstract class MultiblockWithDisplayBase extends MultiblockControllerBase
     @Override
     protected void formStructure(PatternMatchContext context) {
         super.formStructure(context);
+        markDisplayDirty();
         if (this.hasMaintenanceMechanics() && ConfigHolder.machines.enableMaintenance) { // nothing extra if no maintenance
             if (getAbilities(MultiblockAbility.MAINTENANCE_HATCH).isEmpty())
                 return;
@@ -256,6 +266,7 @@ public abstract class MultiblockWithDisplayBase extends MultiblockControllerBase
                         .storeMaintenanceData(maintenance_problems, timeActive);
         }
         super.invalidateStructure();
+        markDisplayDirty();
     }
 
     public TraceabilityPredicate autoAbilities() {
@@ -333,6 +344,36 @@ public abstract class MultiblockWithDisplayBase extends MultiblockControllerBase
         }
     }
 
+    /**
+     * Makes the display text be rebuilt for everyone viewing it.
+     * Must be called when something shown by {@link #addDisplayText} changes.
+     */
+    public void markDisplayDirty() {
+        this.displayVersion++;
+    }
+
+    /**
+     * @return the interval in ticks in which the display text is rebuilt even if it was not marked dirty,
+     * or 0 to only rebuild it when it was marked dirty
+     */
+    protected int getDisplayRefreshInterval() {
+        return 0;
+    }
+
+    /**
+     * @return the version of the display text, which only is rebuilt when it changes
+     */
+    protected int getDisplayVersion() {
+        // the muffler is obstructed by blocks placed in front of it, which does not notify the controller
+        boolean obstructed = isStructureFormed() && isStructureObstructed();
+        if (obstructed != displayedObstructed) {
+            this.displayedObstructed = obstructed;
+            markDisplayDirty();
+        }
+        int interval = getDisplayRefreshInterval();
+        return interval > 0 ? displayVersion + (int) (getOffsetTimer() / interval) : displayVersion;
+    }
+
     /**
      * Called on serverside when client is clicked on the specific text component
      * with special click event handler
@@ -347,7 +388,8 @@ public abstract class MultiblockWithDisplayBase extends MultiblockControllerBase
         builder.label(11, 9, getMetaFullName(), 0xFFFFFF);
         builder.widget(new AdvancedTextWidget(11, 19, this::addDisplayText, 0xFFFFFF)
                 .setMaxWidthLimit(156)
-                .setClickHandler(this::handleDisplayClick));
+                .setClickHandler(this::handleDisplayClick)
+                .setVersionSupplier(this::getDisplayVersion));
         if(shouldShowVoidingModeButton()) {
             builder.widget(new ImageCycleButtonWidget(149, 121 - 17, 18, 18, GuiTextures.BUTTON_VOID_MULTIBLOCK,
                     4, this::getVoidingMode, this::setVoidingMode)
@@ -367,6 +409,7 @@ public abstract class MultiblockWithDisplayBase extends MultiblockControllerBase
 
     private void setVoidingMode(int mode) {
         this.voidingMode = VoidingMode.VALUES[mode];
+        markDisplayDirty();
 
         this.voidingFluids = mode >= 2;
 
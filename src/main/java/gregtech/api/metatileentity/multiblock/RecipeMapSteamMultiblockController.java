@@ -126,6 +126,12 @@ public abstract class RecipeMapSteamMultiblockController extends MultiblockWithD
         }
     }
 
+    @Override
+    protected int getDisplayRefreshInterval() {
+        // the stored steam change without notifying the display
+        return CONTINUOUS_DISPLAY_REFRESH_INTERVAL;
+    }
+
     @Override
     public TraceabilityPredicate autoAbilities() {
         return autoAbilities(true, true, true, true, true);
@@ -186,7 +192,8 @@ public abstract class RecipeMapSteamMultiblockController extends MultiblockWithD
         builder.label(11, 9, getMetaFullName(), 0xFFFFFF);
         builder.widget(new AdvancedTextWidget(11, 19, this::addDisplayText, 0xFFFFFF)
                 .setMaxWidthLimit(156)
-                .setClickHandler(this::handleDisplayClick));
+                .setClickHandler(this::handleDisplayClick)
+                .setVersionSupplier(this::getDisplayVersion));
         builder.bindPlayerInventory(entityPlayer.inventory, GuiTextures.SLOT_STEAM.get(ConfigHolder.machines.steelSteamMultiblocks), 7, 134);
         return builder;
     }
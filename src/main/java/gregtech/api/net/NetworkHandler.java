@@ -29,6 +29,7 @@ public class NetworkHandler {
 
         registerPacket(SPacketUIOpen.class);
         registerPacket(SPacketUIWidgetUpdate.class);
+        registerPacket(SPacketUIWidgetUpdateBatch.class);
         registerPacket(CPacketUIClientAction.class);
         registerPacket(SPacketBlockParticle.class);
         registerPacket(SPacketClipboard.class);
@@ -61,6 +62,7 @@ public class NetworkHandler {
     protected static void initClient() {
         registerClientExecutor(SPacketUIOpen.class);
         registerClientExecutor(SPacketUIWidgetUpdate.class);
+        registerClientExecutor(SPacketUIWidgetUpdateBatch.class);
         registerClientExecutor(SPacketBlockParticle.class);
         registerClientExecutor(SPacketClipboard.class);
         registerClientExecutor(CPacketFluidVeinList.class);
@@ -0,0 +1,146 @@
+package gregtech.api.net.packets;
+
+import gregtech.api.gui.impl.ModularUIGui;
+import gregtech.api.net.IPacket;
+import gregtech.common.ConfigHolder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import lombok.NoArgsConstructor;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiScreen;
+import net.minecraft.client.network.NetHandlerPlayClient;
+import net.minecraft.network.PacketBuffer;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * All widget updates of a window in one tick, in the order they were written.
+ * <p>
+ * The frame holds the widget id and payload of every update, a payload equal to an earlier one of the frame is sent
+ * as a reference to it instead. Frames of at least {@link ConfigHolder.MiscOptions#uiUpdateCompressionThreshold}
+ * bytes are deflated.
+ */
+@NoArgsConstructor
+public class SPacketUIWidgetUpdateBatch implements IPacket {
+
+    public int windowId;
+    public List<SPacketUIWidgetUpdate> updates;
+
+    public SPacketUIWidgetUpdateBatch(int windowId, List<SPacketUIWidgetUpdate> updates) {
+        this.windowId = windowId;
+        this.updates = updates;
+    }
+
+    @Override
+    public void encode(PacketBuffer buf) {
+        buf.writeVarInt(windowId);
+        PacketBuffer frame = writeFrame();
+        int threshold = ConfigHolder.misc.uiUpdateCompressionThreshold;
+        if (threshold > 0 && frame.readableBytes() >= threshold) {
+            byte[] input = new byte[frame.readableBytes()];
+            frame.readBytes(input);
+            Deflater deflater = new Deflater();
+            deflater.setInput(input);
+            deflater.finish();
+            byte[] output = new byte[input.length + 64];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == output.length) {
+                    byte[] grown = new byte[output.length * 2];
+                    System.arraycopy(output, 0, grown, 0, length);
+                    output = grown;
+                }
+                length += deflater.deflate(output, length, output.length - length);
+            }
+            deflater.end();
+            buf.writeBoolean(true);
+            buf.writeVarInt(input.length);
+            buf.writeBytes(output, 0, length);
+        } else {
+            buf.writeBoolean(false);
+            buf.writeBytes(frame);
+        }
+    }
+
+    @Override
+    public void decode(PacketBuffer buf) {
+        this.windowId = buf.readVarInt();
+        if (buf.readBoolean()) {
+            byte[] output = new byte[buf.readVarInt()];
+            byte[] input = new byte[buf.readableBytes()];
+            buf.readBytes(input);
+            Inflater inflater = new Inflater();
+            inflater.setInput(input);
+            try {
+                inflater.inflate(output);
+            } catch (DataFormatException e) {
+                throw new IllegalStateException("Received a corrupted widget update frame", e);
+            } finally {
+                inflater.end();
+            }
+            readFrame(new PacketBuffer(Unpooled.wrappedBuffer(output)));
+        } else {
+            readFrame(buf);
+        }
+    }
+
+    @SideOnly(Side.CLIENT)
+    @Override
+    public void executeClient(NetHandlerPlayClient handler) {
+        GuiScreen currentScreen = Minecraft.getMinecraft().currentScreen;
+        if (currentScreen instanceof ModularUIGui) {
+            for (SPacketUIWidgetUpdate update : updates) {
+                ((ModularUIGui) currentScreen).handleWidgetUpdate(update);
+            }
+        }
+    }
+
+    private PacketBuffer writeFrame() {
+        PacketBuffer frame = new PacketBuffer(Unpooled.buffer());
+        // ByteBuf equality compares the readable bytes
+        Map<ByteBuf, Integer> payloads = new HashMap<>();
+        frame.writeVarInt(updates.size());
+        for (SPacketUIWidgetUpdate update : updates) {
+            frame.writeVarInt(update.widgetId);
+            Integer reference = payloads.get(update.updateData);
+            if (reference != null) {
+                frame.writeVarInt(reference + 1);
+            } else {
+                // 0 marks a payload which is sent in full
+                frame.writeVarInt(0);
+                frame.writeVarInt(update.updateData.readableBytes());
+                frame.writeBytes(update.updateData, update.updateData.readerIndex(), update.updateData.readableBytes());
+                payloads.put(update.updateData, payloads.size());
+            }
+        }
+        return frame;
+    }
+
+    private void readFrame(PacketBuffer frame) {
+        int count = frame.readVarInt();
+        List<byte[]> payloads = new ArrayList<>();
+        this.updates = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int widgetId = frame.readVarInt();
+            int reference = frame.readVarInt();
+            byte[] payload;
+            if (reference == 0) {
+                payload = new byte[frame.readVarInt()];
+                frame.readBytes(payload);
+                payloads.add(payload);
+            } else {
+                payload = payloads.get(reference - 1);
+            }
+            // every update reads its own buffer, so a shared payload is wrapped once per update
+            this.updates.add(new SPacketUIWidgetUpdate(windowId, widgetId, new PacketBuffer(Unpooled.wrappedBuffer(payload))));
+        }
+    }
+}
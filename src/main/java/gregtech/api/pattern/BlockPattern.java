@@ -10,6 +10,9 @@ import gregtech.api.util.RelativeDirection;
 import gregtech.common.blocks.MetaBlocks;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.init.Blocks;
@@ -19,10 +22,13 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3i;
+import net.minecraft.world.IBlockAccess;
 import net.minecraft.world.World;
 import org.apache.commons.lang3.ArrayUtils;
 
 import java.lang.reflect.Array;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -40,17 +46,30 @@ public class BlockPattern {
     protected final int palmLength; //x size
     protected final BlockWorldState worldState = new BlockWorldState();
     protected final PatternMatchContext matchContext = new PatternMatchContext();
-    protected final Map<TraceabilityPredicate.SimplePredicate, Integer> globalCount;
-    protected final Map<TraceabilityPredicate.SimplePredicate, Integer> layerCount;
+    // the limited predicates of the pattern, their id is their index
+    protected final List<TraceabilityPredicate.SimplePredicate> limitedPredicates = new ArrayList<>();
+    protected final Reference2IntOpenHashMap<TraceabilityPredicate.SimplePredicate> predicateIds = new Reference2IntOpenHashMap<>();
+    protected final int[] globalCount;
+    protected final int[] layerCount;
+    private final boolean snapshotSafe;
+    private final BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
+    // kept apart from the other position, since pattern errors read it after the check
+    private final BlockPos.MutableBlockPos scanPos = new BlockPos.MutableBlockPos();
 
-    public Long2ObjectMap<BlockInfo> cache = new Long2ObjectOpenHashMap<>();
+    // the blocks looked at by the last full check, as x, y, z and the parallel arrays of what was found there
+    private int[] cachedPositions = new int[0];
+    private IBlockState[] cachedStates = new IBlockState[0];
+    private TileEntity[] cachedTileEntities = new TileEntity[0];
+    private TraceabilityPredicate[] cachedPredicates = new TraceabilityPredicate[0];
+    private int cacheSize;
+
+    // per facing, the x, y, z offsets of the blocks of an aisle from the center followed by the offset between aisles
+    private final int[][] relativeOffsets = new int[EnumFacing.VALUES.length][];
     // x, y, z, minZ, maxZ
     private int[] centerOffset = null;
 
     public BlockPattern(TraceabilityPredicate[][][] predicatesIn, RelativeDirection[] structureDir, int[][] aisleRepetitions) {
         this.blockMatches = predicatesIn;
-        this.globalCount = new HashMap<>();
-        this.layerCount = new HashMap<>();
         this.fingerLength = predicatesIn.length;
         this.structureDir = structureDir;
         this.aisleRepetitions = aisleRepetitions;
@@ -69,6 +88,50 @@ public class BlockPattern {
         }
 
         initializeCenterOffsets();
+        initializePredicateIds();
+        this.snapshotSafe = Arrays.stream(predicatesIn).flatMap(Arrays::stream).flatMap(Arrays::stream)
+                .allMatch(TraceabilityPredicate::isSnapshotSafe);
+        this.globalCount = new int[limitedPredicates.size()];
+        this.layerCount = new int[limitedPredicates.size()];
+        worldState.setPredicateCounts(predicateIds, globalCount, layerCount);
+    }
+
+    private void initializePredicateIds() {
+        predicateIds.defaultReturnValue(-1);
+        for (TraceabilityPredicate[][] aisle : blockMatches) {
+            for (TraceabilityPredicate[] column : aisle) {
+                for (TraceabilityPredicate predicate : column) {
+                    for (TraceabilityPredicate.SimplePredicate limit : predicate.limited) {
+                        if (!predicateIds.containsKey(limit)) {
+                            predicateIds.put(limit, limitedPredicates.size());
+                            limitedPredicates.add(limit);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private int[] getRelativeOffsets(EnumFacing facing) {
+        int[] offsets = relativeOffsets[facing.getIndex()];
+        if (offsets == null) {
+            Vec3i palmDir = structureDir[0].applyVec3i(facing);
+            Vec3i thumbDir = structureDir[1].applyVec3i(facing);
+            Vec3i fingerDir = structureDir[2].applyVec3i(facing);
+            offsets = new int[(thumbLength * palmLength + 1) * 3];
+            for (int b = 0, y = -centerOffset[1], i = 0; b < thumbLength; b++, y++) {
+                for (int a = 0, x = -centerOffset[0]; a < palmLength; a++, x++, i += 3) {
+                    offsets[i] = x * palmDir.getX() + y * thumbDir.getX();
+                    offsets[i + 1] = x * palmDir.getY() + y * thumbDir.getY();
+                    offsets[i + 2] = x * palmDir.getZ() + y * thumbDir.getZ();
+                }
+            }
+            offsets[offsets.length - 3] = fingerDir.getX();
+            offsets[offsets.length - 2] = fingerDir.getY();
+            offsets[offsets.length - 1] = fingerDir.getZ();
+            relativeOffsets[facing.getIndex()] = offsets;
+        }
+        return offsets;
     }
 
     private void initializeCenterOffsets() {
@@ -94,65 +157,183 @@ public class BlockPattern {
     }
 
     public PatternMatchContext checkPatternFastAt(World world, BlockPos centerPos, EnumFacing facing) {
-        if (!cache.isEmpty()) {
-            boolean pass = true;
-            for (Map.Entry<Long, BlockInfo> entry : cache.entrySet()) {
-                BlockPos pos = BlockPos.fromLong(entry.getKey());
-                IBlockState blockState = world.getBlockState(pos);
-                if (blockState != entry.getValue().getBlockState()) {
-                    pass = false;
-                    break;
-                }
-                TileEntity cachedTileEntity = entry.getValue().getTileEntity();
-                if (cachedTileEntity != null) {
-                    TileEntity tileEntity = world.getTileEntity(pos);
-                    if (tileEntity != cachedTileEntity) {
-                        pass = false;
-                        break;
-                    }
-                }
+        if (isCacheValid(world)) {
+            return worldState.hasError() ? null : matchContext;
+        }
+        return checkPatternAt(world, world, centerPos, facing);
+    }
+
+    /**
+     * Checks the pattern against a snapshot of the world, which may be done off the main thread if the pattern
+     * {@link #isSnapshotSafe() is snapshot safe}. The result is cached like the result of a check against the world.
+     * The pattern must not be used by any other thread until the check is done.
+     */
+    public PatternMatchContext checkPatternAt(World world, BlockPatternSnapshot snapshot, BlockPos centerPos, EnumFacing facing) {
+        return checkPatternAt(world, (IBlockAccess) snapshot, centerPos, facing);
+    }
+
+    /**
+     * @return true if the blocks looked at by the last full check have not changed since
+     */
+    public boolean isCacheValid(World world) {
+        if (cacheSize == 0) {
+            return false;
+        }
+        for (int i = 0; i < cacheSize; i++) {
+            mutablePos.setPos(cachedPositions[i * 3], cachedPositions[i * 3 + 1], cachedPositions[i * 3 + 2]);
+            if (world.getBlockState(mutablePos) != cachedStates[i]) {
+                return false;
+            }
+            if (cachedTileEntities[i] != null && world.getTileEntity(mutablePos) != cachedTileEntities[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies the blocks a check of the pattern could look at, so the check can be done off the main thread
+     */
+    public BlockPatternSnapshot createSnapshot(World world, BlockPos centerPos, EnumFacing facing) {
+        int[] offsets = getRelativeOffsets(facing);
+        int aisleOffset = offsets.length - 3;
+        // the aisles start at most this far back, and repeat at most this often
+        int minZ = -centerOffset[4];
+        int maxZ = -centerOffset[3];
+        for (int[] repetition : aisleRepetitions) {
+            maxZ += repetition[1];
+        }
+
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZPos = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZPos = Integer.MIN_VALUE;
+        for (int i = 0; i < aisleOffset; i += 3) {
+            for (int z : new int[]{minZ, maxZ}) {
+                int x = offsets[i] + z * offsets[aisleOffset];
+                int y = offsets[i + 1] + z * offsets[aisleOffset + 1];
+                int zPos = offsets[i + 2] + z * offsets[aisleOffset + 2];
+                minX = Math.min(minX, x);
+                minY = Math.min(minY, y);
+                minZPos = Math.min(minZPos, zPos);
+                maxX = Math.max(maxX, x);
+                maxY = Math.max(maxY, y);
+                maxZPos = Math.max(maxZPos, zPos);
             }
-            if (pass) return worldState.hasError() ? null : matchContext;
         }
-        return checkPatternAt(world, centerPos, facing);
+        return BlockPatternSnapshot.capture(world, centerPos.add(minX, minY, minZPos), centerPos.add(maxX, maxY, maxZPos));
+    }
+
+    /**
+     * @return true if all predicates of the pattern can be tested against a snapshot off the main thread
+     * @see TraceabilityPredicate#setSnapshotSafe()
+     */
+    public boolean isSnapshotSafe() {
+        return snapshotSafe;
+    }
+
+    /**
+     * @return the most blocks a check of the pattern could look at
+     */
+    public int getMaxBlockCount() {
+        int aisles = centerOffset[4] - centerOffset[3];
+        for (int[] repetition : aisleRepetitions) {
+            aisles += repetition[1];
+        }
+        return aisles * thumbLength * palmLength;
     }
 
     public void clearCache() {
-        cache.clear();
+        // do not keep unloaded tile entities around
+        Arrays.fill(cachedTileEntities, 0, cacheSize, null);
+        this.cacheSize = 0;
     }
 
-    private PatternMatchContext checkPatternAt(World world, BlockPos centerPos, EnumFacing facing) {
+    /**
+     * @return the positions looked at by the last full check
+     */
+    public LongSet getCachedPositions() {
+        LongSet positions = new LongOpenHashSet(cacheSize);
+        for (int i = 0; i < cacheSize; i++) {
+            positions.add(mutablePos.setPos(cachedPositions[i * 3], cachedPositions[i * 3 + 1], cachedPositions[i * 3 + 2]).toLong());
+        }
+        return positions;
+    }
+
+    /**
+     * @return the positions looked at by the last full check, mapped to the predicate they were tested with
+     */
+    public Map<BlockPos, TraceabilityPredicate> getCachedPredicates() {
+        Map<BlockPos, TraceabilityPredicate> predicates = new HashMap<>();
+        for (int i = 0; i < cacheSize; i++) {
+            predicates.put(new BlockPos(cachedPositions[i * 3], cachedPositions[i * 3 + 1], cachedPositions[i * 3 + 2]), cachedPredicates[i]);
+        }
+        return predicates;
+    }
+
+    /**
+     * @return a copy of the blocks looked at by the last full check, by packed position
+     * @deprecated use {@link #getCachedPositions()} or {@link #getCachedPredicates()}
+     */
+    @Deprecated
+    public Long2ObjectMap<BlockInfo> getCache() {
+        Long2ObjectMap<BlockInfo> cache = new Long2ObjectOpenHashMap<>(cacheSize);
+        for (int i = 0; i < cacheSize; i++) {
+            mutablePos.setPos(cachedPositions[i * 3], cachedPositions[i * 3 + 1], cachedPositions[i * 3 + 2]);
+            cache.put(mutablePos.toLong(), new BlockInfo(cachedStates[i], cachedTileEntities[i], cachedPredicates[i]));
+        }
+        return cache;
+    }
+
+    private void addToCache(IBlockState blockState, TileEntity tileEntity, TraceabilityPredicate predicate) {
+        if (cacheSize == cachedStates.length) {
+            int capacity = Math.max(16, cacheSize * 2);
+            this.cachedPositions = Arrays.copyOf(cachedPositions, capacity * 3);
+            this.cachedStates = Arrays.copyOf(cachedStates, capacity);
+            this.cachedTileEntities = Arrays.copyOf(cachedTileEntities, capacity);
+            this.cachedPredicates = Arrays.copyOf(cachedPredicates, capacity);
+        }
+        cachedPositions[cacheSize * 3] = scanPos.getX();
+        cachedPositions[cacheSize * 3 + 1] = scanPos.getY();
+        cachedPositions[cacheSize * 3 + 2] = scanPos.getZ();
+        cachedStates[cacheSize] = blockState;
+        cachedTileEntities[cacheSize] = tileEntity;
+        cachedPredicates[cacheSize] = predicate;
+        cacheSize++;
+    }
+
+    private PatternMatchContext checkPatternAt(World world, IBlockAccess blockAccess, BlockPos centerPos, EnumFacing facing) {
         boolean findFirstAisle = false;
         int minZ = -centerOffset[4];
+        int[] offsets = getRelativeOffsets(facing);
+        int aisleOffset = offsets.length - 3;
 
         this.matchContext.reset();
-        this.globalCount.clear();
-        this.layerCount.clear();
-        cache.clear();
+        // -1 marks the predicates which were not tested yet
+        Arrays.fill(globalCount, -1);
+        Arrays.fill(layerCount, -1);
+        clearCache();
         //Checking aisles
         for (int c = 0, z = minZ++, r; c < this.fingerLength; c++) {
             //Checking repeatable slices
             loop:
             for (r = 0; (findFirstAisle ? r < aisleRepetitions[c][1] : z <= -centerOffset[3]); r++) {
                 //Checking single slice
-                this.layerCount.clear();
+                Arrays.fill(layerCount, -1);
+                int aisleX = centerPos.getX() + z * offsets[aisleOffset];
+                int aisleY = centerPos.getY() + z * offsets[aisleOffset + 1];
+                int aisleZ = centerPos.getZ() + z * offsets[aisleOffset + 2];
 
-                for (int b = 0, y = -centerOffset[1]; b < this.thumbLength; b++, y++) {
-                    for (int a = 0, x = -centerOffset[0]; a < this.palmLength; a++, x++) {
+                for (int b = 0, i = 0; b < this.thumbLength; b++) {
+                    for (int a = 0; a < this.palmLength; a++, i += 3) {
                         TraceabilityPredicate predicate = this.blockMatches[c][b][a];
-                        BlockPos pos = setActualRelativeOffset(x, y, z, facing).add(centerPos.getX(), centerPos.getY(), centerPos.getZ());
-                        worldState.update(world, pos, matchContext, globalCount, layerCount, predicate);
-                        TileEntity tileEntity = worldState.getTileEntity();
+                        scanPos.setPos(aisleX + offsets[i], aisleY + offsets[i + 1], aisleZ + offsets[i + 2]);
+                        worldState.update(world, blockAccess, scanPos, matchContext, predicate);
                         if (predicate != TraceabilityPredicate.ANY) {
-                            if (tileEntity instanceof IGregTechTileEntity) {
-                                if (((IGregTechTileEntity) tileEntity).isValid()) {
-                                    cache.put(pos.toLong(), new BlockInfo(worldState.getBlockState(), tileEntity, predicate));
-                                } else {
-                                    cache.put(pos.toLong(), new BlockInfo(worldState.getBlockState(), null, predicate));
-                                }
-                            } else {
-                                cache.put(pos.toLong(), new BlockInfo(worldState.getBlockState(), tileEntity, predicate));
+                            TileEntity tileEntity = worldState.getTileEntity();
+                            // snapshots only hold valid tile entities, so the tile entity is not read off the main thread
+                            if (blockAccess == world && tileEntity instanceof IGregTechTileEntity && !((IGregTechTileEntity) tileEntity).isValid()) {
+                                tileEntity = null;
                             }
+                            addToCache(worldState.getBlockState(), tileEntity, predicate);
                         }
                         if (!predicate.test(worldState)) {
                             if (findFirstAisle) {
@@ -173,9 +354,9 @@ public class BlockPattern {
                 z++;
 
                 //Check layer-local matcher predicate
-                for (Map.Entry<TraceabilityPredicate.SimplePredicate, Integer> entry : layerCount.entrySet()) {
-                    if (entry.getValue() < entry.getKey().minLayerCount) {
-                        worldState.setError(new TraceabilityPredicate.SinglePredicateError(entry.getKey(), 3));
+                for (int i = 0; i < layerCount.length; i++) {
+                    if (layerCount[i] >= 0 && layerCount[i] < limitedPredicates.get(i).minLayerCount) {
+                        worldState.setError(new TraceabilityPredicate.SinglePredicateError(limitedPredicates.get(i), 3));
                         return null;
                     }
                 }
@@ -190,9 +371,9 @@ public class BlockPattern {
         }
 
         //Check count matches amount
-        for (Map.Entry<TraceabilityPredicate.SimplePredicate, Integer> entry : globalCount.entrySet()) {
-            if (entry.getValue() < entry.getKey().minGlobalCount) {
-                worldState.setError(new TraceabilityPredicate.SinglePredicateError(entry.getKey(), 1));
+        for (int i = 0; i < globalCount.length; i++) {
+            if (globalCount[i] >= 0 && globalCount[i] < limitedPredicates.get(i).minGlobalCount) {
+                worldState.setError(new TraceabilityPredicate.SinglePredicateError(limitedPredicates.get(i), 1));
                 return null;
             }
         }
@@ -204,6 +385,7 @@ public class BlockPattern {
     public void autoBuild(EntityPlayer player, MultiblockControllerBase controllerBase) {
         World world = player.world;
         BlockWorldState worldState = new BlockWorldState();
+        worldState.setPredicateCounts(predicateIds, new int[globalCount.length], new int[layerCount.length]);
         int minZ = -centerOffset[4];
         EnumFacing facing = controllerBase.getFrontFacing().getOpposite();
         BlockPos centerPos = controllerBase.getPos();
@@ -218,7 +400,7 @@ public class BlockPattern {
                     for (int a = 0, x = -centerOffset[0]; a < this.palmLength; a++, x++) {
                         TraceabilityPredicate predicate = this.blockMatches[c][b][a];
                         BlockPos pos = setActualRelativeOffset(x, y, z, facing).add(centerPos.getX(), centerPos.getY(), centerPos.getZ());
-                        worldState.update(world, pos, matchContext, globalCount, layerCount, predicate);
+                        worldState.update(world, pos, matchContext, predicate);
                         if (!world.getBlockState(pos).getMaterial().isReplaceable()) {
                             blocks.put(pos, world.getBlockState(pos));
                             for (TraceabilityPredicate.SimplePredicate limit : predicate.limited) {
@@ -0,0 +1,141 @@
+package gregtech.api.pattern;
+
+import gregtech.api.metatileentity.interfaces.IGregTechTileEntity;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Biomes;
+import net.minecraft.init.Blocks;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IBlockAccess;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.biome.Biome;
+import net.minecraft.world.chunk.Chunk;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+
+/**
+ * An immutable copy of the block states and tile entities in a box of a world, which can be read from any thread.
+ * <p>
+ * Blocks outside the box read as air. The tile entities are the ones of the world, so reading them off the main thread
+ * must not change them, and may only read what cannot change after they were placed. Invalid tile entities are not
+ * copied.
+ */
+public class BlockPatternSnapshot implements IBlockAccess {
+
+    private final WorldType worldType;
+    private final int minX, minY, minZ;
+    private final int sizeX, sizeY, sizeZ;
+    private final IBlockState[] states;
+    private final TileEntity[] tileEntities;
+
+    private BlockPatternSnapshot(World world, BlockPos min, BlockPos max) {
+        this.worldType = world.getWorldType();
+        this.minX = min.getX();
+        this.minY = Math.max(0, min.getY());
+        this.minZ = min.getZ();
+        this.sizeX = max.getX() - minX + 1;
+        this.sizeY = Math.max(0, Math.min(world.getHeight() - 1, max.getY()) - minY + 1);
+        this.sizeZ = max.getZ() - minZ + 1;
+        this.states = new IBlockState[sizeX * sizeY * sizeZ];
+        this.tileEntities = new TileEntity[states.length];
+    }
+
+    /**
+     * Copies the blocks between both corners, inclusive. Must be called on the main thread.
+     */
+    public static BlockPatternSnapshot capture(World world, BlockPos min, BlockPos max) {
+        BlockPatternSnapshot snapshot = new BlockPatternSnapshot(world, min, max);
+        snapshot.copyBlocks(world);
+        return snapshot;
+    }
+
+    private void copyBlocks(World world) {
+        // read the chunks directly, instead of looking up the chunk for every block
+        for (int chunkX = minX >> 4; chunkX <= (minX + sizeX - 1) >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= (minZ + sizeZ - 1) >> 4; chunkZ++) {
+                Chunk chunk = world.getChunk(chunkX, chunkZ);
+                int fromX = Math.max(minX, chunkX << 4), toX = Math.min(minX + sizeX, (chunkX + 1) << 4);
+                int fromZ = Math.max(minZ, chunkZ << 4), toZ = Math.min(minZ + sizeZ, (chunkZ + 1) << 4);
+                for (int x = fromX; x < toX; x++) {
+                    for (int y = minY; y < minY + sizeY; y++) {
+                        for (int z = fromZ; z < toZ; z++) {
+                            states[getIndex(x, y, z)] = chunk.getBlockState(x, y, z);
+                        }
+                    }
+                }
+                for (Map.Entry<BlockPos, TileEntity> entry : chunk.getTileEntityMap().entrySet()) {
+                    BlockPos pos = entry.getKey();
+                    TileEntity tileEntity = entry.getValue();
+                    if (isInside(pos) && !tileEntity.isInvalid() &&
+                            !(tileEntity instanceof IGregTechTileEntity && !((IGregTechTileEntity) tileEntity).isValid())) {
+                        tileEntities[getIndex(pos.getX(), pos.getY(), pos.getZ())] = tileEntity;
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean isInside(BlockPos pos) {
+        return pos.getX() >= minX && pos.getX() < minX + sizeX &&
+                pos.getY() >= minY && pos.getY() < minY + sizeY &&
+                pos.getZ() >= minZ && pos.getZ() < minZ + sizeZ;
+    }
+
+    private int getIndex(int x, int y, int z) {
+        return ((x - minX) * sizeY + y - minY) * sizeZ + z - minZ;
+    }
+
+    @Nullable
+    @Override
+    public TileEntity getTileEntity(@Nonnull BlockPos pos) {
+        return isInside(pos) ? tileEntities[getIndex(pos.getX(), pos.getY(), pos.getZ())] : null;
+    }
+
+    @Override
+    public int getCombinedLight(@Nonnull BlockPos pos, int lightValue) {
+        // light is not copied
+        return lightValue << 4;
+    }
+
+    @Nonnull
+    @Override
+    public IBlockState getBlockState(@Nonnull BlockPos pos) {
+        return isInside(pos) ? states[getIndex(pos.getX(), pos.getY(), pos.getZ())] : Blocks.AIR.getDefaultState();
+    }
+
+    @Override
+    public boolean isAirBlock(@Nonnull BlockPos pos) {
+        IBlockState state = getBlockState(pos);
+        return state.getBlock().isAir(state, this, pos);
+    }
+
+    @Nonnull
+    @Override
+    public Biome getBiome(@Nonnull BlockPos pos) {
+        // biomes are not copied
+        return Biomes.PLAINS;
+    }
+
+    @Override
+    public int getStrongPower(@Nonnull BlockPos pos, @Nonnull EnumFacing direction) {
+        return getBlockState(pos).getStrongPower(this, pos, direction);
+    }
+
+    @Nonnull
+    @Override
+    public WorldType getWorldType() {
+        return worldType;
+    }
+
+    @Override
+    public boolean isSideSolid(@Nonnull BlockPos pos, @Nonnull EnumFacing side, boolean _default) {
+        if (!isInside(pos)) {
+            return _default;
+        }
+        return getBlockState(pos).isSideSolid(this, pos, side);
+    }
+}
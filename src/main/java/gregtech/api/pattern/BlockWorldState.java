@@ -1,41 +1,61 @@
 package gregtech.api.pattern;
 
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.BlockPos.MutableBlockPos;
+import net.minecraft.world.IBlockAccess;
 import net.minecraft.world.World;
 
 import javax.annotation.Nullable;
-import java.util.Map;
 
 public class BlockWorldState {
 
     protected World world;
+    // where the blocks are read from, the world or a snapshot of it
+    protected IBlockAccess blockAccess;
     protected BlockPos pos;
     protected IBlockState state;
     protected TileEntity tileEntity;
     protected boolean tileEntityInitialized;
     protected PatternMatchContext matchContext;
-    protected Map<TraceabilityPredicate.SimplePredicate, Integer> globalCount;
-    protected Map<TraceabilityPredicate.SimplePredicate, Integer> layerCount;
+    protected Reference2IntMap<TraceabilityPredicate.SimplePredicate> predicateIds;
+    protected int[] globalCount;
+    protected int[] layerCount;
     protected TraceabilityPredicate predicate;
     protected PatternError error;
 
-    public void update(World worldIn, BlockPos posIn, PatternMatchContext matchContext, Map<TraceabilityPredicate.SimplePredicate, Integer> globalCount, Map<TraceabilityPredicate.SimplePredicate, Integer> layerCount, TraceabilityPredicate predicate) {
+    public void update(World worldIn, BlockPos posIn, PatternMatchContext matchContext, TraceabilityPredicate predicate) {
+        update(worldIn, worldIn, posIn, matchContext, predicate);
+    }
+
+    public void update(World worldIn, IBlockAccess blockAccess, BlockPos posIn, PatternMatchContext matchContext, TraceabilityPredicate predicate) {
         this.world = worldIn;
+        this.blockAccess = blockAccess;
         this.pos = posIn;
         this.state = null;
         this.tileEntity = null;
         this.tileEntityInitialized = false;
         this.matchContext = matchContext;
-        this.globalCount = globalCount;
-        this.layerCount = layerCount;
         this.predicate = predicate;
         this.error = null;
     }
 
+    /**
+     * Sets where the limited predicates count their matches
+     *
+     * @param predicateIds the index of each limited predicate in the counts
+     * @param globalCount  the matches of each limited predicate in the structure
+     * @param layerCount   the matches of each limited predicate in the current aisle
+     */
+    public void setPredicateCounts(Reference2IntMap<TraceabilityPredicate.SimplePredicate> predicateIds, int[] globalCount, int[] layerCount) {
+        this.predicateIds = predicateIds;
+        this.globalCount = globalCount;
+        this.layerCount = layerCount;
+    }
+
     public boolean hasError() {
         return error != null;
     }
@@ -53,7 +73,7 @@ public class BlockWorldState {
 
     public IBlockState getBlockState() {
         if (this.state == null) {
-            this.state = this.world.getBlockState(this.pos);
+            this.state = this.blockAccess.getBlockState(this.pos);
         }
 
         return this.state;
@@ -62,7 +82,7 @@ public class BlockWorldState {
     @Nullable
     public TileEntity getTileEntity() {
         if (this.tileEntity == null && !this.tileEntityInitialized) {
-            this.tileEntity = this.world.getTileEntity(this.pos);
+            this.tileEntity = this.blockAccess.getTileEntity(this.pos);
             this.tileEntityInitialized = true;
         }
 
@@ -76,14 +96,22 @@ public class BlockWorldState {
     public IBlockState getOffsetState(EnumFacing face) {
         if (pos instanceof MutableBlockPos) {
             ((MutableBlockPos) pos).move(face);
-            IBlockState blockState = world.getBlockState(pos);
+            IBlockState blockState = blockAccess.getBlockState(pos);
             ((MutableBlockPos) pos).move(face.getOpposite());
             return blockState;
         }
-        return world.getBlockState(this.pos.offset(face));
+        return blockAccess.getBlockState(this.pos.offset(face));
     }
 
     public World getWorld() {
         return world;
     }
+
+    /**
+     * @return where the blocks are read from, predicates must read from this instead of the world, since the check
+     * may run off the main thread against a {@link BlockPatternSnapshot}
+     */
+    public IBlockAccess getBlockAccess() {
+        return blockAccess;
+    }
 }
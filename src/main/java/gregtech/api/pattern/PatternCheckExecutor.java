@@ -0,0 +1,39 @@
+package gregtech.api.pattern;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs structure checks against {@link BlockPatternSnapshot}s off the main thread
+ */
+public class PatternCheckExecutor {
+
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static ExecutorService executor;
+
+    public static synchronized Future<PatternMatchContext> submit(Callable<PatternMatchContext> check) {
+        if (executor == null) {
+            int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+            executor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "GregTech Structure Check #" + threadCount.incrementAndGet());
+                // never keep the game from exiting
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor.submit(check);
+    }
+
+    /**
+     * Stops the worker threads, checks still running are interrupted. Checks submitted later start a new pool.
+     */
+    public static synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+}
@@ -24,9 +24,9 @@ import java.util.stream.Collectors;
 public class TraceabilityPredicate {
 
     // Allow any block.
-    public static TraceabilityPredicate ANY = new TraceabilityPredicate((state) -> true);
+    public static TraceabilityPredicate ANY = new TraceabilityPredicate((state) -> true).setSnapshotSafe();
     // Allow the air block.
-    public static TraceabilityPredicate AIR = new TraceabilityPredicate(blockWorldState -> blockWorldState.getBlockState().getBlock().isAir(blockWorldState.getBlockState(), blockWorldState.getWorld(), blockWorldState.getPos()));
+    public static TraceabilityPredicate AIR = new TraceabilityPredicate(blockWorldState -> blockWorldState.getBlockState().getBlock().isAir(blockWorldState.getBlockState(), blockWorldState.getBlockAccess(), blockWorldState.getPos())).setSnapshotSafe();
     // Allow all heating coils, and require them to have the same type.
     public static Supplier<TraceabilityPredicate> HEATING_COILS = () -> new TraceabilityPredicate(blockWorldState -> {
         IBlockState blockState = blockWorldState.getBlockState();
@@ -53,6 +53,7 @@ public class TraceabilityPredicate {
             .sorted(Comparator.comparingInt(entry -> entry.getValue().getTier()))
             .map(entry -> new BlockInfo(entry.getKey(), null))
             .toArray(BlockInfo[]::new))
+            .setSnapshotSafe()
             .addTooltips("gregtech.multiblock.pattern.error.coils");
 
     public final List<SimplePredicate> common = new ArrayList<>();
@@ -96,6 +97,27 @@ public class TraceabilityPredicate {
         return this;
     }
 
+    /**
+     * Marks the predicate as safe to test against a {@link BlockPatternSnapshot} off the main thread. It may only read
+     * block states, and of tile entities only what cannot change after they were placed, and must not change anything
+     * but the match context. Patterns with other predicates are always checked on the main thread.
+     */
+    public TraceabilityPredicate setSnapshotSafe() {
+        common.forEach(predicate -> predicate.snapshotSafe = true);
+        limited.forEach(predicate -> predicate.snapshotSafe = true);
+        return this;
+    }
+
+    public boolean isSnapshotSafe() {
+        for (SimplePredicate predicate : common) {
+            if (!predicate.snapshotSafe) return false;
+        }
+        for (SimplePredicate predicate : limited) {
+            if (!predicate.snapshotSafe) return false;
+        }
+        return true;
+    }
+
     public TraceabilityPredicate sort() {
         limited.sort(Comparator.comparingInt(a -> ((a.minLayerCount + 1) * 100 + a.minGlobalCount)));
         return this;
@@ -260,6 +282,8 @@ public class TraceabilityPredicate {
 
         public int previewCount = -1;
 
+        public boolean snapshotSafe = false;
+
         public SimplePredicate(Predicate<BlockWorldState> predicate, Supplier<BlockInfo[]> candidates) {
             this.predicate = predicate;
             this.candidates = candidates;
@@ -309,10 +333,10 @@ public class TraceabilityPredicate {
 
         public boolean testGlobal(BlockWorldState blockWorldState) {
             if (minGlobalCount == -1 && maxGlobalCount == -1) return true;
-            Integer count = blockWorldState.globalCount.get(this);
+            int id = blockWorldState.predicateIds.getInt(this);
             boolean base = predicate.test(blockWorldState);
-            count = (count == null ? 0 : count) + (base ? 1 : 0);
-            blockWorldState.globalCount.put(this, count);
+            int count = Math.max(0, blockWorldState.globalCount[id]) + (base ? 1 : 0);
+            blockWorldState.globalCount[id] = count;
             if (maxGlobalCount == -1 || count <= maxGlobalCount) return base;
             blockWorldState.setError(new SinglePredicateError(this, 0));
             return false;
@@ -320,10 +344,10 @@ public class TraceabilityPredicate {
 
         public boolean testLayer(BlockWorldState blockWorldState) {
             if (minLayerCount == -1 && maxLayerCount == -1) return true;
-            Integer count = blockWorldState.layerCount.get(this);
+            int id = blockWorldState.predicateIds.getInt(this);
             boolean base = predicate.test(blockWorldState);
-            count = (count == null ? 0 : count) + (base ? 1 : 0);
-            blockWorldState.layerCount.put(this, count);
+            int count = Math.max(0, blockWorldState.layerCount[id]) + (base ? 1 : 0);
+            blockWorldState.layerCount[id] = count;
             if (maxLayerCount == -1 || count <= maxLayerCount) return base;
             blockWorldState.setError(new SinglePredicateError(this, 2));
             return false;
@@ -4,6 +4,8 @@ import gnu.trove.map.TIntObjectMap;
 import gnu.trove.map.TObjectIntMap;
 import gnu.trove.map.hash.TIntObjectHashMap;
 import gnu.trove.map.hash.TObjectIntHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.*;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.util.EnumFacing;
@@ -14,15 +16,18 @@ import net.minecraft.world.World;
 import net.minecraftforge.common.util.Constants.NBT;
 import net.minecraftforge.common.util.INBTSerializable;
 
-import java.util.*;
-import java.util.Map.Entry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Stack;
 
 public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCompound> {
 
     protected final WorldPipeNet<NodeDataType, PipeNet<NodeDataType>> worldData;
-    private final Map<BlockPos, Node<NodeDataType>> nodeByBlockPos = new HashMap<>();
-    private final Map<BlockPos, Node<NodeDataType>> unmodifiableNodeByBlockPos = Collections.unmodifiableMap(nodeByBlockPos);
-    private final Map<ChunkPos, Integer> ownedChunks = new HashMap<>();
+    // keyed by BlockPos#toLong and ChunkPos#asLong, so lookups don't allocate positions
+    private final Long2ObjectOpenHashMap<Node<NodeDataType>> nodeByBlockPos = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectMap<Node<NodeDataType>> unmodifiableNodeByBlockPos = Long2ObjectMaps.unmodifiable(nodeByBlockPos);
+    private final Long2IntOpenHashMap ownedChunks = new Long2IntOpenHashMap();
+    private final LongSet unmodifiableOwnedChunks = LongSets.unmodifiable(ownedChunks.keySet());
     private long lastUpdate;
     boolean isValid = false;
 
@@ -31,8 +36,11 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
         this.worldData = (WorldPipeNet<NodeDataType, PipeNet<NodeDataType>>) world;
     }
 
-    public Set<ChunkPos> getContainedChunks() {
-        return Collections.unmodifiableSet(ownedChunks.keySet());
+    /**
+     * @return the chunks containing nodes of this net, as {@link ChunkPos#asLong(int, int)}
+     */
+    public LongSet getContainedChunks() {
+        return unmodifiableOwnedChunks;
     }
 
     public World getWorldData() {
@@ -60,22 +68,47 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
     public void onPipeConnectionsUpdate() {
     }
 
+    /**
+     * Is called when a single connection of a pipe in the net changes
+     *
+     * @param pipePos the pipe whose connection changed
+     * @param side    the side of the connection
+     */
+    public void onPipeConnectionsUpdate(BlockPos pipePos, EnumFacing side) {
+        onPipeConnectionsUpdate();
+    }
+
     public void onNeighbourUpdate(BlockPos fromPos) {
     }
 
-    public Map<BlockPos, Node<NodeDataType>> getAllNodes() {
+    /**
+     * @return all nodes of this net, keyed by {@link BlockPos#toLong()}
+     */
+    public Long2ObjectMap<Node<NodeDataType>> getAllNodes() {
         return unmodifiableNodeByBlockPos;
     }
 
     public Node<NodeDataType> getNodeAt(BlockPos blockPos) {
+        return nodeByBlockPos.get(blockPos.toLong());
+    }
+
+    public Node<NodeDataType> getNodeAt(long blockPos) {
         return nodeByBlockPos.get(blockPos);
     }
 
     public boolean containsNode(BlockPos blockPos) {
+        return nodeByBlockPos.containsKey(blockPos.toLong());
+    }
+
+    public boolean containsNode(long blockPos) {
         return nodeByBlockPos.containsKey(blockPos);
     }
 
     protected void addNodeSilently(BlockPos nodePos, Node<NodeDataType> node) {
+        addNodeSilently(nodePos.toLong(), node);
+    }
+
+    protected void addNodeSilently(long nodePos, Node<NodeDataType> node) {
         this.nodeByBlockPos.put(nodePos, node);
         checkAddedInChunk(nodePos);
     }
@@ -87,31 +120,60 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
     }
 
     protected Node<NodeDataType> removeNodeWithoutRebuilding(BlockPos nodePos) {
+        return removeNodeWithoutRebuilding(nodePos.toLong());
+    }
+
+    protected Node<NodeDataType> removeNodeWithoutRebuilding(long nodePos) {
         Node<NodeDataType> removedNode = this.nodeByBlockPos.remove(nodePos);
         ensureRemovedFromChunk(nodePos);
         worldData.markDirty();
         return removedNode;
     }
 
+    /**
+     * Removes all given nodes without rebuilding, used before the nodes are transferred to another net
+     */
+    protected void removeNodesWithoutRebuilding(LongSet nodePositions) {
+        LongIterator iterator = nodePositions.iterator();
+        while (iterator.hasNext()) {
+            long nodePos = iterator.nextLong();
+            this.nodeByBlockPos.remove(nodePos);
+            ensureRemovedFromChunk(nodePos);
+        }
+        worldData.markDirty();
+    }
+
     protected void removeNode(BlockPos nodePos) {
-        if (nodeByBlockPos.containsKey(nodePos)) {
+        if (containsNode(nodePos)) {
             Node<NodeDataType> selfNode = removeNodeWithoutRebuilding(nodePos);
             rebuildNetworkOnNodeRemoval(nodePos, selfNode);
         }
     }
 
-    protected void checkAddedInChunk(BlockPos nodePos) {
-        ChunkPos chunkPos = new ChunkPos(nodePos);
-        int newValue = this.ownedChunks.compute(chunkPos, (pos, old) -> (old == null ? 0 : old) + 1);
-        if (newValue == 1 && isValid()) {
+    /**
+     * @return the chunk of a position packed by {@link BlockPos#toLong()}, as {@link ChunkPos#asLong(int, int)}
+     */
+    public static long getChunkPos(long blockPos) {
+        // same unpacking as BlockPos#fromLong: 26 bits x, 12 bits y, 26 bits z
+        int x = (int) (blockPos >> 38);
+        int z = (int) (blockPos << 38 >> 38);
+        return ChunkPos.asLong(x >> 4, z >> 4);
+    }
+
+    protected void checkAddedInChunk(long nodePos) {
+        long chunkPos = getChunkPos(nodePos);
+        int oldValue = this.ownedChunks.addTo(chunkPos, 1);
+        if (oldValue == 0 && isValid()) {
             this.worldData.addPipeNetToChunk(chunkPos, this);
         }
     }
 
-    protected void ensureRemovedFromChunk(BlockPos nodePos) {
-        ChunkPos chunkPos = new ChunkPos(nodePos);
-        int newValue = this.ownedChunks.compute(chunkPos, (pos, old) -> old == null ? 0 : old - 1);
-        if (newValue == 0) {
+    protected void ensureRemovedFromChunk(long nodePos) {
+        long chunkPos = getChunkPos(nodePos);
+        if (!this.ownedChunks.containsKey(chunkPos)) {
+            return;
+        }
+        if (this.ownedChunks.addTo(chunkPos, -1) == 1) {
             this.ownedChunks.remove(chunkPos);
             if (isValid()) {
                 this.worldData.removePipeNetFromChunk(chunkPos, this);
@@ -143,18 +205,12 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
             if (isBlocked) {
                 //need to unblock node before doing canNodesConnectCheck
                 setBlocked(selfNode, facing, false);
-                if (canNodesConnect(selfNode, facing, getNodeAt(offsetPos), this)) {
-                    //now block again to call findAllConnectedBlocks
-                    setBlocked(selfNode, facing, true);
-                    HashMap<BlockPos, Node<NodeDataType>> thisENet = findAllConnectedBlocks(nodePos);
-                    if (!getAllNodes().equals(thisENet)) {
-                        //node visibility has changed, split network into 2
-                        //node that code below is similar to removeNodeInternal, but only for 2 networks, and without node removal
-                        PipeNet<NodeDataType> newPipeNet = worldData.createNetInstance();
-                        thisENet.keySet().forEach(this::removeNodeWithoutRebuilding);
-                        newPipeNet.transferNodeData(thisENet, this);
-                        worldData.addPipeNet(newPipeNet);
-                    }
+                boolean wasConnected = canNodesConnect(selfNode, facing, getNodeAt(offsetPos), this);
+                setBlocked(selfNode, facing, true);
+                if (wasConnected) {
+                    //node visibility may have changed, split off the side which is no longer reached
+                    //node that code below is similar to removeNodeInternal, but only for 2 networks, and without node removal
+                    splitOff(findSplitParts(LongArrayList.wrap(new long[]{nodePos.toLong(), offsetPos.toLong()})));
                 }
             }
             //there is another network on that side
@@ -178,7 +234,7 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
         if (!containsNode(nodePos)) {
             return;
         }
-        HashMap<BlockPos, Node<NodeDataType>> selfConnectedBlocks = null;
+        Long2ObjectOpenHashMap<Node<NodeDataType>> selfConnectedBlocks = null;
         Node<NodeDataType> selfNode = getNodeAt(nodePos);
         int oldMark = selfNode.mark;
         selfNode.mark = newMark;
@@ -206,15 +262,15 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
                 if (selfConnectedBlocks == null) {
                     selfConnectedBlocks = findAllConnectedBlocks(nodePos);
                 }
-                if (getAllNodes().equals(selfConnectedBlocks)) {
+                if (nodeByBlockPos.size() == selfConnectedBlocks.size()) {
                     continue; //if this node is still connected to this network, just continue
                 }
                 //otherwise, it is not connected
-                HashMap<BlockPos, Node<NodeDataType>> offsetConnectedBlocks = findAllConnectedBlocks(offsetPos);
+                Long2ObjectOpenHashMap<Node<NodeDataType>> offsetConnectedBlocks = findAllConnectedBlocks(offsetPos);
                 //if in the result of remarking offset node has separated from main network,
                 //and it is also separated from current cable too, form new network for it
                 if (!offsetConnectedBlocks.equals(selfConnectedBlocks)) {
-                    offsetConnectedBlocks.keySet().forEach(this::removeNodeWithoutRebuilding);
+                    removeNodesWithoutRebuilding(offsetConnectedBlocks.keySet());
                     PipeNet<NodeDataType> offsetPipeNet = worldData.createNetInstance();
                     offsetPipeNet.transferNodeData(offsetConnectedBlocks, this);
                     worldData.addPipeNet(offsetPipeNet);
@@ -244,9 +300,9 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
     }
 
     protected final void uniteNetworks(PipeNet<NodeDataType> unitedPipeNet) {
-        Map<BlockPos, Node<NodeDataType>> allNodes = new HashMap<>(unitedPipeNet.getAllNodes());
+        Long2ObjectOpenHashMap<Node<NodeDataType>> allNodes = new Long2ObjectOpenHashMap<>(unitedPipeNet.nodeByBlockPos);
         worldData.removePipeNet(unitedPipeNet);
-        allNodes.keySet().forEach(unitedPipeNet::removeNodeWithoutRebuilding);
+        unitedPipeNet.removeNodesWithoutRebuilding(allNodes.keySet());
         transferNodeData(allNodes, unitedPipeNet);
     }
 
@@ -270,20 +326,21 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
     }
 
     //we need to search only this network
-    protected HashMap<BlockPos, Node<NodeDataType>> findAllConnectedBlocks(BlockPos startPos) {
-        HashMap<BlockPos, Node<NodeDataType>> observedSet = new HashMap<>();
-        observedSet.put(startPos, getNodeAt(startPos));
+    protected Long2ObjectOpenHashMap<Node<NodeDataType>> findAllConnectedBlocks(BlockPos startPos) {
+        Long2ObjectOpenHashMap<Node<NodeDataType>> observedSet = new Long2ObjectOpenHashMap<>();
         Node<NodeDataType> firstNode = getNodeAt(startPos);
+        observedSet.put(startPos.toLong(), firstNode);
         MutableBlockPos currentPos = new MutableBlockPos(startPos);
         Stack<EnumFacing> moveStack = new Stack<>();
         main:
         while (true) {
             for (EnumFacing facing : EnumFacing.VALUES) {
                 currentPos.move(facing);
-                Node<NodeDataType> secondNode = getNodeAt(currentPos);
+                long nextPos = currentPos.toLong();
+                Node<NodeDataType> secondNode = getNodeAt(nextPos);
                 //if there is node, and it can connect with previous node, add it to list, and set previous node as current
-                if (secondNode != null && canNodesConnect(firstNode, facing, secondNode, this) && !observedSet.containsKey(currentPos)) {
-                    observedSet.put(currentPos.toImmutable(), getNodeAt(currentPos));
+                if (secondNode != null && canNodesConnect(firstNode, facing, secondNode, this) && !observedSet.containsKey(nextPos)) {
+                    observedSet.put(nextPos, secondNode);
                     firstNode = secondNode;
                     moveStack.push(facing.getOpposite());
                     continue main;
@@ -291,47 +348,164 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
             }
             if (!moveStack.isEmpty()) {
                 currentPos.move(moveStack.pop());
-                firstNode = getNodeAt(currentPos);
+                firstNode = getNodeAt(currentPos.toLong());
             } else break;
         }
         return observedSet;
     }
 
+    /**
+     * Searches the net from several nodes at once, expanding one node of every search in turn. A search which reaches
+     * a node of another search is merged with it. A merged search which runs out of nodes while others are still
+     * going has found a part of the net which is no longer connected to the rest.
+     * <p>
+     * The search which is left last is never completed, so the cost depends on the size of the parts which split off,
+     * or on how soon all searches meet, instead of on the size of the whole net.
+     *
+     * @param startPositions the nodes to search from
+     * @return the nodes of each part which split off, all other nodes are still connected to each other
+     */
+    protected List<Long2ObjectOpenHashMap<Node<NodeDataType>>> findSplitParts(LongList startPositions) {
+        int searchCount = startPositions.size();
+        Long2IntOpenHashMap owners = new Long2IntOpenHashMap();
+        owners.defaultReturnValue(-1);
+        LongArrayFIFOQueue[] queues = new LongArrayFIFOQueue[searchCount];
+        LongArrayList[] visited = new LongArrayList[searchCount];
+        //union find of merged searches, and whether a search was split off already
+        int[] groups = new int[searchCount];
+        boolean[] splitGroups = new boolean[searchCount];
+        for (int i = 0; i < searchCount; i++) {
+            long startPos = startPositions.getLong(i);
+            groups[i] = i;
+            queues[i] = new LongArrayFIFOQueue();
+            visited[i] = new LongArrayList();
+            int owner = owners.get(startPos);
+            if (owner >= 0) {
+                groups[i] = findGroup(groups, owner);
+            } else {
+                owners.put(startPos, i);
+                queues[i].enqueue(startPos);
+                visited[i].add(startPos);
+            }
+        }
+
+        List<Long2ObjectOpenHashMap<Node<NodeDataType>>> splitParts = new ArrayList<>();
+        MutableBlockPos currentPos = new MutableBlockPos();
+        IntArrayList finishedGroups = new IntArrayList();
+        while (true) {
+            for (int i = 0; i < searchCount; i++) {
+                if (!queues[i].isEmpty()) {
+                    expandSearch(i, queues[i].dequeueLong(), owners, queues[i], visited[i], groups, currentPos);
+                }
+            }
+
+            //a group is finished when none of its searches has nodes left
+            int activeGroups = 0;
+            finishedGroups.clear();
+            for (int i = 0; i < searchCount; i++) {
+                if (groups[i] != i || splitGroups[i]) continue;
+                activeGroups++;
+                boolean finished = true;
+                for (int j = 0; j < searchCount && finished; j++) {
+                    finished = queues[j].isEmpty() || findGroup(groups, j) != i;
+                }
+                if (finished) {
+                    finishedGroups.add(i);
+                }
+            }
+            if (finishedGroups.size() == activeGroups) {
+                //everything left was found completely, the last group keeps this net
+                finishedGroups.removeInt(finishedGroups.size() - 1);
+            }
+            for (int f = 0; f < finishedGroups.size(); f++) {
+                int group = finishedGroups.getInt(f);
+                splitGroups[group] = true;
+                Long2ObjectOpenHashMap<Node<NodeDataType>> splitPart = new Long2ObjectOpenHashMap<>();
+                for (int j = 0; j < searchCount; j++) {
+                    if (findGroup(groups, j) != group) continue;
+                    LongArrayList nodes = visited[j];
+                    for (int n = 0; n < nodes.size(); n++) {
+                        long nodePos = nodes.getLong(n);
+                        splitPart.put(nodePos, getNodeAt(nodePos));
+                    }
+                }
+                splitParts.add(splitPart);
+            }
+            if (activeGroups - finishedGroups.size() <= 1) {
+                return splitParts;
+            }
+        }
+    }
+
+    private void expandSearch(int search, long nodePos, Long2IntOpenHashMap owners, LongArrayFIFOQueue queue, LongArrayList visited, int[] groups, MutableBlockPos currentPos) {
+        Node<NodeDataType> node = getNodeAt(nodePos);
+        for (EnumFacing facing : EnumFacing.VALUES) {
+            long nextPos = setPos(currentPos, nodePos).move(facing).toLong();
+            Node<NodeDataType> secondNode = getNodeAt(nextPos);
+            if (secondNode == null || !canNodesConnect(node, facing, secondNode, this)) {
+                continue;
+            }
+            int owner = owners.get(nextPos);
+            if (owner < 0) {
+                owners.put(nextPos, search);
+                queue.enqueue(nextPos);
+                visited.add(nextPos);
+            } else {
+                //met another search, both are connected
+                int group = findGroup(groups, search);
+                int otherGroup = findGroup(groups, owner);
+                if (group != otherGroup) {
+                    groups[otherGroup] = group;
+                }
+            }
+        }
+    }
+
+    private static int findGroup(int[] groups, int search) {
+        while (groups[search] != search) {
+            search = groups[search];
+        }
+        return search;
+    }
+
+    private static MutableBlockPos setPos(MutableBlockPos mutablePos, long blockPos) {
+        // same unpacking as BlockPos#fromLong
+        return mutablePos.setPos((int) (blockPos >> 38), (int) (blockPos << 26 >> 52), (int) (blockPos << 38 >> 38));
+    }
+
+    /**
+     * Moves each of the given parts into a new net
+     */
+    private void splitOff(List<Long2ObjectOpenHashMap<Node<NodeDataType>>> splitParts) {
+        for (Long2ObjectOpenHashMap<Node<NodeDataType>> splitPart : splitParts) {
+            //and use them to create new network with caching active nodes set
+            PipeNet<NodeDataType> newPipeNet = worldData.createNetInstance();
+            //remove blocks that aren't connected with this network
+            removeNodesWithoutRebuilding(splitPart.keySet());
+            newPipeNet.transferNodeData(splitPart, this);
+            worldData.addPipeNet(newPipeNet);
+        }
+    }
+
     //called when node is removed to rebuild network
     protected void rebuildNetworkOnNodeRemoval(BlockPos nodePos, Node<NodeDataType> selfNode) {
-        int amountOfConnectedSides = 0;
-        for (EnumFacing facing : EnumFacing.values()) {
-            BlockPos offsetPos = nodePos.offset(facing);
-            if (containsNode(offsetPos))
-                amountOfConnectedSides++;
+        MutableBlockPos offsetPos = new MutableBlockPos();
+        LongArrayList connectedNeighbours = new LongArrayList(EnumFacing.VALUES.length);
+        for (EnumFacing facing : EnumFacing.VALUES) {
+            long neighbourPos = offsetPos.setPos(nodePos).move(facing).toLong();
+            Node<NodeDataType> secondNode = getNodeAt(neighbourPos);
+            //if there isn't any neighbour node, or it wasn't connected with us, just skip it
+            if (secondNode != null && canNodesConnect(selfNode, facing, secondNode, this)) {
+                connectedNeighbours.add(neighbourPos);
+            }
         }
         //if we are connected only on one side or not connected at all, we don't need to find connected blocks
         //because they are only on on side or doesn't exist at all
-        //this saves a lot of performance in big networks, which are quite big to depth-first them fastly
-        if (amountOfConnectedSides >= 2) {
-            for (EnumFacing facing : EnumFacing.VALUES) {
-                BlockPos offsetPos = nodePos.offset(facing);
-                Node<NodeDataType> secondNode = getNodeAt(offsetPos);
-                if (secondNode == null || !canNodesConnect(selfNode, facing, secondNode, this)) {
-                    //if there isn't any neighbour node, or it wasn't connected with us, just skip it
-                    continue;
-                }
-                HashMap<BlockPos, Node<NodeDataType>> thisENet = findAllConnectedBlocks(offsetPos);
-                if (getAllNodes().equals(thisENet)) {
-                    //if cable on some direction contains all nodes of this network
-                    //the network didn't change so keep it as is
-                    break;
-                } else {
-                    //and use them to create new network with caching active nodes set
-                    PipeNet<NodeDataType> energyNet = worldData.createNetInstance();
-                    //remove blocks that aren't connected with this network
-                    thisENet.keySet().forEach(this::removeNodeWithoutRebuilding);
-                    energyNet.transferNodeData(thisENet, this);
-                    worldData.addPipeNet(energyNet);
-                }
-            }
+        //otherwise only the parts which split off are searched completely
+        if (connectedNeighbours.size() >= 2) {
+            splitOff(findSplitParts(connectedNeighbours));
         }
-        if (getAllNodes().isEmpty()) {
+        if (nodeByBlockPos.isEmpty()) {
             //if this energy net is empty now, remove it
             worldData.removePipeNet(this);
         }
@@ -354,8 +528,10 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
      * from parent network and add it to it's own tank, keeping network contents when old network is split
      * Note that it should be called when parent net doesn't have transferredNodes in allNodes already
      */
-    protected void transferNodeData(Map<BlockPos, Node<NodeDataType>> transferredNodes, PipeNet<NodeDataType> parentNet) {
-        transferredNodes.forEach(this::addNodeSilently);
+    protected void transferNodeData(Long2ObjectMap<Node<NodeDataType>> transferredNodes, PipeNet<NodeDataType> parentNet) {
+        for (Long2ObjectMap.Entry<Node<NodeDataType>> entry : transferredNodes.long2ObjectEntrySet()) {
+            addNodeSilently(entry.getLongKey(), entry.getValue());
+        }
         onNodeConnectionsUpdate();
         worldData.markDirty();
     }
@@ -404,7 +580,7 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
             int y = nodeTag.getInteger("y");
             int z = nodeTag.getInteger("z");
             int wirePropertiesIndex = nodeTag.getInteger("index");
-            BlockPos blockPos = new BlockPos(x, y, z);
+            long blockPos = new BlockPos(x, y, z).toLong();
             NodeDataType nodeData = readProperties.get(wirePropertiesIndex);
             int openConnections = nodeTag.getInteger("open");
             int mark = nodeTag.getInteger("mark");
@@ -413,15 +589,15 @@ public abstract class PipeNet<NodeDataType> implements INBTSerializable<NBTTagCo
         }
     }
 
-    protected NBTTagCompound serializeAllNodeList(Map<BlockPos, Node<NodeDataType>> allNodes) {
+    protected NBTTagCompound serializeAllNodeList(Long2ObjectMap<Node<NodeDataType>> allNodes) {
         NBTTagCompound compound = new NBTTagCompound();
         NBTTagList allNodesList = new NBTTagList();
         NBTTagList wirePropertiesList = new NBTTagList();
         TObjectIntMap<NodeDataType> alreadyWritten = new TObjectIntHashMap<>(10, 0.5f, -1);
         int currentIndex = 0;
 
-        for (Entry<BlockPos, Node<NodeDataType>> entry : allNodes.entrySet()) {
-            BlockPos nodePos = entry.getKey();
+        for (Long2ObjectMap.Entry<Node<NodeDataType>> entry : allNodes.long2ObjectEntrySet()) {
+            BlockPos nodePos = BlockPos.fromLong(entry.getLongKey());
             Node<NodeDataType> node = entry.getValue();
             NBTTagCompound nodeTag = new NBTTagCompound();
             nodeTag.setInteger("x", nodePos.getX());
@@ -1,5 +1,7 @@
 package gregtech.api.pipenet;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.util.EnumFacing;
@@ -17,7 +19,8 @@ public abstract class WorldPipeNet<NodeDataType, T extends PipeNet<NodeDataType>
 
     private WeakReference<World> worldRef = new WeakReference<>(null);
     protected List<T> pipeNets = new ArrayList<>();
-    protected final Map<ChunkPos, List<T>> pipeNetsByChunk = new HashMap<>();
+    // keyed by ChunkPos#asLong
+    protected final Long2ObjectOpenHashMap<List<T>> pipeNetsByChunk = new Long2ObjectOpenHashMap<>();
 
     public WorldPipeNet(String name) {
         super(name);
@@ -51,7 +54,7 @@ public abstract class WorldPipeNet<NodeDataType, T extends PipeNet<NodeDataType>
         for (EnumFacing facing : EnumFacing.VALUES) {
             BlockPos offsetPos = nodePos.offset(facing);
             T pipeNet = getNetFromPos(offsetPos);
-            Node<NodeDataType> secondNode = pipeNet == null ? null : pipeNet.getAllNodes().get(offsetPos);
+            Node<NodeDataType> secondNode = pipeNet == null ? null : pipeNet.getNodeAt(offsetPos);
             if (pipeNet != null && pipeNet.canAttachNode(nodeData) &&
                     pipeNet.canNodesConnect(secondNode, facing.getOpposite(), node, null)) {
                 if (myPipeNet == null) {
@@ -71,13 +74,19 @@ public abstract class WorldPipeNet<NodeDataType, T extends PipeNet<NodeDataType>
         }
     }
 
-    protected void addPipeNetToChunk(ChunkPos chunkPos, T pipeNet) {
-        this.pipeNetsByChunk.computeIfAbsent(chunkPos, any -> new ArrayList<>()).add(pipeNet);
+    protected void addPipeNetToChunk(long chunkPos, T pipeNet) {
+        List<T> list = this.pipeNetsByChunk.get(chunkPos);
+        if (list == null) {
+            list = new ArrayList<>();
+            this.pipeNetsByChunk.put(chunkPos, list);
+        }
+        list.add(pipeNet);
     }
 
-    protected void removePipeNetFromChunk(ChunkPos chunkPos, T pipeNet) {
+    protected void removePipeNetFromChunk(long chunkPos, T pipeNet) {
         List<T> list = this.pipeNetsByChunk.get(chunkPos);
-        if (list != null) list.remove(pipeNet);
+        if (list == null) return;
+        list.remove(pipeNet);
         if (list.isEmpty()) this.pipeNetsByChunk.remove(chunkPos);
     }
 
@@ -92,7 +101,7 @@ public abstract class WorldPipeNet<NodeDataType, T extends PipeNet<NodeDataType>
         T pipeNet = getNetFromPos(nodePos);
         if (pipeNet != null) {
             pipeNet.updateBlockedConnections(nodePos, side, isBlocked);
-            pipeNet.onPipeConnectionsUpdate();
+            pipeNet.onPipeConnectionsUpdate(nodePos, side);
         }
     }
 
@@ -104,9 +113,13 @@ public abstract class WorldPipeNet<NodeDataType, T extends PipeNet<NodeDataType>
     }
 
     public T getNetFromPos(BlockPos blockPos) {
-        List<T> pipeNetsInChunk = pipeNetsByChunk.getOrDefault(new ChunkPos(blockPos), Collections.emptyList());
+        List<T> pipeNetsInChunk = pipeNetsByChunk.get(ChunkPos.asLong(blockPos.getX() >> 4, blockPos.getZ() >> 4));
+        if (pipeNetsInChunk == null) {
+            return null;
+        }
+        long nodePos = blockPos.toLong();
         for (T pipeNet : pipeNetsInChunk) {
-            if (pipeNet.containsNode(blockPos))
+            if (pipeNet.containsNode(nodePos))
                 return pipeNet;
         }
         return null;
@@ -118,13 +131,19 @@ public abstract class WorldPipeNet<NodeDataType, T extends PipeNet<NodeDataType>
 
     protected void addPipeNetSilently(T pipeNet) {
         this.pipeNets.add(pipeNet);
-        pipeNet.getContainedChunks().forEach(chunkPos -> addPipeNetToChunk(chunkPos, pipeNet));
+        LongIterator chunks = pipeNet.getContainedChunks().iterator();
+        while (chunks.hasNext()) {
+            addPipeNetToChunk(chunks.nextLong(), pipeNet);
+        }
         pipeNet.isValid = true;
     }
 
     protected void removePipeNet(T pipeNet) {
         this.pipeNets.remove(pipeNet);
-        pipeNet.getContainedChunks().forEach(chunkPos -> removePipeNetFromChunk(chunkPos, pipeNet));
+        LongIterator chunks = pipeNet.getContainedChunks().iterator();
+        while (chunks.hasNext()) {
+            removePipeNetFromChunk(chunks.nextLong(), pipeNet);
+        }
         pipeNet.isValid = false;
     }
 
@@ -2,18 +2,22 @@ package gregtech.api.pipenet.tickable;
 
 import gregtech.api.pipenet.PipeNet;
 import gregtech.api.pipenet.WorldPipeNet;
+import gregtech.api.util.profiler.ProfiledType;
+import gregtech.api.util.profiler.TickProfiler;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import net.minecraft.util.ITickable;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
-import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 public abstract class TickableWorldPipeNet<NodeDataType, T extends PipeNet<NodeDataType> & ITickable> extends WorldPipeNet<NodeDataType, T> {
 
-    private final Map<T, List<ChunkPos>> loadedChunksByPipeNet = new HashMap<>();
+    // chunks as ChunkPos#asLong
+    private final Map<T, LongSet> loadedChunksByPipeNet = new HashMap<>();
     private final Set<T> tickingPipeNets = new HashSet<>();
     private final Set<T> removeLater = new HashSet<>();
 
@@ -21,17 +25,25 @@ public abstract class TickableWorldPipeNet<NodeDataType, T extends PipeNet<NodeD
         super(name);
     }
 
-    private boolean isChunkLoaded(ChunkPos chunkPos) {
-        WorldServer worldServer = (WorldServer) getWorld();
-        if (worldServer == null) return false;
-        return worldServer.getChunkProvider().chunkExists(chunkPos.x, chunkPos.z);
+    private boolean isChunkLoaded(long chunkPos) {
+        // pipe nets of client worlds never tick
+        if (!(getWorld() instanceof WorldServer)) return false;
+        return ((WorldServer) getWorld()).getChunkProvider().chunkExists((int) chunkPos, (int) (chunkPos >> 32));
     }
 
     protected abstract int getUpdateRate();
 
     public void update() {
         if (getWorld().getTotalWorldTime() % getUpdateRate() == 0L) {
-            tickingPipeNets.forEach(net -> net.update());
+            // updating a net may split it or merge it with others
+            boolean profile = TickProfiler.isSampling();
+            for (T pipeNet : new ArrayList<>(tickingPipeNets)) {
+                long startTime = profile ? System.nanoTime() : 0;
+                pipeNet.update();
+                if (profile) {
+                    TickProfiler.record(ProfiledType.PIPE_NET, pipeNet.getClass(), System.nanoTime() - startTime);
+                }
+            }
         }
         if(removeLater.size() > 0) {
             removeLater.forEach(tickingPipeNets::remove);
@@ -40,11 +52,11 @@ public abstract class TickableWorldPipeNet<NodeDataType, T extends PipeNet<NodeD
     }
 
     public void onChunkLoaded(Chunk chunk) {
-        ChunkPos chunkPos = chunk.getPos();
+        long chunkPos = ChunkPos.asLong(chunk.x, chunk.z);
         List<T> pipeNetsInThisChunk = this.pipeNetsByChunk.get(chunkPos);
         if (pipeNetsInThisChunk == null) return;
         for (T pipeNet : pipeNetsInThisChunk) {
-            List<ChunkPos> loadedChunks = getOrCreateChunkListForPipeNet(pipeNet);
+            LongSet loadedChunks = getOrCreateChunkListForPipeNet(pipeNet);
             if (loadedChunks.isEmpty()) {
                 this.tickingPipeNets.add(pipeNet);
             }
@@ -53,13 +65,12 @@ public abstract class TickableWorldPipeNet<NodeDataType, T extends PipeNet<NodeD
     }
 
     public void onChunkUnloaded(Chunk chunk) {
-        ChunkPos chunkPos = chunk.getPos();
+        long chunkPos = ChunkPos.asLong(chunk.x, chunk.z);
         List<T> pipeNetsInThisChunk = this.pipeNetsByChunk.get(chunkPos);
         if (pipeNetsInThisChunk == null) return;
         for (T pipeNet : pipeNetsInThisChunk) {
-            List<ChunkPos> loadedChunks = this.loadedChunksByPipeNet.get(pipeNet);
-            if (loadedChunks != null && loadedChunks.contains(chunkPos)) {
-                loadedChunks.remove(chunkPos);
+            LongSet loadedChunks = this.loadedChunksByPipeNet.get(pipeNet);
+            if (loadedChunks != null && loadedChunks.remove(chunkPos)) {
                 if (loadedChunks.isEmpty()) {
                     removeFromTicking(pipeNet);
                 }
@@ -70,30 +81,35 @@ public abstract class TickableWorldPipeNet<NodeDataType, T extends PipeNet<NodeD
     @Override
     protected void onWorldSet() {
         super.onWorldSet();
-        Map<T, List<ChunkPos>> pipeNetByLoadedChunks = pipeNets.stream()
-                .map(pipeNet -> Pair.of(pipeNet, getPipeNetLoadedChunks(pipeNet)))
-                .filter(pair -> !pair.getRight().isEmpty())
-                .collect(Collectors.toMap(Pair::getLeft, Pair::getRight));
-        if (!pipeNetByLoadedChunks.isEmpty()) {
-            this.tickingPipeNets.addAll(pipeNetByLoadedChunks.keySet());
-            this.loadedChunksByPipeNet.putAll(pipeNetByLoadedChunks);
+        for (T pipeNet : pipeNets) {
+            LongSet loadedChunks = getPipeNetLoadedChunks(pipeNet);
+            if (!loadedChunks.isEmpty()) {
+                this.tickingPipeNets.add(pipeNet);
+                this.loadedChunksByPipeNet.put(pipeNet, loadedChunks);
+            }
         }
     }
 
     @Override
     protected void addPipeNet(T pipeNet) {
         super.addPipeNet(pipeNet);
-        List<ChunkPos> loadedChunks = getPipeNetLoadedChunks(pipeNet);
+        LongSet loadedChunks = getPipeNetLoadedChunks(pipeNet);
         if (!loadedChunks.isEmpty()) {
             this.loadedChunksByPipeNet.put(pipeNet, loadedChunks);
             this.tickingPipeNets.add(pipeNet);
         }
     }
 
-    private List<ChunkPos> getPipeNetLoadedChunks(T pipeNet) {
-        return pipeNet.getContainedChunks().stream()
-                .filter(this::isChunkLoaded)
-                .collect(Collectors.toList());
+    private LongSet getPipeNetLoadedChunks(T pipeNet) {
+        LongSet loadedChunks = new LongOpenHashSet();
+        LongIterator chunks = pipeNet.getContainedChunks().iterator();
+        while (chunks.hasNext()) {
+            long chunkPos = chunks.nextLong();
+            if (isChunkLoaded(chunkPos)) {
+                loadedChunks.add(chunkPos);
+            }
+        }
+        return loadedChunks;
     }
 
     @Override
@@ -109,15 +125,15 @@ public abstract class TickableWorldPipeNet<NodeDataType, T extends PipeNet<NodeD
         this.removeLater.add(pipeNet);
     }
 
-    private List<ChunkPos> getOrCreateChunkListForPipeNet(T pipeNet) {
-        return this.loadedChunksByPipeNet.computeIfAbsent(pipeNet, k -> new ArrayList<>());
+    private LongSet getOrCreateChunkListForPipeNet(T pipeNet) {
+        return this.loadedChunksByPipeNet.computeIfAbsent(pipeNet, k -> new LongOpenHashSet());
     }
 
     @Override
-    protected void addPipeNetToChunk(ChunkPos chunkPos, T pipeNet) {
+    protected void addPipeNetToChunk(long chunkPos, T pipeNet) {
         super.addPipeNetToChunk(chunkPos, pipeNet);
         if (isChunkLoaded(chunkPos)) {
-            List<ChunkPos> loadedChunks = getOrCreateChunkListForPipeNet(pipeNet);
+            LongSet loadedChunks = getOrCreateChunkListForPipeNet(pipeNet);
             if (loadedChunks.isEmpty()) {
                 this.tickingPipeNets.add(pipeNet);
             }
@@ -126,11 +142,10 @@ public abstract class TickableWorldPipeNet<NodeDataType, T extends PipeNet<NodeD
     }
 
     @Override
-    protected void removePipeNetFromChunk(ChunkPos chunkPos, T pipeNet) {
+    protected void removePipeNetFromChunk(long chunkPos, T pipeNet) {
         super.removePipeNetFromChunk(chunkPos, pipeNet);
-        List<ChunkPos> loadedChunks = this.loadedChunksByPipeNet.get(pipeNet);
-        if (loadedChunks != null && loadedChunks.contains(chunkPos)) {
-            loadedChunks.remove(chunkPos);
+        LongSet loadedChunks = this.loadedChunksByPipeNet.get(pipeNet);
+        if (loadedChunks != null && loadedChunks.remove(chunkPos)) {
             if (loadedChunks.isEmpty()) {
                 removeFromTicking(pipeNet);
             }
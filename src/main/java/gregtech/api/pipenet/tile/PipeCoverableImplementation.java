@@ -6,6 +6,8 @@ import gregtech.api.cover.CoverDefinition;
 import gregtech.api.cover.ICoverable;
 import gregtech.api.pipenet.block.BlockPipe;
 import gregtech.api.util.GTUtility;
+import gregtech.api.util.profiler.ProfiledType;
+import gregtech.api.util.profiler.TickProfiler;
 import gregtech.common.ConfigHolder;
 import gregtech.common.advancement.GTTriggers;
 import net.minecraft.block.Block;
@@ -218,11 +220,28 @@ public class PipeCoverableImplementation implements ICoverable {
         return highestSignal;
     }
 
+    /**
+     * @return true if a cover on this pipe needs ticking
+     */
+    public boolean hasTickableCovers() {
+        for (CoverBehavior coverBehavior : coverBehaviors) {
+            if (coverBehavior instanceof ITickable) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public void update() {
         if (!getWorld().isRemote) {
+            boolean profile = TickProfiler.isSampling();
             for (CoverBehavior coverBehavior : coverBehaviors) {
                 if (coverBehavior instanceof ITickable) {
+                    long startTime = profile ? System.nanoTime() : 0;
                     ((ITickable) coverBehavior).update();
+                    if (profile) {
+                        TickProfiler.record(ProfiledType.COVER, coverBehavior.getClass(), System.nanoTime() - startTime);
+                    }
                 }
             }
         }
@@ -58,7 +58,9 @@ public abstract class TileEntityPipeBase<PipeType extends Enum<PipeType> & IPipe
         this.pipeType = tileEntity.getPipeType();
         this.paintingColor = tileEntity.getPaintingColor();
         this.connections = tileEntity.getConnections();
+        this.frameMaterial = tileEntity.getFrameMaterial();
         if (tileEntity instanceof TileEntityPipeBase) {
+            this.blockedConnections = ((TileEntityPipeBase<?, ?>) tileEntity).blockedConnections;
             this.updates.putAll(((TileEntityPipeBase<?, ?>) tileEntity).updates);
         }
         tileEntity.getCoverableImplementation().transferDataTo(coverableImplementation);
@@ -116,6 +118,29 @@ public abstract class TileEntityPipeBase<PipeType extends Enum<PipeType> & IPipe
         return newTile;
     }
 
+    /**
+     * Replaces this ticking tile entity with one that does not tick, once nothing on the pipe needs ticking anymore.
+     * Does nothing if the pipe block only has ticking tile entities.
+     */
+    protected void demoteTickingIfIdle() {
+        if (getWorld().isRemote || !canDemoteTicking()) {
+            return;
+        }
+        IPipeTile<PipeType, NodeDataType> newTile = getPipeBlock().createNewTileEntity(false);
+        if (newTile.supportsTicking()) {
+            return;
+        }
+        newTile.transferDataFrom(this);
+        getWorld().setTileEntity(getPos(), (TileEntity) newTile);
+    }
+
+    /**
+     * @return true if nothing on this pipe needs ticking anymore
+     */
+    protected boolean canDemoteTicking() {
+        return !coverableImplementation.hasTickableCovers();
+    }
+
     @Override
     public BlockPipe<PipeType, NodeDataType, ?> getPipeBlock() {
         if (pipeBlock == null) {
@@ -228,7 +253,7 @@ public abstract class TileEntityPipeBase<PipeType extends Enum<PipeType> & IPipe
             WorldPipeNet<?, ?> worldPipeNet = getPipeBlock().getWorldPipeNet(getWorld());
             PipeNet<?> net = worldPipeNet.getNetFromPos(pos);
             if (net != null) {
-                net.onPipeConnectionsUpdate();
+                net.onPipeConnectionsUpdate(pos, side);
             }
         }
     }
@@ -4,6 +4,7 @@ import com.google.common.collect.ImmutableList;
 import gregtech.api.GTValues;
 import gregtech.api.capability.IMultipleTankHandler;
 import gregtech.api.recipes.ingredients.GTRecipeInput;
+import gregtech.api.recipes.logic.RecipeMatcher;
 import gregtech.api.recipes.recipeproperties.EmptyRecipePropertyStorage;
 import gregtech.api.recipes.recipeproperties.IRecipePropertyStorage;
 import gregtech.api.recipes.recipeproperties.RecipeProperty;
@@ -164,7 +165,11 @@ public class Recipe {
     }
 
     public final boolean matches(boolean consumeIfSuccessful, IItemHandlerModifiable inputs, IMultipleTankHandler fluidInputs) {
-        return matches(consumeIfSuccessful, GTUtility.itemHandlerToList(inputs), GTUtility.fluidHandlerToList(fluidInputs));
+        if (!consumeIfSuccessful) {
+            // read the handlers in place, this is called on every recipe search
+            return RecipeMatcher.matches(this, inputs, fluidInputs);
+        }
+        return matches(true, GTUtility.itemHandlerToList(inputs), GTUtility.fluidHandlerToList(fluidInputs));
     }
 
     /**
@@ -176,93 +181,52 @@ public class Recipe {
      * @return true if the recipe matches the given inputs false otherwise.
      */
     public boolean matches(boolean consumeIfSuccessful, List<ItemStack> inputs, List<FluidStack> fluidInputs) {
-        Pair<Boolean, Integer[]> fluids;
-        Pair<Boolean, Integer[]> items;
-
-
-        fluids = matchesFluid(fluidInputs);
-        if (!fluids.getKey()) {
-            return false;
-        }
-
-        items = matchesItems(inputs);
-        if (!items.getKey()) {
-            return false;
-        }
-
-        if (consumeIfSuccessful) {
-            Integer[] fluidAmountInTank = fluids.getValue();
-            Integer[] itemAmountInSlot = items.getValue();
-            for (int i = 0; i < fluidAmountInTank.length; i++) {
-                FluidStack fluidStack = fluidInputs.get(i);
-                int fluidAmount = fluidAmountInTank[i];
-                if (fluidStack == null || fluidStack.amount == fluidAmount)
-                    continue;
-                fluidStack.amount = fluidAmount;
-                if (fluidStack.amount == 0)
-                    fluidInputs.set(i, null);
+        RecipeMatcher matcher = RecipeMatcher.acquire();
+        try {
+            if (!matcher.matches(this, matcher.view(inputs, fluidInputs))) {
+                return false;
             }
-            for (int i = 0; i < itemAmountInSlot.length; i++) {
-                ItemStack itemInSlot = inputs.get(i);
-                int itemAmount = itemAmountInSlot[i];
-                if (itemInSlot.isEmpty() || itemInSlot.getCount() == itemAmount)
-                    continue;
-                itemInSlot.setCount(itemAmountInSlot[i]);
-            }
-        }
 
-        return true;
-    }
-
-    private Pair<Boolean, Integer[]> matchesItems(List<ItemStack> inputs) {
-        Integer[] itemAmountInSlot = new Integer[inputs.size()];
-
-        for (int i = 0; i < itemAmountInSlot.length; i++) {
-            ItemStack itemInSlot = inputs.get(i);
-            itemAmountInSlot[i] = itemInSlot.isEmpty() ? 0 : itemInSlot.getCount();
-        }
-
-        for (GTRecipeInput ingredient : this.inputs) {
-            int ingredientAmount = ingredient.getAmount();
-            for (int i = 0; i < inputs.size(); i++) {
-                ItemStack inputStack = inputs.get(i);
-                if (inputStack.isEmpty() || !ingredient.acceptsStack(inputStack))
-                    continue;
-                int itemAmountToConsume = Math.min(itemAmountInSlot[i], ingredientAmount);
-                ingredientAmount -= itemAmountToConsume;
-                if (!ingredient.isNonConsumable()) itemAmountInSlot[i] -= itemAmountToConsume;
-                if (ingredientAmount == 0) break;
+            if (consumeIfSuccessful) {
+                for (int i = 0; i < fluidInputs.size(); i++) {
+                    FluidStack fluidStack = fluidInputs.get(i);
+                    int fluidAmount = matcher.getFluidAmount(i);
+                    if (fluidStack == null || fluidStack.amount == fluidAmount)
+                        continue;
+                    fluidStack.amount = fluidAmount;
+                    if (fluidStack.amount == 0)
+                        fluidInputs.set(i, null);
+                }
+                for (int i = 0; i < inputs.size(); i++) {
+                    ItemStack itemInSlot = inputs.get(i);
+                    int itemAmount = matcher.getItemAmount(i);
+                    if (itemInSlot.isEmpty() || itemInSlot.getCount() == itemAmount)
+                        continue;
+                    itemInSlot.setCount(itemAmount);
+                }
             }
-            if (ingredientAmount > 0)
-                return Pair.of(false, itemAmountInSlot);
+            return true;
+        } finally {
+            matcher.release();
         }
-
-        return Pair.of(true, itemAmountInSlot);
     }
 
-    private Pair<Boolean, Integer[]> matchesFluid(List<FluidStack> fluidInputs) {
-        Integer[] fluidAmountInTank = new Integer[fluidInputs.size()];
-
-        for (int i = 0; i < fluidAmountInTank.length; i++) {
-            FluidStack fluidInTank = fluidInputs.get(i);
-            fluidAmountInTank[i] = fluidInTank == null ? 0 : fluidInTank.amount;
+    private static boolean matchesItems(List<GTRecipeInput> ingredients, List<ItemStack> inputs) {
+        RecipeMatcher matcher = RecipeMatcher.acquire();
+        try {
+            return matcher.matchesItems(ingredients, matcher.view(inputs, Collections.emptyList()));
+        } finally {
+            matcher.release();
         }
+    }
 
-        for (GTRecipeInput fluid : this.fluidInputs) {
-            int fluidAmount = fluid.getAmount();
-            for (int i = 0; i < fluidInputs.size(); i++) {
-                FluidStack tankFluid = fluidInputs.get(i);
-                if (tankFluid == null || !fluid.acceptsFluid(tankFluid))
-                    continue;
-                int fluidAmountToConsume = Math.min(fluidAmountInTank[i], fluidAmount);
-                fluidAmount -= fluidAmountToConsume;
-                if (!fluid.isNonConsumable()) fluidAmountInTank[i] -= fluidAmountToConsume;
-                if (fluidAmount == 0) break;
-            }
-            if (fluidAmount > 0)
-                return Pair.of(false, fluidAmountInTank);
+    private static boolean matchesFluid(List<GTRecipeInput> fluidIngredients, List<FluidStack> fluidInputs) {
+        RecipeMatcher matcher = RecipeMatcher.acquire();
+        try {
+            return matcher.matchesFluids(fluidIngredients, matcher.view(Collections.emptyList(), fluidInputs));
+        } finally {
+            matcher.release();
         }
-        return Pair.of(true, fluidAmountInTank);
     }
 
     @Override
@@ -303,7 +267,7 @@ public class Recipe {
         for (GTRecipeInput otherInputs : otherRecipe.inputs) {
             otherStackList.addAll(Arrays.asList(otherInputs.getInputStacks()));
         }
-        if (!this.matchesItems(otherStackList).getLeft()) {
+        if (!matchesItems(this.inputs, otherStackList)) {
             return false;
         }
 
@@ -311,7 +275,7 @@ public class Recipe {
         for (GTRecipeInput thisInputs : this.inputs) {
             thisStackList.addAll(Arrays.asList(thisInputs.getInputStacks()));
         }
-        return otherRecipe.matchesItems(thisStackList).getLeft();
+        return matchesItems(otherRecipe.inputs, thisStackList);
     }
 
     public int hashFluidList(List<GTRecipeInput> fluids) {
@@ -328,7 +292,7 @@ public class Recipe {
             FluidStack fluidStack = otherInputs.getInputFluidStack();
             otherFluidList.add(fluidStack);
         }
-        if (!this.matchesFluid(otherFluidList).getLeft()) {
+        if (!matchesFluid(this.fluidInputs, otherFluidList)) {
             return false;
         }
 
@@ -337,7 +301,7 @@ public class Recipe {
             FluidStack fluidStack = thisFluidInputs.getInputFluidStack();
             thisFluidsList.add(fluidStack);
         }
-        return otherRecipe.matchesFluid(thisFluidsList).getLeft();
+        return matchesFluid(otherRecipe.fluidInputs, thisFluidsList);
     }
 
     @Override
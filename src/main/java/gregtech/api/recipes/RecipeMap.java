@@ -44,6 +44,10 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.lang.ref.WeakReference;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import java.util.function.DoubleSupplier;
 import java.util.function.Predicate;
@@ -74,6 +78,15 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
     public final boolean isHidden;
 
     private final Branch lookup = new Branch();
+    private volatile CompiledRecipeLookup compiledLookup;
+    private final NegativeRecipeCache negativeCache = new NegativeRecipeCache();
+    private int maxItemInputAmount = 0;
+    private int maxFluidInputAmount = 0;
+    private List<Recipe> pendingRecipes;
+    private int pendingRecipeCount;
+    private long lookupBuildNanos;
+    // CraftTweaker errors of a lookup tree built on a worker thread, logged by the thread which started the build
+    private List<String> craftTweakerErrors;
     private boolean hasOreDictedInputs = false;
     private boolean hasNBTMatcherInputs = false;
     private static final WeakHashMap<AbstractMapIngredient, WeakReference<AbstractMapIngredient>> ingredientRoot = new WeakHashMap<>();
@@ -175,6 +188,164 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
     }
 
     private static boolean foundInvalidRecipe = false;
+    private static boolean compiledLookupsEnabled = false;
+    private static boolean bulkLoading = false;
+    private static long bulkLoadingStart;
+
+    /**
+     * Starts collecting recipes per map instead of inserting them into the lookup trees one by one.
+     * The trees are built by {@link #finishBulkLoading()}. Searching or removing recipes in a map
+     * before that builds its tree right away, so behavior stays the same as with sequential insertion.
+     */
+    public static void startBulkLoading() {
+        if (!ConfigHolder.recipes.parallelRecipeTreeBuild) {
+            return;
+        }
+        bulkLoading = true;
+        bulkLoadingStart = System.nanoTime();
+    }
+
+    /**
+     * Builds the lookup trees of all maps with collected recipes in parallel, one task per map.
+     * Each map inserts its recipes in registration order, so the trees are identical to sequential insertion.
+     */
+    public static void finishBulkLoading() {
+        if (!bulkLoading) {
+            return;
+        }
+        bulkLoading = false;
+        long collectNanos = System.nanoTime() - bulkLoadingStart;
+
+        List<RecipeMap<?>> recipeMaps = new ArrayList<>();
+        for (RecipeMap<?> recipeMap : RECIPE_MAP_REGISTRY.values()) {
+            if (recipeMap.pendingRecipes != null) {
+                recipeMaps.add(recipeMap);
+            }
+        }
+        // start with the largest maps, so they do not end up last on a single worker
+        recipeMaps.sort(Comparator.comparingInt((RecipeMap<?> recipeMap) -> recipeMap.pendingRecipes.size()).reversed());
+
+        int threads = Math.max(1, Math.min(recipeMaps.size(), Runtime.getRuntime().availableProcessors()));
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>(recipeMaps.size());
+            for (RecipeMap<?> recipeMap : recipeMaps) {
+                recipeMap.craftTweakerErrors = new ArrayList<>();
+                tasks.add(() -> {
+                    recipeMap.flushPendingRecipes();
+                    return null;
+                });
+            }
+            for (Future<Void> future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while building recipe lookup trees", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to build recipe lookup trees", e.getCause());
+        } finally {
+            pool.shutdown();
+            for (RecipeMap<?> recipeMap : recipeMaps) {
+                recipeMap.craftTweakerErrors.forEach(CraftTweakerAPI::logError);
+                recipeMap.craftTweakerErrors = null;
+            }
+        }
+        long buildNanos = System.nanoTime() - start;
+        logBulkLoadingReport(recipeMaps, collectNanos, buildNanos, threads);
+    }
+
+    private static void logBulkLoadingReport(List<RecipeMap<?>> recipeMaps, long collectNanos, long buildNanos, int threads) {
+        int totalRecipes = 0;
+        for (RecipeMap<?> recipeMap : recipeMaps) {
+            totalRecipes += recipeMap.pendingRecipeCount;
+        }
+        GTLog.logger.info("Collected {} recipes for {} Recipe Maps in {} ms, built their lookup trees in {} ms on {} threads",
+                totalRecipes, recipeMaps.size(), collectNanos / 1_000_000, buildNanos / 1_000_000, threads);
+
+        recipeMaps.sort(Comparator.comparingLong((RecipeMap<?> recipeMap) -> recipeMap.lookupBuildNanos).reversed());
+        int logged = ConfigHolder.misc.debug ? recipeMaps.size() : Math.min(10, recipeMaps.size());
+        for (int i = 0; i < logged; i++) {
+            RecipeMap<?> recipeMap = recipeMaps.get(i);
+            GTLog.logger.info("  {}: {} recipes, lookup tree built in {} ms",
+                    recipeMap.unlocalizedName, recipeMap.pendingRecipeCount, recipeMap.lookupBuildNanos / 1_000_000);
+        }
+    }
+
+    /**
+     * Inserts the recipes collected during bulk loading into the lookup tree of this map, if there are any.
+     */
+    private void flushPendingRecipes() {
+        if (pendingRecipes != null) {
+            buildPendingRecipes();
+        }
+    }
+
+    private synchronized void buildPendingRecipes() {
+        List<Recipe> pending = this.pendingRecipes;
+        if (pending == null) {
+            return;
+        }
+        this.pendingRecipes = null;
+        long start = System.nanoTime();
+        for (Recipe recipe : pending) {
+            insertRecipe(recipe);
+        }
+        this.lookupBuildNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * CraftTweaker is not thread safe, so errors found while building the lookup tree on a worker thread are
+     * logged once the build is done.
+     */
+    private void logCraftTweakerError(String message) {
+        if (craftTweakerErrors != null) {
+            craftTweakerErrors.add(message);
+        } else {
+            CraftTweakerAPI.logError(message);
+        }
+    }
+
+    /**
+     * Freezes the lookup tree of every registered RecipeMap into a {@link CompiledRecipeLookup},
+     * if enabled in the config. Called once all recipes are loaded.
+     * Maps changed afterwards recompile their lookup on the next search.
+     */
+    public static void compileLookups() {
+        if (!ConfigHolder.recipes.compiledRecipeLookup) {
+            return;
+        }
+        compiledLookupsEnabled = true;
+        long start = System.nanoTime();
+        for (RecipeMap<?> recipeMap : RECIPE_MAP_REGISTRY.values()) {
+            recipeMap.compileLookup();
+        }
+        GTLog.logger.info("Compiled recipe lookups of {} Recipe Maps in {} ms", RECIPE_MAP_REGISTRY.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Freezes the current lookup tree of this map. The compiled lookup is used by {@link #find(List, List, Predicate)}
+     * until a recipe is added to or removed from this map.
+     */
+    public synchronized void compileLookup() {
+        flushPendingRecipes();
+        this.compiledLookup = CompiledRecipeLookup.compile(lookup, hasOreDictedInputs, hasNBTMatcherInputs);
+    }
+
+    @Nullable
+    private CompiledRecipeLookup getCompiledLookup() {
+        CompiledRecipeLookup compiled = this.compiledLookup;
+        if (compiled == null && compiledLookupsEnabled) {
+            synchronized (this) {
+                if (this.compiledLookup == null) {
+                    compileLookup();
+                }
+                compiled = this.compiledLookup;
+            }
+        }
+        return compiled;
+    }
 
     //internal usage only, use buildAndRegister()
     public void addRecipe(ValidationResult<Recipe> validationResult) {
@@ -196,13 +367,43 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
         if (recipe == null) {
             return;
         }
+        if (bulkLoading) {
+            if (pendingRecipes == null) {
+                pendingRecipes = new ArrayList<>();
+            }
+            pendingRecipes.add(recipe);
+            pendingRecipeCount++;
+        } else {
+            flushPendingRecipes();
+            insertRecipe(recipe);
+        }
+        this.compiledLookup = null;
+
+        int itemAmount = 0;
+        for (GTRecipeInput input : recipe.getInputs()) {
+            itemAmount += input.getAmount();
+        }
+        int fluidAmount = 0;
+        for (GTRecipeInput input : recipe.getFluidInputs()) {
+            fluidAmount += input.getAmount();
+        }
+        this.maxItemInputAmount = Math.max(maxItemInputAmount, itemAmount);
+        this.maxFluidInputAmount = Math.max(maxFluidInputAmount, fluidAmount);
+        this.negativeCache.clear();
+    }
+
+    private void insertRecipe(Recipe recipe) {
         List<List<AbstractMapIngredient>> items = fromRecipe(recipe);
         recurseIngredientTreeAdd(recipe, items, lookup, 0, 0);
     }
 
     public boolean removeRecipe(Recipe recipe) {
+        flushPendingRecipes();
         List<List<AbstractMapIngredient>> items = fromRecipe(recipe);
-        return recurseIngredientTreeRemove(recipe, items, lookup, 0) != null;
+        boolean removed = recurseIngredientTreeRemove(recipe, items, lookup, 0) != null;
+        this.compiledLookup = null;
+        this.negativeCache.clear();
+        return removed;
     }
 
     protected ValidationResult<Recipe> postValidateRecipe(ValidationResult<Recipe> validationResult) {
@@ -279,16 +480,55 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
 
     @Nullable
     public Recipe findRecipe(long voltage, List<ItemStack> inputs, List<FluidStack> fluidInputs, int outputFluidTankCapacity, boolean exactVoltage) {
-        return find(inputs.stream().filter(s -> !s.isEmpty()).collect(Collectors.toList()), fluidInputs.stream().filter(Objects::nonNull).collect(Collectors.toList()), recipe -> {
-            if (exactVoltage && recipe.getEUt() != voltage) {
+        int negativeCacheSize = ConfigHolder.recipes.negativeRecipeCacheSize;
+        long fingerprint = 0;
+        long checksum = 0;
+        if (negativeCacheSize > 0) {
+            fingerprint = NegativeRecipeCache.fingerprint(voltage, exactVoltage, inputs, fluidInputs, maxItemInputAmount, maxFluidInputAmount);
+            checksum = NegativeRecipeCache.checksum(voltage, exactVoltage, inputs, fluidInputs, maxItemInputAmount, maxFluidInputAmount);
+            if (negativeCache.contains(fingerprint, checksum)) {
+                return null;
+            }
+        }
+
+        // empty stacks and fluids are skipped by find, no need to filter them here
+        Recipe recipe = find(inputs, fluidInputs, r -> {
+            if (exactVoltage && r.getEUt() != voltage) {
                 return false;
             }
-            return recipe.getEUt() <= voltage && recipe.matches(false, inputs, fluidInputs);
+            return r.getEUt() <= voltage && r.matches(false, inputs, fluidInputs);
         });
+
+        if (recipe == null && negativeCacheSize > 0) {
+            negativeCache.add(fingerprint, checksum, negativeCacheSize);
+        }
+        return recipe;
+    }
+
+    /**
+     * Clears the negative cache of every registered RecipeMap, since inputs with no recipe may match ore dictionary
+     * recipes after the ore dictionary changed
+     */
+    public static void clearNegativeCaches() {
+        for (RecipeMap<?> recipeMap : RECIPE_MAP_REGISTRY.values()) {
+            recipeMap.negativeCache.clear();
+        }
+    }
+
+    /**
+     * @return the cache of inputs known to have no recipe in this map, with its hit and miss counters
+     */
+    public NegativeRecipeCache getNegativeCache() {
+        return negativeCache;
     }
 
     @Nullable
     public Recipe find(@Nonnull List<ItemStack> items, @Nonnull List<FluidStack> fluids, @Nonnull Predicate<Recipe> canHandle) {
+        CompiledRecipeLookup compiled = getCompiledLookup();
+        if (compiled != null) {
+            return compiled.find(items, fluids, canHandle);
+        }
+        flushPendingRecipes();
         // First, check if items and fluids are valid.
         if (items.size() == Integer.MAX_VALUE || fluids.size() == Integer.MAX_VALUE) {
             return null;
@@ -454,6 +694,7 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
 
     @Nullable
     public Set<Recipe> findRecipeCollisions(List<ItemStack> items, List<FluidStack> fluids) {
+        flushPendingRecipes();
         // First, check if items and fluids are valid.
         if (items.size() == Integer.MAX_VALUE || fluids.size() == Integer.MAX_VALUE) {
             return null;
@@ -688,7 +929,7 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
                             return v;
                         } else {
                             if (recipe.getIsCTRecipe()) {
-                                CraftTweakerAPI.logError(String.format("Recipe: %s for Recipe Map %s is a duplicate and was not added", CTRecipeHelper.getRecipeAddLine(this, recipe), this.unlocalizedName));
+                                logCraftTweakerError(String.format("Recipe: %s for Recipe Map %s is a duplicate and was not added", CTRecipeHelper.getRecipeAddLine(this, recipe), this.unlocalizedName));
                             }
                             if (ConfigHolder.misc.debug) {
                                 GTLog.logger.warn("Recipe: {} for Recipe Map {} is a duplicate and was not added", recipe.toString(), this.unlocalizedName);
@@ -765,13 +1006,7 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
                 } else {
                     ingredient = new MapOreDictIngredient(r.getOreDict());
                 }
-                WeakReference<AbstractMapIngredient> cached = ingredientRoot.get(ingredient);
-                if (cached != null && cached.get() != null) {
-                    list.add(Collections.singletonList(cached.get()));
-                } else {
-                    ingredientRoot.put(ingredient, new WeakReference<>(ingredient));
-                    list.add(Collections.singletonList(ingredient));
-                }
+                list.add(Collections.singletonList(internIngredient(ingredient)));
             } else {
                 List<AbstractMapIngredient> inner = new ObjectArrayList<>(1);
 
@@ -782,19 +1017,28 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
                     } else {
                         ingredient = new MapItemStackIngredient(s);
                     }
-                    WeakReference<AbstractMapIngredient> cached = ingredientRoot.get(ingredient);
-                    if (cached != null && cached.get() != null) {
-                        inner.add(cached.get());
-                    } else {
-                        ingredientRoot.put(ingredient, new WeakReference<>(ingredient));
-                        inner.add(ingredient);
-                    }
+                    inner.add(internIngredient(ingredient));
                 }
                 list.add(inner);
             }
         }
     }
 
+    /**
+     * Shares equal item ingredients between all maps. Synchronized, as lookup trees may be built in parallel.
+     */
+    private static AbstractMapIngredient internIngredient(AbstractMapIngredient ingredient) {
+        synchronized (ingredientRoot) {
+            WeakReference<AbstractMapIngredient> cached = ingredientRoot.get(ingredient);
+            AbstractMapIngredient root = cached == null ? null : cached.get();
+            if (root != null) {
+                return root;
+            }
+            ingredientRoot.put(ingredient, new WeakReference<>(ingredient));
+            return ingredient;
+        }
+    }
+
     protected void buildFromItemStacks(List<List<AbstractMapIngredient>> list, ItemStack[] ingredients) {
         AbstractMapIngredient ingredient;
         for (ItemStack stack : ingredients) {
@@ -834,6 +1078,7 @@ public class RecipeMap<R extends RecipeBuilder<R>> {
     }
     
     public Collection<Recipe> getRecipeList() {
+        flushPendingRecipes();
         return lookup.getRecipes(true).sorted(RECIPE_DURATION_THEN_EU).collect(Collectors.toList());
     }
 
@@ -1,5 +1,6 @@
 package gregtech.api.recipes.ingredients;
 
+import gregtech.api.unification.OreDictIdIndex;
 import gregtech.api.unification.material.Material;
 import gregtech.api.unification.ore.OrePrefix;
 import gregtech.api.unification.stack.UnificationEntry;
@@ -86,15 +87,13 @@ public class GTRecipeOreInput extends GTRecipeInput {
         if (input == null || input.isEmpty()) {
             return false;
         }
-        for (int i : OreDictionary.getOreIDs(input)) {
-            if (i == ore) {
-                if (nbtMatcher != null) {
-                    return nbtMatcher.evaluate(input, nbtCondition);
-                }
-                return true;
-            }
+        if (!OreDictIdIndex.hasOreId(input, ore)) {
+            return false;
+        }
+        if (nbtMatcher != null) {
+            return nbtMatcher.evaluate(input, nbtCondition);
         }
-        return false;
+        return true;
     }
 
     @Override
@@ -0,0 +1,40 @@
+package gregtech.api.recipes.logic;
+
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.FluidStack;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Read-only indexed view of the item and fluid inputs of a machine.
+ * <p>
+ * Used by {@link RecipeMatcher} to match recipes against inventories without copying them into lists.
+ * Implementations must not copy the stacks they return, and the returned stacks must not be modified.
+ */
+public interface IRecipeInputView {
+
+    /**
+     * @return the amount of item slots
+     */
+    int getSlots();
+
+    /**
+     * @param slot the slot to read
+     * @return the stack in the slot, or {@link ItemStack#EMPTY}
+     */
+    @Nonnull
+    ItemStack getStackInSlot(int slot);
+
+    /**
+     * @return the amount of fluid tanks
+     */
+    int getTanks();
+
+    /**
+     * @param tank the tank to read
+     * @return the fluid in the tank, or null if the tank is empty
+     */
+    @Nullable
+    FluidStack getFluidInTank(int tank);
+}
@@ -5,7 +5,6 @@ import gregtech.api.metatileentity.MetaTileEntity;
 import gregtech.api.recipes.*;
 import gregtech.api.recipes.ingredients.GTRecipeInput;
 import gregtech.api.util.*;
-import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.capability.IFluidHandler;
@@ -28,23 +27,8 @@ public class ParallelLogic {
      */
 
     public static int getMaxRecipeMultiplier(Recipe recipe, IItemHandlerModifiable inputs, IMultipleTankHandler fluidInputs, int parallelAmount) {
-        // Find all the items in the combined Item Input inventories and create oversized ItemStacks
-        Map<ItemStackKey, Integer> ingredientStacks = GTHashMaps.fromItemHandler(inputs);
-
-        // Find all the fluids in the combined Fluid Input inventories and create oversized FluidStacks
-        Map<FluidKey, Integer> fluidStacks = GTHashMaps.fromFluidHandler(fluidInputs);
-
-        // Find the maximum number of recipes that can be performed from the items in the item input inventories
-        int itemMultiplier = getMaxRatioItem(ingredientStacks, recipe, parallelAmount);
-        // Find the maximum number of recipes that can be performed from the fluids in the fluid input inventories
-        int fluidMultiplier = getMaxRatioFluid(fluidStacks, recipe, parallelAmount);
-
-        if (itemMultiplier == Integer.MAX_VALUE && fluidMultiplier == Integer.MAX_VALUE) {
-            return 0;
-        }
-
-        // Find the maximum number of recipes that can be performed from all available inputs
-        return Math.min(itemMultiplier, fluidMultiplier);
+        // Count the inputs in place instead of collecting them into maps, this runs for every parallel recipe search
+        return RecipeMatcher.getMaxRecipeMultiplier(recipe, inputs, fluidInputs, parallelAmount);
     }
 
     /**
@@ -265,78 +249,15 @@ public class ParallelLogic {
      * @param recipe           The {@link Recipe} for which to find the maximum that can be ran simultaneously
      * @param parallelAmount   The limit on the amount of recipes that can be performed at one time
      * @return The Maximum number of Recipes that can be performed at a single time based on the available Items
+     * @deprecated use {@link #getMaxRecipeMultiplier(Recipe, IItemHandlerModifiable, IMultipleTankHandler, int)}, which counts the inventory in place
      */
+    @Deprecated
     protected static int getMaxRatioItem(Map<ItemStackKey, Integer> countIngredients, Recipe recipe, int parallelAmount) {
-        int minMultiplier = Integer.MAX_VALUE;
-        //map the recipe ingredients to account for duplicated and notConsumable ingredients.
-        //notConsumable ingredients are not counted towards the max ratio
-        Object2IntOpenHashMap<GTRecipeInput> notConsumableMap = new Object2IntOpenHashMap<>();
-        Object2IntOpenHashMap<GTRecipeInput> countableMap = new Object2IntOpenHashMap<>();
-        for (GTRecipeInput recipeIngredient : recipe.getInputs()) {
-
-            int ingredientCount = recipeIngredient.getAmount();
-            if (recipeIngredient.isNonConsumable()) {
-                notConsumableMap.computeIfPresent(recipeIngredient, (k, v) -> v + ingredientCount);
-                notConsumableMap.putIfAbsent(recipeIngredient, ingredientCount);
-            } else {
-                countableMap.computeIfPresent(recipeIngredient, (k, v) -> v + ingredientCount);
-                countableMap.putIfAbsent(recipeIngredient, ingredientCount);
-            }
-        }
-
-        // Iterate through the recipe inputs, excluding the not consumable ingredients from the inventory map
-        for (Map.Entry<GTRecipeInput, Integer> recipeInputEntry : notConsumableMap.entrySet()) {
-            int needed = recipeInputEntry.getValue();
-            int available = 0;
-            // For every stack in the ingredients gathered from the input bus.
-            for (Map.Entry<ItemStackKey, Integer> inventoryEntry : countIngredients.entrySet()) {
-                if (recipeInputEntry.getKey().acceptsStack(inventoryEntry.getKey().getItemStackRaw())) {
-                    available = inventoryEntry.getValue();
-                    if (available > needed) {
-                        inventoryEntry.setValue(available - needed);
-                        needed -= available;
-                        break;
-                    } else {
-                        inventoryEntry.setValue(0);
-                        recipeInputEntry.setValue(needed - available);
-                        needed -= available;
-                    }
-                }
-            }
-            // We need to check >= available here because of Non-Consumable inputs with stacksize. If there is a NC input
-            // with size 2, and only 1 in the input, needed will be equal to available, but this situation should still fail
-            // as not all inputs are present
-            if (needed >= available) {
-                return 0;
-            }
-        }
-
-        // Return the maximum parallel limit here if there are only non-consumed inputs, which are all found in the input bus
-        // At this point, we would have already returned 0 if we were missing any non-consumable inputs, so we can omit that check
-        if(countableMap.isEmpty() && !notConsumableMap.isEmpty()) {
-            return parallelAmount;
+        List<ItemStack> inputs = new ArrayList<>(countIngredients.size());
+        for (Map.Entry<ItemStackKey, Integer> entry : countIngredients.entrySet()) {
+            inputs.add(GTUtility.copyAmount(entry.getValue(), entry.getKey().getItemStackRaw()));
         }
-
-        // Iterate through the recipe inputs
-        for (Map.Entry<GTRecipeInput, Integer> recipeInputEntry : countableMap.entrySet()) {
-            int needed = recipeInputEntry.getValue();
-            int available = 0;
-            // For every stack in the ingredients gathered from the input bus.
-            for (Map.Entry<ItemStackKey, Integer> inventoryEntry : countIngredients.entrySet()) {
-                if (recipeInputEntry.getKey().acceptsStack(inventoryEntry.getKey().getItemStackRaw())) {
-                    available += inventoryEntry.getValue();
-                }
-            }
-            if (available >= needed) {
-                int ratio = Math.min(parallelAmount, available / needed);
-                if (ratio < minMultiplier) {
-                    minMultiplier = ratio;
-                }
-            } else {
-                return 0;
-            }
-        }
-        return minMultiplier;
+        return RecipeMatcher.getMaxItemMultiplier(recipe, inputs, parallelAmount);
     }
 
     /**
@@ -346,79 +267,15 @@ public class ParallelLogic {
      * @param recipe         The {@link Recipe} for which to find the maximum that can be ran simultaneously
      * @param parallelAmount The limit on the amount of recipes that can be performed at one time
      * @return The Maximum number of Recipes that can be performed at a single time based on the available Fluids
+     * @deprecated use {@link #getMaxRecipeMultiplier(Recipe, IItemHandlerModifiable, IMultipleTankHandler, int)}, which counts the tanks in place
      */
+    @Deprecated
     protected static int getMaxRatioFluid(Map<FluidKey, Integer> countFluid, Recipe recipe, int parallelAmount) {
-        int minMultiplier = Integer.MAX_VALUE;
-        //map the recipe input fluids to account for duplicated fluids,
-        //so their sum is counted against the total of fluids available in the input
-        Map<FluidKey, Integer> fluidCountMap = new HashMap<>();
-        Map<FluidKey, Integer> notConsumableMap = new HashMap<>();
-        for (GTRecipeInput fluidInput : recipe.getFluidInputs()) {
-            int fluidAmount = fluidInput.getAmount();
-            if (fluidInput.isNonConsumable()) {
-                notConsumableMap.computeIfPresent(new FluidKey(fluidInput.getInputFluidStack()), (k, v) -> v + fluidAmount);
-                notConsumableMap.putIfAbsent(new FluidKey(fluidInput.getInputFluidStack()), fluidAmount);
-            } else {
-                fluidCountMap.computeIfPresent(new FluidKey(fluidInput.getInputFluidStack()), (k, v) -> v + fluidAmount);
-                fluidCountMap.putIfAbsent(new FluidKey(fluidInput.getInputFluidStack()), fluidAmount);
-            }
-        }
-
-        // Iterate through the recipe inputs, excluding the not consumable fluids from the fluid inventory map
-        for (Map.Entry<FluidKey, Integer> notConsumableFluid : notConsumableMap.entrySet()) {
-            int needed = notConsumableFluid.getValue();
-            int available = 0;
-            // For every fluid gathered from the fluid inputs.
-            for (Map.Entry<FluidKey, Integer> inputFluid : countFluid.entrySet()) {
-                // Strip the Non-consumable tags here, as FluidKey compares the tags, which causes finding matching fluids
-                // in the input tanks to fail, because there is nothing in those hatches with a non-consumable tag
-                if (notConsumableFluid.getKey().equals(inputFluid.getKey())) {
-                    available = inputFluid.getValue();
-                    if (available > needed) {
-                        inputFluid.setValue(available - needed);
-                        needed -= available;
-                        break;
-                    } else {
-                        inputFluid.setValue(0);
-                        notConsumableFluid.setValue(needed - available);
-                        needed -= available;
-                    }
-                }
-            }
-            // We need to check >= available here because of Non-Consumable inputs with stacksize. If there is a NC input
-            // with size 1000, and only 500 in the input, needed will be equal to available, but this situation should still fail
-            // as not all inputs are present
-            if (needed >= available) {
-                return 0;
-            }
-        }
-
-        // Return the maximum parallel limit here if there are only non-consumed inputs, which are all found in the input bus
-        // At this point, we would have already returned 0 if we were missing any non-consumable inputs, so we can omit that check
-        if(fluidCountMap.isEmpty() && !notConsumableMap.isEmpty()) {
-            return parallelAmount;
-        }
-
-        // Iterate through the fluid inputs in the recipe
-        for (Map.Entry<FluidKey, Integer> fs : fluidCountMap.entrySet()) {
-            int needed = fs.getValue();
-            int available = 0;
-            // For every fluid gathered from the fluid inputs.
-            for (Map.Entry<FluidKey, Integer> inputFluid : countFluid.entrySet()) {
-                if (fs.getKey().equals(inputFluid.getKey())) {
-                    available += inputFluid.getValue();
-                }
-            }
-            if (available >= needed) {
-                int ratio = Math.min(parallelAmount, available / needed);
-                if (ratio < minMultiplier) {
-                    minMultiplier = ratio;
-                }
-            } else {
-                return 0;
-            }
+        List<FluidStack> fluidInputs = new ArrayList<>(countFluid.size());
+        for (Map.Entry<FluidKey, Integer> entry : countFluid.entrySet()) {
+            fluidInputs.add(new FluidStack(entry.getKey().getFluid(), entry.getValue(), entry.getKey().tag));
         }
-        return minMultiplier;
+        return RecipeMatcher.getMaxFluidMultiplier(recipe, fluidInputs, parallelAmount);
     }
 
     // At this point, the recipe is already trimmed according to the item and fluid output limit, so we just need to take care of voiding
@@ -0,0 +1,69 @@
+package gregtech.api.recipes.logic;
+
+import gregtech.api.capability.IMultipleTankHandler;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.items.IItemHandler;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reusable {@link IRecipeInputView} which can be bound either to handlers or to lists.
+ * Owned by a {@link RecipeMatcher}, so binding it does not allocate.
+ */
+final class RecipeInputView implements IRecipeInputView {
+
+    private IItemHandler itemHandler;
+    private List<ItemStack> itemList = Collections.emptyList();
+    private IMultipleTankHandler tankHandler;
+    private List<FluidStack> fluidList = Collections.emptyList();
+
+    RecipeInputView bind(@Nonnull IItemHandler items, @Nonnull IMultipleTankHandler fluids) {
+        release();
+        this.itemHandler = items;
+        this.tankHandler = fluids;
+        return this;
+    }
+
+    RecipeInputView bind(@Nonnull List<ItemStack> items, @Nonnull List<FluidStack> fluids) {
+        release();
+        this.itemList = items;
+        this.fluidList = fluids;
+        return this;
+    }
+
+    /**
+     * Drops all references to the bound inputs.
+     */
+    void release() {
+        this.itemHandler = null;
+        this.itemList = Collections.emptyList();
+        this.tankHandler = null;
+        this.fluidList = Collections.emptyList();
+    }
+
+    @Override
+    public int getSlots() {
+        return itemHandler != null ? itemHandler.getSlots() : itemList.size();
+    }
+
+    @Nonnull
+    @Override
+    public ItemStack getStackInSlot(int slot) {
+        return itemHandler != null ? itemHandler.getStackInSlot(slot) : itemList.get(slot);
+    }
+
+    @Override
+    public int getTanks() {
+        return tankHandler != null ? tankHandler.getTanks() : fluidList.size();
+    }
+
+    @Nullable
+    @Override
+    public FluidStack getFluidInTank(int tank) {
+        return tankHandler != null ? tankHandler.getTankAt(tank).getFluid() : fluidList.get(tank);
+    }
+}
@@ -0,0 +1,375 @@
+package gregtech.api.recipes.logic;
+
+import gregtech.api.capability.IMultipleTankHandler;
+import gregtech.api.recipes.Recipe;
+import gregtech.api.recipes.ingredients.GTRecipeInput;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.items.IItemHandler;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Matches recipes directly against an {@link IRecipeInputView}, without copying the inputs.
+ * <p>
+ * The amount left in every slot and tank after a match is tracked in reusable int arrays,
+ * so matching does not allocate once the arrays have grown to the size of the largest inventory.
+ * Matchers are per-thread: get one with {@link #acquire()} and hand it back with {@link #release()}.
+ */
+public final class RecipeMatcher {
+
+    private static final ThreadLocal<RecipeMatcher> MATCHERS = ThreadLocal.withInitial(RecipeMatcher::new);
+
+    private final RecipeInputView view = new RecipeInputView();
+    private int[] itemAmounts = new int[16];
+    private int[] fluidAmounts = new int[4];
+    private boolean inUse;
+
+    private RecipeMatcher() {
+    }
+
+    /**
+     * @return the matcher of the current thread, or a new one if it is already in use
+     */
+    @Nonnull
+    public static RecipeMatcher acquire() {
+        RecipeMatcher matcher = MATCHERS.get();
+        if (matcher.inUse) {
+            matcher = new RecipeMatcher();
+        }
+        matcher.inUse = true;
+        return matcher;
+    }
+
+    /**
+     * Hands the matcher back, dropping all references to the last inputs.
+     */
+    public void release() {
+        this.view.release();
+        this.inUse = false;
+    }
+
+    /**
+     * Checks if a recipe matches the given inventories, without consuming anything.
+     *
+     * @see Recipe#matches(boolean, net.minecraftforge.items.IItemHandlerModifiable, IMultipleTankHandler)
+     */
+    public static boolean matches(@Nonnull Recipe recipe, @Nonnull IItemHandler inputs, @Nonnull IMultipleTankHandler fluidInputs) {
+        RecipeMatcher matcher = acquire();
+        try {
+            return matcher.matches(recipe, matcher.view(inputs, fluidInputs));
+        } finally {
+            matcher.release();
+        }
+    }
+
+    /**
+     * @see ParallelLogic#getMaxRecipeMultiplier(Recipe, net.minecraftforge.items.IItemHandlerModifiable, IMultipleTankHandler, int)
+     */
+    public static int getMaxRecipeMultiplier(@Nonnull Recipe recipe, @Nonnull IItemHandler inputs, @Nonnull IMultipleTankHandler fluidInputs, int parallelAmount) {
+        RecipeMatcher matcher = acquire();
+        try {
+            return matcher.getMaxRecipeMultiplier(recipe, matcher.view(inputs, fluidInputs), parallelAmount);
+        } finally {
+            matcher.release();
+        }
+    }
+
+    /**
+     * @return the amount of times the item ingredients of the recipe can be taken from the items, capped at
+     * {@code parallelAmount}, or {@link Integer#MAX_VALUE} if the recipe has no item ingredients
+     */
+    public static int getMaxItemMultiplier(@Nonnull Recipe recipe, @Nonnull List<ItemStack> inputs, int parallelAmount) {
+        RecipeMatcher matcher = acquire();
+        try {
+            return matcher.getMaxItemMultiplier(recipe.getInputs(), matcher.view(inputs, Collections.emptyList()), parallelAmount);
+        } finally {
+            matcher.release();
+        }
+    }
+
+    /**
+     * @return the amount of times the fluid ingredients of the recipe can be taken from the fluids, capped at
+     * {@code parallelAmount}, or {@link Integer#MAX_VALUE} if the recipe has no fluid ingredients
+     */
+    public static int getMaxFluidMultiplier(@Nonnull Recipe recipe, @Nonnull List<FluidStack> fluidInputs, int parallelAmount) {
+        RecipeMatcher matcher = acquire();
+        try {
+            return matcher.getMaxFluidMultiplier(recipe.getFluidInputs(), matcher.view(Collections.emptyList(), fluidInputs), parallelAmount);
+        } finally {
+            matcher.release();
+        }
+    }
+
+    /**
+     * @return a view of the handlers, owned by this matcher and valid until it is released
+     */
+    @Nonnull
+    public IRecipeInputView view(@Nonnull IItemHandler inputs, @Nonnull IMultipleTankHandler fluidInputs) {
+        return view.bind(inputs, fluidInputs);
+    }
+
+    /**
+     * @return a view of the lists, owned by this matcher and valid until it is released
+     */
+    @Nonnull
+    public IRecipeInputView view(@Nonnull List<ItemStack> inputs, @Nonnull List<FluidStack> fluidInputs) {
+        return view.bind(inputs, fluidInputs);
+    }
+
+    /**
+     * Checks the fluids first, then the items, like {@link Recipe#matches(boolean, List, List)}.
+     * After a successful match, {@link #getItemAmount(int)} and {@link #getFluidAmount(int)}
+     * return what would be left in each slot and tank if the recipe was consumed.
+     *
+     * @return true if the recipe matches the inputs
+     */
+    public boolean matches(@Nonnull Recipe recipe, @Nonnull IRecipeInputView inputs) {
+        return matchesFluids(recipe.getFluidInputs(), inputs) && matchesItems(recipe.getInputs(), inputs);
+    }
+
+    /**
+     * Greedily takes every ingredient from the slots in order.
+     *
+     * @return true if all ingredients were found
+     */
+    public boolean matchesItems(@Nonnull List<GTRecipeInput> ingredients, @Nonnull IRecipeInputView inputs) {
+        int slots = inputs.getSlots();
+        int[] amounts = this.itemAmounts = ensureCapacity(this.itemAmounts, slots);
+        for (int i = 0; i < slots; i++) {
+            ItemStack itemInSlot = inputs.getStackInSlot(i);
+            amounts[i] = itemInSlot.isEmpty() ? 0 : itemInSlot.getCount();
+        }
+
+        for (int j = 0; j < ingredients.size(); j++) {
+            GTRecipeInput ingredient = ingredients.get(j);
+            int ingredientAmount = ingredient.getAmount();
+            for (int i = 0; i < slots; i++) {
+                ItemStack inputStack = inputs.getStackInSlot(i);
+                if (inputStack.isEmpty() || !ingredient.acceptsStack(inputStack))
+                    continue;
+                int itemAmountToConsume = Math.min(amounts[i], ingredientAmount);
+                ingredientAmount -= itemAmountToConsume;
+                if (!ingredient.isNonConsumable()) amounts[i] -= itemAmountToConsume;
+                if (ingredientAmount == 0) break;
+            }
+            if (ingredientAmount > 0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Greedily takes every fluid ingredient from the tanks in order.
+     *
+     * @return true if all fluid ingredients were found
+     */
+    public boolean matchesFluids(@Nonnull List<GTRecipeInput> fluidIngredients, @Nonnull IRecipeInputView inputs) {
+        int tanks = inputs.getTanks();
+        int[] amounts = this.fluidAmounts = ensureCapacity(this.fluidAmounts, tanks);
+        for (int i = 0; i < tanks; i++) {
+            FluidStack fluidInTank = inputs.getFluidInTank(i);
+            amounts[i] = fluidInTank == null ? 0 : fluidInTank.amount;
+        }
+
+        for (int j = 0; j < fluidIngredients.size(); j++) {
+            GTRecipeInput fluid = fluidIngredients.get(j);
+            int fluidAmount = fluid.getAmount();
+            for (int i = 0; i < tanks; i++) {
+                FluidStack tankFluid = inputs.getFluidInTank(i);
+                if (tankFluid == null || !fluid.acceptsFluid(tankFluid))
+                    continue;
+                int fluidAmountToConsume = Math.min(amounts[i], fluidAmount);
+                fluidAmount -= fluidAmountToConsume;
+                if (!fluid.isNonConsumable()) amounts[i] -= fluidAmountToConsume;
+                if (fluidAmount == 0) break;
+            }
+            if (fluidAmount > 0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the amount left in the slot by the last item match
+     */
+    public int getItemAmount(int slot) {
+        return itemAmounts[slot];
+    }
+
+    /**
+     * @return the amount left in the tank by the last fluid match
+     */
+    public int getFluidAmount(int tank) {
+        return fluidAmounts[tank];
+    }
+
+    /**
+     * Equal ingredients of the recipe are summed up. Non-consumed ingredients are reserved from the inputs first
+     * and do not limit the multiplier, but the recipe cannot run at all if they are missing.
+     *
+     * @return the amount of times the recipe can be run from the inputs, capped at {@code parallelAmount}
+     */
+    public int getMaxRecipeMultiplier(@Nonnull Recipe recipe, @Nonnull IRecipeInputView inputs, int parallelAmount) {
+        int itemMultiplier = getMaxItemMultiplier(recipe.getInputs(), inputs, parallelAmount);
+        int fluidMultiplier = getMaxFluidMultiplier(recipe.getFluidInputs(), inputs, parallelAmount);
+
+        if (itemMultiplier == Integer.MAX_VALUE && fluidMultiplier == Integer.MAX_VALUE) {
+            return 0;
+        }
+        return Math.min(itemMultiplier, fluidMultiplier);
+    }
+
+    private int getMaxItemMultiplier(List<GTRecipeInput> ingredients, IRecipeInputView inputs, int parallelAmount) {
+        int slots = inputs.getSlots();
+        int[] amounts = this.itemAmounts = ensureCapacity(this.itemAmounts, slots);
+        for (int i = 0; i < slots; i++) {
+            ItemStack itemInSlot = inputs.getStackInSlot(i);
+            amounts[i] = itemInSlot.isEmpty() ? 0 : itemInSlot.getCount();
+        }
+
+        boolean hasConsumable = false;
+        boolean hasNonConsumable = false;
+        for (int j = 0; j < ingredients.size(); j++) {
+            GTRecipeInput ingredient = ingredients.get(j);
+            if (!ingredient.isNonConsumable()) {
+                hasConsumable = true;
+                continue;
+            }
+            hasNonConsumable = true;
+            if (isDuplicateItem(ingredients, j)) continue;
+            int needed = sumEqualItems(ingredients, j);
+            for (int i = 0; i < slots && needed > 0; i++) {
+                if (amounts[i] == 0 || !ingredient.acceptsStack(inputs.getStackInSlot(i)))
+                    continue;
+                int reserved = Math.min(amounts[i], needed);
+                amounts[i] -= reserved;
+                needed -= reserved;
+            }
+            if (needed > 0) return 0;
+        }
+
+        if (!hasConsumable) {
+            return hasNonConsumable ? parallelAmount : Integer.MAX_VALUE;
+        }
+
+        int minMultiplier = Integer.MAX_VALUE;
+        for (int j = 0; j < ingredients.size(); j++) {
+            GTRecipeInput ingredient = ingredients.get(j);
+            if (ingredient.isNonConsumable() || isDuplicateItem(ingredients, j)) continue;
+            int needed = sumEqualItems(ingredients, j);
+            int available = 0;
+            for (int i = 0; i < slots; i++) {
+                if (amounts[i] != 0 && ingredient.acceptsStack(inputs.getStackInSlot(i))) {
+                    available += amounts[i];
+                }
+            }
+            if (available < needed) return 0;
+            minMultiplier = Math.min(minMultiplier, Math.min(parallelAmount, available / needed));
+        }
+        return minMultiplier;
+    }
+
+    private int getMaxFluidMultiplier(List<GTRecipeInput> fluidIngredients, IRecipeInputView inputs, int parallelAmount) {
+        int tanks = inputs.getTanks();
+        int[] amounts = this.fluidAmounts = ensureCapacity(this.fluidAmounts, tanks);
+        for (int i = 0; i < tanks; i++) {
+            FluidStack fluidInTank = inputs.getFluidInTank(i);
+            amounts[i] = fluidInTank == null ? 0 : fluidInTank.amount;
+        }
+
+        boolean hasConsumable = false;
+        boolean hasNonConsumable = false;
+        for (int j = 0; j < fluidIngredients.size(); j++) {
+            GTRecipeInput fluid = fluidIngredients.get(j);
+            if (!fluid.isNonConsumable()) {
+                hasConsumable = true;
+                continue;
+            }
+            hasNonConsumable = true;
+            if (isDuplicateFluid(fluidIngredients, j)) continue;
+            int needed = sumEqualFluids(fluidIngredients, j);
+            FluidStack fluidStack = fluid.getInputFluidStack();
+            for (int i = 0; i < tanks && needed > 0; i++) {
+                if (amounts[i] == 0 || !fluidStack.isFluidEqual(inputs.getFluidInTank(i)))
+                    continue;
+                int reserved = Math.min(amounts[i], needed);
+                amounts[i] -= reserved;
+                needed -= reserved;
+            }
+            if (needed > 0) return 0;
+        }
+
+        if (!hasConsumable) {
+            return hasNonConsumable ? parallelAmount : Integer.MAX_VALUE;
+        }
+
+        int minMultiplier = Integer.MAX_VALUE;
+        for (int j = 0; j < fluidIngredients.size(); j++) {
+            GTRecipeInput fluid = fluidIngredients.get(j);
+            if (fluid.isNonConsumable() || isDuplicateFluid(fluidIngredients, j)) continue;
+            int needed = sumEqualFluids(fluidIngredients, j);
+            FluidStack fluidStack = fluid.getInputFluidStack();
+            int available = 0;
+            for (int i = 0; i < tanks; i++) {
+                if (amounts[i] != 0 && fluidStack.isFluidEqual(inputs.getFluidInTank(i))) {
+                    available += amounts[i];
+                }
+            }
+            if (available < needed) return 0;
+            minMultiplier = Math.min(minMultiplier, Math.min(parallelAmount, available / needed));
+        }
+        return minMultiplier;
+    }
+
+    /**
+     * @return true if an equal ingredient comes before the one at {@code index}, so it was already counted
+     */
+    private static boolean isDuplicateItem(List<GTRecipeInput> ingredients, int index) {
+        GTRecipeInput ingredient = ingredients.get(index);
+        for (int j = 0; j < index; j++) {
+            if (ingredient.equals(ingredients.get(j))) return true;
+        }
+        return false;
+    }
+
+    private static int sumEqualItems(List<GTRecipeInput> ingredients, int index) {
+        GTRecipeInput ingredient = ingredients.get(index);
+        int amount = 0;
+        for (int j = index; j < ingredients.size(); j++) {
+            if (ingredient.equals(ingredients.get(j))) amount += ingredients.get(j).getAmount();
+        }
+        return amount;
+    }
+
+    /**
+     * Fluid ingredients are grouped by fluid, regardless of their amount.
+     */
+    private static boolean isSameFluid(GTRecipeInput fluid, GTRecipeInput other) {
+        return fluid.isNonConsumable() == other.isNonConsumable() && fluid.getInputFluidStack().isFluidEqual(other.getInputFluidStack());
+    }
+
+    private static boolean isDuplicateFluid(List<GTRecipeInput> fluidIngredients, int index) {
+        GTRecipeInput fluid = fluidIngredients.get(index);
+        for (int j = 0; j < index; j++) {
+            if (isSameFluid(fluid, fluidIngredients.get(j))) return true;
+        }
+        return false;
+    }
+
+    private static int sumEqualFluids(List<GTRecipeInput> fluidIngredients, int index) {
+        GTRecipeInput fluid = fluidIngredients.get(index);
+        int amount = 0;
+        for (int j = index; j < fluidIngredients.size(); j++) {
+            if (isSameFluid(fluid, fluidIngredients.get(j))) amount += fluidIngredients.get(j).getAmount();
+        }
+        return amount;
+    }
+
+    private static int[] ensureCapacity(int[] array, int size) {
+        return array.length >= size ? array : Arrays.copyOf(array, Math.max(size, array.length * 2));
+    }
+}
@@ -1,6 +1,7 @@
 package gregtech.api.recipes.map;
 
 import gregtech.api.recipes.Recipe;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 
 import java.util.Map;
@@ -50,4 +51,14 @@ public class Branch {
         }
         return specialNodes;
     }
+
+    /**
+     * Freezes this branch and all of its children into a {@link CompiledBranch}.
+     *
+     * @param ingredientIds the interner used to assign ids to non-special ingredients, filled while compiling
+     * @return the compiled branch
+     */
+    CompiledBranch compile(Object2IntMap<AbstractMapIngredient> ingredientIds) {
+        return new CompiledBranch(nodes, specialNodes, ingredientIds);
+    }
 }
@@ -0,0 +1,130 @@
+package gregtech.api.recipes.map;
+
+import gregtech.api.recipes.Recipe;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Immutable, array backed copy of a {@link Branch}.
+ * <p>
+ * Regular nodes are keyed by interned ingredient ids and sorted, so they can be looked up with a binary search.
+ * Special nodes still need equality checks, so they are kept sorted by hash and scanned within a hash run.
+ * Targets are either a {@link Recipe} or a child {@link CompiledBranch}.
+ */
+final class CompiledBranch {
+
+    private static final int[] EMPTY_INTS = new int[0];
+    private static final Object[] EMPTY_TARGETS = new Object[0];
+    private static final AbstractMapIngredient[] EMPTY_INGREDIENTS = new AbstractMapIngredient[0];
+
+    private final int[] keys;
+    private final Object[] targets;
+
+    private final int[] specialHashes;
+    private final AbstractMapIngredient[] specialKeys;
+    private final Object[] specialTargets;
+
+    CompiledBranch(@Nullable Map<AbstractMapIngredient, Either<Recipe, Branch>> nodes,
+                   @Nullable Map<AbstractMapIngredient, Either<Recipe, Branch>> specialNodes,
+                   Object2IntMap<AbstractMapIngredient> ingredientIds) {
+        if (nodes == null || nodes.isEmpty()) {
+            this.keys = EMPTY_INTS;
+            this.targets = EMPTY_TARGETS;
+        } else {
+            long[] order = new long[nodes.size()];
+            Object[] unsortedTargets = new Object[nodes.size()];
+            int i = 0;
+            for (Map.Entry<AbstractMapIngredient, Either<Recipe, Branch>> entry : nodes.entrySet()) {
+                int id = ingredientIds.getInt(entry.getKey());
+                if (id == -1) {
+                    id = ingredientIds.size();
+                    ingredientIds.put(entry.getKey(), id);
+                }
+                order[i] = ((long) id << 32) | i;
+                unsortedTargets[i] = compileTarget(entry.getValue(), ingredientIds);
+                i++;
+            }
+            Arrays.sort(order);
+
+            this.keys = new int[order.length];
+            this.targets = new Object[order.length];
+            for (int j = 0; j < order.length; j++) {
+                this.keys[j] = (int) (order[j] >>> 32);
+                this.targets[j] = unsortedTargets[(int) order[j]];
+            }
+        }
+
+        if (specialNodes == null || specialNodes.isEmpty()) {
+            this.specialHashes = EMPTY_INTS;
+            this.specialKeys = EMPTY_INGREDIENTS;
+            this.specialTargets = EMPTY_TARGETS;
+        } else {
+            long[] order = new long[specialNodes.size()];
+            AbstractMapIngredient[] unsortedKeys = new AbstractMapIngredient[specialNodes.size()];
+            Object[] unsortedTargets = new Object[specialNodes.size()];
+            int i = 0;
+            for (Map.Entry<AbstractMapIngredient, Either<Recipe, Branch>> entry : specialNodes.entrySet()) {
+                order[i] = ((long) entry.getKey().hashCode() << 32) | i;
+                unsortedKeys[i] = entry.getKey();
+                unsortedTargets[i] = compileTarget(entry.getValue(), ingredientIds);
+                i++;
+            }
+            Arrays.sort(order);
+
+            this.specialHashes = new int[order.length];
+            this.specialKeys = new AbstractMapIngredient[order.length];
+            this.specialTargets = new Object[order.length];
+            for (int j = 0; j < order.length; j++) {
+                int index = (int) order[j];
+                this.specialHashes[j] = (int) (order[j] >> 32);
+                this.specialKeys[j] = unsortedKeys[index];
+                this.specialTargets[j] = unsortedTargets[index];
+            }
+        }
+    }
+
+    private static Object compileTarget(Either<Recipe, Branch> either, Object2IntMap<AbstractMapIngredient> ingredientIds) {
+        return either.<Object>map(recipe -> recipe, branch -> branch.compile(ingredientIds));
+    }
+
+    /**
+     * @param id the interned id of a regular ingredient
+     * @return the {@link Recipe} or {@link CompiledBranch} stored for the id, or null if there is none
+     */
+    @Nullable
+    Object getNode(int id) {
+        int index = Arrays.binarySearch(keys, id);
+        return index < 0 ? null : targets[index];
+    }
+
+    /**
+     * Mirrors a hash map lookup of a special ingredient: the first stored key of the same hash
+     * which the probe considers equal wins.
+     *
+     * @param probe the special ingredient built from the inputs
+     * @return the {@link Recipe} or {@link CompiledBranch} stored for the probe, or null if there is none
+     */
+    @Nullable
+    Object getSpecialNode(AbstractMapIngredient probe) {
+        if (specialHashes.length == 0) {
+            return null;
+        }
+        int hash = probe.hashCode();
+        int index = Arrays.binarySearch(specialHashes, hash);
+        if (index < 0) {
+            return null;
+        }
+        while (index > 0 && specialHashes[index - 1] == hash) {
+            index--;
+        }
+        for (; index < specialHashes.length && specialHashes[index] == hash; index++) {
+            if (probe.equals(specialKeys[index])) {
+                return specialTargets[index];
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,169 @@
+package gregtech.api.recipes.map;
+
+import gregtech.api.recipes.Recipe;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.oredict.OreDictionary;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Frozen form of a RecipeMap lookup tree.
+ * <p>
+ * Every regular ingredient in the tree is interned to an int id, and the tree itself is copied into
+ * {@link CompiledBranch}es keyed by those ids. A lookup resolves each input to its ids once, using
+ * per-thread {@link LookupScratch} buffers, and then walks the tree in exactly the same order as
+ * the {@link Branch} based search, so both always return the same recipe.
+ * <p>
+ * The compiled lookup is a snapshot. It must be discarded when recipes are added to or removed from the tree.
+ */
+public final class CompiledRecipeLookup {
+
+    private static final ThreadLocal<LookupScratch> SCRATCH = ThreadLocal.withInitial(LookupScratch::new);
+
+    private final CompiledBranch root;
+    private final Object2IntOpenHashMap<AbstractMapIngredient> ingredientIds;
+    private final boolean hasOreDictedInputs;
+    private final boolean hasNBTMatcherInputs;
+
+    private CompiledRecipeLookup(CompiledBranch root, Object2IntOpenHashMap<AbstractMapIngredient> ingredientIds, boolean hasOreDictedInputs, boolean hasNBTMatcherInputs) {
+        this.root = root;
+        this.ingredientIds = ingredientIds;
+        this.hasOreDictedInputs = hasOreDictedInputs;
+        this.hasNBTMatcherInputs = hasNBTMatcherInputs;
+    }
+
+    /**
+     * @param root                the root of the lookup tree to compile
+     * @param hasOreDictedInputs  if any recipe in the tree has ore dictionary inputs
+     * @param hasNBTMatcherInputs if any recipe in the tree has inputs with nbt matchers
+     * @return the compiled lookup
+     */
+    public static CompiledRecipeLookup compile(@Nonnull Branch root, boolean hasOreDictedInputs, boolean hasNBTMatcherInputs) {
+        Object2IntOpenHashMap<AbstractMapIngredient> ingredientIds = new Object2IntOpenHashMap<>();
+        ingredientIds.defaultReturnValue(-1);
+        CompiledBranch compiledRoot = root.compile(ingredientIds);
+        ingredientIds.trim();
+        return new CompiledRecipeLookup(compiledRoot, ingredientIds, hasOreDictedInputs, hasNBTMatcherInputs);
+    }
+
+    /**
+     * @return the amount of distinct regular ingredients in the compiled tree
+     */
+    public int getIngredientCount() {
+        return ingredientIds.size();
+    }
+
+    /**
+     * Finds a recipe for the given inputs. Empty stacks and null or empty fluids are ignored.
+     *
+     * @param items     the item inputs
+     * @param fluids    the fluid inputs
+     * @param canHandle predicate to test found recipes
+     * @return the first recipe accepted by the predicate, or null
+     */
+    @Nullable
+    public Recipe find(@Nonnull List<ItemStack> items, @Nonnull List<FluidStack> fluids, @Nonnull Predicate<Recipe> canHandle) {
+        LookupScratch scratch = SCRATCH.get();
+        if (scratch.inUse) {
+            // the predicate started another lookup on this thread, do not clobber the outer buffers
+            scratch = new LookupScratch();
+        }
+        scratch.inUse = true;
+        try {
+            prepareInputs(scratch, items, fluids);
+            for (int i = 0; i < scratch.inputCount; i++) {
+                Recipe recipe = findRecipe(scratch, root, canHandle, i, 0, (1L << i));
+                if (recipe != null) {
+                    return recipe;
+                }
+            }
+            return null;
+        } finally {
+            scratch.release();
+            scratch.inUse = false;
+        }
+    }
+
+    private void prepareInputs(LookupScratch scratch, List<ItemStack> items, List<FluidStack> fluids) {
+        scratch.reset();
+        for (int i = 0; i < items.size(); i++) {
+            ItemStack stack = items.get(i);
+            if (stack.isEmpty() || !scratch.addUniqueItem(stack)) {
+                continue;
+            }
+            int meta = stack.getMetadata();
+            NBTTagCompound nbt = stack.getTagCompound();
+
+            scratch.beginInput();
+            scratch.addAlternative(ingredientIds.getInt(scratch.itemProbe(stack, meta, nbt)));
+            if (hasOreDictedInputs) {
+                for (int ore : OreDictionary.getOreIDs(stack)) {
+                    scratch.addAlternative(ingredientIds.getInt(scratch.oreProbe(ore)));
+                    if (hasNBTMatcherInputs) {
+                        scratch.addSpecial(scratch.oreNBTProbe(ore, nbt));
+                    }
+                }
+            }
+            if (hasNBTMatcherInputs) {
+                scratch.addSpecial(scratch.itemNBTProbe(stack, meta, nbt));
+            }
+            scratch.endInput();
+        }
+        for (int i = 0; i < fluids.size(); i++) {
+            FluidStack fluidStack = fluids.get(i);
+            if (fluidStack == null || fluidStack.amount == 0) {
+                continue;
+            }
+            scratch.beginInput();
+            scratch.addAlternative(ingredientIds.getInt(scratch.fluidProbe(fluidStack)));
+            scratch.endInput();
+        }
+    }
+
+    @Nullable
+    private static Recipe findRecipe(LookupScratch scratch, CompiledBranch branch, Predicate<Recipe> canHandle, int index, int count, long skip) {
+        if (count == scratch.inputCount) {
+            return null;
+        }
+        for (int i = scratch.inputStart[index]; i < scratch.inputStart[index + 1]; i++) {
+            int alternative = scratch.alternatives[i];
+            Object target = alternative >= 0 ? branch.getNode(alternative) : branch.getSpecialNode(scratch.getSpecial(alternative));
+            if (target == null) {
+                continue;
+            }
+            Recipe recipe;
+            if (target instanceof Recipe) {
+                recipe = canHandle.test((Recipe) target) ? (Recipe) target : null;
+            } else {
+                recipe = diveRecipe(scratch, (CompiledBranch) target, canHandle, index, count, skip);
+            }
+            if (recipe != null) {
+                return recipe;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static Recipe diveRecipe(LookupScratch scratch, CompiledBranch branch, Predicate<Recipe> canHandle, int index, int count, long skip) {
+        // We loop around the inputs if we reach the end.
+        int counter = (index + 1) % scratch.inputCount;
+        while (counter != index) {
+            // Have we already used this input? If so, skip this one.
+            if ((skip & (1L << counter)) == 0) {
+                Recipe found = findRecipe(scratch, branch, canHandle, counter, count + 1, skip | (1L << counter));
+                if (found != null) {
+                    return found;
+                }
+            }
+            counter = (counter + 1) % scratch.inputCount;
+        }
+        return null;
+    }
+}
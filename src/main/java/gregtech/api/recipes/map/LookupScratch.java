@@ -0,0 +1,183 @@
+package gregtech.api.recipes.map;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraftforge.fluids.FluidStack;
+
+import java.util.Arrays;
+
+/**
+ * Per-thread reusable buffers for {@link CompiledRecipeLookup}.
+ * <p>
+ * Holds the flattened ingredient alternatives of every input and the probe ingredients used to resolve them,
+ * so a lookup does not allocate once the buffers have grown to the size of the largest input set.
+ */
+final class LookupScratch {
+
+    private final MapItemStackIngredient itemProbe = new MapItemStackIngredient(ItemStack.EMPTY);
+    private final MapOreDictIngredient oreProbe = new MapOreDictIngredient(0);
+    private final MapFluidProbe fluidProbe = new MapFluidProbe();
+
+    private MapItemStackNBTIngredient[] itemNBTProbes = new MapItemStackNBTIngredient[4];
+    private MapOreDictNBTIngredient[] oreNBTProbes = new MapOreDictNBTIngredient[4];
+    private int itemNBTProbesUsed;
+    private int oreNBTProbesUsed;
+
+    private ItemStack[] uniqueItems = new ItemStack[16];
+    private int uniqueItemCount;
+
+    boolean inUse;
+
+    int inputCount;
+    int[] inputStart = new int[16];
+    int[] alternatives = new int[32];
+    private int alternativeCount;
+
+    private AbstractMapIngredient[] specials = new AbstractMapIngredient[8];
+    private int specialCount;
+
+    void reset() {
+        this.inputCount = 0;
+        this.alternativeCount = 0;
+        this.specialCount = 0;
+        this.uniqueItemCount = 0;
+        this.itemNBTProbesUsed = 0;
+        this.oreNBTProbesUsed = 0;
+    }
+
+    /**
+     * Drops all references to the last inputs, so the scratch does not keep stacks alive.
+     */
+    void release() {
+        Arrays.fill(uniqueItems, 0, uniqueItemCount, null);
+        Arrays.fill(specials, 0, specialCount, null);
+        for (int i = 0; i < itemNBTProbesUsed; i++) {
+            itemNBTProbes[i].stack = ItemStack.EMPTY;
+            itemNBTProbes[i].tag = null;
+        }
+        for (int i = 0; i < oreNBTProbesUsed; i++) {
+            oreNBTProbes[i].nbtTagCompound = null;
+        }
+        itemProbe.stack = ItemStack.EMPTY;
+        itemProbe.tag = null;
+        fluidProbe.clear();
+        reset();
+    }
+
+    /**
+     * Uses the same strict comparison as {@link gregtech.api.recipes.RecipeMap#uniqueItems(java.util.Collection)}.
+     *
+     * @return true if the stack was not seen before in this lookup
+     */
+    boolean addUniqueItem(ItemStack stack) {
+        for (int i = 0; i < uniqueItemCount; i++) {
+            if (stack.isItemEqual(uniqueItems[i]) && ItemStack.areItemStackTagsEqual(stack, uniqueItems[i])) {
+                return false;
+            }
+        }
+        if (uniqueItemCount == uniqueItems.length) {
+            uniqueItems = Arrays.copyOf(uniqueItems, uniqueItemCount * 2);
+        }
+        uniqueItems[uniqueItemCount++] = stack;
+        return true;
+    }
+
+    void beginInput() {
+        if (inputCount + 2 > inputStart.length) {
+            inputStart = Arrays.copyOf(inputStart, inputStart.length * 2);
+        }
+        inputStart[inputCount] = alternativeCount;
+    }
+
+    void endInput() {
+        inputStart[++inputCount] = alternativeCount;
+    }
+
+    /**
+     * @param id the interned id of a regular ingredient, or -1 if no recipe uses the ingredient
+     */
+    void addAlternative(int id) {
+        if (id != -1) {
+            pushAlternative(id);
+        }
+    }
+
+    /**
+     * Special ingredients are stored as negative alternatives, see {@link #getSpecial(int)}.
+     */
+    void addSpecial(AbstractMapIngredient probe) {
+        if (specialCount == specials.length) {
+            specials = Arrays.copyOf(specials, specialCount * 2);
+        }
+        specials[specialCount] = probe;
+        pushAlternative(-2 - specialCount++);
+    }
+
+    /**
+     * @param alternative a negative alternative, as stored by {@link #addSpecial(AbstractMapIngredient)}
+     * @return the special probe the alternative refers to
+     */
+    AbstractMapIngredient getSpecial(int alternative) {
+        return specials[-2 - alternative];
+    }
+
+    private void pushAlternative(int alternative) {
+        if (alternativeCount == alternatives.length) {
+            alternatives = Arrays.copyOf(alternatives, alternativeCount * 2);
+        }
+        alternatives[alternativeCount++] = alternative;
+    }
+
+    MapItemStackIngredient itemProbe(ItemStack stack, int meta, NBTTagCompound tag) {
+        itemProbe.stack = stack;
+        itemProbe.meta = meta;
+        itemProbe.tag = tag;
+        itemProbe.invalidate();
+        return itemProbe;
+    }
+
+    MapOreDictIngredient oreProbe(int ore) {
+        oreProbe.ore = ore;
+        oreProbe.invalidate();
+        return oreProbe;
+    }
+
+    MapFluidProbe fluidProbe(FluidStack fluidStack) {
+        return fluidProbe.set(fluidStack);
+    }
+
+    MapItemStackNBTIngredient itemNBTProbe(ItemStack stack, int meta, NBTTagCompound tag) {
+        if (itemNBTProbesUsed == itemNBTProbes.length) {
+            itemNBTProbes = Arrays.copyOf(itemNBTProbes, itemNBTProbesUsed * 2);
+        }
+        MapItemStackNBTIngredient probe = itemNBTProbes[itemNBTProbesUsed];
+        if (probe == null) {
+            probe = new MapItemStackNBTIngredient(stack, meta, tag);
+            itemNBTProbes[itemNBTProbesUsed] = probe;
+        } else {
+            probe.stack = stack;
+            probe.meta = meta;
+            probe.tag = tag;
+            probe.invalidate();
+        }
+        itemNBTProbesUsed++;
+        return probe;
+    }
+
+    MapOreDictNBTIngredient oreNBTProbe(int ore, NBTTagCompound tag) {
+        if (oreNBTProbesUsed == oreNBTProbes.length) {
+            oreNBTProbes = Arrays.copyOf(oreNBTProbes, oreNBTProbesUsed * 2);
+        }
+        MapOreDictNBTIngredient probe = oreNBTProbes[oreNBTProbesUsed];
+        if (probe == null) {
+            probe = new MapOreDictNBTIngredient(ore, tag);
+            oreNBTProbes[oreNBTProbesUsed] = probe;
+        } else {
+            probe.ore = ore;
+            probe.nbtTagCompound = tag;
+            probe.invalidate();
+        }
+        oreNBTProbesUsed++;
+        return probe;
+    }
+}
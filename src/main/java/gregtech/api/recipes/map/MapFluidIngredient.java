@@ -5,6 +5,7 @@ import net.minecraft.nbt.NBTTagCompound;
 import net.minecraftforge.fluids.Fluid;
 import net.minecraftforge.fluids.FluidStack;
 
+import javax.annotation.Nullable;
 import java.util.Objects;
 
 public class MapFluidIngredient extends AbstractMapIngredient {
@@ -23,8 +24,10 @@ public class MapFluidIngredient extends AbstractMapIngredient {
         this.tag = fluidStack.tag;
     }
 
-    @Override
-    protected int hash() {
+    /**
+     * Shared with {@link MapFluidProbe}, which has to hash equal to the ingredient it looks up
+     */
+    static int hash(Fluid fluid, @Nullable NBTTagCompound tag) {
         int hash = 31 + fluid.hashCode();
         if (tag != null) {
             return 31 * hash + tag.hashCode();
@@ -32,11 +35,20 @@ public class MapFluidIngredient extends AbstractMapIngredient {
         return hash;
     }
 
+    boolean matches(Fluid fluid, @Nullable NBTTagCompound tag) {
+        return this.fluid == fluid && Objects.equals(this.tag, tag);
+    }
+
+    @Override
+    protected int hash() {
+        return hash(fluid, tag);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (super.equals(o)) {
             MapFluidIngredient other = (MapFluidIngredient) o;
-            return fluid == other.fluid && Objects.equals(tag, other.tag);
+            return other.matches(fluid, tag);
         }
         return false;
     }
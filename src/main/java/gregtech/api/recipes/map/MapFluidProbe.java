@@ -0,0 +1,48 @@
+package gregtech.api.recipes.map;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraftforge.fluids.Fluid;
+import net.minecraftforge.fluids.FluidStack;
+
+/**
+ * A reusable lookup key for {@link CompiledRecipeLookup}, equal to the {@link MapFluidIngredient} of the last fluid
+ * it was set to.
+ * <p>
+ * The equality only holds with the probe as the key of a lookup, so it must never be stored in a map.
+ */
+final class MapFluidProbe extends AbstractMapIngredient {
+
+    private Fluid fluid;
+    private NBTTagCompound tag;
+
+    MapFluidProbe set(FluidStack fluidStack) {
+        this.fluid = fluidStack.getFluid();
+        this.tag = fluidStack.tag;
+        invalidate();
+        return this;
+    }
+
+    /**
+     * Drops the references to the last fluid
+     */
+    void clear() {
+        this.fluid = null;
+        this.tag = null;
+    }
+
+    @Override
+    protected int hash() {
+        return MapFluidIngredient.hash(fluid, tag);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof MapFluidIngredient && ((MapFluidIngredient) o).matches(fluid, tag);
+    }
+
+    @Override
+    public String toString() {
+        return "MapFluidProbe{" +
+                "{fluid=" + fluid.getName() + "} {tag=" + tag + "}";
+    }
+}
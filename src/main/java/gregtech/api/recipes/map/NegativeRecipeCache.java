@@ -0,0 +1,136 @@
+package gregtech.api.recipes.map;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.Long2LongLinkedOpenHashMap;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.FluidStack;
+
+import java.util.List;
+
+/**
+ * Bounded LRU set of input fingerprints which are known to match no recipe of a RecipeMap.
+ * <p>
+ * Every fingerprint is stored with a checksum, a second hash of the same inputs with a different seed and multiplier.
+ * A search is only skipped when both match, so two different inputs would need to collide on 128 bits to hide a recipe.
+ * Both hashes see nbt tags and fluid names through their hash codes, inputs which only differ in tags of equal hash
+ * code share an entry.
+ * <p>
+ * A fingerprint covers the voltage, the item inputs (item, meta, nbt hash and count) and the fluid inputs
+ * (fluid, nbt hash and amount). Slot order is part of the fingerprint, as recipe matching consumes slots in order.
+ * Counts are capped at the largest total amount any recipe of the map asks for, since more than that can never
+ * change the result of a search.
+ * <p>
+ * The cache must be cleared whenever recipes are added to or removed from the map.
+ */
+public class NegativeRecipeCache {
+
+    private static final long FLUID_MARKER = 0x5DEECE66DL;
+    private static final long FINGERPRINT_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    private static final long CHECKSUM_SEED = 0x2545F4914F6CDD1DL;
+    private static final long CHECKSUM_MULTIPLIER = 0xC2B2AE3D27D4EB4FL;
+
+    private final Long2LongLinkedOpenHashMap fingerprints = new Long2LongLinkedOpenHashMap();
+    private long hits;
+    private long misses;
+
+    /**
+     * @param fingerprint the fingerprint to look up
+     * @param checksum    the checksum of the same inputs
+     * @return true if the fingerprint is known to have no recipe
+     */
+    public synchronized boolean contains(long fingerprint, long checksum) {
+        if (!fingerprints.isEmpty() && fingerprints.containsKey(fingerprint) && fingerprints.getAndMoveToLast(fingerprint) == checksum) {
+            hits++;
+            return true;
+        }
+        misses++;
+        return false;
+    }
+
+    /**
+     * Records a fingerprint with no recipe, evicting the least recently used entries above the capacity
+     *
+     * @param fingerprint the fingerprint to add
+     * @param checksum    the checksum of the same inputs, replacing the one of a colliding fingerprint
+     * @param capacity    the maximum amount of fingerprints to keep
+     */
+    public synchronized void add(long fingerprint, long checksum, int capacity) {
+        fingerprints.putAndMoveToLast(fingerprint, checksum);
+        while (fingerprints.size() > capacity) {
+            fingerprints.removeFirstLong();
+        }
+    }
+
+    public synchronized void clear() {
+        fingerprints.clear();
+    }
+
+    public synchronized int size() {
+        return fingerprints.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized void resetStatistics() {
+        this.hits = 0;
+        this.misses = 0;
+    }
+
+    /**
+     * @param voltage        the voltage of the search
+     * @param exactVoltage   if the search requires an exact voltage match
+     * @param inputs         the item inputs
+     * @param fluidInputs    the fluid inputs
+     * @param maxItemAmount  the largest total item amount any recipe of the map requires
+     * @param maxFluidAmount the largest total fluid amount any recipe of the map requires
+     * @return the fingerprint of the search
+     */
+    public static long fingerprint(long voltage, boolean exactVoltage, List<ItemStack> inputs, List<FluidStack> fluidInputs, int maxItemAmount, int maxFluidAmount) {
+        return hash(0, FINGERPRINT_MULTIPLIER, voltage, exactVoltage, inputs, fluidInputs, maxItemAmount, maxFluidAmount);
+    }
+
+    /**
+     * Takes the same parameters as {@link #fingerprint(long, boolean, List, List, int, int)}
+     *
+     * @return the checksum of the search
+     */
+    public static long checksum(long voltage, boolean exactVoltage, List<ItemStack> inputs, List<FluidStack> fluidInputs, int maxItemAmount, int maxFluidAmount) {
+        return hash(CHECKSUM_SEED, CHECKSUM_MULTIPLIER, voltage, exactVoltage, inputs, fluidInputs, maxItemAmount, maxFluidAmount);
+    }
+
+    private static long hash(long seed, long multiplier, long voltage, boolean exactVoltage, List<ItemStack> inputs, List<FluidStack> fluidInputs, int maxItemAmount, int maxFluidAmount) {
+        long hash = HashCommon.mix(voltage ^ seed) ^ (exactVoltage ? 1 : 0);
+        for (int i = 0; i < inputs.size(); i++) {
+            ItemStack stack = inputs.get(i);
+            if (stack.isEmpty()) {
+                continue;
+            }
+            hash = combine(hash, Item.getIdFromItem(stack.getItem()), multiplier);
+            hash = combine(hash, stack.getMetadata(), multiplier);
+            hash = combine(hash, stack.getTagCompound() == null ? 0 : stack.getTagCompound().hashCode(), multiplier);
+            hash = combine(hash, Math.min(stack.getCount(), maxItemAmount), multiplier);
+        }
+        hash = combine(hash, FLUID_MARKER, multiplier);
+        for (int i = 0; i < fluidInputs.size(); i++) {
+            FluidStack fluidStack = fluidInputs.get(i);
+            if (fluidStack == null) {
+                continue;
+            }
+            hash = combine(hash, fluidStack.getFluid().getName().hashCode(), multiplier);
+            hash = combine(hash, fluidStack.tag == null ? 0 : fluidStack.tag.hashCode(), multiplier);
+            hash = combine(hash, Math.min(fluidStack.amount, maxFluidAmount), multiplier);
+        }
+        return HashCommon.mix(hash);
+    }
+
+    private static long combine(long hash, long value, long multiplier) {
+        return (hash + value) * multiplier;
+    }
+}
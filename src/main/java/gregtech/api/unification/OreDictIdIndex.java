@@ -0,0 +1,89 @@
+package gregtech.api.unification;
+
+import gregtech.api.recipes.RecipeMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.oredict.OreDictionary;
+
+import java.util.Map;
+
+/**
+ * Maps every item and metadata to the ids of its ore dictionary entries as a bitset, so checking whether a stack is in
+ * an ore dictionary entry is a single bit test, instead of {@link OreDictionary#getOreIDs(ItemStack)} collecting the
+ * ids into a new array on every call.
+ * <p>
+ * Registrations are added through {@link OreDictUnifier#onItemRegistration}. Removing an item from the ore dictionary
+ * does not fire an event, so the index is built again from the ore dictionary when loading completes, after scripts
+ * changed it. The index is only changed on the main thread while loading, and a bitset is never changed after it was
+ * stored, only replaced. Every change clears the negative caches of the recipe maps.
+ */
+public class OreDictIdIndex {
+
+    private static final int WORD_BITS = 64;
+
+    private static Map<Item, Int2ObjectOpenHashMap<long[]>> idsByItem;
+
+    /**
+     * @return whether the stack is registered to the ore dictionary entry with the id, either with its own metadata or
+     * with {@link OreDictionary#WILDCARD_VALUE}
+     */
+    public static boolean hasOreId(ItemStack stack, int oreId) {
+        if (stack.isEmpty() || oreId < 0) {
+            return false;
+        }
+        if (idsByItem == null) {
+            // not built yet, when the ore dictionary is used before OreDictUnifier was initialized
+            rebuild();
+        }
+        Int2ObjectOpenHashMap<long[]> idsByMeta = idsByItem.get(stack.getItem());
+        if (idsByMeta == null) {
+            return false;
+        }
+        return hasBit(idsByMeta.get(stack.getMetadata()), oreId) ||
+                hasBit(idsByMeta.get(OreDictionary.WILDCARD_VALUE), oreId);
+    }
+
+    /**
+     * Builds the index again from the current contents of the ore dictionary
+     */
+    public static void rebuild() {
+        idsByItem = new Reference2ObjectOpenHashMap<>();
+        for (String oreName : OreDictionary.getOreNames()) {
+            int oreId = OreDictionary.getOreID(oreName);
+            for (ItemStack stack : OreDictionary.getOres(oreName, false)) {
+                add(stack, oreId);
+            }
+        }
+        RecipeMap.clearNegativeCaches();
+    }
+
+    static void onOreRegistration(ItemStack stack, int oreId) {
+        // registrations before the first use are read from the ore dictionary when building
+        if (idsByItem != null) {
+            add(stack, oreId);
+            RecipeMap.clearNegativeCaches();
+        }
+    }
+
+    private static void add(ItemStack stack, int oreId) {
+        if (stack.isEmpty()) {
+            return;
+        }
+        Int2ObjectOpenHashMap<long[]> idsByMeta = idsByItem.computeIfAbsent(stack.getItem(), item -> new Int2ObjectOpenHashMap<>());
+        long[] ids = idsByMeta.get(stack.getMetadata());
+        int word = oreId / WORD_BITS;
+        long[] newIds = new long[Math.max(word + 1, ids == null ? 0 : ids.length)];
+        if (ids != null) {
+            System.arraycopy(ids, 0, newIds, 0, ids.length);
+        }
+        newIds[word] |= 1L << oreId;
+        idsByMeta.put(stack.getMetadata(), newIds);
+    }
+
+    private static boolean hasBit(long[] ids, int oreId) {
+        int word = oreId / WORD_BITS;
+        return ids != null && word < ids.length && (ids[word] & 1L << oreId) != 0;
+    }
+}
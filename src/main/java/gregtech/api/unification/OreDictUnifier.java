@@ -104,6 +104,7 @@ public class OreDictUnifier {
     public static void onItemRegistration(OreRegisterEvent event) {
         ItemAndMetadata simpleItemStack = new ItemAndMetadata(event.getOre());
         String oreName = event.getName();
+        OreDictIdIndex.onOreRegistration(event.getOre(), OreDictionary.getOreID(oreName));
         //cache this registration by name
         stackOreDictName.computeIfAbsent(simpleItemStack, k -> new HashSet<>()).add(oreName);
         List<ItemStack> itemStackListForOreDictName = oreDictNameStacks.computeIfAbsent(oreName, k -> new ArrayList<>());
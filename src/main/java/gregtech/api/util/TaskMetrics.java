@@ -0,0 +1,55 @@
+package gregtech.api.util;
+
+/**
+ * Run-time statistics of all tasks of a single class scheduled on a {@link TaskScheduler}.
+ */
+public class TaskMetrics {
+
+    private int queued;
+    private long runs;
+    private long totalTime;
+    private long maxTime;
+
+    void onScheduled() {
+        this.queued++;
+    }
+
+    void onRun(long time) {
+        this.runs++;
+        this.totalTime += time;
+        this.maxTime = Math.max(maxTime, time);
+    }
+
+    void onFinished() {
+        this.queued--;
+    }
+
+    /**
+     * @return the amount of tasks waiting for their next run
+     */
+    public int getQueued() {
+        return queued;
+    }
+
+    public long getRuns() {
+        return runs;
+    }
+
+    /**
+     * @return the time of all runs, in nanoseconds
+     */
+    public long getTotalTime() {
+        return totalTime;
+    }
+
+    /**
+     * @return the time of the longest run, in nanoseconds
+     */
+    public long getMaxTime() {
+        return maxTime;
+    }
+
+    public double getAverageTime() {
+        return runs == 0 ? 0 : (double) totalTime / runs;
+    }
+}
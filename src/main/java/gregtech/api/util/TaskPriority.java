@@ -0,0 +1,16 @@
+package gregtech.api.util;
+
+/**
+ * The order in which the {@link TaskScheduler} runs its tasks every tick.
+ * Tasks of a lower priority are the first to be moved to the next tick when the time budget is used up.
+ */
+public enum TaskPriority {
+
+    /**
+     * Runs every tick regardless of the time budget, for short tasks which must not be delayed
+     */
+    HIGH,
+    NORMAL,
+    LOW
+
+}
@@ -2,6 +2,8 @@ package gregtech.api.util;
 
 import gregtech.api.GTValues;
 import gregtech.api.util.function.Task;
+import gregtech.common.ConfigHolder;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import net.minecraft.world.World;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
@@ -10,48 +12,149 @@ import net.minecraftforge.fml.common.gameevent.TickEvent;
 
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
+/**
+ * Runs the {@link Task}s of a world every server tick, until they return false.
+ * <p>
+ * Every world has its own scheduler, whose tasks only run on the thread ticking the world. Tasks scheduled from other
+ * threads are picked up on the next tick. Tasks run in order of their {@link TaskPriority}, until the time budget of
+ * the tick is used up. Tasks which did not run then are the first to run on the next tick.
+ * <p>
+ * {@link TaskPriority#HIGH} tasks always run, their time counts towards the budget. Other tasks are not guaranteed
+ * to run, except for the first task of a tick without high priority tasks. Tasks are not aged, so while the tasks of
+ * higher priorities use up the budget every tick, {@link TaskPriority#LOW} tasks do not run at all.
+ */
 @EventBusSubscriber(modid = GTValues.MODID)
 public class TaskScheduler {
 
+    private static final Map<World, TaskScheduler> tasksPerWorld = new ConcurrentHashMap<>();
+
+    private final List<ArrayDeque<Task>> tasks = new ArrayList<>();
+    private final List<Queue<Task>> incomingTasks = new ArrayList<>();
+    private final Map<Class<?>, TaskMetrics> metrics = new Reference2ObjectOpenHashMap<>();
+    private Thread tickThread;
+    private long lastTickTime;
+
+    TaskScheduler() {
+        for (int i = 0; i < TaskPriority.values().length; i++) {
+            tasks.add(new ArrayDeque<>());
+            incomingTasks.add(new ConcurrentLinkedQueue<>());
+        }
+    }
+
     @Nullable
     public static TaskScheduler get(World world) {
         return tasksPerWorld.get(world);
     }
 
-    private static final Map<World, TaskScheduler> tasksPerWorld = new HashMap<>();
-
-    private final List<Task> tasks = new ArrayList<>();
-    private final List<Task> scheduledTasks = new ArrayList<>();
-    private boolean running = false;
-
     public static void scheduleTask(World world, Task task) {
+        scheduleTask(world, task, TaskPriority.NORMAL);
+    }
+
+    public static void scheduleTask(World world, Task task, TaskPriority priority) {
         if (world.isRemote) {
             throw new IllegalArgumentException("Attempt to schedule task on client world!");
         }
-        tasksPerWorld.computeIfAbsent(world, k -> new TaskScheduler()).scheduleTask(task);
+        tasksPerWorld.computeIfAbsent(world, k -> new TaskScheduler()).scheduleTask(task, priority);
     }
 
     public void scheduleTask(Task task) {
-        if (running) {
-            scheduledTasks.add(task);
+        scheduleTask(task, TaskPriority.NORMAL);
+    }
+
+    /**
+     * Schedules the task to run from the next tick on. Can be called from any thread.
+     */
+    public void scheduleTask(Task task, TaskPriority priority) {
+        if (Thread.currentThread() == tickThread) {
+            addTask(task, priority);
         } else {
-            tasks.add(task);
+            incomingTasks.get(priority.ordinal()).add(task);
         }
     }
 
+    private void addTask(Task task, TaskPriority priority) {
+        tasks.get(priority.ordinal()).add(task);
+        metrics.computeIfAbsent(task.getClass(), k -> new TaskMetrics()).onScheduled();
+    }
+
+    void tick() {
+        this.tickThread = Thread.currentThread();
+        for (TaskPriority priority : TaskPriority.values()) {
+            Queue<Task> incoming = incomingTasks.get(priority.ordinal());
+            Task task;
+            while ((task = incoming.poll()) != null) {
+                addTask(task, priority);
+            }
+        }
+
+        long budget = ConfigHolder.misc.taskTimeBudget * 1000L;
+        long tickStart = System.nanoTime();
+        long time = tickStart;
+        runTasks:
+        for (TaskPriority priority : TaskPriority.values()) {
+            ArrayDeque<Task> queue = tasks.get(priority.ordinal());
+            // tasks scheduled by the tasks of this tick are behind the ones scheduled before, and run on the next tick
+            for (int i = queue.size(); i > 0; i--) {
+                if (priority != TaskPriority.HIGH && budget > 0 && time - tickStart >= budget) {
+                    break runTasks;
+                }
+                Task task = queue.poll();
+                TaskMetrics taskMetrics = metrics.get(task.getClass());
+                boolean keepRunning = task.run();
+                long runEnd = System.nanoTime();
+                taskMetrics.onRun(runEnd - time);
+                time = runEnd;
+
+                if (keepRunning) {
+                    queue.add(task);
+                } else {
+                    taskMetrics.onFinished();
+                }
+            }
+        }
+        this.lastTickTime = time - tickStart;
+    }
+
+    /**
+     * @return the amount of tasks waiting for their next run, including ones scheduled from other threads
+     */
+    public int getQueueDepth() {
+        int depth = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            depth += tasks.get(i).size() + incomingTasks.get(i).size();
+        }
+        return depth;
+    }
+
+    /**
+     * @return the statistics of every class of task which was scheduled on this scheduler
+     */
+    public Map<Class<?>, TaskMetrics> getMetrics() {
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    /**
+     * @return the time the tasks took on the last tick, in nanoseconds
+     */
+    public long getLastTickTime() {
+        return lastTickTime;
+    }
+
     public void unload() {
-        tasks.clear();
-        scheduledTasks.clear();
+        tasks.forEach(ArrayDeque::clear);
+        incomingTasks.forEach(Queue::clear);
+        metrics.clear();
     }
 
     @SubscribeEvent
     public static void onWorldUnload(WorldEvent.Unload event) {
         if (!event.getWorld().isRemote) {
-            TaskScheduler scheduler = tasksPerWorld.get(event.getWorld());
+            TaskScheduler scheduler = tasksPerWorld.remove(event.getWorld());
             if (scheduler != null) {
                 scheduler.unload();
-                tasksPerWorld.remove(event.getWorld());
             }
         }
     }
@@ -61,13 +164,7 @@ public class TaskScheduler {
         if (!event.world.isRemote) {
             TaskScheduler scheduler = get(event.world);
             if (scheduler != null) {
-                if (!scheduler.scheduledTasks.isEmpty()) {
-                    scheduler.tasks.addAll(scheduler.scheduledTasks);
-                    scheduler.scheduledTasks.clear();
-                }
-                scheduler.running = true;
-                scheduler.tasks.removeIf(task -> !task.run());
-                scheduler.running = false;
+                scheduler.tick();
             }
         }
     }
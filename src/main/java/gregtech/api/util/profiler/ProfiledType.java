@@ -0,0 +1,19 @@
+package gregtech.api.util.profiler;
+
+/**
+ * The kinds of ticking objects measured by the {@link TickProfiler}.
+ * The time of a meta tile entity includes the time of its traits and covers.
+ */
+public enum ProfiledType {
+
+    META_TILE_ENTITY("machine"),
+    TRAIT("trait"),
+    COVER("cover"),
+    PIPE_NET("pipenet");
+
+    public final String name;
+
+    ProfiledType(String name) {
+        this.name = name;
+    }
+}
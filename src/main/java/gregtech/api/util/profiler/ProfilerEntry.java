@@ -0,0 +1,71 @@
+package gregtech.api.util.profiler;
+
+/**
+ * The tick times of a single class, kept in one bucket per second of the profiler window.
+ */
+public class ProfilerEntry {
+
+    private final ProfiledType type;
+    private final Class<?> profiledClass;
+    private final long[] time = new long[TickProfiler.WINDOW_SECONDS];
+    private final long[] maxTime = new long[TickProfiler.WINDOW_SECONDS];
+    private final int[] calls = new int[TickProfiler.WINDOW_SECONDS];
+
+    ProfilerEntry(ProfiledType type, Class<?> profiledClass) {
+        this.type = type;
+        this.profiledClass = profiledClass;
+    }
+
+    void record(int bucket, long nanos) {
+        this.time[bucket] += nanos;
+        this.maxTime[bucket] = Math.max(maxTime[bucket], nanos);
+        this.calls[bucket]++;
+    }
+
+    void clear(int bucket) {
+        this.time[bucket] = 0;
+        this.maxTime[bucket] = 0;
+        this.calls[bucket] = 0;
+    }
+
+    public ProfiledType getType() {
+        return type;
+    }
+
+    public Class<?> getProfiledClass() {
+        return profiledClass;
+    }
+
+    /**
+     * @return the time of all sampled calls within the window, in nanoseconds
+     */
+    public long getTotalTime() {
+        long total = 0;
+        for (long bucketTime : time) {
+            total += bucketTime;
+        }
+        return total;
+    }
+
+    /**
+     * @return the time of the longest sampled call within the window, in nanoseconds
+     */
+    public long getMaxTime() {
+        long max = 0;
+        for (long bucketMax : maxTime) {
+            max = Math.max(max, bucketMax);
+        }
+        return max;
+    }
+
+    /**
+     * @return the amount of sampled calls within the window
+     */
+    public long getCalls() {
+        long total = 0;
+        for (int bucketCalls : calls) {
+            total += bucketCalls;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,149 @@
+package gregtech.api.util.profiler;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import gregtech.api.GTValues;
+import gregtech.common.ConfigHolder;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Sums up the server tick time of meta tile entities, traits, covers and pipe nets per class,
+ * over a sliding window of {@link #WINDOW_SECONDS} seconds.
+ * <p>
+ * Only every Nth server tick is sampled, so the profiler can stay enabled on busy servers. Callers check
+ * {@link #isSampling()} before measuring, and {@link #record(ProfiledType, Class, long)} the time they measured.
+ * The profiler must only be used from the server thread.
+ */
+@EventBusSubscriber(modid = GTValues.MODID)
+public class TickProfiler {
+
+    public static final int WINDOW_SECONDS = 30;
+
+    private static final Map<ProfiledType, Map<Class<?>, ProfilerEntry>> entries = new EnumMap<>(ProfiledType.class);
+    private static final int[] sampledTicks = new int[WINDOW_SECONDS];
+    // -1 uses the interval of the config, until it is changed by command
+    private static int interval = -1;
+    private static long tick;
+    private static int bucket;
+    private static boolean sampling;
+
+    static {
+        for (ProfiledType type : ProfiledType.values()) {
+            entries.put(type, new Reference2ObjectOpenHashMap<>());
+        }
+    }
+
+    /**
+     * @return whether the current server tick is sampled
+     */
+    public static boolean isSampling() {
+        return sampling;
+    }
+
+    /**
+     * Adds the time of a single call of the profiled class to the current tick
+     */
+    public static void record(ProfiledType type, Class<?> profiledClass, long nanos) {
+        Map<Class<?>, ProfilerEntry> typeEntries = entries.get(type);
+        ProfilerEntry entry = typeEntries.get(profiledClass);
+        if (entry == null) {
+            entry = new ProfilerEntry(type, profiledClass);
+            typeEntries.put(profiledClass, entry);
+        }
+        entry.record(bucket, nanos);
+    }
+
+    /**
+     * @return every how many ticks is sampled, or 0 if the profiler is disabled
+     */
+    public static int getInterval() {
+        return interval >= 0 ? interval : ConfigHolder.misc.tickProfilerInterval;
+    }
+
+    public static void setInterval(int interval) {
+        TickProfiler.interval = Math.max(0, interval);
+    }
+
+    /**
+     * @return the amount of sampled ticks within the window
+     */
+    public static int getSampledTicks() {
+        int total = 0;
+        for (int bucketTicks : sampledTicks) {
+            total += bucketTicks;
+        }
+        return total;
+    }
+
+    /**
+     * @return the classes of the type which took the most time within the window, slowest first
+     */
+    public static List<ProfilerEntry> getTopEntries(ProfiledType type, int count) {
+        return entries.get(type).values().stream()
+                .filter(entry -> entry.getCalls() > 0)
+                .sorted(Comparator.comparingLong(ProfilerEntry::getTotalTime).reversed())
+                .limit(count)
+                .collect(Collectors.toList());
+    }
+
+    public static void reset() {
+        for (Map<Class<?>, ProfilerEntry> typeEntries : entries.values()) {
+            typeEntries.clear();
+        }
+        Arrays.fill(sampledTicks, 0);
+    }
+
+    /**
+     * @return all measured classes within the window, slowest first per type
+     */
+    public static JsonObject toJson() {
+        int ticks = getSampledTicks();
+        JsonObject json = new JsonObject();
+        json.addProperty("interval", getInterval());
+        json.addProperty("windowSeconds", WINDOW_SECONDS);
+        json.addProperty("sampledTicks", ticks);
+        for (ProfiledType type : ProfiledType.values()) {
+            JsonArray typeJson = new JsonArray();
+            for (ProfilerEntry entry : getTopEntries(type, Integer.MAX_VALUE)) {
+                JsonObject entryJson = new JsonObject();
+                entryJson.addProperty("class", entry.getProfiledClass().getName());
+                entryJson.addProperty("totalNanos", entry.getTotalTime());
+                entryJson.addProperty("maxNanos", entry.getMaxTime());
+                entryJson.addProperty("calls", entry.getCalls());
+                entryJson.addProperty("nanosPerTick", ticks == 0 ? 0 : entry.getTotalTime() / ticks);
+                typeJson.add(entryJson);
+            }
+            json.add(type.name, typeJson);
+        }
+        return json;
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.START) {
+            return;
+        }
+        tick++;
+        if (tick % 20 == 0) {
+            // the oldest second of the window is replaced by the current one
+            bucket = (bucket + 1) % WINDOW_SECONDS;
+            for (Map<Class<?>, ProfilerEntry> typeEntries : entries.values()) {
+                for (ProfilerEntry entry : typeEntries.values()) {
+                    entry.clear(bucket);
+                }
+            }
+            sampledTicks[bucket] = 0;
+        }
+        int sampleInterval = getInterval();
+        sampling = sampleInterval > 0 && tick % sampleInterval == 0;
+        if (sampling) {
+            sampledTicks[bucket]++;
+        }
+    }
+}
@@ -4,10 +4,8 @@ import gregtech.api.GTValues;
 import gregtech.api.net.NetworkHandler;
 import gregtech.api.net.packets.CPacketFluidVeinList;
 import gregtech.api.util.GTLog;
-import gregtech.api.util.XSTR;
 import gregtech.api.worldgen.config.BedrockFluidDepositDefinition;
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldProvider;
 import net.minecraft.world.biome.Biome;
@@ -20,13 +18,12 @@ import javax.annotation.Nullable;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Random;
 
 public class BedrockFluidVeinHandler {
 
     public final static LinkedHashMap<BedrockFluidDepositDefinition, Integer> veinList = new LinkedHashMap<>();
     private final static Map<Integer, HashMap<Integer, Integer>> totalWeightMap = new HashMap<>();
-    public static HashMap<ChunkPosDimension, FluidVeinWorldEntry> veinCache = new HashMap<>();
+    public static final BedrockFluidVeinStorage veinStorage = new BedrockFluidVeinStorage();
 
     public static final int VEIN_CHUNK_SIZE = 8; // veins are 8x8 chunk squares
 
@@ -45,46 +42,7 @@ public class BedrockFluidVeinHandler {
         if (world.isRemote)
             return null;
 
-        ChunkPosDimension coords = new ChunkPosDimension(world.provider.getDimension(), chunkX / VEIN_CHUNK_SIZE, chunkZ / VEIN_CHUNK_SIZE);
-
-        FluidVeinWorldEntry worldEntry = veinCache.get(coords);
-        if (worldEntry == null) {
-            BedrockFluidDepositDefinition definition = null;
-
-            int query = world.getChunk(chunkX / VEIN_CHUNK_SIZE, chunkZ / VEIN_CHUNK_SIZE).getRandomWithSeed(90210).nextInt();
-
-            Biome biome = world.getBiomeForCoordsBody(new BlockPos(chunkX << 4, 64, chunkZ << 4));
-            int totalWeight = getTotalWeight(world.provider, biome);
-            if (totalWeight > 0) {
-                int weight = Math.abs(query % totalWeight);
-                for (Map.Entry<BedrockFluidDepositDefinition, Integer> entry : veinList.entrySet()) {
-                    int veinWeight = entry.getValue() + entry.getKey().getBiomeWeightModifier().apply(biome);
-                    if (veinWeight > 0 && entry.getKey().getDimensionFilter().test(world.provider)) {
-                        weight -= veinWeight;
-                        if (weight < 0) {
-                            definition = entry.getKey();
-                            break;
-                        }
-                    }
-                }
-            }
-
-            Random random = new XSTR(31L * 31 * chunkX + chunkZ * 31L + Long.hashCode(world.getSeed()));
-
-            int maximumYield = 0;
-            if (definition != null) {
-                if (definition.getMaximumYield() - definition.getMinimumYield() <= 0) {
-                    maximumYield = definition.getMinimumYield();
-                } else {
-                    maximumYield = random.nextInt(definition.getMaximumYield() - definition.getMinimumYield()) + definition.getMinimumYield();
-                }
-                maximumYield = Math.min(maximumYield, definition.getMaximumYield());
-            }
-
-            worldEntry = new FluidVeinWorldEntry(definition, maximumYield, MAXIMUM_VEIN_OPERATIONS);
-            veinCache.put(coords, worldEntry);
-        }
-        return worldEntry;
+        return veinStorage.getEntry(world, chunkX / VEIN_CHUNK_SIZE, chunkZ / VEIN_CHUNK_SIZE, 0);
     }
 
     /**
@@ -136,9 +94,8 @@ public class BedrockFluidVeinHandler {
         totalWeightMap.clear();
         if (FMLCommonHandler.instance().getEffectiveSide() == Side.SERVER && !mutePackets) {
             HashMap<FluidVeinWorldEntry, Integer> packetMap = new HashMap<>();
-            for (Map.Entry<ChunkPosDimension, FluidVeinWorldEntry> entry : BedrockFluidVeinHandler.veinCache.entrySet()) {
-                if (entry.getKey() != null && entry.getValue() != null)
-                    packetMap.put(entry.getValue(), entry.getValue().getDefinition().getWeight());
+            for (Map.Entry<BedrockFluidDepositDefinition, Integer> entry : veinList.entrySet()) {
+                packetMap.put(new FluidVeinWorldEntry(entry.getKey(), 0, 0), entry.getValue());
             }
             NetworkHandler.channel.sendToAll(new CPacketFluidVeinList(packetMap).toFMLPacket());
         }
@@ -216,6 +173,7 @@ public class BedrockFluidVeinHandler {
 
         if (ignoreVeinStats) {
             info.decreaseOperations(amount);
+            veinStorage.markChanged(world, chunkX / VEIN_CHUNK_SIZE, chunkZ / VEIN_CHUNK_SIZE, 0);
             return;
         }
 
@@ -227,7 +185,7 @@ public class BedrockFluidVeinHandler {
 
         if (definition.getDepletionChance() == 100 || GTValues.RNG.nextInt(100) <= definition.getDepletionChance()) {
             info.decreaseOperations(definition.getDepletionAmount());
-            BedrockFluidVeinSaveData.setDirty();
+            veinStorage.markChanged(world, chunkX / VEIN_CHUNK_SIZE, chunkZ / VEIN_CHUNK_SIZE, 0);
         }
     }
 
@@ -4,15 +4,14 @@ import gregtech.api.GTValues;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.world.storage.WorldSavedData;
-import net.minecraftforge.fml.common.FMLCommonHandler;
-import net.minecraftforge.fml.relauncher.Side;
 
 import javax.annotation.Nonnull;
-import java.util.Map;
 
+/**
+ * The fluid veins saved by earlier versions, which are moved to the {@link BedrockFluidVeinStorage} when loaded
+ */
 public class BedrockFluidVeinSaveData extends WorldSavedData {
 
-    private static BedrockFluidVeinSaveData INSTANCE;
     public static final String dataName = GTValues.MODID + ".bedrockFluidVeinData";
 
     public BedrockFluidVeinSaveData(String s) {
@@ -22,40 +21,25 @@ public class BedrockFluidVeinSaveData extends WorldSavedData {
     @Override
     public void readFromNBT(NBTTagCompound nbt) {
         NBTTagList veinList = nbt.getTagList("veinInfo", 10);
-        BedrockFluidVeinHandler.veinCache.clear();
+        if (veinList.isEmpty()) {
+            return;
+        }
         for (int i = 0; i < veinList.tagCount(); i++) {
             NBTTagCompound tag = veinList.getCompoundTagAt(i);
             ChunkPosDimension coords = ChunkPosDimension.readFromNBT(tag);
             if (coords != null) {
                 BedrockFluidVeinHandler.FluidVeinWorldEntry info = BedrockFluidVeinHandler.FluidVeinWorldEntry.readFromNBT(tag.getCompoundTag("info"));
-                BedrockFluidVeinHandler.veinCache.put(coords, info);
+                BedrockFluidVeinHandler.veinStorage.importEntry(coords.dimension, coords.x, coords.z, 0, info);
             }
         }
+        // write the veins to their regions before the list is cleared by the next save
+        BedrockFluidVeinHandler.veinStorage.save();
+        markDirty();
     }
 
     @Override
     public @Nonnull
     NBTTagCompound writeToNBT(@Nonnull NBTTagCompound nbt) {
-        NBTTagList oilList = new NBTTagList();
-        for (Map.Entry<ChunkPosDimension, BedrockFluidVeinHandler.FluidVeinWorldEntry> e : BedrockFluidVeinHandler.veinCache.entrySet()) {
-            if (e.getKey() != null && e.getValue() != null) {
-                NBTTagCompound tag = e.getKey().writeToNBT();
-                tag.setTag("info", e.getValue().writeToNBT());
-                oilList.appendTag(tag);
-            }
-        }
-        nbt.setTag("veinInfo", oilList);
-
         return nbt;
     }
-
-    public static void setDirty() {
-        if (FMLCommonHandler.instance().getEffectiveSide() == Side.SERVER && INSTANCE != null)
-            INSTANCE.markDirty();
-    }
-
-    public static void setInstance(BedrockFluidVeinSaveData in) {
-        if (FMLCommonHandler.instance().getEffectiveSide() == Side.SERVER)
-            INSTANCE = in;
-    }
 }
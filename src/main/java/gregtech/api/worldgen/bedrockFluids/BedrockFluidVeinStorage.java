@@ -0,0 +1,71 @@
+package gregtech.api.worldgen.bedrockFluids;
+
+import gregtech.api.util.XSTR;
+import gregtech.api.worldgen.config.BedrockFluidDepositDefinition;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.biome.Biome;
+
+import java.util.Map;
+import java.util.Random;
+
+import static gregtech.api.worldgen.bedrockFluids.BedrockFluidVeinHandler.MAXIMUM_VEIN_OPERATIONS;
+import static gregtech.api.worldgen.bedrockFluids.BedrockFluidVeinHandler.VEIN_CHUNK_SIZE;
+
+public class BedrockFluidVeinStorage extends BedrockVeinStorage<BedrockFluidVeinHandler.FluidVeinWorldEntry> {
+
+    public BedrockFluidVeinStorage() {
+        super("bedrock_fluid_veins");
+    }
+
+    @Override
+    protected BedrockFluidVeinHandler.FluidVeinWorldEntry createEntry(World world, int veinX, int veinZ, int layer) {
+        // the biome and yield are taken from the first chunk of the vein
+        int chunkX = veinX * VEIN_CHUNK_SIZE;
+        int chunkZ = veinZ * VEIN_CHUNK_SIZE;
+        BedrockFluidDepositDefinition definition = null;
+
+        int query = getVeinRandom(world, veinX, veinZ).nextInt();
+
+        Biome biome = world.getBiomeForCoordsBody(new BlockPos(chunkX << 4, 64, chunkZ << 4));
+        int totalWeight = BedrockFluidVeinHandler.getTotalWeight(world.provider, biome);
+        if (totalWeight > 0) {
+            int weight = Math.abs(query % totalWeight);
+            for (Map.Entry<BedrockFluidDepositDefinition, Integer> entry : BedrockFluidVeinHandler.veinList.entrySet()) {
+                int veinWeight = entry.getValue() + entry.getKey().getBiomeWeightModifier().apply(biome);
+                if (veinWeight > 0 && entry.getKey().getDimensionFilter().test(world.provider)) {
+                    weight -= veinWeight;
+                    if (weight < 0) {
+                        definition = entry.getKey();
+                        break;
+                    }
+                }
+            }
+        }
+
+        Random random = new XSTR(31L * 31 * chunkX + chunkZ * 31L + Long.hashCode(world.getSeed()));
+
+        int maximumYield = 0;
+        if (definition != null) {
+            if (definition.getMaximumYield() - definition.getMinimumYield() <= 0) {
+                maximumYield = definition.getMinimumYield();
+            } else {
+                maximumYield = random.nextInt(definition.getMaximumYield() - definition.getMinimumYield()) + definition.getMinimumYield();
+            }
+            maximumYield = Math.min(maximumYield, definition.getMaximumYield());
+        }
+
+        return new BedrockFluidVeinHandler.FluidVeinWorldEntry(definition, maximumYield, MAXIMUM_VEIN_OPERATIONS);
+    }
+
+    @Override
+    protected NBTTagCompound writeEntry(BedrockFluidVeinHandler.FluidVeinWorldEntry entry) {
+        return entry.writeToNBT();
+    }
+
+    @Override
+    protected BedrockFluidVeinHandler.FluidVeinWorldEntry readEntry(NBTTagCompound tag) {
+        return BedrockFluidVeinHandler.FluidVeinWorldEntry.readFromNBT(tag);
+    }
+}
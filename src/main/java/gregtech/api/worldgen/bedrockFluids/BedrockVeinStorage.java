@@ -0,0 +1,213 @@
+package gregtech.api.worldgen.bedrockFluids;
+
+import gregtech.api.util.GTLog;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.world.World;
+import net.minecraftforge.common.DimensionManager;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Resolves the veins of a kind of bedrock deposit, and keeps the veins which changed since they were generated.
+ * <p>
+ * Veins are generated from the world seed and their coordinates only, without accessing any chunk, so unchanged veins
+ * are never saved. Changed veins are saved in one file per region of {@link #REGION_SIZE} by {@link #REGION_SIZE}
+ * veins, which is read when a vein of the region is requested first. At most {@link #MAX_LOADED_REGIONS} regions are
+ * kept in memory, the least recently used one is saved and dropped when another one is loaded.
+ *
+ * @param <T> the type of the vein entries
+ */
+public abstract class BedrockVeinStorage<T> {
+
+    private static final int REGION_SIZE = 32;
+    private static final int MAX_LOADED_REGIONS = 64;
+
+    private final String name;
+    // access ordered, so the first region is the least recently used one
+    private final Map<ChunkPosDimension, Region<T>> regions = new LinkedHashMap<>(16, 0.75f, true);
+
+    protected BedrockVeinStorage(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Generates the vein, must only depend on the seed of the world and the vein coordinates
+     */
+    protected abstract T createEntry(World world, int veinX, int veinZ, int layer);
+
+    protected abstract NBTTagCompound writeEntry(T entry);
+
+    protected abstract T readEntry(NBTTagCompound tag);
+
+    /**
+     * @return the random used by earlier versions to select the vein, which was taken from the chunk at the vein
+     * coordinates by {@link net.minecraft.world.chunk.Chunk#getRandomWithSeed(long)}
+     */
+    protected static Random getVeinRandom(World world, int veinX, int veinZ) {
+        return new Random(world.getSeed() + (long) (veinX * veinX * 4987142) + (long) (veinX * 5947611) +
+                (long) (veinZ * veinZ) * 4392871L + (long) (veinZ * 389711) ^ 90210L);
+    }
+
+    public T getEntry(World world, int veinX, int veinZ, int layer) {
+        Region<T> region = getRegion(world.provider.getDimension(), veinX, veinZ);
+        long key = getKey(veinX, veinZ, layer);
+        T entry = region.entries.get(key);
+        if (entry == null) {
+            entry = createEntry(world, veinX, veinZ, layer);
+            region.entries.put(key, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Marks the vein to be saved, must be called after its entry was changed
+     */
+    public void markChanged(World world, int veinX, int veinZ, int layer) {
+        getRegion(world.provider.getDimension(), veinX, veinZ).markChanged(getKey(veinX, veinZ, layer));
+    }
+
+    /**
+     * Adds a changed vein which was read from another source
+     */
+    public void importEntry(int dimension, int veinX, int veinZ, int layer, T entry) {
+        Region<T> region = getRegion(dimension, veinX, veinZ);
+        long key = getKey(veinX, veinZ, layer);
+        region.entries.put(key, entry);
+        region.markChanged(key);
+    }
+
+    /**
+     * Saves every changed region
+     */
+    public void save() {
+        for (Map.Entry<ChunkPosDimension, Region<T>> entry : regions.entrySet()) {
+            if (entry.getValue().dirty) {
+                saveRegion(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Saves the changed regions of the world
+     *
+     * @param unload whether to drop the regions of the world afterwards
+     */
+    public void save(World world, boolean unload) {
+        int dimension = world.provider.getDimension();
+        Iterator<Map.Entry<ChunkPosDimension, Region<T>>> iterator = regions.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<ChunkPosDimension, Region<T>> entry = iterator.next();
+            if (entry.getKey().dimension != dimension) {
+                continue;
+            }
+            if (entry.getValue().dirty) {
+                saveRegion(entry.getKey(), entry.getValue());
+            }
+            if (unload) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private Region<T> getRegion(int dimension, int veinX, int veinZ) {
+        ChunkPosDimension regionPos = new ChunkPosDimension(dimension, Math.floorDiv(veinX, REGION_SIZE), Math.floorDiv(veinZ, REGION_SIZE));
+        Region<T> region = regions.get(regionPos);
+        if (region == null) {
+            region = loadRegion(regionPos);
+            regions.put(regionPos, region);
+            if (regions.size() > MAX_LOADED_REGIONS) {
+                Iterator<Map.Entry<ChunkPosDimension, Region<T>>> iterator = regions.entrySet().iterator();
+                Map.Entry<ChunkPosDimension, Region<T>> eldest = iterator.next();
+                if (eldest.getValue().dirty) {
+                    saveRegion(eldest.getKey(), eldest.getValue());
+                }
+                iterator.remove();
+            }
+        }
+        return region;
+    }
+
+    private Region<T> loadRegion(ChunkPosDimension regionPos) {
+        Region<T> region = new Region<>();
+        File file = getRegionFile(regionPos);
+        if (file == null) {
+            return region;
+        }
+        try {
+            NBTTagCompound nbt = CompressedStreamTools.read(file);
+            if (nbt != null) {
+                NBTTagList veinList = nbt.getTagList("veins", 10);
+                for (int i = 0; i < veinList.tagCount(); i++) {
+                    NBTTagCompound tag = veinList.getCompoundTagAt(i);
+                    long key = getKey(tag.getInteger("x"), tag.getInteger("z"), tag.getInteger("layer"));
+                    region.entries.put(key, readEntry(tag.getCompoundTag("info")));
+                    region.changed.add(key);
+                }
+            }
+        } catch (IOException e) {
+            GTLog.logger.error("Failed to read the bedrock veins of region {}", regionPos, e);
+        }
+        return region;
+    }
+
+    private void saveRegion(ChunkPosDimension regionPos, Region<T> region) {
+        File file = getRegionFile(regionPos);
+        if (file == null) {
+            return;
+        }
+        NBTTagList veinList = new NBTTagList();
+        for (long key : region.changed) {
+            NBTTagCompound tag = new NBTTagCompound();
+            tag.setInteger("x", regionPos.x * REGION_SIZE + (int) (key >> 5 & (REGION_SIZE - 1)));
+            tag.setInteger("z", regionPos.z * REGION_SIZE + (int) (key & (REGION_SIZE - 1)));
+            tag.setInteger("layer", (int) (key >> 10));
+            tag.setTag("info", writeEntry(region.entries.get(key)));
+            veinList.appendTag(tag);
+        }
+        NBTTagCompound nbt = new NBTTagCompound();
+        nbt.setTag("veins", veinList);
+        try {
+            if (file.getParentFile().isDirectory() || file.getParentFile().mkdirs()) {
+                CompressedStreamTools.safeWrite(nbt, file);
+                region.dirty = false;
+            }
+        } catch (IOException e) {
+            GTLog.logger.error("Failed to save the bedrock veins of region {}", regionPos, e);
+        }
+    }
+
+    @Nullable
+    private File getRegionFile(ChunkPosDimension regionPos) {
+        File saveDirectory = DimensionManager.getCurrentSaveRootDirectory();
+        if (saveDirectory == null) {
+            // nothing is saved without a server, veins only change on the server anyway
+            return null;
+        }
+        return new File(saveDirectory, String.format("gregtech/%s/DIM%d/r.%d.%d.dat", name, regionPos.dimension, regionPos.x, regionPos.z));
+    }
+
+    private static long getKey(int veinX, int veinZ, int layer) {
+        return (long) layer << 10 | Math.floorMod(veinX, REGION_SIZE) << 5 | Math.floorMod(veinZ, REGION_SIZE);
+    }
+
+    private static class Region<T> {
+
+        private final Long2ObjectMap<T> entries = new Long2ObjectOpenHashMap<>();
+        private final LongSet changed = new LongOpenHashSet();
+        private boolean dirty;
+
+        private void markChanged(long key) {
+            this.changed.add(key);
+            this.dirty = true;
+        }
+    }
+}
@@ -1,19 +1,14 @@
 package gregtech.api.worldgen.bedrockOres;
 
-import com.google.common.collect.HashBasedTable;
-import com.google.common.collect.Table;
 import com.mojang.realmsclient.util.Pair;
 import gregtech.api.GTValues;
 import gregtech.api.net.NetworkHandler;
 import gregtech.api.net.packets.CPacketOreVeinList;
 import gregtech.api.unification.material.Material;
 import gregtech.api.util.GTLog;
-import gregtech.api.util.XSTR;
-import gregtech.api.worldgen.bedrockFluids.ChunkPosDimension;
 import gregtech.api.worldgen.config.BedrockOreDepositDefinition;
 import gregtech.api.worldgen.config.WorldGenRegistry;
 import net.minecraft.nbt.NBTTagCompound;
-import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldProvider;
 import net.minecraft.world.biome.Biome;
@@ -28,7 +23,7 @@ public class BedrockOreVeinHandler {
 
     public final static LinkedHashMap<BedrockOreDepositDefinition, Integer> veinList = new LinkedHashMap<>();
     private final static Map<Integer, HashMap<Integer, Integer>> totalWeightMap = new HashMap<>();
-    public static HashBasedTable<ChunkPosDimension, Integer, OreVeinWorldEntry> veinCache = HashBasedTable.create();
+    public static final BedrockOreVeinStorage veinStorage = new BedrockOreVeinStorage();
     private static LinkedHashMap<String, BedrockOreDepositDefinition> nameVein = new LinkedHashMap<>();
 
     public static final int VEIN_CHUNK_SIZE = 4; // veins are 4x4 chunk squares
@@ -46,47 +41,7 @@ public class BedrockOreVeinHandler {
         if (world.isRemote)
             return null;
 
-        ChunkPosDimension coords = new ChunkPosDimension(world.provider.getDimension(), chunkX / VEIN_CHUNK_SIZE, chunkZ / VEIN_CHUNK_SIZE);
-
-        if(veinCache.contains(coords, layer))
-             return veinCache.get(coords, layer);
-
-        BedrockOreDepositDefinition definition = null;
-        OreVeinWorldEntry worldEntry;
-
-        int query = world.getChunk(chunkX / VEIN_CHUNK_SIZE, chunkZ / VEIN_CHUNK_SIZE).getRandomWithSeed(90210).nextInt();
-
-        Biome biome = world.getBiomeForCoordsBody(new BlockPos(chunkX << 4, 64, chunkZ << 4));
-        int totalWeight = getTotalWeight(world.provider, biome, layer);
-        if (totalWeight > 0) {
-            int weight = Math.abs(query % totalWeight);
-            for (Map.Entry<BedrockOreDepositDefinition, Integer> entry : veinList.entrySet()) {
-                if(entry.getKey().getLayer() != layer)
-                    continue;
-                int veinWeight = entry.getValue() + entry.getKey().getBiomeWeightModifier().apply(biome);
-                if (veinWeight > 0 && entry.getKey().getDimensionFilter().test(world.provider)) {
-                    weight -= veinWeight;
-                    if (weight < 0) {
-                        definition = entry.getKey();
-                        break;
-                    }
-                }
-            }
-        }
-
-        Random random = new XSTR(31L * 31 * chunkX + chunkZ * 31L + Long.hashCode(world.getSeed()));
-
-        int operations = 0;
-        if (definition != null) {
-            Pair<Integer, Integer> operationsPerLayer = getOperationsPerLayer(definition.getLayer());
-            int r = operationsPerLayer.second() - operationsPerLayer.first();
-            operations = (r == 0 ? 0 : random.nextInt(r)) + operationsPerLayer.first();
-            operations = Math.min(operations, operationsPerLayer.second());
-        }
-
-        worldEntry = new OreVeinWorldEntry(definition, operations);
-        veinCache.put(coords, layer, worldEntry);
-        return worldEntry;
+        return veinStorage.getEntry(world, chunkX / VEIN_CHUNK_SIZE, chunkZ / VEIN_CHUNK_SIZE, layer);
     }
 
     public static BedrockOreDepositDefinition getDepositByName(String name){
@@ -152,9 +107,8 @@ public class BedrockOreVeinHandler {
         totalWeightMap.clear();
         if (FMLCommonHandler.instance().getEffectiveSide() == Side.SERVER && !mutePackets) {
             HashMap<OreVeinWorldEntry, Integer> packetMap = new HashMap<>();
-            for (Table.Cell<ChunkPosDimension, Integer, OreVeinWorldEntry> entry : BedrockOreVeinHandler.veinCache.cellSet()) {
-                if (entry.getRowKey() != null && entry.getValue() != null)
-                    packetMap.put(entry.getValue(), entry.getValue().getDefinition().getWeight());
+            for (Map.Entry<BedrockOreDepositDefinition, Integer> entry : veinList.entrySet()) {
+                packetMap.put(new OreVeinWorldEntry(entry.getKey(), 0), entry.getValue());
             }
             NetworkHandler.channel.sendToAll(new CPacketOreVeinList(packetMap).toFMLPacket());
         }
@@ -204,6 +158,7 @@ public class BedrockOreVeinHandler {
 
         if (ignoreVeinStats) {
             info.decreaseOperations(amount);
+            veinStorage.markChanged(world, chunkX / VEIN_CHUNK_SIZE, chunkZ / VEIN_CHUNK_SIZE, layer);
             return;
         }
 
@@ -215,7 +170,7 @@ public class BedrockOreVeinHandler {
 
         if (definition.getDepletionChance() == 100 || GTValues.RNG.nextInt(100) <= definition.getDepletionChance()) {
             info.decreaseOperations(definition.getDepletionAmount());
-            BedrockOreVeinSaveData.setDirty();
+            veinStorage.markChanged(world, chunkX / VEIN_CHUNK_SIZE, chunkZ / VEIN_CHUNK_SIZE, layer);
         }
     }
 
@@ -0,0 +1,72 @@
+package gregtech.api.worldgen.bedrockOres;
+
+import com.mojang.realmsclient.util.Pair;
+import gregtech.api.util.XSTR;
+import gregtech.api.worldgen.bedrockFluids.BedrockVeinStorage;
+import gregtech.api.worldgen.config.BedrockOreDepositDefinition;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.biome.Biome;
+
+import java.util.Map;
+import java.util.Random;
+
+import static gregtech.api.worldgen.bedrockOres.BedrockOreVeinHandler.VEIN_CHUNK_SIZE;
+
+public class BedrockOreVeinStorage extends BedrockVeinStorage<BedrockOreVeinHandler.OreVeinWorldEntry> {
+
+    public BedrockOreVeinStorage() {
+        super("bedrock_ore_veins");
+    }
+
+    @Override
+    protected BedrockOreVeinHandler.OreVeinWorldEntry createEntry(World world, int veinX, int veinZ, int layer) {
+        // the biome and operations are taken from the first chunk of the vein
+        int chunkX = veinX * VEIN_CHUNK_SIZE;
+        int chunkZ = veinZ * VEIN_CHUNK_SIZE;
+        BedrockOreDepositDefinition definition = null;
+
+        int query = getVeinRandom(world, veinX, veinZ).nextInt();
+
+        Biome biome = world.getBiomeForCoordsBody(new BlockPos(chunkX << 4, 64, chunkZ << 4));
+        int totalWeight = BedrockOreVeinHandler.getTotalWeight(world.provider, biome, layer);
+        if (totalWeight > 0) {
+            int weight = Math.abs(query % totalWeight);
+            for (Map.Entry<BedrockOreDepositDefinition, Integer> entry : BedrockOreVeinHandler.veinList.entrySet()) {
+                if (entry.getKey().getLayer() != layer)
+                    continue;
+                int veinWeight = entry.getValue() + entry.getKey().getBiomeWeightModifier().apply(biome);
+                if (veinWeight > 0 && entry.getKey().getDimensionFilter().test(world.provider)) {
+                    weight -= veinWeight;
+                    if (weight < 0) {
+                        definition = entry.getKey();
+                        break;
+                    }
+                }
+            }
+        }
+
+        Random random = new XSTR(31L * 31 * chunkX + chunkZ * 31L + Long.hashCode(world.getSeed()));
+
+        int operations = 0;
+        if (definition != null) {
+            Pair<Integer, Integer> operationsPerLayer = BedrockOreVeinHandler.getOperationsPerLayer(definition.getLayer());
+            int r = operationsPerLayer.second() - operationsPerLayer.first();
+            operations = (r == 0 ? 0 : random.nextInt(r)) + operationsPerLayer.first();
+            operations = Math.min(operations, operationsPerLayer.second());
+        }
+
+        return new BedrockOreVeinHandler.OreVeinWorldEntry(definition, operations);
+    }
+
+    @Override
+    protected NBTTagCompound writeEntry(BedrockOreVeinHandler.OreVeinWorldEntry entry) {
+        return entry.writeToNBT();
+    }
+
+    @Override
+    protected BedrockOreVeinHandler.OreVeinWorldEntry readEntry(NBTTagCompound tag) {
+        return BedrockOreVeinHandler.OreVeinWorldEntry.readFromNBT(tag);
+    }
+}
@@ -8,10 +8,12 @@ import gregtech.api.enchants.EnchantmentEnderDamage;
 import gregtech.api.enchants.EnchantmentHardHammer;
 import gregtech.api.items.metaitem.MetaItem;
 import gregtech.api.recipes.ModHandler;
+import gregtech.api.recipes.RecipeMap;
 import gregtech.api.recipes.crafttweaker.MetaItemBracketHandler;
 import gregtech.api.recipes.ingredients.GTRecipeInput;
 import gregtech.api.recipes.recipeproperties.FusionEUToStartProperty;
 import gregtech.api.terminal.TerminalRegistry;
+import gregtech.api.unification.OreDictIdIndex;
 import gregtech.api.unification.material.Material;
 import gregtech.api.unification.material.Materials;
 import gregtech.api.unification.material.properties.DustProperty;
@@ -278,6 +280,8 @@ public class CommonProxy {
         FusionEUToStartProperty.registerFusionTier(7, "(MK2)");
         FusionEUToStartProperty.registerFusionTier(8, "(MK3)");
 
+        RecipeMap.startBulkLoading();
+
         GTLog.logger.info("Registering ore dictionary...");
 
         MetaItems.registerOreDict();
@@ -309,6 +313,7 @@ public class CommonProxy {
         GTLog.logger.info("Running late material handlers...");
         OrePrefix.runMaterialHandlers();
         GTRecipeManager.loadLatest();
+        RecipeMap.finishBulkLoading();
 
         if (Loader.isModLoaded(GTValues.MODID_CT)) {
             MetaItemBracketHandler.rebuildComponentRegistry();
@@ -388,6 +393,8 @@ public class CommonProxy {
             GTJeiPlugin.setupInputHandler();
         }
         GTRecipeInput.INSTANCES = new ObjectOpenHashSet<>();
+        OreDictIdIndex.rebuild();
+        RecipeMap.compileLookups();
     }
 
     public boolean isFancyGraphics() {
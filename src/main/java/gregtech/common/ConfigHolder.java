@@ -81,6 +81,42 @@ public class ConfigHolder {
         @Config.Comment({"Whether machines explode in rainy weather or when placed next to certain terrain, such as fire or lava", "Default: false"})
         public boolean doTerrainExplosion = false;
 
+        @Config.Comment({"Whether idle single block machines should stop ticking until their inventories, energy, covers or neighbors change.",
+                "Machines with ticking covers, auto-output with items or fluids left to push, or a battery in the charger slot keep ticking.",
+                "Default: false"})
+        public boolean sleepIdleMachines = false;
+
+        @Config.Comment({"Whether electric machines with enough stored energy should pay for many ticks of a recipe at once,",
+                "instead of drawing energy every tick. Progress, outputs and total energy use stay the same.",
+                "Default: false"})
+        public boolean batchRecipeProgress = false;
+
+        @Config.Comment({"Whether the amperage and voltage passing through cables should be summed up once per energy net and tick,",
+                "instead of walking every cable of a route each time energy is sent over it. Heat from overamping is then applied once per tick.",
+                "Default: false"})
+        public boolean solveEnergyNetFlows = false;
+
+        @Config.Comment({"Whether fluid should be moved by each fluid pipe net as a whole, instead of every pipe pushing to its neighbours on its own.",
+                "Fluid then travels from every pipe towards the closest accepting tank in one update, limited by the throughput of each pipe.",
+                "Default: false"})
+        public boolean fluidPipeNetTransport = false;
+
+        @Config.Comment({"Whether large multiblock structures should be checked on a worker thread, against a copy of their blocks.",
+                "Only the result is applied on the server thread, after making sure no checked block has changed in the meantime.",
+                "Structures with custom pattern predicates are always checked on the server thread.",
+                "Default: false"})
+        public boolean asyncStructureChecks = false;
+
+        @Config.Comment({"Whether machines should remember the capabilities they provide per side, instead of looking them up on every request.",
+                "The capabilities are looked up again when the facing, traits, inventories or structure of a machine change.",
+                "Default: false"})
+        public boolean cacheCapabilities = false;
+
+        @Config.Comment({"Whether Conveyors and Robotic Arms should skip a transfer when their last one moved nothing,",
+                "and neither inventory nor the cover settings changed since. A transfer is still tried every 4 seconds.",
+                "Default: false"})
+        public boolean skipIdleCoverTransfers = false;
+
         @Config.Comment({"Energy use multiplier for electric items.", "Default: 100"})
         public int energyUsageMultiplier = 100;
 
@@ -200,6 +236,19 @@ public class ConfigHolder {
 
         @Config.Comment({"Whether Wrenches should require Plates instead of Ingots to craft.", "Default: false"})
         public boolean plateWrenches = false;
+
+        @Config.Comment({"Whether to freeze the recipe lookup trees into a compiled, allocation-free form once all recipes are loaded.",
+                "Speeds up recipe searches of machines at the cost of some additional memory.", "Default: false"})
+        public boolean compiledRecipeLookup = false;
+
+        @Config.Comment({"Amount of machine inputs without a recipe remembered per Recipe Map, to skip searching them again.",
+                "Set to 0 to disable.", "Default: 256"})
+        @Config.RangeInt(min = 0)
+        public int negativeRecipeCacheSize = 256;
+
+        @Config.Comment({"Whether to collect GregTech machine recipes during loading and build the lookup trees of all Recipe Maps in parallel.",
+                "The resulting trees are identical to adding the recipes one by one.", "Default: true"})
+        public boolean parallelRecipeTreeBuild = true;
     }
 
     public static class CompatibilityOptions {
@@ -261,6 +310,25 @@ public class ConfigHolder {
         @Config.Comment({"Whether to give the terminal to new players on login", "Default: true"})
         public boolean spawnTerminal = true;
 
+        @Config.Comment({"Time in microseconds the scheduled tasks of a world, like cable updates and tree felling, may take per tick.",
+                "Tasks which did not run within it run first on the next tick. At least one task runs every tick,",
+                "and the cable amperage update always runs. Low priority tasks like tree felling may wait while the budget is used up every tick.",
+                "Set to 0 to disable.", "Default: 5000"})
+        @Config.RangeInt(min = 0)
+        public int taskTimeBudget = 5000;
+
+        @Config.Comment({"Every how many server ticks the tick time of machines, covers and pipe nets is sampled for /gregtech profiler.",
+                "1 samples every tick, higher values lower the overhead. Can be changed at runtime with /gregtech profiler start.",
+                "Set to 0 to disable.", "Default: 0"})
+        @Config.RangeInt(min = 0)
+        public int tickProfilerInterval = 0;
+
+        @Config.Comment({"Size in bytes from which the widget updates sent to an open GUI in one tick are compressed.",
+                "Connections to dedicated servers already compress packets above the network compression threshold of the server.",
+                "Set to 0 to disable.", "Default: 0"})
+        @Config.RangeInt(min = 0)
+        public int uiUpdateCompressionThreshold = 0;
+
     }
 
     public static class ClientOptions {
@@ -8,8 +8,8 @@ import gregtech.api.unification.material.Materials;
 import gregtech.api.util.CapesRegistry;
 import gregtech.api.util.GTUtility;
 import gregtech.api.util.VirtualTankRegistry;
-import gregtech.api.worldgen.bedrockFluids.BedrockFluidVeinSaveData;
-import gregtech.api.worldgen.bedrockOres.BedrockOreVeinSaveData;
+import gregtech.api.worldgen.bedrockFluids.BedrockFluidVeinHandler;
+import gregtech.api.worldgen.bedrockOres.BedrockOreVeinHandler;
 import gregtech.common.items.MetaItems;
 import gregtech.common.items.armor.IStepAssist;
 import gregtech.common.items.behaviors.ToggleEnergyConsumerBehavior;
@@ -221,14 +221,18 @@ public class EventHandlers {
 
     @SubscribeEvent
     public static void onWorldUnloadEvent(WorldEvent.Unload event) {
-        BedrockFluidVeinSaveData.setDirty();
-        BedrockOreVeinSaveData.setDirty();
+        if (!event.getWorld().isRemote) {
+            BedrockFluidVeinHandler.veinStorage.save(event.getWorld(), true);
+            BedrockOreVeinHandler.veinStorage.save(event.getWorld(), true);
+        }
     }
 
     @SubscribeEvent
     public static void onWorldSaveEvent(WorldEvent.Save event) {
-        BedrockFluidVeinSaveData.setDirty();
-        BedrockOreVeinSaveData.setDirty();
+        if (!event.getWorld().isRemote) {
+            BedrockFluidVeinHandler.veinStorage.save(event.getWorld(), false);
+            BedrockOreVeinHandler.veinStorage.save(event.getWorld(), false);
+        }
     }
 
     @SubscribeEvent
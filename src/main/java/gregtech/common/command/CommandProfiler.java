@@ -0,0 +1,123 @@
+package gregtech.common.command;
+
+import gregtech.api.util.FileUtility;
+import gregtech.api.util.profiler.ProfiledType;
+import gregtech.api.util.profiler.ProfilerEntry;
+import gregtech.api.util.profiler.TickProfiler;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.CommandException;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentTranslation;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+public class CommandProfiler extends CommandBase {
+
+    private static final int DEFAULT_TOP_COUNT = 10;
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return "profiler";
+    }
+
+    @Nonnull
+    @Override
+    public String getUsage(@Nonnull ICommandSender sender) {
+        return "gregtech.command.profiler.usage";
+    }
+
+    @Override
+    public void execute(@Nonnull MinecraftServer server, @Nonnull ICommandSender sender, @Nonnull String[] args) throws CommandException {
+        if (args.length == 0) {
+            throw new WrongUsageException(getUsage(sender));
+        }
+        switch (args[0]) {
+            case "start": {
+                int interval = args.length > 1 ? parseInt(args[1], 1) : 1;
+                TickProfiler.setInterval(interval);
+                sender.sendMessage(new TextComponentTranslation("gregtech.command.profiler.start", interval));
+                break;
+            }
+            case "stop": {
+                TickProfiler.setInterval(0);
+                sender.sendMessage(new TextComponentTranslation("gregtech.command.profiler.stop"));
+                break;
+            }
+            case "reset": {
+                TickProfiler.reset();
+                sender.sendMessage(new TextComponentTranslation("gregtech.command.profiler.reset"));
+                break;
+            }
+            case "top": {
+                ProfiledType type = args.length > 1 ? getType(args[1]) : ProfiledType.META_TILE_ENTITY;
+                int count = args.length > 2 ? parseInt(args[2], 1) : DEFAULT_TOP_COUNT;
+                sendTopEntries(sender, type, count);
+                break;
+            }
+            case "dump": {
+                String fileName = "tick_profile_" + new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss").format(new Date()) + ".json";
+                File file = server.getFile("gregtech/profiler/" + fileName);
+                if (FileUtility.saveJson(file, TickProfiler.toJson())) {
+                    sender.sendMessage(new TextComponentTranslation("gregtech.command.profiler.dump", file.getPath()));
+                } else {
+                    sender.sendMessage(new TextComponentTranslation("gregtech.command.profiler.dump_failed"));
+                }
+                break;
+            }
+            default:
+                throw new WrongUsageException(getUsage(sender));
+        }
+    }
+
+    private static void sendTopEntries(ICommandSender sender, ProfiledType type, int count) {
+        int ticks = TickProfiler.getSampledTicks();
+        if (ticks == 0) {
+            sender.sendMessage(new TextComponentTranslation("gregtech.command.profiler.no_samples"));
+            return;
+        }
+        sender.sendMessage(new TextComponentTranslation("gregtech.command.profiler.top", type.name, ticks, TickProfiler.WINDOW_SECONDS));
+        for (ProfilerEntry entry : TickProfiler.getTopEntries(type, count)) {
+            sender.sendMessage(new TextComponentTranslation("gregtech.command.profiler.entry",
+                    entry.getProfiledClass().getSimpleName(),
+                    formatMicros((double) entry.getTotalTime() / ticks),
+                    formatMicros(entry.getMaxTime()),
+                    entry.getCalls()));
+        }
+    }
+
+    private static ProfiledType getType(String name) throws CommandException {
+        for (ProfiledType type : ProfiledType.values()) {
+            if (type.name.equals(name)) {
+                return type;
+            }
+        }
+        throw new WrongUsageException("gregtech.command.profiler.usage");
+    }
+
+    private static String formatMicros(double nanos) {
+        return String.format("%.1f", nanos / 1000);
+    }
+
+    @Nonnull
+    @Override
+    public List<String> getTabCompletions(@Nonnull MinecraftServer server, @Nonnull ICommandSender sender, @Nonnull String[] args, @Nullable BlockPos targetPos) {
+        if (args.length == 1) {
+            return getListOfStringsMatchingLastWord(args, "start", "stop", "reset", "top", "dump");
+        }
+        if (args.length == 2 && args[0].equals("top")) {
+            return getListOfStringsMatchingLastWord(args, Arrays.stream(ProfiledType.values()).map(type -> type.name).toArray(String[]::new));
+        }
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,47 @@
+package gregtech.common.command;
+
+import gregtech.api.recipes.RecipeMap;
+import gregtech.api.recipes.map.NegativeRecipeCache;
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.text.TextComponentTranslation;
+
+import javax.annotation.Nonnull;
+
+public class CommandRecipeCache extends CommandBase {
+
+    @Nonnull
+    @Override
+    public String getName() {
+        return "recipecache";
+    }
+
+    @Nonnull
+    @Override
+    public String getUsage(@Nonnull ICommandSender sender) {
+        return "gregtech.command.recipecache.usage";
+    }
+
+    @Override
+    public void execute(@Nonnull MinecraftServer server, @Nonnull ICommandSender sender, @Nonnull String[] args) {
+        boolean reset = args.length > 0 && args[0].equals("reset");
+        long totalHits = 0;
+        long totalMisses = 0;
+        for (RecipeMap<?> recipeMap : RecipeMap.getRecipeMaps()) {
+            NegativeRecipeCache cache = recipeMap.getNegativeCache();
+            long hits = cache.getHits();
+            long misses = cache.getMisses();
+            if (hits + misses > 0) {
+                sender.sendMessage(new TextComponentTranslation("gregtech.command.recipecache.map",
+                        recipeMap.unlocalizedName, hits, misses, cache.size()));
+            }
+            totalHits += hits;
+            totalMisses += misses;
+            if (reset) {
+                cache.resetStatistics();
+            }
+        }
+        sender.sendMessage(new TextComponentTranslation("gregtech.command.recipecache.total", totalHits, totalMisses));
+    }
+}
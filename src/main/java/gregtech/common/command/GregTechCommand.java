@@ -22,7 +22,9 @@ public class GregTechCommand extends CommandTreeBase {
         addSubcommand(new CommandWorldgen());
         addSubcommand(new CommandHand());
         addSubcommand(new CommandRecipeCheck());
+        addSubcommand(new CommandRecipeCache());
         addSubcommand(new CommandShaders());
+        addSubcommand(new CommandProfiler());
     }
 
     @Nonnull
@@ -22,7 +22,9 @@ import gregtech.api.util.GTTransferUtils;
 import gregtech.api.util.ItemStackKey;
 import gregtech.client.renderer.texture.Textures;
 import gregtech.client.renderer.texture.cube.SimpleSidedCubeRenderer;
+import gregtech.common.ConfigHolder;
 import gregtech.common.covers.filter.ItemFilterContainer;
+import gregtech.common.pipelike.itempipe.net.ItemNetHandler;
 import gregtech.common.pipelike.itempipe.tile.TileEntityItemPipe;
 import net.minecraft.block.Block;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
@@ -45,6 +47,9 @@ import java.util.*;
 
 public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickable, IControllable {
 
+    // transfer cycles skipped in a row at most, so inventories accepting items without a visible change are retried
+    private static final int MAX_SKIPPED_TRANSFERS = 15;
+
     public final int tier;
     public final int maxItemTransferRate;
     private int transferRate;
@@ -56,6 +61,16 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
     private CoverableItemHandlerWrapper itemHandlerWrapper;
     protected boolean isWorkingAllowed = true;
 
+    // reused by every transfer cycle, entries are updated in place instead of recreated
+    private final Map<ItemStackKey, TypeItemInfo> sourceTypes = new HashMap<>();
+    private final Map<Object, GroupItemInfo> sourceGroups = new HashMap<>();
+    private final Map<Object, GroupItemInfo> destinationGroups = new HashMap<>();
+    private int countedFilterVersion = -1;
+
+    private boolean transferIdle;
+    private long idleTransferFingerprint;
+    private int skippedTransfers;
+
     public CoverConveyor(ICoverable coverable, EnumFacing attachedSide, int tier, int itemsPerSecond) {
         super(coverable, attachedSide);
         this.tier = tier;
@@ -132,9 +147,10 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
             TileEntity tileEntity = coverHolder.getWorld().getTileEntity(coverHolder.getPos().offset(attachedSide));
             IItemHandler itemHandler = tileEntity == null ? null : tileEntity.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, attachedSide.getOpposite());
             IItemHandler myItemHandler = coverHolder.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, attachedSide);
-            if (itemHandler != null && myItemHandler != null) {
+            if (itemHandler != null && myItemHandler != null && !canSkipTransfer(itemHandler, myItemHandler)) {
                 int totalTransferred = doTransferItems(itemHandler, myItemHandler, itemsLeftToTransferLastSecond);
                 this.itemsLeftToTransferLastSecond -= totalTransferred;
+                updateTransferIdle(itemHandler, myItemHandler, totalTransferred);
             }
         }
         if (timer % 20 == 0) {
@@ -142,6 +158,53 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
         }
     }
 
+    /**
+     * @return whether the last transfer moved nothing, and neither inventory nor the transfer settings changed since
+     */
+    private boolean canSkipTransfer(IItemHandler itemHandler, IItemHandler myItemHandler) {
+        if (!transferIdle || ++skippedTransfers > MAX_SKIPPED_TRANSFERS) {
+            return false;
+        }
+        return getTransferFingerprint(itemHandler, myItemHandler) == idleTransferFingerprint;
+    }
+
+    private void updateTransferIdle(IItemHandler itemHandler, IItemHandler myItemHandler, int totalTransferred) {
+        // item nets accept items depending on the inventories at their ends, which are not part of the fingerprint
+        this.transferIdle = totalTransferred == 0 && ConfigHolder.machines.skipIdleCoverTransfers &&
+                !(itemHandler instanceof ItemNetHandler) && !(myItemHandler instanceof ItemNetHandler);
+        if (transferIdle) {
+            this.idleTransferFingerprint = getTransferFingerprint(itemHandler, myItemHandler);
+            this.skippedTransfers = 0;
+        }
+    }
+
+    /**
+     * @return a hash of everything deciding which items a transfer moves
+     */
+    protected long getTransferFingerprint(IItemHandler itemHandler, IItemHandler myItemHandler) {
+        long fingerprint = getInventoryFingerprint(itemHandler);
+        fingerprint = fingerprint * 31 + getInventoryFingerprint(myItemHandler);
+        fingerprint = fingerprint * 31 + conveyorMode.ordinal();
+        fingerprint = fingerprint * 31 + transferRate;
+        return fingerprint * 31 + itemFilterContainer.getFilterVersion();
+    }
+
+    private static long getInventoryFingerprint(IItemHandler inventory) {
+        long fingerprint = inventory.getSlots();
+        for (int i = 0; i < inventory.getSlots(); i++) {
+            ItemStack itemStack = inventory.getStackInSlot(i);
+            if (itemStack.isEmpty()) {
+                fingerprint *= 31;
+                continue;
+            }
+            fingerprint = fingerprint * 31 + System.identityHashCode(itemStack.getItem());
+            fingerprint = fingerprint * 31 + itemStack.getMetadata();
+            fingerprint = fingerprint * 31 + itemStack.getCount();
+            fingerprint = fingerprint * 31 + (itemStack.getTagCompound() == null ? 0 : itemStack.getTagCompound().hashCode());
+        }
+        return fingerprint;
+    }
+
     protected int doTransferItems(IItemHandler itemHandler, IItemHandler myItemHandler, int maxTransferAmount) {
         return doTransferItemsAny(itemHandler, myItemHandler, maxTransferAmount);
     }
@@ -166,9 +229,18 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
 
     protected Map<Object, GroupItemInfo> doCountDestinationInventoryItemsByMatchIndex(IItemHandler itemHandler, IItemHandler myItemHandler) {
         if (conveyorMode == ConveyorMode.IMPORT) {
-            return countInventoryItemsByMatchSlot(myItemHandler);
+            return countInventoryItemsByMatchSlot(myItemHandler, destinationGroups);
+        } else if (conveyorMode == ConveyorMode.EXPORT) {
+            return countInventoryItemsByMatchSlot(itemHandler, destinationGroups);
+        }
+        return Collections.emptyMap();
+    }
+
+    protected Map<Object, GroupItemInfo> doCountSourceInventoryItemsByMatchIndex(IItemHandler itemHandler, IItemHandler myItemHandler) {
+        if (conveyorMode == ConveyorMode.IMPORT) {
+            return countInventoryItemsByMatchSlot(itemHandler, sourceGroups);
         } else if (conveyorMode == ConveyorMode.EXPORT) {
-            return countInventoryItemsByMatchSlot(itemHandler);
+            return countInventoryItemsByMatchSlot(myItemHandler, sourceGroups);
         }
         return Collections.emptyMap();
     }
@@ -334,9 +406,21 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
 
     protected static class GroupItemInfo {
         public final Object filterSlot;
+        /**
+         * @deprecated only filled by {@link CoverConveyor#countInventoryItemsByMatchSlot(IItemHandler)}
+         */
+        @Deprecated
         public final Set<ItemStackKey> itemStackTypes;
         public int totalCount;
 
+        public GroupItemInfo(Object filterSlot, int totalCount) {
+            this(filterSlot, new HashSet<>(), totalCount);
+        }
+
+        /**
+         * @deprecated use {@link #GroupItemInfo(Object, int)}
+         */
+        @Deprecated
         public GroupItemInfo(Object filterSlot, Set<ItemStackKey> itemStackTypes, int totalCount) {
             this.filterSlot = filterSlot;
             this.itemStackTypes = itemStackTypes;
@@ -344,8 +428,29 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
         }
     }
 
+    /**
+     * Entries of the counting maps keep the filter slot they were matched with,
+     * so they are dropped when the filter changes
+     */
+    private void clearCountsOnFilterChange() {
+        int filterVersion = itemFilterContainer.getFilterVersion();
+        if (filterVersion != countedFilterVersion) {
+            this.countedFilterVersion = filterVersion;
+            sourceTypes.clear();
+            sourceGroups.clear();
+            destinationGroups.clear();
+        }
+    }
+
+    /**
+     * @return the matching items of the inventory by type. The map is reused by the next call.
+     */
     protected Map<ItemStackKey, TypeItemInfo> countInventoryItemsByType(IItemHandler inventory) {
-        Map<ItemStackKey, TypeItemInfo> result = new HashMap<>();
+        clearCountsOnFilterChange();
+        for (TypeItemInfo itemInfo : sourceTypes.values()) {
+            itemInfo.totalCount = 0;
+            itemInfo.slots.resetQuick();
+        }
         for (int srcIndex = 0; srcIndex < inventory.getSlots(); srcIndex++) {
             ItemStack itemStack = inventory.getStackInSlot(srcIndex);
             if (itemStack.isEmpty()) {
@@ -355,23 +460,48 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
             if (transferSlotIndex == null) {
                 continue;
             }
-            ItemStackKey itemStackKey = new ItemStackKey(itemStack);
-            if (!result.containsKey(itemStackKey)) {
-                TypeItemInfo itemInfo = new TypeItemInfo(itemStack.copy(), transferSlotIndex, new TIntArrayList(), 0);
-                itemInfo.totalCount += itemStack.getCount();
-                itemInfo.slots.add(srcIndex);
-                result.put(itemStackKey, itemInfo);
-            } else {
-                TypeItemInfo itemInfo = result.get(itemStackKey);
-                itemInfo.totalCount += itemStack.getCount();
-                itemInfo.slots.add(srcIndex);
+            // the key only copies the stack when a new type is added
+            TypeItemInfo itemInfo = sourceTypes.get(new ItemStackKey(itemStack, false));
+            if (itemInfo == null) {
+                itemInfo = new TypeItemInfo(itemStack.copy(), transferSlotIndex, new TIntArrayList(), 0);
+                sourceTypes.put(new ItemStackKey(itemStack), itemInfo);
             }
+            itemInfo.totalCount += itemStack.getCount();
+            itemInfo.slots.add(srcIndex);
         }
-        return result;
+        sourceTypes.values().removeIf(itemInfo -> itemInfo.totalCount == 0);
+        return sourceTypes;
     }
 
+    /**
+     * @return the matching items of the inventory by filter slot in a new map, with their item types
+     * @deprecated use {@link #countInventoryItemsByMatchSlot(IItemHandler, Map)}, which reuses the map and does not
+     * collect the item types
+     */
+    @Deprecated
     protected Map<Object, GroupItemInfo> countInventoryItemsByMatchSlot(IItemHandler inventory) {
-        HashMap<Object, GroupItemInfo> result = new HashMap<>();
+        Map<Object, GroupItemInfo> result = countInventoryItemsByMatchSlot(inventory, new HashMap<>());
+        for (int srcIndex = 0; srcIndex < inventory.getSlots(); srcIndex++) {
+            ItemStack itemStack = inventory.getStackInSlot(srcIndex);
+            if (itemStack.isEmpty()) {
+                continue;
+            }
+            GroupItemInfo itemInfo = result.get(itemFilterContainer.matchItemStack(itemStack));
+            if (itemInfo != null) {
+                itemInfo.itemStackTypes.add(new ItemStackKey(itemStack));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the matching items of the inventory by filter slot, counted into the given map
+     */
+    protected Map<Object, GroupItemInfo> countInventoryItemsByMatchSlot(IItemHandler inventory, Map<Object, GroupItemInfo> result) {
+        clearCountsOnFilterChange();
+        for (GroupItemInfo itemInfo : result.values()) {
+            itemInfo.totalCount = 0;
+        }
         for (int srcIndex = 0; srcIndex < inventory.getSlots(); srcIndex++) {
             ItemStack itemStack = inventory.getStackInSlot(srcIndex);
             if (itemStack.isEmpty()) {
@@ -381,18 +511,14 @@ public class CoverConveyor extends CoverBehavior implements CoverWithUI, ITickab
             if (transferSlotIndex == null) {
                 continue;
             }
-            ItemStackKey itemStackKey = new ItemStackKey(itemStack);
-            if (!result.containsKey(transferSlotIndex)) {
-                GroupItemInfo itemInfo = new GroupItemInfo(transferSlotIndex, new HashSet<>(), 0);
-                itemInfo.itemStackTypes.add(itemStackKey);
-                itemInfo.totalCount += itemStack.getCount();
+            GroupItemInfo itemInfo = result.get(transferSlotIndex);
+            if (itemInfo == null) {
+                itemInfo = new GroupItemInfo(transferSlotIndex, 0);
                 result.put(transferSlotIndex, itemInfo);
-            } else {
-                GroupItemInfo itemInfo = result.get(transferSlotIndex);
-                itemInfo.itemStackTypes.add(itemStackKey);
-                itemInfo.totalCount += itemStack.getCount();
             }
+            itemInfo.totalCount += itemStack.getCount();
         }
+        result.values().removeIf(itemInfo -> itemInfo.totalCount == 0);
         return result;
     }
 
@@ -62,6 +62,13 @@ public class CoverRoboticArm extends CoverConveyor {
         }
     }
 
+    @Override
+    protected long getTransferFingerprint(IItemHandler itemHandler, IItemHandler myItemHandler) {
+        long fingerprint = super.getTransferFingerprint(itemHandler, myItemHandler);
+        fingerprint = fingerprint * 31 + transferMode.ordinal();
+        return fingerprint * 31 + itemsTransferBuffered;
+    }
+
     protected int doTransferExact(IItemHandler itemHandler, IItemHandler myItemHandler, int maxTransferAmount) {
         Map<ItemStackKey, TypeItemInfo> sourceItemAmount = doCountSourceInventoryItemsByType(itemHandler, myItemHandler);
         Iterator<ItemStackKey> iterator = sourceItemAmount.keySet().iterator();
@@ -101,7 +108,7 @@ public class CoverRoboticArm extends CoverConveyor {
 
     protected int doKeepExact(IItemHandler itemHandler, IItemHandler myItemHandler, int maxTransferAmount) {
         Map<Object, GroupItemInfo> currentItemAmount = doCountDestinationInventoryItemsByMatchIndex(itemHandler, myItemHandler);
-        Map<Object, GroupItemInfo> sourceItemAmounts = doCountDestinationInventoryItemsByMatchIndex(myItemHandler, itemHandler);
+        Map<Object, GroupItemInfo> sourceItemAmounts = doCountSourceInventoryItemsByMatchIndex(itemHandler, myItemHandler);
         Iterator<Object> iterator = sourceItemAmounts.keySet().iterator();
         while (iterator.hasNext()) {
             Object filterSlotIndex = iterator.next();
@@ -20,9 +20,14 @@ public class ItemFilterContainer implements INBTSerializable<NBTTagCompound> {
     private final ItemFilterWrapper filterWrapper;
     private int maxStackSizeLimit = 1;
     private int transferStackSize;
+    private int filterVersion;
 
     public ItemFilterContainer(IDirtyNotifiable dirtyNotifiable) {
-        this.filterWrapper = new ItemFilterWrapper(dirtyNotifiable);
+        // every change of the filter settings marks the holder dirty
+        this.filterWrapper = new ItemFilterWrapper(() -> {
+            this.filterVersion++;
+            dirtyNotifiable.markAsDirty();
+        });
         this.filterWrapper.setOnFilterInstanceChange(this::onFilterInstanceChange);
         this.filterInventory = new ItemStackHandler(1) {
             @Override
@@ -89,6 +94,7 @@ public class ItemFilterContainer implements INBTSerializable<NBTTagCompound> {
     }
 
     protected void onFilterSlotChange(boolean notify) {
+        this.filterVersion++;
         ItemStack filterStack = filterInventory.getStackInSlot(0);
         ItemFilter newItemFilter = FilterTypeRegistry.getItemFilterForStack(filterStack);
         ItemFilter currentItemFilter = filterWrapper.getItemFilter();
@@ -110,6 +116,13 @@ public class ItemFilterContainer implements INBTSerializable<NBTTagCompound> {
         setTransferStackSize(transferStackSize);
     }
 
+    /**
+     * @return a number which changes whenever the filter or its settings change
+     */
+    public int getFilterVersion() {
+        return filterVersion;
+    }
+
     public boolean showGlobalTransferLimitSlider() {
         return getMaxStackSize() > 1 && filterWrapper.showGlobalTransferLimitSlider();
     }
@@ -158,6 +171,7 @@ public class ItemFilterContainer implements INBTSerializable<NBTTagCompound> {
         if (filterWrapper.getItemFilter() != null) {
             this.filterWrapper.getItemFilter().readFromNBT(tagCompound.getCompoundTag("Filter"));
         }
+        this.filterVersion++;
     }
 
 }
@@ -118,7 +118,7 @@ public class ProspectorScannerBehavior implements IItemBehaviour, ItemUIFactory,
         ModularUI.Builder builder = ModularUI.builder(GuiTextures.BACKGROUND, 332, 200);
         this.widgetOreList = new WidgetOreList(32 * radius - 6, 18, 332 - 32 * radius, 176);
         builder.widget(this.widgetOreList);
-        builder.widget(new WidgetProspectingMap(6, 18, radius, this.widgetOreList, mode, 1));
+        builder.widget(new WidgetProspectingMap(6, 18, radius, this.widgetOreList, mode));
         return builder.label(6, 6, getTranslationKey()).build(holder, entityPlayer);
     }
 
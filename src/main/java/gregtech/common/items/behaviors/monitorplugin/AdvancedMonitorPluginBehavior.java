@@ -240,7 +240,7 @@ public class AdvancedMonitorPluginBehavior extends ProxyHolderPluginBehavior {
                         if (!isValid) {
                             PatternMatchContext result = entity.structurePattern.checkPatternFastAt(entity.getWorld(), entity.getPos(), entity.getFrontFacing().getOpposite());
                             if (result != null) {
-                                validPos = entity.structurePattern.cache.keySet().stream().map(BlockPos::fromLong).collect(Collectors.toSet());
+                                validPos = entity.structurePattern.getCachedPositions().stream().map(BlockPos::fromLong).collect(Collectors.toSet());
                                 writePluginData(GregtechDataCodes.UPDATE_ADVANCED_VALID_POS, buf -> {
                                     buf.writeVarInt(validPos.size());
                                     for (BlockPos pos : validPos) {
@@ -58,6 +58,7 @@ public class ConverterTrait extends MTETrait {
 
     protected void setFeToEu(boolean feToEu) {
         this.feToEu = feToEu;
+        metaTileEntity.invalidateCapabilityCache();
     }
 
     public int getBaseAmps() {
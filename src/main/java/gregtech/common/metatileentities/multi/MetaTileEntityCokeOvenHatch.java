@@ -97,6 +97,12 @@ public class MetaTileEntityCokeOvenHatch extends MetaTileEntityMultiblockPart {
         return 0xFFFFFF;
     }
 
+    @Override
+    protected boolean canCacheCapabilities() {
+        // the inventories are replaced after joining or leaving a coke oven
+        return false;
+    }
+
     @Override
     public boolean canPartShare() {
         return false;
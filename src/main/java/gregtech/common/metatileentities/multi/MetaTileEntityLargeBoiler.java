@@ -123,6 +123,12 @@ public class MetaTileEntityLargeBoiler extends MultiblockWithDisplayBase {
         }
     }
 
+    @Override
+    protected int getDisplayRefreshInterval() {
+        // the steam output change without notifying the display
+        return CONTINUOUS_DISPLAY_REFRESH_INTERVAL;
+    }
+
     @Override
     protected void handleDisplayClick(String componentData, ClickData clickData) {
         super.handleDisplayClick(componentData, clickData);
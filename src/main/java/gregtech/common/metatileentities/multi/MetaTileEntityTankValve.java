@@ -128,6 +128,12 @@ public class MetaTileEntityTankValve extends MetaTileEntityMultiblockPart implem
         return false;
     }
 
+    @Override
+    protected boolean canCacheCapabilities() {
+        // the fluid inventory is replaced after joining or leaving a tank, and its tanks are the ones of the controller
+        return false;
+    }
+
     @Override
     public boolean canPartShare() {
         return false;
@@ -158,6 +158,12 @@ public class MetaTileEntityBasicMiner extends MetaTileEntityMiner {
         textList.add(new TextComponentString("Current Layer: "+layer));
     }
 
+    @Override
+    protected int getDisplayRefreshInterval() {
+        // the progress of its own logic changes without notifying the display
+        return CONTINUOUS_DISPLAY_REFRESH_INTERVAL;
+    }
+
     @Override
     public void addInformation(ItemStack stack, @Nullable World player, List<String> tooltip, boolean advanced) {
         super.addInformation(stack, player, tooltip, advanced);
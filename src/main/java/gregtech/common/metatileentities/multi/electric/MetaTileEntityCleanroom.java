@@ -441,6 +441,12 @@ public class MetaTileEntityCleanroom extends MultiblockWithDisplayBase implement
         }
     }
 
+    @Override
+    protected int getDisplayRefreshInterval() {
+        // the cleanliness and the progress of its own logic change without notifying the display
+        return CONTINUOUS_DISPLAY_REFRESH_INTERVAL;
+    }
+
     @Override
     public void addInformation(ItemStack stack, @Nullable World player, List<String> tooltip, boolean advanced) {
         super.addInformation(stack, player, tooltip, advanced);
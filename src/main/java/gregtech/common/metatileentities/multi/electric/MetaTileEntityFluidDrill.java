@@ -177,6 +177,12 @@ public class MetaTileEntityFluidDrill extends MultiblockWithDisplayBase implemen
             textList.add(new TextComponentTranslation("gregtech.multiblock.large_miner.invfull").setStyle(new Style().setColor(TextFormatting.RED)));
     }
 
+    @Override
+    protected int getDisplayRefreshInterval() {
+        // the progress of its own logic changes without notifying the display
+        return CONTINUOUS_DISPLAY_REFRESH_INTERVAL;
+    }
+
     @Override
     public void addInformation(ItemStack stack, @Nullable World player, List<String> tooltip, boolean advanced) {
         super.addInformation(stack, player, tooltip, advanced);
@@ -275,6 +275,12 @@ public class MetaTileEntityFusionReactor extends RecipeMapMultiblockController i
         textList.add(new TextComponentTranslation("gregtech.multiblock.fusion_reactor.heat", heat));
     }
 
+    @Override
+    protected int getDisplayRefreshInterval() {
+        // the stored energy and heat change without notifying the display
+        return CONTINUOUS_DISPLAY_REFRESH_INTERVAL;
+    }
+
     @Override
     public void addInformation(ItemStack stack, @Nullable World player, List<String> tooltip, boolean advanced) {
         super.addInformation(stack, player, tooltip, advanced);
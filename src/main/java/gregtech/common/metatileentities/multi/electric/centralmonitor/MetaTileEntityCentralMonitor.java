@@ -22,7 +22,9 @@ import gregtech.api.metatileentity.multiblock.MultiblockWithDisplayBase;
 import gregtech.api.pattern.BlockPattern;
 import gregtech.api.pattern.FactoryBlockPattern;
 import gregtech.api.pattern.PatternMatchContext;
+import gregtech.api.pipenet.Node;
 import gregtech.api.pipenet.tile.TileEntityPipeBase;
+import gregtech.api.unification.material.properties.WireProperties;
 import gregtech.api.util.BlockPosFace;
 import gregtech.client.renderer.ICubeRenderer;
 import gregtech.client.renderer.texture.Textures;
@@ -36,6 +38,7 @@ import gregtech.common.metatileentities.MetaTileEntities;
 import gregtech.common.pipelike.cable.net.EnergyNet;
 import gregtech.common.pipelike.cable.net.WorldENet;
 import gregtech.common.pipelike.cable.tile.TileEntityCable;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.client.renderer.OpenGlHelper;
@@ -119,11 +122,11 @@ public class MetaTileEntityCentralMonitor extends MultiblockWithDisplayBase impl
         }
         lastUpdate = energyNet.getLastUpdate();
         activeNodes.clear();
-        energyNet.getAllNodes().forEach((pos, node) -> {
-            if (node.isActive) {
-                activeNodes.add(pos);
+        for (Long2ObjectMap.Entry<Node<WireProperties>> entry : energyNet.getAllNodes().long2ObjectEntrySet()) {
+            if (entry.getValue().isActive) {
+                activeNodes.add(BlockPos.fromLong(entry.getLongKey()));
             }
-        });
+        }
     }
 
     public void addRemoteCover(BlockPosFace cover) {
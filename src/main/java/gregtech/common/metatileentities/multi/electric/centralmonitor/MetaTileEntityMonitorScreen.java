@@ -446,6 +446,12 @@ public class MetaTileEntityMonitorScreen extends MetaTileEntityMultiblockPart {
         }
     }
 
+    @Override
+    protected boolean canCacheCapabilities() {
+        // the capabilities are the ones of the displayed cover's holder
+        return false;
+    }
+
     @Override
     public <T> T getCapability(Capability<T> capability, EnumFacing side) {
         if (capability == CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY || capability == CapabilityItemHandler.ITEM_HANDLER_CAPABILITY) {
@@ -98,6 +98,12 @@ public class MetaTileEntityLargeCombustionEngine extends FuelMultiblockControlle
         }
     }
 
+    @Override
+    protected int getDisplayRefreshInterval() {
+        // the lubricant and oxygen amounts change without notifying the display
+        return CONTINUOUS_DISPLAY_REFRESH_INTERVAL;
+    }
+
     @Override
     public void addInformation(ItemStack stack, @Nullable World player, List<String> tooltip, boolean advanced) {
         super.addInformation(stack, player, tooltip, advanced);
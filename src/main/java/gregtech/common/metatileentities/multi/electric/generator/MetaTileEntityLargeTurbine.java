@@ -130,6 +130,12 @@ public class MetaTileEntityLargeTurbine extends FuelMultiblockController impleme
         super.addDisplayText(textList);
     }
 
+    @Override
+    protected int getDisplayRefreshInterval() {
+        // the rotor speed and fuel amount change without notifying the display
+        return CONTINUOUS_DISPLAY_REFRESH_INTERVAL;
+    }
+
     @Override
     public void addInformation(ItemStack stack, @Nullable World player, List<String> tooltip, boolean advanced) {
         super.addInformation(stack, player, tooltip, advanced);
@@ -137,6 +137,7 @@ public abstract class MetaTileEntityMultiblockPart extends MetaTileEntity implem
 
     private void setController(MultiblockControllerBase controller1) {
         this.controllerTile = controller1;
+        invalidateCapabilityCache();
         if (!getWorld().isRemote) {
             writeCustomData(SYNC_CONTROLLER, writer -> {
                 writer.writeBoolean(controllerTile != null);
@@ -362,6 +362,12 @@ public class MetaTileEntityQuantumChest extends MetaTileEntity implements ITiere
         }
     }
 
+    @Override
+    protected boolean canCacheCapabilities() {
+        // the active output side follows the output facing
+        return false;
+    }
+
     @Override
     public <T> T getCapability(Capability<T> capability, EnumFacing side) {
         if (capability == GregtechTileCapabilities.CAPABILITY_ACTIVE_OUTPUT_SIDE) {
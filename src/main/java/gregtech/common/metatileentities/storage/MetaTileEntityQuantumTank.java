@@ -362,6 +362,12 @@ public class MetaTileEntityQuantumTank extends MetaTileEntity implements ITiered
         }
     }
 
+    @Override
+    protected boolean canCacheCapabilities() {
+        // the handler of the output side depends on the output facing and on allowing input from it
+        return false;
+    }
+
     @Override
     public <T> T getCapability(Capability<T> capability, EnumFacing side) {
         if (capability == GregtechTileCapabilities.CAPABILITY_ACTIVE_OUTPUT_SIDE) {
@@ -0,0 +1,240 @@
+package gregtech.common.pipelike.cable.net;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+
+import java.util.function.ObjLongConsumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Collects the energy sent over the routes of a net during a tick, and solves the resulting flow through every cable
+ * once, instead of walking the cables of every path on every insertion.
+ * <p>
+ * Paths of the same source are taken from one shortest path tree, so they share their beginning. Each path is only
+ * walked back until it joins a path of the same source which was already walked, then the flows are summed from the
+ * deepest cables up to the source. The result for every cable is the same as adding up each path separately:
+ * the total amperage, the highest voltage and the sum of the voltages of all paths through it, each voltage reduced
+ * by the loss from the source up to and including the cable.
+ *
+ * @param <C> the cable type
+ */
+public class EnergyFlowSolver<C> {
+
+    private final ToLongFunction<C> lossPerBlock;
+
+    // the recorded flows, grouped by the route tree they were taken from
+    private final Reference2ObjectLinkedOpenHashMap<Object, IntArrayList> flowsByTree = new Reference2ObjectLinkedOpenHashMap<>();
+    private final ObjectArrayList<C[]> flowPaths = new ObjectArrayList<>();
+    private final LongArrayList flowLosses = new LongArrayList();
+    private final LongArrayList flowAmperages = new LongArrayList();
+    private final LongArrayList flowVoltages = new LongArrayList();
+
+    // the tree of the group being solved
+    private final Reference2IntOpenHashMap<C> nodeIndex = new Reference2IntOpenHashMap<>();
+    private final ObjectArrayList<C> nodeCables = new ObjectArrayList<>();
+    private final IntArrayList nodeParents = new IntArrayList();
+    private final IntArrayList nodeDepths = new IntArrayList();
+    private final LongArrayList nodeLosses = new LongArrayList();
+    private final LongArrayList nodeAmperages = new LongArrayList();
+    private final LongArrayList nodeFlows = new LongArrayList();
+    private final LongArrayList nodeVoltageSums = new LongArrayList();
+    private final LongArrayList nodeMaxVoltages = new LongArrayList();
+
+    // the result of all groups
+    private final Reference2IntOpenHashMap<C> cableIndex = new Reference2IntOpenHashMap<>();
+    private final ObjectArrayList<C> cables = new ObjectArrayList<>();
+    private final LongArrayList cableAmperages = new LongArrayList();
+    private final LongArrayList cableVoltageSums = new LongArrayList();
+    private final LongArrayList cableMaxVoltages = new LongArrayList();
+    private final ReferenceOpenHashSet<C> replayedCables = new ReferenceOpenHashSet<>();
+
+    public EnergyFlowSolver(ToLongFunction<C> lossPerBlock) {
+        this.lossPerBlock = lossPerBlock;
+        this.nodeIndex.defaultReturnValue(-1);
+        this.cableIndex.defaultReturnValue(-1);
+    }
+
+    public boolean isEmpty() {
+        return flowPaths.isEmpty();
+    }
+
+    /**
+     * Records energy sent over a path
+     *
+     * @param tree     the route tree the path was taken from, paths of the same tree must not contradict each other
+     * @param path     the cables from the source to the destination
+     * @param pathLoss the loss of all cables of the path
+     * @param amperage the amperage sent
+     * @param voltage  the voltage at the source
+     */
+    public void addFlow(Object tree, C[] path, long pathLoss, long amperage, long voltage) {
+        flowsByTree.computeIfAbsent(tree, k -> new IntArrayList()).add(flowPaths.size());
+        flowPaths.add(path);
+        flowLosses.add(pathLoss);
+        flowAmperages.add(amperage);
+        flowVoltages.add(voltage);
+    }
+
+    /**
+     * Solves all recorded flows and passes the result of every cable to the consumer, then forgets the flows.
+     * <p>
+     * Cables the consumer asks for are then passed to the path consumer once for every flow through them, with the
+     * amperage of that flow, in the order the flows were recorded.
+     *
+     * @param consumer     receives the result of every cable, returns true to receive the flows through the cable
+     * @param pathConsumer receives the amperage of every flow through the cables asked for
+     */
+    public void solve(FlowConsumer<C> consumer, ObjLongConsumer<C> pathConsumer) {
+        for (IntArrayList flows : flowsByTree.values()) {
+            solveTree(flows);
+        }
+        for (int i = 0; i < cables.size(); i++) {
+            C cable = cables.get(i);
+            if (consumer.accept(cable, cableAmperages.getLong(i), cableMaxVoltages.getLong(i), cableVoltageSums.getLong(i))) {
+                replayedCables.add(cable);
+            }
+        }
+        if (!replayedCables.isEmpty()) {
+            // the flows are only walked again for these cables
+            for (int flow = 0; flow < flowPaths.size(); flow++) {
+                for (C cable : flowPaths.get(flow)) {
+                    if (replayedCables.contains(cable)) {
+                        pathConsumer.accept(cable, flowAmperages.getLong(flow));
+                    }
+                }
+            }
+            replayedCables.clear();
+        }
+        flowsByTree.clear();
+        flowPaths.clear();
+        flowLosses.clear();
+        flowAmperages.clear();
+        flowVoltages.clear();
+        cableIndex.clear();
+        cables.clear();
+        cableAmperages.clear();
+        cableVoltageSums.clear();
+        cableMaxVoltages.clear();
+    }
+
+    private void solveTree(IntArrayList flows) {
+        int maxDepth = 0;
+        for (int f = 0; f < flows.size(); f++) {
+            int flow = flows.getInt(f);
+            C[] path = flowPaths.get(flow);
+            int child = -1;
+            int endpoint = -1;
+            long lossAfter = 0;
+            for (int depth = path.length - 1; depth >= 0; depth--) {
+                C cable = path[depth];
+                int node = nodeIndex.getInt(cable);
+                boolean joined = node >= 0;
+                if (!joined) {
+                    node = addNode(cable, depth, flowLosses.getLong(flow) - lossAfter);
+                    maxDepth = Math.max(maxDepth, depth);
+                }
+                if (child >= 0) {
+                    nodeParents.set(child, node);
+                }
+                if (endpoint < 0) {
+                    endpoint = node;
+                }
+                if (joined) {
+                    // the rest of the path was already walked by another flow
+                    break;
+                }
+                child = node;
+                lossAfter += lossPerBlock.applyAsLong(cable);
+            }
+            long voltage = flowVoltages.getLong(flow);
+            nodeAmperages.set(endpoint, nodeAmperages.getLong(endpoint) + flowAmperages.getLong(flow));
+            nodeFlows.set(endpoint, nodeFlows.getLong(endpoint) + 1);
+            nodeVoltageSums.set(endpoint, nodeVoltageSums.getLong(endpoint) + voltage);
+            nodeMaxVoltages.set(endpoint, Math.max(nodeMaxVoltages.getLong(endpoint), voltage));
+        }
+
+        // push the flows from the deepest cables towards the source, sorting the nodes by depth first
+        int nodeCount = nodeCables.size();
+        int[] depthStarts = new int[maxDepth + 2];
+        for (int node = 0; node < nodeCount; node++) {
+            depthStarts[nodeDepths.getInt(node) + 1]++;
+        }
+        for (int depth = 0; depth <= maxDepth; depth++) {
+            depthStarts[depth + 1] += depthStarts[depth];
+        }
+        int[] nodesByDepth = new int[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            nodesByDepth[depthStarts[nodeDepths.getInt(node)]++] = node;
+        }
+        for (int i = nodeCount - 1; i >= 0; i--) {
+            int node = nodesByDepth[i];
+            long flowCount = nodeFlows.getLong(node);
+            long loss = nodeLosses.getLong(node);
+            addCableResult(nodeCables.get(node), nodeAmperages.getLong(node),
+                    nodeMaxVoltages.getLong(node) - loss, nodeVoltageSums.getLong(node) - flowCount * loss);
+            int parent = nodeParents.getInt(node);
+            if (parent >= 0) {
+                nodeAmperages.set(parent, nodeAmperages.getLong(parent) + nodeAmperages.getLong(node));
+                nodeFlows.set(parent, nodeFlows.getLong(parent) + flowCount);
+                nodeVoltageSums.set(parent, nodeVoltageSums.getLong(parent) + nodeVoltageSums.getLong(node));
+                nodeMaxVoltages.set(parent, Math.max(nodeMaxVoltages.getLong(parent), nodeMaxVoltages.getLong(node)));
+            }
+        }
+
+        nodeIndex.clear();
+        nodeCables.clear();
+        nodeParents.clear();
+        nodeDepths.clear();
+        nodeLosses.clear();
+        nodeAmperages.clear();
+        nodeFlows.clear();
+        nodeVoltageSums.clear();
+        nodeMaxVoltages.clear();
+    }
+
+    private int addNode(C cable, int depth, long lossUpToCable) {
+        int node = nodeCables.size();
+        nodeIndex.put(cable, node);
+        nodeCables.add(cable);
+        nodeParents.add(-1);
+        nodeDepths.add(depth);
+        nodeLosses.add(lossUpToCable);
+        nodeAmperages.add(0);
+        nodeFlows.add(0);
+        nodeVoltageSums.add(0);
+        nodeMaxVoltages.add(0);
+        return node;
+    }
+
+    private void addCableResult(C cable, long amperage, long maxVoltage, long voltageSum) {
+        int index = cableIndex.getInt(cable);
+        if (index < 0) {
+            cableIndex.put(cable, cables.size());
+            cables.add(cable);
+            cableAmperages.add(amperage);
+            cableMaxVoltages.add(maxVoltage);
+            cableVoltageSums.add(voltageSum);
+        } else {
+            cableAmperages.set(index, cableAmperages.getLong(index) + amperage);
+            cableMaxVoltages.set(index, Math.max(cableMaxVoltages.getLong(index), maxVoltage));
+            cableVoltageSums.set(index, cableVoltageSums.getLong(index) + voltageSum);
+        }
+    }
+
+    @FunctionalInterface
+    public interface FlowConsumer<C> {
+
+        /**
+         * @param cable      the cable
+         * @param amperage   the total amperage through the cable
+         * @param maxVoltage the highest voltage through the cable
+         * @param voltageSum the sum of the voltages of all paths through the cable
+         * @return true to receive the amperage of every path through the cable
+         */
+        boolean accept(C cable, long amperage, long maxVoltage, long voltageSum);
+    }
+}
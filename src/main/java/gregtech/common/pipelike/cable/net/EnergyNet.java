@@ -4,10 +4,19 @@ import gregtech.api.pipenet.Node;
 import gregtech.api.pipenet.PipeNet;
 import gregtech.api.pipenet.WorldPipeNet;
 import gregtech.api.unification.material.properties.WireProperties;
+import gregtech.api.util.TaskPriority;
+import gregtech.api.util.TaskScheduler;
+import gregtech.api.util.profiler.ProfiledType;
+import gregtech.api.util.profiler.TickProfiler;
+import gregtech.common.pipelike.cable.tile.TileEntityCable;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
+import javax.annotation.Nullable;
 import java.util.*;
 
 public class EnergyNet extends PipeNet<WireProperties> {
@@ -16,24 +25,87 @@ public class EnergyNet extends PipeNet<WireProperties> {
     private long energyFluxPerSec;
     private long lastTime;
 
-    private final Map<BlockPos, List<RoutePath>> NET_DATA = new HashMap<>();
+    private final Map<BlockPos, EnergyRoutes> NET_DATA = new HashMap<>();
+    private EnergyNetGraph graph;
+    private final EnergyFlowSolver<TileEntityCable> flowSolver = new EnergyFlowSolver<>(cable -> cable.getNodeData().getLossPerBlock());
 
     protected EnergyNet(WorldPipeNet<WireProperties, EnergyNet> world) {
         super(world);
     }
 
     public List<RoutePath> getNetData(BlockPos pipePos) {
-        List<RoutePath> data = NET_DATA.get(pipePos);
-        if (data == null) {
-            data = EnergyNetWalker.createNetData(getWorldData(), pipePos);
-            if (data == null) {
-                // walker failed, don't cache so it tries again on next insertion
-                return Collections.emptyList();
+        EnergyRoutes routes = getRoutes(pipePos);
+        return routes == null ? Collections.emptyList() : routes.getRoutes();
+    }
+
+    /**
+     * @return the routes of the source cable, or null if the net could not be walked
+     */
+    @Nullable
+    public EnergyRoutes getRoutes(BlockPos pipePos) {
+        EnergyRoutes routes = NET_DATA.get(pipePos);
+        if (routes == null || routes.isStale()) {
+            if (graph == null) {
+                EnergyNetGraph walkedGraph = EnergyNetWalker.createNetGraph(getWorldData(), pipePos);
+                if (walkedGraph == null) {
+                    // walker failed, don't cache so it tries again on next insertion
+                    return null;
+                }
+                // one walk for all sources which had routes before
+                this.graph = walkedGraph;
+                Set<BlockPos> sources = new HashSet<>(NET_DATA.keySet());
+                sources.add(pipePos);
+                NET_DATA.clear();
+                NET_DATA.putAll(graph.createRoutes(sources));
+                routes = NET_DATA.get(pipePos);
+            }
+            if (routes == null || routes.isStale()) {
+                routes = graph.createRoutes(pipePos);
+                NET_DATA.put(pipePos, routes);
+            }
+        }
+        return routes;
+    }
+
+    /**
+     * Records energy sent over a route, the cables of all routes are updated once at the end of the tick
+     *
+     * @param routes   the routes the path was taken from
+     * @param path     the path the energy was sent over
+     * @param amperage the amperage accepted by the handler
+     * @param voltage  the voltage at the source
+     */
+    public void addFlow(EnergyRoutes routes, RoutePath path, long amperage, long voltage) {
+        if (flowSolver.isEmpty()) {
+            // solved every tick, as amperage of later ticks added up at once would burn the cables
+            TaskScheduler.scheduleTask(getWorldData(), this::solveFlows, TaskPriority.HIGH);
+        }
+        flowSolver.addFlow(routes, path.getPath(), path.getMaxLoss(), amperage, voltage);
+    }
+
+    boolean solveFlows() {
+        long startTime = TickProfiler.isSampling() ? System.nanoTime() : 0;
+        // overamped cables are heated path by path, like the energy net handler does without the solver
+        flowSolver.solve((cable, amperage, maxVoltage, voltageSum) -> {
+            if (cable.isInvalid() || maxVoltage <= 0) {
+                return false;
             }
-            data.sort(Comparator.comparingInt(RoutePath::getDistance));
-            NET_DATA.put(pipePos, data);
+            return cable.incrementAmperage(amperage, maxVoltage, voltageSum);
+        }, TileEntityCable::incrementPathAmperage);
+        if (TickProfiler.isSampling()) {
+            TickProfiler.record(ProfiledType.PIPE_NET, EnergyNet.class, System.nanoTime() - startTime);
+        }
+        return false;
+    }
+
+    /**
+     * Drops the walked graph, the next request walks the net again and recomputes the routes of all known sources
+     */
+    private void invalidateGraph() {
+        this.graph = null;
+        for (EnergyRoutes routes : NET_DATA.values()) {
+            routes.markStale();
         }
-        return data;
     }
 
     public long getEnergyFluxPerSec() {
@@ -56,19 +128,198 @@ public class EnergyNet extends PipeNet<WireProperties> {
 
     @Override
     public void onNeighbourUpdate(BlockPos fromPos) {
-        NET_DATA.clear();
+        // cables themselves are handled by node and connection updates
+        if (graph == null || graph.containsCable(fromPos)) {
+            return;
+        }
+        for (EnumFacing facing : EnumFacing.VALUES) {
+            TileEntityCable cable = graph.getCable(fromPos.offset(facing).toLong());
+            if (cable != null) {
+                updateHandler(cable, facing.getOpposite());
+            }
+        }
     }
 
     @Override
     public void onPipeConnectionsUpdate() {
-        NET_DATA.clear();
+        invalidateGraph();
+    }
+
+    @Override
+    public void onPipeConnectionsUpdate(BlockPos pipePos, EnumFacing side) {
+        if (graph == null) {
+            return;
+        }
+        TileEntityCable cable = graph.getCable(pipePos.toLong());
+        if (cable == null) {
+            invalidateGraph();
+        } else if (graph.getCable(pipePos.offset(side).toLong()) != null) {
+            updateLink(cable, side);
+        } else {
+            updateHandler(cable, side);
+        }
+    }
+
+    /**
+     * Called when a cable of this net is loaded again, as routes keep the cable tile entities
+     */
+    public void onCableLoaded(TileEntityCable cable) {
+        long pipePos = cable.getPipePos().toLong();
+        if (graph != null && graph.getCable(pipePos) != null && graph.getCable(pipePos) != cable) {
+            graph.addCable(cable);
+            for (EnergyRoutes routes : NET_DATA.values()) {
+                if (routes.contains(pipePos)) {
+                    routes.markStale();
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void addNode(BlockPos nodePos, Node<WireProperties> node) {
+        super.addNode(nodePos, node);
+        if (graph == null) {
+            return;
+        }
+        TileEntity tile = getWorldData().getTileEntity(nodePos);
+        if (!(tile instanceof TileEntityCable)) {
+            invalidateGraph();
+            return;
+        }
+        TileEntityCable cable = (TileEntityCable) tile;
+        graph.addCable(cable);
+        for (EnumFacing facing : EnumFacing.VALUES) {
+            graph.updateHandlerFace(getWorldData(), cable, facing);
+        }
+        for (EnergyRoutes routes : NET_DATA.values()) {
+            addLeafCable(routes, cable);
+        }
+    }
+
+    @Override
+    protected void removeNode(BlockPos nodePos) {
+        // splitting the net transfers its nodes, which drops the graph
+        super.removeNode(nodePos);
+        if (graph == null || !graph.containsCable(nodePos)) {
+            return;
+        }
+        long pipePos = nodePos.toLong();
+        NET_DATA.remove(nodePos);
+        for (EnergyRoutes routes : NET_DATA.values()) {
+            if (routes.isStale() || !routes.contains(pipePos)) {
+                continue;
+            }
+            // routes passing through the cable have to be found again, routes ending at it are simply gone
+            boolean hasChildren = false;
+            for (EnumFacing facing : EnumFacing.VALUES) {
+                long neighbourPos = nodePos.offset(facing).toLong();
+                if (routes.contains(neighbourPos) && routes.getParent(neighbourPos) == pipePos) {
+                    hasChildren = true;
+                    break;
+                }
+            }
+            if (hasChildren) {
+                routes.markStale();
+            } else {
+                routes.removePipe(pipePos);
+            }
+        }
+        graph.removeCable(pipePos);
+    }
+
+    /**
+     * Adds or removes the routes to a handler next to a cable
+     */
+    private void updateHandler(TileEntityCable cable, EnumFacing side) {
+        if (!graph.updateHandlerFace(getWorldData(), cable, side)) {
+            return;
+        }
+        long pipePos = cable.getPipePos().toLong();
+        boolean hasHandler = graph.hasHandlerFace(pipePos, side);
+        for (EnergyRoutes routes : NET_DATA.values()) {
+            if (routes.isStale() || !routes.contains(pipePos)) {
+                continue;
+            }
+            if (hasHandler) {
+                routes.addRoute(graph.createRoute(routes, pipePos, side));
+            } else {
+                routes.removeRoute(pipePos, side);
+            }
+        }
+    }
+
+    /**
+     * Recomputes only the routes whose shortest path tree is changed by the link between two cables
+     */
+    private void updateLink(TileEntityCable cable, EnumFacing side) {
+        long pipePos = cable.getPipePos().toLong();
+        long neighbourPos = cable.getPipePos().offset(side).toLong();
+        TileEntityCable neighbour = graph.getCable(neighbourPos);
+        boolean linked = graph.isLinked(cable, side);
+        boolean linkedBack = graph.isLinked(neighbour, side.getOpposite());
+        for (EnergyRoutes routes : NET_DATA.values()) {
+            if (routes.isStale()) {
+                continue;
+            }
+            boolean reached = routes.contains(pipePos);
+            boolean neighbourReached = routes.contains(neighbourPos);
+            if (reached && neighbourReached) {
+                int distance = routes.getDistance(pipePos);
+                int neighbourDistance = routes.getDistance(neighbourPos);
+                if ((!linked && routes.getParent(neighbourPos) == pipePos) ||
+                        (!linkedBack && routes.getParent(pipePos) == neighbourPos) ||
+                        (linked && neighbourDistance > distance + 1) ||
+                        (linkedBack && distance > neighbourDistance + 1)) {
+                    routes.markStale();
+                }
+            } else if (reached && linked) {
+                addLeafCable(routes, neighbour);
+            } else if (neighbourReached && linkedBack) {
+                addLeafCable(routes, cable);
+            }
+        }
+    }
+
+    /**
+     * Adds a cable to the routes if it is only linked to a single cable which is already reached,
+     * as it can't shorten any other route. Otherwise the routes are computed again.
+     */
+    private void addLeafCable(EnergyRoutes routes, TileEntityCable cable) {
+        long pipePos = cable.getPipePos().toLong();
+        if (routes.isStale() || routes.contains(pipePos)) {
+            return;
+        }
+        long parentPos = 0;
+        boolean hasParent = false;
+        for (EnumFacing facing : EnumFacing.VALUES) {
+            TileEntityCable neighbour = graph.getCable(cable.getPipePos().offset(facing).toLong());
+            if (neighbour == null) {
+                continue;
+            }
+            boolean linkedFrom = graph.isLinked(neighbour, facing.getOpposite());
+            if (!linkedFrom && !graph.isLinked(cable, facing)) {
+                continue;
+            }
+            if (hasParent || !linkedFrom || !routes.contains(neighbour.getPipePos().toLong())) {
+                routes.markStale();
+                return;
+            }
+            parentPos = neighbour.getPipePos().toLong();
+            hasParent = true;
+        }
+        if (hasParent) {
+            routes.addPipe(pipePos, parentPos, routes.getDistance(parentPos) + 1);
+            graph.addRoutes(routes, pipePos);
+        }
     }
 
     @Override
-    protected void transferNodeData(Map<BlockPos, Node<WireProperties>> transferredNodes, PipeNet<WireProperties> parentNet) {
+    protected void transferNodeData(Long2ObjectMap<Node<WireProperties>> transferredNodes, PipeNet<WireProperties> parentNet) {
         super.transferNodeData(transferredNodes, parentNet);
         NET_DATA.clear();
+        this.graph = null;
         ((EnergyNet) parentNet).NET_DATA.clear();
+        ((EnergyNet) parentNet).graph = null;
     }
 
     @Override
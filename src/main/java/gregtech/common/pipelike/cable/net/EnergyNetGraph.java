@@ -0,0 +1,193 @@
+package gregtech.common.pipelike.cable.net;
+
+import gregtech.api.capability.GregtechCapabilities;
+import gregtech.common.pipelike.cable.tile.TileEntityCable;
+import it.unimi.dsi.fastutil.longs.Long2ByteOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ByteMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * The cables of an {@link EnergyNet} and the sides of them which face an energy handler, as walked by
+ * {@link EnergyNetWalker}.
+ * <p>
+ * Routes of any amount of source cables are computed from this snapshot without accessing the world again.
+ * Links between cables are read from the connections of the cables themselves, so only added, removed or reloaded
+ * cables and changed handlers have to be passed in.
+ */
+public class EnergyNetGraph {
+
+    private final Long2ObjectOpenHashMap<TileEntityCable> cables = new Long2ObjectOpenHashMap<>();
+    // bit mask of the sides of a cable which are connected to an energy handler
+    private final Long2ByteOpenHashMap handlerFaces = new Long2ByteOpenHashMap();
+    private final BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
+
+    public boolean containsCable(BlockPos pipePos) {
+        return cables.containsKey(pipePos.toLong());
+    }
+
+    @Nullable
+    public TileEntityCable getCable(long pipePos) {
+        return cables.get(pipePos);
+    }
+
+    public int size() {
+        return cables.size();
+    }
+
+    void addCable(TileEntityCable cable) {
+        cables.put(cable.getPipePos().toLong(), cable);
+    }
+
+    void removeCable(long pipePos) {
+        cables.remove(pipePos);
+        handlerFaces.remove(pipePos);
+    }
+
+    void setHandlerFace(long pipePos, EnumFacing face, boolean hasHandler) {
+        byte faces = handlerFaces.get(pipePos);
+        if (hasHandler) {
+            handlerFaces.put(pipePos, (byte) (faces | 1 << face.getIndex()));
+        } else if ((faces & ~(1 << face.getIndex())) == 0) {
+            handlerFaces.remove(pipePos);
+        } else {
+            handlerFaces.put(pipePos, (byte) (faces & ~(1 << face.getIndex())));
+        }
+    }
+
+    public boolean hasHandlerFace(long pipePos, EnumFacing face) {
+        return (handlerFaces.get(pipePos) & 1 << face.getIndex()) != 0;
+    }
+
+    /**
+     * Checks the world for an energy handler connected to the side of a cable, the same way the walker does
+     *
+     * @return true if the handler side of the cable changed
+     */
+    boolean updateHandlerFace(World world, TileEntityCable cable, EnumFacing face) {
+        boolean hasHandler = false;
+        if (cable.isConnected(face)) {
+            TileEntity tile = world.getTileEntity(cable.getPipePos().offset(face));
+            // cables are linked by the net, never a destination
+            hasHandler = tile != null && !(tile instanceof TileEntityCable) &&
+                    tile.getCapability(GregtechCapabilities.CAPABILITY_ENERGY_CONTAINER, face.getOpposite()) != null;
+        }
+        long pipePos = cable.getPipePos().toLong();
+        if (hasHandler == hasHandlerFace(pipePos, face)) {
+            return false;
+        }
+        setHandlerFace(pipePos, face, hasHandler);
+        return true;
+    }
+
+    /**
+     * @return true if energy can flow from the cable into the cable on the given side
+     */
+    public boolean isLinked(TileEntityCable from, EnumFacing side) {
+        if (!from.isConnected(side)) {
+            return false;
+        }
+        TileEntityCable to = cables.get(mutablePos.setPos(from.getPipePos()).move(side).toLong());
+        EnumFacing opposite = side.getOpposite();
+        return to != null && to.isConnected(opposite) && !to.isFaceBlocked(opposite);
+    }
+
+    /**
+     * Computes the routes of many sources at once
+     *
+     * @param sources the source cables
+     * @return the routes of each source which is part of this graph
+     */
+    public Map<BlockPos, EnergyRoutes> createRoutes(Collection<BlockPos> sources) {
+        Map<BlockPos, EnergyRoutes> routes = new HashMap<>();
+        for (BlockPos source : sources) {
+            if (containsCable(source)) {
+                routes.put(source, createRoutes(source));
+            }
+        }
+        return routes;
+    }
+
+    /**
+     * Computes the routes of a source with a breadth first search, which reaches every cable on its shortest path
+     *
+     * @param source the source cable
+     * @return the routes of the source
+     */
+    public EnergyRoutes createRoutes(BlockPos source) {
+        EnergyRoutes routes = new EnergyRoutes(source);
+        long sourcePos = source.toLong();
+        if (!cables.containsKey(sourcePos)) {
+            return routes;
+        }
+        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+        routes.addPipe(sourcePos, sourcePos, 1);
+        queue.enqueue(sourcePos);
+        while (!queue.isEmpty()) {
+            long pipePos = queue.dequeueLong();
+            TileEntityCable cable = cables.get(pipePos);
+            int distance = routes.getDistance(pipePos);
+            for (EnumFacing side : EnumFacing.VALUES) {
+                if (isLinked(cable, side)) {
+                    long nextPos = mutablePos.setPos(cable.getPipePos()).move(side).toLong();
+                    if (!routes.contains(nextPos)) {
+                        routes.addPipe(nextPos, pipePos, distance + 1);
+                        queue.enqueue(nextPos);
+                    }
+                }
+            }
+        }
+        List<RoutePath> paths = new ArrayList<>();
+        for (Long2ByteMap.Entry entry : handlerFaces.long2ByteEntrySet()) {
+            long pipePos = entry.getLongKey();
+            if (routes.contains(pipePos)) {
+                for (EnumFacing face : EnumFacing.VALUES) {
+                    if ((entry.getByteValue() & 1 << face.getIndex()) != 0) {
+                        paths.add(createRoute(routes, pipePos, face));
+                    }
+                }
+            }
+        }
+        routes.addRoutes(paths);
+        return routes;
+    }
+
+    /**
+     * Adds the routes to every handler connected to a cable reached by the source
+     */
+    void addRoutes(EnergyRoutes routes, long pipePos) {
+        byte faces = handlerFaces.get(pipePos);
+        if (faces == 0 || !routes.contains(pipePos)) {
+            return;
+        }
+        for (EnumFacing face : EnumFacing.VALUES) {
+            if ((faces & 1 << face.getIndex()) != 0) {
+                routes.addRoute(createRoute(routes, pipePos, face));
+            }
+        }
+    }
+
+    /**
+     * Follows the shortest path tree of a source back from a cable to build the route to one of its handlers
+     */
+    RoutePath createRoute(EnergyRoutes routes, long pipePos, EnumFacing faceToHandler) {
+        int distance = routes.getDistance(pipePos);
+        TileEntityCable[] path = new TileEntityCable[distance];
+        long loss = 0;
+        long pos = pipePos;
+        for (int i = distance - 1; i >= 0; i--) {
+            TileEntityCable cable = cables.get(pos);
+            path[i] = cable;
+            loss += cable.getNodeData().getLossPerBlock();
+            pos = routes.getParent(pos);
+        }
+        return new RoutePath(BlockPos.fromLong(pipePos), faceToHandler, path, distance, loss);
+    }
+}
@@ -3,6 +3,7 @@ package gregtech.common.pipelike.cable.net;
 import gregtech.api.capability.IEnergyContainer;
 import gregtech.api.util.GTLog;
 import gregtech.api.util.GTUtility;
+import gregtech.common.ConfigHolder;
 import gregtech.common.pipelike.cable.tile.TileEntityCable;
 import net.minecraft.init.Blocks;
 import net.minecraft.util.EnumFacing;
@@ -11,7 +12,6 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
 
-import java.util.List;
 import java.util.Objects;
 
 public class EnergyNetHandler implements IEnergyContainer {
@@ -59,9 +59,11 @@ public class EnergyNetHandler implements IEnergyContainer {
         }
 
         long amperesUsed = 0L;
-        List<RoutePath> paths = net.getNetData(cable.getPos());
+        EnergyRoutes routes = net.getRoutes(cable.getPos());
+        if (routes == null) return 0;
+        boolean solveFlows = ConfigHolder.machines.solveEnergyNetFlows;
         outer:
-        for (RoutePath path : paths) {
+        for (RoutePath path : routes.getRoutes()) {
             if (path.getMaxLoss() >= voltage)
                 continue;
             if (GTUtility.arePosEqual(cable.getPos(), path.getPipePos()) && side == path.getFaceToHandler()) {
@@ -75,19 +77,22 @@ public class EnergyNetHandler implements IEnergyContainer {
             if (v <= 0)
                 continue;
 
-            for (TileEntityCable cable : path.getPath()) {
-                if (cable.getMaxVoltage() < voltage) {
-                    int heat = (int) (Math.log(GTUtility.getTierByVoltage(voltage) - GTUtility.getTierByVoltage(cable.getMaxVoltage())) * 45 + 36.5);
-                    boolean cableBroken = false;
-                    for (TileEntityCable cable1 : path.getPath()) {
-                        cable1.applyHeat(heat);
-                        cableBroken |= cable1.isInvalid();
+            // most paths only have cables which can carry the voltage, so there is nothing to check
+            if (path.getMinCableVoltage() < voltage) {
+                for (TileEntityCable cable : path.getPath()) {
+                    if (cable.getMaxVoltage() < voltage) {
+                        int heat = (int) (Math.log(GTUtility.getTierByVoltage(voltage) - GTUtility.getTierByVoltage(cable.getMaxVoltage())) * 45 + 36.5);
+                        boolean cableBroken = false;
+                        for (TileEntityCable cable1 : path.getPath()) {
+                            cable1.applyHeat(heat);
+                            cableBroken |= cable1.isInvalid();
+                        }
+                        if (cableBroken) {
+                            // a cable burned away (or insulation melted)
+                            break outer;
+                        }
+                        v = Math.min(cable.getMaxVoltage(), v); // limit transfer to cables max and void rest
                     }
-                    if (cableBroken) {
-                        // a cable burned away (or insulation melted)
-                        break outer;
-                    }
-                    v = Math.min(cable.getMaxVoltage(), v); // limit transfer to cables max and void rest
                 }
             }
 
@@ -98,23 +103,28 @@ public class EnergyNetHandler implements IEnergyContainer {
                 continue;
             amperesUsed += amps;
 
-            long voltageTraveled = voltage;
-            boolean cableBroken = false;
-            for (TileEntityCable cable : path.getPath()) {
-                voltageTraveled -= cable.getNodeData().getLossPerBlock();
-                if (voltageTraveled <= 0)
-                    break;
-                if (cable.isInvalid()) {
-                    cableBroken = true;
-                } else {
-                    cable.incrementAmperage(amps, voltageTraveled);
+            if (solveFlows) {
+                // the cables of all paths are updated once at the end of the tick
+                net.addFlow(routes, path, amps, voltage);
+            } else {
+                long voltageTraveled = voltage;
+                boolean cableBroken = false;
+                for (TileEntityCable cable : path.getPath()) {
+                    voltageTraveled -= cable.getNodeData().getLossPerBlock();
+                    if (voltageTraveled <= 0)
+                        break;
+                    if (cable.isInvalid()) {
+                        cableBroken = true;
+                    } else {
+                        cable.incrementAmperage(amps, voltageTraveled);
+                    }
                 }
-            }
 
-            if (cableBroken) {
-                // a cable burned away (or insulation melted)
-                // recompute net data
-                break;
+                if (cableBroken) {
+                    // a cable burned away (or insulation melted)
+                    // recompute net data
+                    break;
+                }
             }
 
             if (amperage == amperesUsed)
@@ -9,41 +9,47 @@ import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
-import org.apache.commons.lang3.ArrayUtils;
 
 import javax.annotation.Nullable;
-import java.util.ArrayList;
 import java.util.List;
 
 public class EnergyNetWalker extends PipeNetWalker {
 
     public static List<RoutePath> createNetData(World world, BlockPos sourcePipe) {
-        EnergyNetWalker walker = new EnergyNetWalker(world, sourcePipe, 1, new ArrayList<>());
+        EnergyNetGraph graph = createNetGraph(world, sourcePipe);
+        return graph == null ? null : graph.createRoutes(sourcePipe).getRoutes();
+    }
+
+    /**
+     * Walks the net once and records every cable and the energy handlers connected to them.
+     * The routes of any amount of sources in the net can then be computed from the graph.
+     *
+     * @param world      the world
+     * @param sourcePipe the cable to start walking from
+     * @return the walked graph, or null if the walk failed
+     */
+    @Nullable
+    public static EnergyNetGraph createNetGraph(World world, BlockPos sourcePipe) {
+        EnergyNetWalker walker = new EnergyNetWalker(world, sourcePipe, 1, new EnergyNetGraph());
         walker.traversePipeNet();
-        return walker.isFailed() ? null : walker.routes;
+        return walker.isFailed() ? null : walker.graph;
     }
 
-    private final List<RoutePath> routes;
-    private TileEntityCable[] pipes = {};
-    private int loss;
+    private final EnergyNetGraph graph;
 
-    protected EnergyNetWalker(World world, BlockPos sourcePipe, int walkedBlocks, List<RoutePath> routes) {
+    protected EnergyNetWalker(World world, BlockPos sourcePipe, int walkedBlocks, EnergyNetGraph graph) {
         super(world, sourcePipe, walkedBlocks);
-        this.routes = routes;
+        this.graph = graph;
     }
 
     @Override
     protected PipeNetWalker createSubWalker(World world, EnumFacing facingToNextPos, BlockPos nextPos, int walkedBlocks) {
-        EnergyNetWalker walker = new EnergyNetWalker(world, nextPos, walkedBlocks, routes);
-        walker.loss = loss;
-        walker.pipes = pipes;
-        return walker;
+        return new EnergyNetWalker(world, nextPos, walkedBlocks, graph);
     }
 
     @Override
     protected void checkPipe(IPipeTile<?, ?> pipeTile, BlockPos pos) {
-        pipes = ArrayUtils.add(pipes, (TileEntityCable) pipeTile);
-        loss += ((TileEntityCable) pipeTile).getNodeData().getLossPerBlock();
+        graph.addCable((TileEntityCable) pipeTile);
     }
 
     @Override
@@ -51,7 +57,7 @@ public class EnergyNetWalker extends PipeNetWalker {
         if (neighbourTile != null) {
             IEnergyContainer container = neighbourTile.getCapability(GregtechCapabilities.CAPABILITY_ENERGY_CONTAINER, faceToNeighbour.getOpposite());
             if (container != null) {
-                routes.add(new RoutePath(new BlockPos(pipePos), faceToNeighbour, pipes, getWalkedBlocks(), loss));
+                graph.setHandlerFace(pipePos.toLong(), faceToNeighbour, true);
             }
         }
     }
@@ -0,0 +1,110 @@
+package gregtech.common.pipelike.cable.net;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The routes from one source cable to every energy handler it reaches, sorted by distance.
+ * <p>
+ * Also keeps the shortest path tree the routes were taken from, so single routes and leaf cables can be added or
+ * removed without computing the whole tree again. Once marked stale, the routes have to be computed again from the
+ * {@link EnergyNetGraph}.
+ */
+public class EnergyRoutes {
+
+    private final BlockPos source;
+    private final Long2LongOpenHashMap parents = new Long2LongOpenHashMap();
+    private final Long2IntOpenHashMap distances = new Long2IntOpenHashMap();
+    // replaced instead of modified, as it may be iterated while energy is inserted and the net changes
+    private List<RoutePath> routes = Collections.emptyList();
+    private boolean stale;
+
+    public EnergyRoutes(BlockPos source) {
+        this.source = source;
+        this.distances.defaultReturnValue(-1);
+    }
+
+    public BlockPos getSource() {
+        return source;
+    }
+
+    /**
+     * @return the routes of the source, sorted by distance
+     */
+    public List<RoutePath> getRoutes() {
+        return routes;
+    }
+
+    public boolean isStale() {
+        return stale;
+    }
+
+    public void markStale() {
+        this.stale = true;
+    }
+
+    /**
+     * @return true if the cable at the position is reached from the source
+     */
+    public boolean contains(long pipePos) {
+        return distances.containsKey(pipePos);
+    }
+
+    /**
+     * @return the amount of cables from the source to the position, including both, or -1 if it is not reached
+     */
+    public int getDistance(long pipePos) {
+        return distances.get(pipePos);
+    }
+
+    /**
+     * @return the cable the position is reached from, the source is its own parent
+     */
+    public long getParent(long pipePos) {
+        return parents.get(pipePos);
+    }
+
+    void addPipe(long pipePos, long parentPos, int distance) {
+        parents.put(pipePos, parentPos);
+        distances.put(pipePos, distance);
+    }
+
+    void removePipe(long pipePos) {
+        parents.remove(pipePos);
+        distances.remove(pipePos);
+        List<RoutePath> newRoutes = new ArrayList<>(routes);
+        newRoutes.removeIf(route -> route.getPipePos().toLong() == pipePos);
+        this.routes = Collections.unmodifiableList(newRoutes);
+    }
+
+    void addRoute(RoutePath route) {
+        // keep the list sorted, after all routes of the same distance
+        List<RoutePath> newRoutes = new ArrayList<>(routes);
+        int index = newRoutes.size();
+        while (index > 0 && newRoutes.get(index - 1).getDistance() > route.getDistance()) {
+            index--;
+        }
+        newRoutes.add(index, route);
+        this.routes = Collections.unmodifiableList(newRoutes);
+    }
+
+    void addRoutes(List<RoutePath> paths) {
+        List<RoutePath> newRoutes = new ArrayList<>(routes);
+        newRoutes.addAll(paths);
+        newRoutes.sort(Comparator.comparingInt(RoutePath::getDistance));
+        this.routes = Collections.unmodifiableList(newRoutes);
+    }
+
+    void removeRoute(long pipePos, EnumFacing faceToHandler) {
+        List<RoutePath> newRoutes = new ArrayList<>(routes);
+        newRoutes.removeIf(route -> route.getFaceToHandler() == faceToHandler && route.getPipePos().toLong() == pipePos);
+        this.routes = Collections.unmodifiableList(newRoutes);
+    }
+}
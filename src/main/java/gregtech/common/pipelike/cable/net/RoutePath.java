@@ -14,6 +14,7 @@ public class RoutePath {
     private final int distance;
     private final TileEntityCable[] path;
     private final long maxLoss;
+    private final long minCableVoltage;
 
     public RoutePath(BlockPos destPipePos, EnumFacing destFacing, TileEntityCable[] path, int distance, long maxLoss) {
         this.destPipePos = destPipePos;
@@ -21,6 +22,11 @@ public class RoutePath {
         this.path = path;
         this.distance = distance;
         this.maxLoss = maxLoss;
+        long minVoltage = Long.MAX_VALUE;
+        for (TileEntityCable cable : path) {
+            minVoltage = Math.min(minVoltage, cable.getMaxVoltage());
+        }
+        this.minCableVoltage = minVoltage;
     }
 
     public int getDistance() {
@@ -31,6 +37,13 @@ public class RoutePath {
         return maxLoss;
     }
 
+    /**
+     * @return the lowest max voltage of all cables of the path, any voltage up to it passes without overvolting
+     */
+    public long getMinCableVoltage() {
+        return minCableVoltage;
+    }
+
     public TileEntityCable[] getPath() {
         return path;
     }
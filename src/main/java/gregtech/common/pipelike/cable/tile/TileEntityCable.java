@@ -71,6 +71,12 @@ public class TileEntityCable extends TileEntityMaterialPipeBase<Insulation, Wire
         return false;
     }
 
+    @Override
+    protected boolean canDemoteTicking() {
+        // the heat task keeps a reference to this tile entity
+        return super.canDemoteTicking() && !isTicking;
+    }
+
     private void initHandlers() {
         EnergyNet net = getEnergyNet();
         if (net == null) {
@@ -90,6 +96,10 @@ public class TileEntityCable extends TileEntityMaterialPipeBase<Insulation, Wire
             if (temperature > 293) {
                 TaskScheduler.scheduleTask(world, this::update);
             }
+            EnergyNet net = getEnergyNet();
+            if (net != null) {
+                net.onCableLoaded(this);
+            }
         }
     }
 
@@ -99,10 +109,37 @@ public class TileEntityCable extends TileEntityMaterialPipeBase<Insulation, Wire
      * @return if the cable should be destroyed
      */
     public boolean incrementAmperage(long amps, long voltage) {
-        if (voltage > maxVoltageCounter.get(world)) {
-            maxVoltageCounter.set(world, voltage);
+        incrementVoltage(voltage, voltage);
+        return incrementPathAmperage(amps);
+    }
+
+    /**
+     * Adds the energy of several paths through this cable at once, as solved by the net.
+     * <p>
+     * Every path heats an overamped cable by the amperage of the tick up to and including that path, so the heat
+     * depends on the order of the paths. If the paths could overamp this cable, their amperage is not added, and has
+     * to be added path by path in order with {@link #incrementPathAmperage(long)}.
+     *
+     * @param amps       the total amperage of all paths
+     * @param maxVoltage the highest voltage of all paths
+     * @param voltageSum the sum of the voltages of all paths
+     * @return true if the amperage of every path has to be added separately
+     */
+    public boolean incrementAmperage(long amps, long maxVoltage, long voltageSum) {
+        incrementVoltage(maxVoltage, voltageSum);
+        if (averageAmperageCounter.getLast(world) + amps > getMaxAmperage()) {
+            return true;
         }
-        averageVoltageCounter.increment(world, voltage);
+        averageAmperageCounter.increment(world, amps);
+        return false;
+    }
+
+    /**
+     * Adds the amperage of a single path, should only be called internally
+     *
+     * @return true if the cable received heat from overamping
+     */
+    public boolean incrementPathAmperage(long amps) {
         averageAmperageCounter.increment(world, amps);
 
         int dif = (int) (averageAmperageCounter.getLast(world) - getMaxAmperage());
@@ -114,6 +151,13 @@ public class TileEntityCable extends TileEntityMaterialPipeBase<Insulation, Wire
         return false;
     }
 
+    private void incrementVoltage(long maxVoltage, long voltageSum) {
+        if (maxVoltage > maxVoltageCounter.get(world)) {
+            maxVoltageCounter.set(world, maxVoltage);
+        }
+        averageVoltageCounter.increment(world, voltageSum);
+    }
+
     public void applyHeat(int amount) {
         heatQueue += amount;
         if (!world.isRemote && !isTicking && temperature + heatQueue > 293) {
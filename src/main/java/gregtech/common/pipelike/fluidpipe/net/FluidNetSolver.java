@@ -0,0 +1,288 @@
+package gregtech.common.pipelike.fluidpipe.net;
+
+import gregtech.api.GTValues;
+import gregtech.api.cover.CoverBehavior;
+import gregtech.common.pipelike.fluidpipe.tile.TileEntityFluidPipeTickable;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.FluidTank;
+import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
+import net.minecraftforge.fluids.capability.IFluidHandler;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Moves the fluid of a whole {@link FluidPipeNet} at once, instead of every pipe pushing to its neighbours on its own.
+ * <p>
+ * For every fluid in the net, the pipes are searched outwards from the pipes next to a tank accepting the fluid.
+ * Then the pipes are processed from the farthest to the closest, each sending up to half of its capacity to the
+ * next pipe towards a tank. Fluid arriving at a pipe is sent on during the same update, so it travels the whole way
+ * at once, limited by the throughput of every pipe on the way. Fluid is moved through the regular fluid handlers of
+ * the pipes, so covers, blocked faces and {@link TileEntityFluidPipeTickable#checkAndDestroy(FluidStack)} still apply.
+ */
+public class FluidNetSolver {
+
+    private final FluidPipeNet net;
+    private final BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
+
+    // the loaded pipes of the net, rebuilt after the net changed
+    private final List<TileEntityFluidPipeTickable> pipes = new ArrayList<>();
+    private final Long2IntOpenHashMap pipeIndices = new Long2IntOpenHashMap();
+    // the connected pipe on each side of each pipe, or -1
+    private int[] neighbours = new int[0];
+    // the connected sides of each pipe without a pipe of the net, as bit mask
+    private int[] handlerSides = new int[0];
+    private boolean stale = true;
+
+    // the search of the current fluid
+    private int[] distances = new int[0];
+    private int[] nextSides = new int[0];
+    private int[] order = new int[0];
+    private IFluidHandler[] sinks = new IFluidHandler[0];
+    private int[] sinkAmounts = new int[0];
+
+    public FluidNetSolver(FluidPipeNet net) {
+        this.net = net;
+        this.pipeIndices.defaultReturnValue(-1);
+    }
+
+    /**
+     * Makes the solver collect the pipes of the net again before the next update
+     */
+    public void markStale() {
+        this.stale = true;
+    }
+
+    public void update() {
+        if (stale) {
+            rebuild();
+        }
+        for (TileEntityFluidPipeTickable pipe : pipes) {
+            if (pipe.isInvalid()) {
+                // unloaded or replaced, collect the pipes again on the next update
+                this.stale = true;
+                return;
+            }
+        }
+
+        List<FluidStack> fluids = new ArrayList<>();
+        for (TileEntityFluidPipeTickable pipe : pipes) {
+            for (FluidTank tank : pipe.getFluidTanks()) {
+                FluidStack fluid = tank.getFluid();
+                if (fluid == null)
+                    continue;
+                if (fluid.amount <= 0) {
+                    tank.setFluid(null);
+                    continue;
+                }
+                if (!containsFluid(fluids, fluid)) {
+                    fluids.add(fluid.copy());
+                }
+            }
+        }
+
+        for (FluidStack fluid : fluids) {
+            moveFluid(fluid);
+            if (isStopped()) {
+                return;
+            }
+        }
+        for (TileEntityFluidPipeTickable pipe : pipes) {
+            pipe.lastReceivedFrom = 0;
+        }
+    }
+
+    private void rebuild() {
+        pipes.clear();
+        pipeIndices.clear();
+        World world = net.getWorldData();
+        LongIterator iterator = net.getAllNodes().keySet().iterator();
+        while (iterator.hasNext()) {
+            long pos = iterator.nextLong();
+            BlockPos blockPos = BlockPos.fromLong(pos);
+            if (!world.isBlockLoaded(blockPos))
+                continue;
+            TileEntity tile = world.getTileEntity(blockPos);
+            if (tile instanceof TileEntityFluidPipeTickable && !tile.isInvalid()) {
+                pipeIndices.put(pos, pipes.size());
+                pipes.add((TileEntityFluidPipeTickable) tile);
+            }
+        }
+
+        int pipeCount = pipes.size();
+        this.neighbours = new int[pipeCount * 6];
+        this.handlerSides = new int[pipeCount];
+        this.distances = new int[pipeCount];
+        this.nextSides = new int[pipeCount];
+        this.order = new int[pipeCount];
+        this.sinks = new IFluidHandler[pipeCount * 6];
+        this.sinkAmounts = new int[pipeCount * 6];
+        for (int i = 0; i < pipeCount; i++) {
+            TileEntityFluidPipeTickable pipe = pipes.get(i);
+            for (EnumFacing facing : EnumFacing.VALUES) {
+                int side = i * 6 + facing.getIndex();
+                neighbours[side] = -1;
+                if (!pipe.isConnected(facing))
+                    continue;
+                int neighbour = pipeIndices.get(mutablePos.setPos(pipe.getPipePos()).move(facing).toLong());
+                if (neighbour < 0) {
+                    handlerSides[i] |= 1 << facing.getIndex();
+                } else if (pipes.get(neighbour).isConnected(facing.getOpposite())) {
+                    neighbours[side] = neighbour;
+                }
+            }
+        }
+        this.stale = false;
+    }
+
+    private void moveFluid(FluidStack fluid) {
+        int pipeCount = pipes.size();
+        Arrays.fill(distances, -1);
+        Arrays.fill(sinks, null);
+
+        // the pipes next to a tank accepting the fluid are where the search starts
+        int queued = 0;
+        FluidStack testFluid = fluid.copy();
+        for (int i = 0; i < pipeCount; i++) {
+            TileEntityFluidPipeTickable pipe = pipes.get(i);
+            int sides = handlerSides[i] & ~pipe.lastReceivedFrom;
+            if (sides == 0)
+                continue;
+            for (EnumFacing facing : EnumFacing.VALUES) {
+                if ((sides & (1 << facing.getIndex())) == 0)
+                    continue;
+                IFluidHandler handler = getFluidHandlerAt(pipe, facing);
+                if (handler == null)
+                    continue;
+                testFluid.amount = pipe.getCapacityPerTank() / 2;
+                int accepted = handler.fill(testFluid, false);
+                if (accepted > 0) {
+                    sinks[i * 6 + facing.getIndex()] = handler;
+                    sinkAmounts[i * 6 + facing.getIndex()] = accepted;
+                    if (distances[i] < 0) {
+                        distances[i] = 0;
+                        order[queued++] = i;
+                    }
+                }
+            }
+        }
+
+        for (int head = 0; head < queued; head++) {
+            int pipe = order[head];
+            for (int side = 0; side < 6; side++) {
+                int neighbour = neighbours[pipe * 6 + side];
+                if (neighbour >= 0 && distances[neighbour] < 0) {
+                    distances[neighbour] = distances[pipe] + 1;
+                    nextSides[neighbour] = EnumFacing.VALUES[side].getOpposite().getIndex();
+                    order[queued++] = neighbour;
+                }
+            }
+        }
+
+        // send the fluid from the farthest pipes towards the tanks
+        for (int i = queued - 1; i >= 0; i--) {
+            int index = order[i];
+            TileEntityFluidPipeTickable pipe = pipes.get(index);
+            FluidTank tank = findTank(pipe, fluid);
+            if (tank == null)
+                continue;
+            int maxAmount = Math.min(pipe.getCapacityPerTank() / 2, tank.getFluidAmount());
+            if (distances[index] == 0) {
+                sendToTanks(index, pipe, tank, fluid, maxAmount);
+            } else {
+                EnumFacing facing = EnumFacing.VALUES[nextSides[index]];
+                TileEntityFluidPipeTickable nextPipe = pipes.get(neighbours[index * 6 + facing.getIndex()]);
+                IFluidHandler handler = nextPipe.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, facing.getOpposite());
+                if (handler != null) {
+                    transfer(pipe, tank, facing, handler, fluid, maxAmount);
+                }
+            }
+            if (isStopped()) {
+                return;
+            }
+        }
+    }
+
+    private void sendToTanks(int index, TileEntityFluidPipeTickable pipe, FluidTank tank, FluidStack fluid, int maxAmount) {
+        int total = 0;
+        for (int side = 0; side < 6; side++) {
+            if (sinks[index * 6 + side] != null) {
+                total += sinkAmounts[index * 6 + side];
+            }
+        }
+        // split the fluid by the space of each tank, like the pipes do on their own
+        for (int i = 0, j = GTValues.RNG.nextInt(6); i < 6; i++) {
+            int side = (i + j) % 6;
+            IFluidHandler sink = sinks[index * 6 + side];
+            if (sink == null)
+                continue;
+            if (tank.getFluidAmount() <= 0)
+                break;
+            int amount = sinkAmounts[index * 6 + side];
+            if (total > maxAmount) {
+                amount = Math.max(1, (int) ((long) amount * maxAmount / total));
+            }
+            transfer(pipe, tank, EnumFacing.VALUES[side], sink, fluid, amount);
+        }
+    }
+
+    private void transfer(TileEntityFluidPipeTickable pipe, FluidTank tank, EnumFacing facing, IFluidHandler handler, FluidStack fluid, int maxAmount) {
+        IFluidHandler pipeTank = tank;
+        CoverBehavior cover = pipe.getCoverableImplementation().getCoverAtSide(facing);
+        if (cover != null) {
+            pipeTank = cover.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, pipeTank);
+            if (pipeTank == null)
+                return;
+        }
+        FluidStack toMove = fluid.copy();
+        toMove.amount = maxAmount;
+        FluidStack drainable = pipeTank.drain(toMove, false);
+        if (drainable == null || drainable.amount <= 0)
+            return;
+        toMove.amount = drainable.amount;
+        int filled = handler.fill(toMove, true);
+        if (filled > 0) {
+            pipeTank.drain(filled, true);
+        }
+    }
+
+    @Nullable
+    private IFluidHandler getFluidHandlerAt(TileEntityFluidPipeTickable pipe, EnumFacing facing) {
+        TileEntity tile = net.getWorldData().getTileEntity(mutablePos.setPos(pipe.getPipePos()).move(facing));
+        if (tile == null)
+            return null;
+        return tile.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, facing.getOpposite());
+    }
+
+    // a pipe was destroyed or the net changed while moving fluid
+    private boolean isStopped() {
+        return stale || !net.isValid();
+    }
+
+    @Nullable
+    private static FluidTank findTank(TileEntityFluidPipeTickable pipe, FluidStack fluid) {
+        for (FluidTank tank : pipe.getFluidTanks()) {
+            if (tank.getFluidAmount() > 0 && fluid.isFluidEqual(tank.getFluid())) {
+                return tank;
+            }
+        }
+        return null;
+    }
+
+    private static boolean containsFluid(List<FluidStack> fluids, FluidStack fluid) {
+        for (FluidStack other : fluids) {
+            if (other.isFluidEqual(fluid)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
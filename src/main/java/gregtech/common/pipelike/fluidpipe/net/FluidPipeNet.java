@@ -1,16 +1,47 @@
 package gregtech.common.pipelike.fluidpipe.net;
 
+import gregtech.api.pipenet.Node;
 import gregtech.api.pipenet.PipeNet;
 import gregtech.api.pipenet.WorldPipeNet;
 import gregtech.api.unification.material.properties.FluidPipeProperties;
+import gregtech.common.ConfigHolder;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.ITickable;
 
-public class FluidPipeNet extends PipeNet<FluidPipeProperties> {
+public class FluidPipeNet extends PipeNet<FluidPipeProperties> implements ITickable {
+
+    private final FluidNetSolver solver = new FluidNetSolver(this);
 
     public FluidPipeNet(WorldPipeNet<FluidPipeProperties, FluidPipeNet> world) {
         super(world);
     }
 
+    @Override
+    public void update() {
+        if (ConfigHolder.machines.fluidPipeNetTransport && isValid()) {
+            solver.update();
+        }
+    }
+
+    @Override
+    protected void onNodeConnectionsUpdate() {
+        super.onNodeConnectionsUpdate();
+        solver.markStale();
+    }
+
+    @Override
+    public void onPipeConnectionsUpdate() {
+        solver.markStale();
+    }
+
+    @Override
+    protected void transferNodeData(Long2ObjectMap<Node<FluidPipeProperties>> transferredNodes, PipeNet<FluidPipeProperties> parentNet) {
+        super.transferNodeData(transferredNodes, parentNet);
+        solver.markStale();
+        ((FluidPipeNet) parentNet).solver.markStale();
+    }
+
     @Override
     protected void writeNodeData(FluidPipeProperties nodeData, NBTTagCompound tagCompound) {
         tagCompound.setInteger("max_temperature", nodeData.getMaxFluidTemperature());
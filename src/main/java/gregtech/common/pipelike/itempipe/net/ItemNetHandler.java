@@ -8,7 +8,8 @@ import gregtech.api.util.GTTransferUtils;
 import gregtech.api.util.ItemStackKey;
 import gregtech.common.covers.*;
 import gregtech.common.pipelike.itempipe.tile.TileEntityItemPipe;
-import gregtech.common.pipelike.itempipe.tile.TileEntityItemPipeTickable;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
 import net.minecraft.item.ItemStack;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
@@ -19,13 +20,13 @@ import net.minecraftforge.items.IItemHandler;
 import net.minecraftforge.items.ItemStackHandler;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.*;
 
 public class ItemNetHandler implements IItemHandler {
 
     private ItemPipeNet net;
     private TileEntityItemPipe pipe;
-    private TileEntityItemPipeTickable tickingPipe;
     private final World world;
     private final EnumFacing facing;
     private final Map<FacingPos, Integer> simulatedTransfersGlobalRoundRobin = new HashMap<>();
@@ -43,12 +44,19 @@ public class ItemNetHandler implements IItemHandler {
         this.net = net;
     }
 
+    /**
+     * Moves the handler to the tile entity which replaced its pipe
+     */
+    public void updatePipe(TileEntityItemPipe pipe) {
+        this.pipe = pipe;
+    }
+
     public ItemPipeNet getNet() {
         return net;
     }
 
     private void copyTransferred() {
-        simulatedTransfers = tickingPipe.getTransferredItems();
+        simulatedTransfers = pipe.getTransferredItems();
         simulatedTransfersGlobalRoundRobin.clear();
         simulatedTransfersGlobalRoundRobin.putAll(pipe.getTransferred());
     }
@@ -57,11 +65,6 @@ public class ItemNetHandler implements IItemHandler {
     @Override
     public ItemStack insertItem(int slot, @Nonnull ItemStack stack, boolean simulate) {
         if (stack.isEmpty()) return stack;
-        // only set pipe to ticking when something is inserted
-        if (tickingPipe == null) {
-            this.tickingPipe = (TileEntityItemPipeTickable) pipe.setSupportsTicking();
-            this.pipe = tickingPipe;
-        }
 
         if (net == null || pipe == null || pipe.isInvalid() || pipe.isFaceBlocked(facing)) {
             return stack;
@@ -103,8 +106,12 @@ public class ItemNetHandler implements IItemHandler {
     }
 
     public ItemStack insertFirst(ItemStack stack, boolean simulate) {
-        for (ItemPipeNet.Inventory inv : net.getNetData(pipe.getPipePos(), facing)) {
-            stack = insert(inv, stack, simulate);
+        List<ItemPipeNet.Inventory> handlers = net.getNetData(pipe.getPipePos(), facing);
+        if (handlers.isEmpty())
+            return stack;
+        ItemRoutes routes = getRoutes(handlers, stack);
+        for (ItemPipeNet.Inventory inv : handlers) {
+            stack = insert(inv, stack, simulate, false, routes);
             if (stack.isEmpty())
                 return ItemStack.EMPTY;
         }
@@ -115,22 +122,26 @@ public class ItemNetHandler implements IItemHandler {
         List<ItemPipeNet.Inventory> handlers = net.getNetData(pipe.getPipePos(), facing);
         if (handlers.size() == 0)
             return stack;
+        ItemRoutes routes = getRoutes(handlers, stack);
         if (handlers.size() == 1)
-            return insert(handlers.get(0), stack, simulate);
-        List<ItemPipeNet.Inventory> handlersCopy = new ArrayList<>(handlers);
-        int original = stack.getCount();
+            return insert(handlers.get(0), stack, simulate, false, routes);
 
         if (global) {
-            stack = insertToHandlersEnhanced(handlersCopy, stack, handlers.size(), simulate);
+            stack = insertToHandlersEnhanced(handlers, stack, simulate, routes);
         } else {
-            stack = insertToHandlers(handlersCopy, stack, simulate);
+            List<ItemPipeNet.Inventory> handlersCopy = new ArrayList<>(handlers);
+            stack = insertToHandlers(handlersCopy, stack, simulate, routes);
             if (!stack.isEmpty() && handlersCopy.size() > 0)
-                stack = insertToHandlers(handlersCopy, stack, simulate);
+                stack = insertToHandlers(handlersCopy, stack, simulate, routes);
         }
 
         return stack;
     }
 
+    private ItemRoutes getRoutes(List<ItemPipeNet.Inventory> handlers, ItemStack stack) {
+        return net.getRouteTable().getRoutes(pipe.getPipePos(), facing, stack, handlers, world.getTotalWorldTime());
+    }
+
     /**
      * Inserts items equally to all handlers
      * if it couldn't insert all items, the handler will be removed
@@ -138,9 +149,10 @@ public class ItemNetHandler implements IItemHandler {
      * @param copy     to insert to
      * @param stack    to insert
      * @param simulate simulate
+     * @param routes   the recent insertion results of the item
      * @return remainder
      */
-    private ItemStack insertToHandlers(List<ItemPipeNet.Inventory> copy, ItemStack stack, boolean simulate) {
+    private ItemStack insertToHandlers(List<ItemPipeNet.Inventory> copy, ItemStack stack, boolean simulate, ItemRoutes routes) {
         Iterator<ItemPipeNet.Inventory> handlerIterator = copy.listIterator();
         int inserted = 0;
         int count = stack.getCount();
@@ -158,7 +170,7 @@ public class ItemNetHandler implements IItemHandler {
             if (amount == 0) break;
             ItemStack toInsert = stack.copy();
             toInsert.setCount(amount);
-            int r = insert(handler, toInsert, simulate).getCount();
+            int r = insert(handler, toInsert, simulate, false, routes).getCount();
             if (r < amount) {
                 inserted += (amount - r);
             }
@@ -175,21 +187,21 @@ public class ItemNetHandler implements IItemHandler {
         return remainder;
     }
 
-    private ItemStack insertToHandlersEnhanced(List<ItemPipeNet.Inventory> copy, ItemStack stack, int dest, boolean simulate) {
-        LinkedList<EnhancedRoundRobinData> transferred = new LinkedList<>();
-        LinkedList<Integer> steps = new LinkedList<>();
+    private ItemStack insertToHandlersEnhanced(List<ItemPipeNet.Inventory> handlers, ItemStack stack, boolean simulate, ItemRoutes routes) {
+        List<EnhancedRoundRobinData> transferred = new ArrayList<>();
+        IntArrayList steps = new IntArrayList();
         int min = Integer.MAX_VALUE;
         ItemStack simStack;
 
         // find inventories that are not full and get the amount that was inserted in total
-        for (ItemPipeNet.Inventory inv : copy) {
+        for (ItemPipeNet.Inventory inv : handlers) {
             simStack = stack.copy();
-            int ins = stack.getCount() - insert(inv, simStack, true, true).getCount();
+            int ins = stack.getCount() - insert(inv, simStack, true, true, routes).getCount();
             if (ins <= 0)
                 continue;
             int didTransfer = didTransferTo(inv, simulate);
             EnhancedRoundRobinData data = new EnhancedRoundRobinData(inv, ins, didTransfer);
-            transferred.addLast(data);
+            transferred.add(data);
 
             min = Math.min(min, didTransfer);
 
@@ -206,9 +218,9 @@ public class ItemNetHandler implements IItemHandler {
         }
 
         transferred.sort(Comparator.comparingInt(data -> data.transferred));
-        steps.sort(Integer::compare);
+        IntArrays.quickSort(steps.elements(), 0, steps.size());
 
-        if (transferred.get(0).transferred != steps.get(0)) {
+        if (transferred.get(0).transferred != steps.getInt(0)) {
             return stack;
         }
 
@@ -216,7 +228,8 @@ public class ItemNetHandler implements IItemHandler {
         int c = amount / transferred.size();
         int m = amount % transferred.size();
         List<EnhancedRoundRobinData> transferredCopy = new ArrayList<>(transferred);
-        int nextStep = steps.isEmpty() ? -1 : steps.pollFirst();
+        int nextStep = steps.getInt(0);
+        int stepIndex = 1;
 
         // equally distribute items over all inventories
         // it takes into account how much was inserted in total
@@ -260,14 +273,14 @@ public class ItemNetHandler implements IItemHandler {
                 if (data.transferred < nextStep)
                     continue outer;
             }
-            if (steps.isEmpty()) {
+            if (stepIndex == steps.size()) {
                 if (nextStep >= 0) {
                     c = amount / transferredCopy.size();
                     m = amount % transferredCopy.size();
                     nextStep = -1;
                 }
             } else {
-                nextStep = steps.pollFirst();
+                nextStep = steps.getInt(stepIndex++);
             }
         }
 
@@ -277,7 +290,7 @@ public class ItemNetHandler implements IItemHandler {
         for (EnhancedRoundRobinData data : transferred) {
             ItemStack toInsert = stack.copy();
             toInsert.setCount(data.toTransfer);
-            int ins = data.toTransfer - insert(data.inventory, toInsert, simulate).getCount();
+            int ins = data.toTransfer - insert(data.inventory, toInsert, simulate, false, routes).getCount();
             inserted += ins;
             transferTo(data.inventory, simulate, ins);
         }
@@ -288,12 +301,24 @@ public class ItemNetHandler implements IItemHandler {
     }
 
     public ItemStack insert(ItemPipeNet.Inventory handler, ItemStack stack, boolean simulate) {
-        return insert(handler, stack, simulate, false);
+        return insert(handler, stack, simulate, false, null);
     }
 
-    public ItemStack insert(ItemPipeNet.Inventory handler, ItemStack stack, boolean simulate, boolean ignoreLimit) {
+    /**
+     * @param routes the recent insertion results of the item, used to skip the inventory of the handler if possible
+     */
+    public ItemStack insert(ItemPipeNet.Inventory handler, ItemStack stack, boolean simulate, boolean ignoreLimit, @Nullable ItemRoutes routes) {
+        long time = world.getTotalWorldTime();
+        if (routes != null && routes.isRejected(handler, time)) {
+            return stack;
+        }
         int allowed = ignoreLimit ? stack.getCount() : checkTransferable(handler.getProperties().getTransferRate(), stack.getCount(), simulate);
-        if (allowed == 0 || !handler.matchesFilters(stack)) {
+        if (allowed == 0) {
+            return stack;
+        }
+        if (!handler.matchesFilters(stack)) {
+            if (routes != null)
+                routes.reject(handler, time);
             return stack;
         }
         CoverBehavior pipeCover = getCoverOnPipe(handler.getPipePos(), handler.getFaceToHandler());
@@ -303,19 +328,27 @@ public class ItemNetHandler implements IItemHandler {
             IItemHandler itemHandler = pipeCover.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, testHandler);
             if (itemHandler == null || (itemHandler != testHandler && (allowed = itemHandler.extractItem(0, allowed, true).getCount()) <= 0)) {
                 testHandler.setStackInSlot(0, ItemStack.EMPTY);
+                if (routes != null)
+                    routes.reject(handler, time);
                 return stack;
             }
             testHandler.setStackInSlot(0, ItemStack.EMPTY);
         }
-        IItemHandler neighbourHandler = handler.getHandler(world);
+        // robotic arms decide on their own state, so their results are not remembered
         if (pipeCover instanceof CoverRoboticArm && ((CoverRoboticArm) pipeCover).getConveyorMode() == CoverConveyor.ConveyorMode.EXPORT) {
-            return insertOverRobotArm(neighbourHandler, (CoverRoboticArm) pipeCover, stack, simulate, allowed, ignoreLimit);
+            return insertOverRobotArm(handler.getHandler(world), (CoverRoboticArm) pipeCover, stack, simulate, allowed, ignoreLimit);
         }
         if (tileCover instanceof CoverRoboticArm && ((CoverRoboticArm) tileCover).getConveyorMode() == CoverConveyor.ConveyorMode.IMPORT) {
-            return insertOverRobotArm(neighbourHandler, (CoverRoboticArm) tileCover, stack, simulate, allowed, ignoreLimit);
+            return insertOverRobotArm(handler.getHandler(world), (CoverRoboticArm) tileCover, stack, simulate, allowed, ignoreLimit);
+        }
+        if (routes == null) {
+            return insert(handler.getHandler(world), stack, simulate, allowed, ignoreLimit);
         }
 
-        return insert(neighbourHandler, stack, simulate, allowed, ignoreLimit);
+        // the amount is always asked from the inventory, as it may have been filled by others since the last insertion
+        ItemStack remainder = insert(handler.getHandler(world), stack, simulate, allowed, ignoreLimit);
+        routes.onInserted(handler, Math.min(allowed, stack.getCount()), stack.getCount() - remainder.getCount(), time);
+        return remainder;
     }
 
     private ItemStack insert(IItemHandler handler, ItemStack stack, boolean simulate, int allowed, boolean ignoreLimit) {
@@ -408,14 +441,14 @@ public class ItemNetHandler implements IItemHandler {
         if (simulate)
             return Math.max(0, Math.min(max - simulatedTransfers, amount));
         else
-            return Math.max(0, Math.min(max - tickingPipe.getTransferredItems(), amount));
+            return Math.max(0, Math.min(max - pipe.getTransferredItems(), amount));
     }
 
     private void transfer(boolean simulate, int amount) {
         if (simulate)
             simulatedTransfers += amount;
         else
-            tickingPipe.transferItems(amount);
+            pipe.transferItems(amount);
     }
 
     @Override
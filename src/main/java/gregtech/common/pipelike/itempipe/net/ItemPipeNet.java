@@ -5,6 +5,7 @@ import gregtech.api.pipenet.PipeNet;
 import gregtech.api.pipenet.WorldPipeNet;
 import gregtech.api.unification.material.properties.ItemPipeProperties;
 import gregtech.api.util.FacingPos;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.tileentity.TileEntity;
@@ -20,6 +21,7 @@ import java.util.function.Predicate;
 public class ItemPipeNet extends PipeNet<ItemPipeProperties> {
 
     private final Map<BlockPos, List<Inventory>> NET_DATA = new HashMap<>();
+    private final ItemRouteTable routeTable = new ItemRouteTable();
 
     public ItemPipeNet(WorldPipeNet<ItemPipeProperties, ? extends PipeNet<ItemPipeProperties>> world) {
         super(world);
@@ -39,21 +41,29 @@ public class ItemPipeNet extends PipeNet<ItemPipeProperties> {
         return data;
     }
 
+    public ItemRouteTable getRouteTable() {
+        return routeTable;
+    }
+
     @Override
     public void onNeighbourUpdate(BlockPos fromPos) {
         NET_DATA.clear();
+        routeTable.clear();
     }
 
     @Override
     public void onPipeConnectionsUpdate() {
         NET_DATA.clear();
+        routeTable.clear();
     }
 
     @Override
-    protected void transferNodeData(Map<BlockPos, Node<ItemPipeProperties>> transferredNodes, PipeNet<ItemPipeProperties> parentNet) {
+    protected void transferNodeData(Long2ObjectMap<Node<ItemPipeProperties>> transferredNodes, PipeNet<ItemPipeProperties> parentNet) {
         super.transferNodeData(transferredNodes, parentNet);
         NET_DATA.clear();
+        routeTable.clear();
         ((ItemPipeNet) parentNet).NET_DATA.clear();
+        ((ItemPipeNet) parentNet).routeTable.clear();
     }
 
     @Override
@@ -0,0 +1,74 @@
+package gregtech.common.pipelike.itempipe.net;
+
+import gregtech.api.util.FacingPos;
+import gregtech.api.util.ItemStackKey;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Remembers how the destinations of an {@link ItemPipeNet} recently took items, for each source pipe, side the item
+ * enters the pipe from and item type, so full or filtering destinations are skipped without accessing their inventory.
+ * The side is part of the key, since the destinations of a pipe exclude the inventory the item comes from.
+ * <p>
+ * Inventories change without notifying the pipe net, so every result is only trusted for {@link #HINT_TICKS}.
+ * The table is cleared together with the net data of the pipe net.
+ */
+public class ItemRouteTable {
+
+    public static final int HINT_TICKS = 20;
+    private static final int CLEANUP_INTERVAL = 200;
+
+    private final Map<FacingPos, Map<ItemStackKey, ItemRoutes>> routesBySource = new HashMap<>();
+    private long nextCleanup;
+
+    /**
+     * @param sourcePipe   the pipe the item is inserted into
+     * @param facing       the side of the source pipe the item is inserted from
+     * @param stack        the inserted item
+     * @param destinations the net data of the source pipe
+     * @param time         the total world time
+     * @return the routes of the item from the source pipe
+     */
+    public ItemRoutes getRoutes(BlockPos sourcePipe, EnumFacing facing, ItemStack stack, List<ItemPipeNet.Inventory> destinations, long time) {
+        if (time >= nextCleanup) {
+            removeUnused(time);
+            this.nextCleanup = time + CLEANUP_INTERVAL;
+        }
+
+        FacingPos source = new FacingPos(sourcePipe, facing);
+        Map<ItemStackKey, ItemRoutes> routesByItem = routesBySource.get(source);
+        if (routesByItem == null) {
+            routesByItem = new HashMap<>();
+            routesBySource.put(source, routesByItem);
+        }
+        ItemRoutes routes = routesByItem.get(new ItemStackKey(stack, false));
+        if (routes == null) {
+            routes = new ItemRoutes(destinations);
+            routesByItem.put(new ItemStackKey(stack), routes);
+        }
+        routes.setLastUsed(time);
+        return routes;
+    }
+
+    public void clear() {
+        routesBySource.clear();
+    }
+
+    private void removeUnused(long time) {
+        Iterator<Map<ItemStackKey, ItemRoutes>> iterator = routesBySource.values().iterator();
+        while (iterator.hasNext()) {
+            Map<ItemStackKey, ItemRoutes> routesByItem = iterator.next();
+            // every result of routes unused for this long has expired
+            routesByItem.values().removeIf(routes -> routes.getLastUsed() + HINT_TICKS <= time);
+            if (routesByItem.isEmpty()) {
+                iterator.remove();
+            }
+        }
+    }
+}
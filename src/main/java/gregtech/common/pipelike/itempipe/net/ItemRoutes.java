@@ -0,0 +1,65 @@
+package gregtech.common.pipelike.itempipe.net;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+
+import java.util.List;
+
+/**
+ * The recent insertion results of one item type into the destinations of a source pipe.
+ * <p>
+ * A destination which was full or did not accept the item is skipped for {@link ItemRouteTable#HINT_TICKS}.
+ * Accepted amounts are not remembered, as inventories are filled by others without notifying the pipe net, so every
+ * destination which is not skipped is asked for the amount it takes.
+ */
+public class ItemRoutes {
+
+    private final Reference2IntOpenHashMap<ItemPipeNet.Inventory> indices = new Reference2IntOpenHashMap<>();
+    private final long[] rejectedUntil;
+    private long lastUsed;
+
+    public ItemRoutes(List<ItemPipeNet.Inventory> destinations) {
+        this.indices.defaultReturnValue(-1);
+        for (int i = 0; i < destinations.size(); i++) {
+            this.indices.put(destinations.get(i), i);
+        }
+        this.rejectedUntil = new long[destinations.size()];
+    }
+
+    public long getLastUsed() {
+        return lastUsed;
+    }
+
+    public void setLastUsed(long lastUsed) {
+        this.lastUsed = lastUsed;
+    }
+
+    /**
+     * @return true if the destination recently did not accept the item
+     */
+    public boolean isRejected(ItemPipeNet.Inventory destination, long time) {
+        int index = indices.getInt(destination);
+        return index >= 0 && rejectedUntil[index] > time;
+    }
+
+    /**
+     * Skips the destination for a while, as it does not accept the item
+     */
+    public void reject(ItemPipeNet.Inventory destination, long time) {
+        int index = indices.getInt(destination);
+        if (index >= 0) {
+            rejectedUntil[index] = time + ItemRouteTable.HINT_TICKS;
+        }
+    }
+
+    /**
+     * Records the result of a real or simulated insertion into the destination
+     *
+     * @param offered  the amount offered to the inventory of the destination
+     * @param accepted the amount the inventory took
+     */
+    public void onInserted(ItemPipeNet.Inventory destination, int offered, int accepted, long time) {
+        if (offered > 0 && accepted == 0) {
+            reject(destination, time);
+        }
+    }
+}
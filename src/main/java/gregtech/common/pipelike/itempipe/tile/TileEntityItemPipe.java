@@ -28,6 +28,9 @@ public class TileEntityItemPipe extends TileEntityMaterialPipeBase<ItemPipeType,
     // the ItemNetHandler can only be created on the server so we have a empty placeholder for the client
     private final IItemHandler clientCapability = new ItemStackHandler(0);
     private WeakReference<ItemPipeNet> currentPipeNet = new WeakReference<>(null);
+    private int transferredItems = 0;
+    // the 20 tick period the transferred items were counted in, so they reset without ticking
+    private long transferPeriod = 0;
 
     @Override
     public Class<ItemPipeType> getPipeTypeClass() {
@@ -93,6 +96,24 @@ public class TileEntityItemPipe extends TileEntityMaterialPipeBase<ItemPipeType,
         return currentPipeNet;
     }
 
+    public void transferItems(int amount) {
+        updateTransferPeriod();
+        transferredItems += amount;
+    }
+
+    public int getTransferredItems() {
+        updateTransferPeriod();
+        return transferredItems;
+    }
+
+    private void updateTransferPeriod() {
+        long period = world.getTotalWorldTime() / 20;
+        if (period != transferPeriod) {
+            this.transferPeriod = period;
+            this.transferredItems = 0;
+        }
+    }
+
     public void resetTransferred() {
         transferred.clear();
     }
@@ -104,15 +125,20 @@ public class TileEntityItemPipe extends TileEntityMaterialPipeBase<ItemPipeType,
     @Override
     public void transferDataFrom(IPipeTile<ItemPipeType, ItemPipeProperties> tileEntity) {
         super.transferDataFrom(tileEntity);
+        TileEntityItemPipe itemPipe = (TileEntityItemPipe) tileEntity;
+        this.transferredItems = itemPipe.transferredItems;
+        this.transferPeriod = itemPipe.transferPeriod;
+        this.transferred.putAll(itemPipe.transferred);
         if (getItemPipeNet() == null)
             return;
-        TileEntityItemPipe itemPipe = (TileEntityItemPipe) tileEntity;
         if (!itemPipe.handlers.isEmpty() && itemPipe.defaultHandler != null) {
             // take handlers from old pipe
             handlers.clear();
             for (Map.Entry<EnumFacing, ItemNetHandler> entry : itemPipe.handlers.entrySet()) {
+                entry.getValue().updatePipe(this);
                 handlers.put(entry.getKey(), entry.getValue());
             }
+            itemPipe.defaultHandler.updatePipe(this);
             defaultHandler = itemPipe.defaultHandler;
             checkNetwork();
         } else {
@@ -0,0 +1,71 @@
+package gregtech.common.terminal.app.prospector;
+
+import gregtech.api.worldgen.bedrockFluids.BedrockFluidVeinHandler;
+import gregtech.api.worldgen.bedrockOres.BedrockOreVeinHandler;
+import gregtech.common.terminal.app.prospector.widget.WidgetProspectingMap;
+import net.minecraft.world.World;
+
+/**
+ * Resolves the bedrock veins of a prospected area in one batch.
+ * <p>
+ * Every vein covers several chunks, so an area is resolved per vein instead of per chunk. The veins are read through
+ * the region caches of the vein storages, which are shared by everyone prospecting the same area.
+ */
+public class ProspectingService {
+
+    /**
+     * @return the size of the veins of the mode in chunks
+     */
+    public static int getVeinChunkSize(int mode) {
+        return mode == WidgetProspectingMap.FLUID_PROSPECTING_MODE ? BedrockFluidVeinHandler.VEIN_CHUNK_SIZE : BedrockOreVeinHandler.VEIN_CHUNK_SIZE;
+    }
+
+    /**
+     * @return the vein coordinate of the chunk coordinate, the same as used by the vein handlers
+     */
+    public static int getVeinCoordinate(int mode, int chunkCoordinate) {
+        return chunkCoordinate / getVeinChunkSize(mode);
+    }
+
+    /**
+     * @return the operations of a full vein of the mode
+     */
+    public static int getMaxOperations(int mode) {
+        return mode == WidgetProspectingMap.FLUID_PROSPECTING_MODE ? BedrockFluidVeinHandler.MAXIMUM_VEIN_OPERATIONS : BedrockOreVeinHandler.getOperationsPerLayer(1).second();
+    }
+
+    /**
+     * Resolves the veins from {@code minVeinX, minVeinZ} on, in x major order.
+     * For every vein, the name of its deposit or null, the remaining operations and the amount shown by the
+     * prospector are stored at its index of the arrays.
+     */
+    public static void resolveVeins(World world, int mode, int minVeinX, int minVeinZ, int countX, int countZ,
+                                    String[] names, int[] operations, int[] amounts) {
+        int veinSize = getVeinChunkSize(mode);
+        for (int x = 0; x < countX; x++) {
+            for (int z = 0; z < countZ; z++) {
+                int index = x * countZ + z;
+                int chunkX = (minVeinX + x) * veinSize;
+                int chunkZ = (minVeinZ + z) * veinSize;
+                names[index] = null;
+                operations[index] = 0;
+                amounts[index] = 0;
+                if (mode == WidgetProspectingMap.FLUID_PROSPECTING_MODE) {
+                    BedrockFluidVeinHandler.FluidVeinWorldEntry entry = BedrockFluidVeinHandler.getFluidVeinWorldEntry(world, chunkX, chunkZ);
+                    if (entry != null && entry.getDefinition() != null) {
+                        names[index] = entry.getDefinition().getStoredFluid().getName();
+                        operations[index] = entry.getOperationsRemaining();
+                        amounts[index] = entry.getFluidYield();
+                    }
+                } else {
+                    BedrockOreVeinHandler.OreVeinWorldEntry entry = BedrockOreVeinHandler.getOreVeinWorldEntry(world, chunkX, chunkZ, 1);
+                    if (entry != null && entry.getDefinition() != null) {
+                        names[index] = entry.getDefinition().getDepositName();
+                        operations[index] = entry.getOperationsRemaining();
+                        amounts[index] = entry.getOperationsRemaining();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -61,7 +61,7 @@ public class ProspectorApp extends AbstractApplication implements SearchComponen
             this.widgetOreList = new WidgetOreList(32 * chunkRadius - 16, offset, 333 - 32 * chunkRadius + 16, 232 - 2 * offset);
             this.addWidget(this.widgetOreList);
         }
-        this.widgetProspectingMap = new WidgetProspectingMap(0, offset + (7 - chunkRadius) * 16, chunkRadius, this.widgetOreList, mode, 1);
+        this.widgetProspectingMap = new WidgetProspectingMap(0, offset + (7 - chunkRadius) * 16, chunkRadius, this.widgetOreList, mode);
         if (isClient) {
             persist = Tables.newCustomTable(Maps.newHashMap(), Maps::newHashMap);
             widgetProspectingMap.setOnPacketReceived(packet -> persist.put(packet.chunkX, packet.chunkZ, packet));
@@ -7,10 +7,12 @@ import gregtech.api.unification.OreDictUnifier;
 import gregtech.api.util.GTUtility;
 import gregtech.api.util.Position;
 import gregtech.api.util.Size;
-import gregtech.api.worldgen.bedrockFluids.BedrockFluidVeinHandler;
 import gregtech.api.worldgen.bedrockOres.BedrockOreVeinHandler;
 import gregtech.api.worldgen.config.BedrockOreDepositDefinition;
+import gregtech.common.terminal.app.prospector.ProspectingService;
 import gregtech.common.terminal.app.prospector.ProspectingTexture;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
 import net.minecraft.block.Block;
 import net.minecraft.client.gui.Gui;
 import net.minecraft.client.renderer.GlStateManager;
@@ -19,17 +21,16 @@ import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.text.TextComponentString;
-import net.minecraft.world.World;
-import net.minecraft.world.chunk.Chunk;
 import net.minecraftforge.fluids.FluidRegistry;
-import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.function.Consumer;
@@ -38,9 +39,20 @@ public class WidgetProspectingMap extends Widget {
     private final int chunkRadius;
     private final WidgetOreList oreList;
     private final int mode;
-    private final int scanTick;
     private boolean darkMode = false;
-    private int chunkIndex = 0;
+    private int ticksUntilScan = 0;
+    // the area of the scan, and the veins last sent by the server or received by the client
+    private int posX;
+    private int posZ;
+    private int minVeinX;
+    private int minVeinZ;
+    private int veinCountX;
+    private int veinCountZ;
+    private String[] veinNames;
+    private int[] veinOperations;
+    private int[] veinAmounts;
+    // the vein names sent so far, referenced by their index
+    private final List<String> palette = new ArrayList<>();
     @SideOnly(Side.CLIENT)
     private ProspectingTexture texture;
     @SideOnly(Side.CLIENT)
@@ -49,12 +61,13 @@ public class WidgetProspectingMap extends Widget {
 
     public static final int ORE_PROSPECTING_MODE = 0;
     public static final int FLUID_PROSPECTING_MODE = 1;
+    // veins only change by being mined, so they are rescanned every few seconds
+    private static final int RESCAN_INTERVAL = 100;
 
-    public WidgetProspectingMap(int xPosition, int yPosition, int chunkRadius, WidgetOreList widgetOreList, int mode, int scanTick) {
+    public WidgetProspectingMap(int xPosition, int yPosition, int chunkRadius, WidgetOreList widgetOreList, int mode) {
         super(new Position(xPosition, yPosition), new Size(16 * (chunkRadius * 2 - 1), 16 * (chunkRadius * 2 - 1)));
         this.chunkRadius = chunkRadius;
         this.mode = mode;
-        this.scanTick = scanTick;
         oreList = widgetOreList;
         if (oreList != null) {
             oreList.onSelected = name->{
@@ -88,49 +101,75 @@ public class WidgetProspectingMap extends Widget {
 
     @Override
     public void detectAndSendChanges() {
-        EntityPlayer player = gui.entityPlayer;
-        World world = player.world;
-        if (FMLCommonHandler.instance().getMinecraftServerInstance().getTickCounter() % scanTick == 0 && chunkIndex < (chunkRadius * 2 - 1) * (chunkRadius * 2 - 1)) {
-            int cX = ((int) player.posX) >> 4;
-            int cZ = ((int) player.posZ) >> 4;
-            int r = (int) Math.floor(Math.sqrt(chunkIndex));
-            r = r / 2 + ((r % 2 == 0) ? 0 : 1);
-            int side = r == 0 ? 0 : (chunkIndex -  (2 * r - 1) * (2 * r - 1)) / (2 * r);
-            int offset = r == 0 ? -1 : (chunkIndex -  (2 * r - 1) * (2 * r - 1)) % (2 * r);
-
-            int ox = side == 0 ? -r : side == 1 ? (offset - r + 1) : side == 2 ? r : -(offset - r + 1);
-            int oz = side == 3 ? r : side == 0 ? -(offset - r + 1) : side == 1 ? -r : (offset - r + 1);
-
-            Chunk chunk = world.getChunk(cX + ox, cZ + oz);
-            PacketProspecting packet = new PacketProspecting(cX + ox, cZ + oz, (int) player.posX, (int) player.posZ, this.mode);
-
-            switch (mode) {
-                case ORE_PROSPECTING_MODE:
-                    BedrockOreVeinHandler.OreVeinWorldEntry oreStack = BedrockOreVeinHandler.getOreVeinWorldEntry(world, chunk.x, chunk.z, 1);
-                    if (oreStack != null && oreStack.getDefinition() != null) {
-                        packet.addInfo(3, GTUtility.formatNumbers(100.0 * oreStack.getOperationsRemaining() / BedrockOreVeinHandler.getOperationsPerLayer(1).second()));
-                        packet.addInfo(2, "" + oreStack.getOperationsRemaining());
-                        packet.addInfo(1, oreStack.getDefinition().getDepositName());
-                    }
-                    break;
-                case FLUID_PROSPECTING_MODE:
-                    BedrockFluidVeinHandler.FluidVeinWorldEntry fStack = BedrockFluidVeinHandler.getFluidVeinWorldEntry(world, chunk.x, chunk.z);
-                    if (fStack != null && fStack.getDefinition() != null) {
-                        packet.addInfo(3, GTUtility.formatNumbers(100.0 * BedrockFluidVeinHandler.getOperationsRemaining(world, chunk.x, chunk.z)
-                                / BedrockFluidVeinHandler.MAXIMUM_VEIN_OPERATIONS));
-                        packet.addInfo(2, "" + BedrockFluidVeinHandler.getFluidYield(world, chunk.x, chunk.z));
-                        packet.addInfo(1, BedrockFluidVeinHandler.getFluidInChunk(world, chunk.x, chunk.z).getName());
-                    }
-                    break;
-                default:
-                    break;
+        if (ticksUntilScan-- > 0) {
+            return;
+        }
+        ticksUntilScan = RESCAN_INTERVAL;
+        if (veinNames == null) {
+            // the area is fixed to where the player opened the map
+            EntityPlayer player = gui.entityPlayer;
+            posX = (int) player.posX;
+            posZ = (int) player.posZ;
+            minVeinX = ProspectingService.getVeinCoordinate(mode, (posX >> 4) - chunkRadius + 1);
+            minVeinZ = ProspectingService.getVeinCoordinate(mode, (posZ >> 4) - chunkRadius + 1);
+            veinCountX = ProspectingService.getVeinCoordinate(mode, (posX >> 4) + chunkRadius - 1) - minVeinX + 1;
+            veinCountZ = ProspectingService.getVeinCoordinate(mode, (posZ >> 4) + chunkRadius - 1) - minVeinZ + 1;
+            allocateVeins();
+            // no vein can have negative operations, so every vein is sent with the first scan
+            Arrays.fill(veinOperations, -1);
+        }
+        String[] names = new String[veinNames.length];
+        int[] operations = new int[veinNames.length];
+        int[] amounts = new int[veinNames.length];
+        ProspectingService.resolveVeins(gui.entityPlayer.world, mode, minVeinX, minVeinZ, veinCountX, veinCountZ, names, operations, amounts);
+
+        // only send the veins which changed since the last scan
+        IntList changed = new IntArrayList();
+        int paletteSize = palette.size();
+        for (int i = 0; i < names.length; i++) {
+            if (veinOperations[i] != operations[i] || veinAmounts[i] != amounts[i] || !Objects.equals(veinNames[i], names[i])) {
+                changed.add(i);
+                if (names[i] != null && !palette.contains(names[i])) {
+                    palette.add(names[i]);
+                }
             }
-            writeUpdateInfo(2, packet::writePacketData);
-//            if (oreList != null) {
-//                oreList.addOres(packet.ores, packet.mode);
-//            }
-            chunkIndex++;
         }
+        if (changed.isEmpty()) {
+            return;
+        }
+        this.veinNames = names;
+        this.veinOperations = operations;
+        this.veinAmounts = amounts;
+        int maxOperations = ProspectingService.getMaxOperations(mode);
+        writeUpdateInfo(2, buffer -> {
+            buffer.writeInt(posX);
+            buffer.writeInt(posZ);
+            buffer.writeInt(minVeinX);
+            buffer.writeInt(minVeinZ);
+            buffer.writeVarInt(veinCountX);
+            buffer.writeVarInt(veinCountZ);
+            buffer.writeVarInt(maxOperations);
+            buffer.writeVarInt(palette.size() - paletteSize);
+            for (String name : palette.subList(paletteSize, palette.size())) {
+                buffer.writeString(name);
+            }
+            buffer.writeVarInt(changed.size());
+            int previous = 0;
+            for (int i = 0; i < changed.size(); i++) {
+                int index = changed.getInt(i);
+                buffer.writeVarInt(index - previous);
+                buffer.writeVarInt(names[index] == null ? 0 : palette.indexOf(names[index]) + 1);
+                buffer.writeVarInt(operations[index]);
+                buffer.writeVarInt(amounts[index]);
+                previous = index;
+            }
+        });
+    }
+
+    private void allocateVeins() {
+        this.veinNames = new String[veinCountX * veinCountZ];
+        this.veinOperations = new int[veinNames.length];
+        this.veinAmounts = new int[veinNames.length];
     }
 
     @SideOnly(Side.CLIENT)
@@ -148,8 +187,54 @@ public class WidgetProspectingMap extends Widget {
     public void readUpdateInfo(int id, PacketBuffer buffer) {
         super.readUpdateInfo(id, buffer);
         if (id == 2) {
-            PacketProspecting packet = PacketProspecting.readPacketData(buffer);
-            if (packet != null) {
+            readVeins(buffer);
+        }
+    }
+
+    @SideOnly(Side.CLIENT)
+    private void readVeins(PacketBuffer buffer) {
+        posX = buffer.readInt();
+        posZ = buffer.readInt();
+        minVeinX = buffer.readInt();
+        minVeinZ = buffer.readInt();
+        veinCountX = buffer.readVarInt();
+        veinCountZ = buffer.readVarInt();
+        int maxOperations = buffer.readVarInt();
+        if (veinNames == null) {
+            allocateVeins();
+        }
+        int newNames = buffer.readVarInt();
+        for (int i = 0; i < newNames; i++) {
+            palette.add(buffer.readString(1000));
+        }
+        boolean[] changed = new boolean[veinNames.length];
+        int changedCount = buffer.readVarInt();
+        int index = 0;
+        for (int i = 0; i < changedCount; i++) {
+            index += buffer.readVarInt();
+            int name = buffer.readVarInt();
+            veinNames[index] = name == 0 ? null : palette.get(name - 1);
+            veinOperations[index] = buffer.readVarInt();
+            veinAmounts[index] = buffer.readVarInt();
+            changed[index] = true;
+        }
+
+        // the texture, ore list and saved scans still work per chunk
+        int cX = posX >> 4;
+        int cZ = posZ >> 4;
+        for (int chunkX = cX - chunkRadius + 1; chunkX < cX + chunkRadius; chunkX++) {
+            for (int chunkZ = cZ - chunkRadius + 1; chunkZ < cZ + chunkRadius; chunkZ++) {
+                int vein = (ProspectingService.getVeinCoordinate(mode, chunkX) - minVeinX) * veinCountZ +
+                        ProspectingService.getVeinCoordinate(mode, chunkZ) - minVeinZ;
+                if (!changed[vein]) {
+                    continue;
+                }
+                PacketProspecting packet = new PacketProspecting(chunkX, chunkZ, posX, posZ, mode);
+                if (veinNames[vein] != null) {
+                    packet.addInfo(3, GTUtility.formatNumbers(100.0 * veinOperations[vein] / maxOperations));
+                    packet.addInfo(2, "" + veinAmounts[vein]);
+                    packet.addInfo(1, veinNames[vein]);
+                }
                 if (onPacketReceived != null) {
                     onPacketReceived.accept(packet);
                 }
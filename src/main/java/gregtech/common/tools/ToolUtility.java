@@ -7,6 +7,7 @@ import gregtech.api.unification.material.properties.PropertyKey;
 import gregtech.api.unification.ore.OrePrefix;
 import gregtech.api.unification.stack.MaterialStack;
 import gregtech.api.util.GTUtility;
+import gregtech.api.util.TaskPriority;
 import gregtech.api.util.TaskScheduler;
 import gregtech.common.blocks.BlockOre;
 import net.minecraft.block.Block;
@@ -46,7 +47,7 @@ public class ToolUtility {
             if (!world.isRemote) {
                 EntityPlayerMP playerMP = (EntityPlayerMP) player;
                 TreeChopTask treeChopTask = new TreeChopTask(blockPos, world, playerMP, itemStack);
-                TaskScheduler.scheduleTask(world, treeChopTask);
+                TaskScheduler.scheduleTask(world, treeChopTask, TaskPriority.LOW);
             }
             return true;
         }
@@ -9,11 +9,14 @@ import gregtech.api.recipes.Recipe;
 import gregtech.api.recipes.RecipeMap;
 import gregtech.api.recipes.builders.SimpleRecipeBuilder;
 import gregtech.api.util.world.DummyWorld;
+import gregtech.common.ConfigHolder;
 import gregtech.common.metatileentities.MetaTileEntities;
 import net.minecraft.init.Blocks;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.world.World;
+import net.minecraftforge.fluids.FluidRegistry;
+import net.minecraftforge.fluids.FluidStack;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
@@ -135,4 +138,126 @@ public class AbstractRecipeLogicTest {
         assertTrue(AbstractRecipeLogic.areItemStacksEqual(arl.getOutputInventory().getStackInSlot(0),
                 new ItemStack(Blocks.STONE, 1)));
     }
+
+    @Test
+    public void batchedRecipeProgressMatchesTickByTick() {
+        RecipeMap<SimpleRecipeBuilder> map = new RecipeMap<>("batched_progress_test",
+                0,
+                2,
+                0,
+                2,
+                0,
+                3,
+                0,
+                2,
+                new SimpleRecipeBuilder().EUt(30),
+                false);
+        map.recipeBuilder()
+                .inputs(new ItemStack(Blocks.COBBLESTONE))
+                .outputs(new ItemStack(Blocks.STONE))
+                .timedOutput(Blocks.GRAVEL, 40)
+                .timedFluidOutput(new FluidStack(FluidRegistry.WATER, 100), 75)
+                .EUt(8).duration(100)
+                .buildAndRegister();
+
+        MetaTileEntity machine = MetaTileEntities.registerMetaTileEntity(191,
+                new SimpleMachineMetaTileEntity(
+                        new ResourceLocation(GTValues.MODID, "batched_progress_test.lv"),
+                        map,
+                        null,
+                        1, false));
+
+        boolean batchRecipeProgress = ConfigHolder.machines.batchRecipeProgress;
+        try {
+            ConfigHolder.machines.batchRecipeProgress = false;
+            TestRecipeLogic tickByTick = new TestRecipeLogic(machine, map);
+            ConfigHolder.machines.batchRecipeProgress = true;
+            TestRecipeLogic batched = new TestRecipeLogic(machine, map);
+
+            // the machine is powered with exactly the EU/t of the recipe, on top of a buffer
+            for (int tick = 0; tick < 400; tick++) {
+                ConfigHolder.machines.batchRecipeProgress = false;
+                tickByTick.update();
+                tickByTick.energy += 8;
+                ConfigHolder.machines.batchRecipeProgress = true;
+                batched.update();
+                batched.energy += 8;
+
+                // progress is still reported every tick
+                assertEquals(tickByTick.getProgress(), batched.getProgress());
+                for (int i = 0; i < 2; i++) {
+                    assertTrue(AbstractRecipeLogic.areItemStacksEqual(tickByTick.getOutputInventory().getStackInSlot(i),
+                            batched.getOutputInventory().getStackInSlot(i)));
+                    assertEquals(tickByTick.getOutputInventory().getStackInSlot(i).getCount(),
+                            batched.getOutputInventory().getStackInSlot(i).getCount());
+                }
+                for (int i = 0; i < 2; i++) {
+                    FluidStack expected = tickByTick.getOutputTank().getTankAt(i).getFluid();
+                    FluidStack actual = batched.getOutputTank().getTankAt(i).getFluid();
+                    assertTrue(expected == null ? actual == null : expected.isFluidStackIdentical(actual));
+                }
+            }
+
+            // three recipes, each with its timed outputs
+            assertEquals(3, batched.getOutputInventory().getStackInSlot(0).getCount());
+            assertEquals(3, batched.getOutputInventory().getStackInSlot(1).getCount());
+            assertEquals(300, batched.getOutputTank().getTankAt(0).getFluidAmount());
+            assertEquals(0, batched.getInputInventory().getStackInSlot(0).getCount());
+            // the same amount of energy was drawn, and the buffer allowed fewer energy draws
+            assertEquals(tickByTick.energy, batched.energy);
+            assertTrue(batched.energyDraws < tickByTick.energyDraws);
+        } finally {
+            ConfigHolder.machines.batchRecipeProgress = batchRecipeProgress;
+        }
+    }
+
+    private static class TestRecipeLogic extends AbstractRecipeLogic {
+
+        private long energy = 2000;
+        private int energyDraws;
+
+        public TestRecipeLogic(MetaTileEntity machine, RecipeMap<?> map) {
+            super(new MetaTileEntityHolder().setMetaTileEntity(machine), map);
+            ((MetaTileEntityHolder) getMetaTileEntity().getHolder()).setWorld(DummyWorld.INSTANCE);
+            getInputInventory().insertItem(0, new ItemStack(Blocks.COBBLESTONE, 3), false);
+        }
+
+        @Override
+        protected long getEnergyInputPerSecond() {
+            return 160;
+        }
+
+        @Override
+        protected long getEnergyStored() {
+            return energy;
+        }
+
+        @Override
+        protected long getEnergyCapacity() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        protected boolean drawEnergy(int recipeEUt, boolean simulate) {
+            if (energy < recipeEUt) return false;
+            if (!simulate) {
+                this.energy -= recipeEUt;
+                this.energyDraws++;
+            }
+            return true;
+        }
+
+        @Override
+        protected boolean drawEnergyForTicks(int recipeEUt, int ticks) {
+            if (energy < (long) recipeEUt * ticks) return false;
+            this.energy -= (long) recipeEUt * ticks;
+            this.energyDraws++;
+            return true;
+        }
+
+        @Override
+        protected long getMaxVoltage() {
+            return 32;
+        }
+    }
 }
@@ -0,0 +1,64 @@
+package gregtech.api.gui.widgets;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.util.text.*;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class AdvancedTextWidgetTest {
+
+    @Test
+    public void translation_keeps_key_style_and_arguments() {
+        ITextComponent line = new TextComponentTranslation("gregtech.multiblock.progress", 45)
+                .setStyle(new Style().setColor(TextFormatting.RED).setBold(true));
+
+        ITextComponent read = roundTrip(line);
+
+        assertTrue(read instanceof TextComponentTranslation);
+        TextComponentTranslation translation = (TextComponentTranslation) read;
+        assertEquals("gregtech.multiblock.progress", translation.getKey());
+        // arguments are sent as strings, as translations only format them as strings
+        assertArrayEquals(new Object[]{"45"}, translation.getFormatArgs());
+        assertEquals(line.getStyle(), read.getStyle());
+    }
+
+    @Test
+    public void plain_text_keeps_style() {
+        ITextComponent line = new TextComponentString("Energy")
+                .setStyle(new Style().setColor(TextFormatting.GREEN).setItalic(true).setUnderlined(true));
+
+        assertEquals(line, roundTrip(line));
+    }
+
+    @Test
+    public void plain_text_without_color_keeps_default_color() {
+        ITextComponent line = new TextComponentString("Idle");
+
+        assertNull(roundTrip(line).getStyle().getColor());
+    }
+
+    @Test
+    public void lines_with_events_or_siblings_are_sent_as_json() {
+        ITextComponent hover = AdvancedTextWidget.withHoverTextTranslate(
+                new TextComponentTranslation("gregtech.multiblock.universal.distinct"), "gregtech.multiblock.universal.distinct.info");
+        ITextComponent button = new TextComponentTranslation("gregtech.multiblock.universal.distinct")
+                .appendText(" ")
+                .appendSibling(AdvancedTextWidget.withButton(new TextComponentString("[+]"), "add"));
+        ITextComponent translatedArgument = new TextComponentTranslation("gregtech.multiblock.central_monitor.height",
+                new TextComponentString("5").setStyle(new Style().setColor(TextFormatting.AQUA)));
+
+        assertEquals(hover, roundTrip(hover));
+        assertEquals(button, roundTrip(button));
+        assertEquals(translatedArgument, roundTrip(translatedArgument));
+    }
+
+    private static ITextComponent roundTrip(ITextComponent line) {
+        PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
+        AdvancedTextWidget.writeLine(buffer, line);
+        ITextComponent read = AdvancedTextWidget.readLine(buffer);
+        assertEquals(0, buffer.readableBytes());
+        return read;
+    }
+}
@@ -0,0 +1,181 @@
+package gregtech.api.metatileentity.multiblock;
+
+import gregtech.Bootstrap;
+import gregtech.api.GTValues;
+import gregtech.api.gui.ModularUI;
+import gregtech.api.metatileentity.MetaTileEntity;
+import gregtech.api.metatileentity.interfaces.IGregTechTileEntity;
+import gregtech.api.pattern.BlockPattern;
+import gregtech.api.util.world.DummyWorld;
+import gregtech.client.renderer.ICubeRenderer;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class MultiblockStructureIndexTest {
+
+    private final MultiblockStructureIndex index = new MultiblockStructureIndex();
+    private final Set<MultiblockControllerBase> dirtyControllers = new ReferenceOpenHashSet<>();
+
+    @BeforeClass
+    public static void bootstrap() {
+        Bootstrap.perform();
+    }
+
+    @Test
+    public void changed_block_marks_the_controllers_covering_it() {
+        MultiblockControllerBase first = createController();
+        MultiblockControllerBase second = createController();
+        index.update(first, positions(pos(0), pos(1)));
+        index.update(second, positions(pos(1), pos(2)));
+
+        assertMarked(pos(1), first, second);
+        assertMarked(pos(0), first);
+        assertMarked(pos(2), second);
+        assertMarked(pos(3));
+    }
+
+    @Test
+    public void controller_changing_a_block_is_not_marked_by_it() {
+        MultiblockControllerBase first = createController();
+        MultiblockControllerBase second = createController();
+        index.update(first, positions(pos(0), pos(1)));
+        index.update(second, positions(pos(1)));
+
+        index.markDirty(pos(1), first);
+        assertEquals(Collections.singleton(second), dirtyControllers);
+    }
+
+    @Test
+    public void updated_positions_replace_the_former_ones() {
+        MultiblockControllerBase controller = createController();
+        index.update(controller, positions(pos(0), pos(1)));
+        index.update(controller, positions(pos(1), pos(2)));
+
+        assertMarked(pos(0));
+        assertMarked(pos(1), controller);
+        assertMarked(pos(2), controller);
+    }
+
+    @Test
+    public void removed_controller_is_not_marked() {
+        MultiblockControllerBase first = createController();
+        MultiblockControllerBase second = createController();
+        index.update(first, positions(pos(0), pos(1)));
+        index.update(second, positions(pos(1)));
+        index.remove(first);
+
+        assertMarked(pos(0));
+        assertMarked(pos(1), second);
+        index.markChunkDirty(0, 0);
+        assertEquals(Collections.singleton(second), dirtyControllers);
+
+        // removing it again does nothing
+        index.remove(first);
+        assertMarked(pos(1), second);
+    }
+
+    @Test
+    public void loaded_chunk_marks_the_controllers_covering_it() {
+        MultiblockControllerBase first = createController();
+        MultiblockControllerBase second = createController();
+        // the second structure reaches into the next chunk
+        index.update(first, positions(pos(0)));
+        index.update(second, positions(pos(15), pos(16)));
+
+        index.markChunkDirty(0, 0);
+        assertEquals(set(first, second), dirtyControllers);
+        dirtyControllers.clear();
+        index.markChunkDirty(1, 0);
+        assertEquals(Collections.singleton(second), dirtyControllers);
+        dirtyControllers.clear();
+        index.markChunkDirty(0, 1);
+        assertTrue(dirtyControllers.isEmpty());
+    }
+
+    @Test
+    public void listener_only_forwards_changed_states() {
+        MultiblockControllerBase controller = createController();
+        index.update(controller, positions(pos(0)));
+        MultiblockStructureListener listener = new MultiblockStructureListener(index);
+
+        // tile entities send block updates to sync themselves
+        listener.notifyBlockUpdate(DummyWorld.INSTANCE, pos(0), Blocks.STONE.getDefaultState(), Blocks.STONE.getDefaultState(), 3);
+        assertTrue(dirtyControllers.isEmpty());
+
+        listener.notifyBlockUpdate(DummyWorld.INSTANCE, pos(0), Blocks.STONE.getDefaultState(), Blocks.AIR.getDefaultState(), 3);
+        assertEquals(Collections.singleton(controller), dirtyControllers);
+    }
+
+    private void assertMarked(BlockPos pos, MultiblockControllerBase... controllers) {
+        dirtyControllers.clear();
+        index.markDirty(pos, null);
+        assertEquals("controllers marked by " + pos, set(controllers), dirtyControllers);
+        dirtyControllers.clear();
+    }
+
+    private static Set<MultiblockControllerBase> set(MultiblockControllerBase... controllers) {
+        return new ReferenceOpenHashSet<>(Arrays.asList(controllers));
+    }
+
+    private static LongSet positions(BlockPos... positions) {
+        LongSet packedPositions = new LongOpenHashSet();
+        for (BlockPos pos : positions) {
+            packedPositions.add(pos.toLong());
+        }
+        return packedPositions;
+    }
+
+    private static BlockPos pos(int x) {
+        return new BlockPos(x, 64, 0);
+    }
+
+    /**
+     * @return a controller which only records that it was marked
+     */
+    private MultiblockControllerBase createController() {
+        return new MultiblockControllerBase(new ResourceLocation(GTValues.MODID, "test_controller")) {
+
+            @Override
+            public void markStructureDirty() {
+                dirtyControllers.add(this);
+            }
+
+            @Override
+            protected void updateFormedValid() {
+            }
+
+            @Override
+            protected BlockPattern createStructurePattern() {
+                return null;
+            }
+
+            @Override
+            public ICubeRenderer getBaseTexture(IMultiblockPart sourcePart) {
+                return null;
+            }
+
+            @Override
+            public MetaTileEntity createMetaTileEntity(IGregTechTileEntity tileEntity) {
+                return null;
+            }
+
+            @Override
+            protected ModularUI createUI(EntityPlayer entityPlayer) {
+                return null;
+            }
+        };
+    }
+}
@@ -0,0 +1,145 @@
+package gregtech.api.net.packets;
+
+import gregtech.api.util.GTLog;
+import gregtech.common.ConfigHolder;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.PacketBuffer;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SPacketUIWidgetUpdateBatchTest {
+
+    private static final int WINDOW_ID = 3;
+    private static final int TICKS_PER_SECOND = 20;
+
+    private final int defaultThreshold = ConfigHolder.misc.uiUpdateCompressionThreshold;
+
+    @After
+    public void restoreThreshold() {
+        ConfigHolder.misc.uiUpdateCompressionThreshold = defaultThreshold;
+    }
+
+    @Test
+    public void batch_keeps_updates_in_order() {
+        List<SPacketUIWidgetUpdate> updates = referenceTick(7);
+        SPacketUIWidgetUpdateBatch decoded = roundTrip(new SPacketUIWidgetUpdateBatch(WINDOW_ID, updates));
+
+        assertEquals(WINDOW_ID, decoded.windowId);
+        assertUpdatesEqual(updates, decoded.updates);
+    }
+
+    @Test
+    public void compressed_batch_keeps_updates_in_order() {
+        ConfigHolder.misc.uiUpdateCompressionThreshold = 1;
+        List<SPacketUIWidgetUpdate> updates = referenceTick(7);
+        SPacketUIWidgetUpdateBatch decoded = roundTrip(new SPacketUIWidgetUpdateBatch(WINDOW_ID, updates));
+
+        assertUpdatesEqual(updates, decoded.updates);
+    }
+
+    @Test
+    public void repeated_payloads_are_read_by_every_update() {
+        List<SPacketUIWidgetUpdate> updates = new ArrayList<>();
+        updates.add(update(1, 0, "same"));
+        updates.add(update(2, 0, "same"));
+        SPacketUIWidgetUpdateBatch decoded = roundTrip(new SPacketUIWidgetUpdateBatch(WINDOW_ID, updates));
+
+        for (SPacketUIWidgetUpdate update : decoded.updates) {
+            assertEquals(0, update.updateData.readVarInt());
+            assertEquals("same", update.updateData.readString(Short.MAX_VALUE));
+        }
+    }
+
+    @Test
+    public void reference_gui_traffic() {
+        long singleBytes = 0;
+        int singlePackets = 0;
+        long batchBytes = 0;
+        int batchPackets = 0;
+        long compressedBytes = 0;
+        for (int tick = 0; tick < TICKS_PER_SECOND; tick++) {
+            List<SPacketUIWidgetUpdate> updates = referenceTick(tick);
+            for (SPacketUIWidgetUpdate update : updates) {
+                singleBytes += encodedSize(update);
+                singlePackets++;
+            }
+            ConfigHolder.misc.uiUpdateCompressionThreshold = 0;
+            batchBytes += encodedSize(new SPacketUIWidgetUpdateBatch(WINDOW_ID, updates));
+            batchPackets++;
+            ConfigHolder.misc.uiUpdateCompressionThreshold = 256;
+            compressedBytes += encodedSize(new SPacketUIWidgetUpdateBatch(WINDOW_ID, updates));
+        }
+        GTLog.logger.info("Reference GUI, one packet per update: {} bytes/s in {} packets/s", singleBytes, singlePackets);
+        GTLog.logger.info("Reference GUI, one frame per tick: {} bytes/s in {} packets/s", batchBytes, batchPackets);
+        GTLog.logger.info("Reference GUI, compressed frames: {} bytes/s in {} packets/s", compressedBytes, batchPackets);
+
+        assertEquals(TICKS_PER_SECOND, batchPackets);
+        assertTrue(batchBytes < singleBytes);
+        assertTrue(compressedBytes < batchBytes);
+    }
+
+    /**
+     * The updates of one tick of a busy GUI, like a central monitor showing several machines: the text lines of each
+     * screen, many of them blank or equal, a progress bar per machine and a few values changing every tick.
+     */
+    private static List<SPacketUIWidgetUpdate> referenceTick(int tick) {
+        List<SPacketUIWidgetUpdate> updates = new ArrayList<>();
+        int widgetId = 0;
+        for (int screen = 0; screen < 8; screen++) {
+            updates.add(update(widgetId++, 1, "{\"translate\":\"gregtech.multiblock.running\"}"));
+            updates.add(update(widgetId++, 1, "{\"text\":\"Energy: " + (screen * 1000 + tick) + " EU\"}"));
+            updates.add(update(widgetId++, 1, ""));
+            updates.add(update(widgetId++, 1, ""));
+            PacketBuffer progress = new PacketBuffer(Unpooled.buffer());
+            progress.writeVarInt(2);
+            progress.writeDouble((tick % 10) / 10.0);
+            updates.add(new SPacketUIWidgetUpdate(WINDOW_ID, widgetId++, progress));
+        }
+        return updates;
+    }
+
+    private static SPacketUIWidgetUpdate update(int widgetId, int updateId, String text) {
+        PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
+        buffer.writeVarInt(updateId);
+        buffer.writeString(text);
+        return new SPacketUIWidgetUpdate(WINDOW_ID, widgetId, buffer);
+    }
+
+    private static int encodedSize(SPacketUIWidgetUpdate packet) {
+        PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
+        // encoding consumes the payload, so a copy is encoded
+        new SPacketUIWidgetUpdate(packet.windowId, packet.widgetId, new PacketBuffer(packet.updateData.copy())).encode(buffer);
+        // plus the packet id
+        return buffer.readableBytes() + 1;
+    }
+
+    private static int encodedSize(SPacketUIWidgetUpdateBatch packet) {
+        PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
+        packet.encode(buffer);
+        return buffer.readableBytes() + 1;
+    }
+
+    private static SPacketUIWidgetUpdateBatch roundTrip(SPacketUIWidgetUpdateBatch packet) {
+        PacketBuffer buffer = new PacketBuffer(Unpooled.buffer());
+        packet.encode(buffer);
+        SPacketUIWidgetUpdateBatch decoded = new SPacketUIWidgetUpdateBatch();
+        decoded.decode(buffer);
+        assertEquals(0, buffer.readableBytes());
+        return decoded;
+    }
+
+    private static void assertUpdatesEqual(List<SPacketUIWidgetUpdate> expected, List<SPacketUIWidgetUpdate> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(WINDOW_ID, actual.get(i).windowId);
+            assertEquals(expected.get(i).widgetId, actual.get(i).widgetId);
+            assertEquals(expected.get(i).updateData, actual.get(i).updateData);
+        }
+    }
+}
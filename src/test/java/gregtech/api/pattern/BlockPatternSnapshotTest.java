@@ -0,0 +1,135 @@
+package gregtech.api.pattern;
+
+import gregtech.Bootstrap;
+import gregtech.api.metatileentity.multiblock.MultiblockControllerBase;
+import gregtech.api.util.BlockInfo;
+import gregtech.api.util.world.DummyWorld;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BlockPatternSnapshotTest {
+
+    private static final BlockPos CENTER = new BlockPos(0, 64, 0);
+
+    @BeforeClass
+    public static void bootstrap() {
+        Bootstrap.perform();
+    }
+
+    @Test
+    public void snapshot_check_matches_world_check() throws Exception {
+        for (int length = 1; length <= 5; length++) {
+            World world = new DummyWorld();
+            buildTube(world, length);
+            assertSameResult(world, "tube of " + length);
+
+            // the hollow is blocked
+            world.setBlockState(CENTER.north(), Blocks.STONE.getDefaultState());
+            assertSameResult(world, "blocked tube of " + length);
+
+            // a casing is missing
+            world.setBlockState(CENTER.north(), Blocks.AIR.getDefaultState());
+            world.setBlockState(CENTER.north().up(), Blocks.AIR.getDefaultState());
+            assertSameResult(world, "open tube of " + length);
+        }
+    }
+
+    @Test
+    public void snapshot_check_forms_the_structure() throws Exception {
+        World world = new DummyWorld();
+        buildTube(world, 3);
+        BlockPattern pattern = createPattern();
+        BlockPatternSnapshot snapshot = pattern.createSnapshot(world, CENTER, EnumFacing.NORTH);
+        PatternMatchContext context = PatternCheckExecutor.submit(() -> pattern.checkPatternAt(world, snapshot, CENTER, EnumFacing.NORTH)).get();
+        assertNotNull(context);
+        assertTrue(pattern.isCacheValid(world));
+
+        world.setBlockState(CENTER.north(), Blocks.STONE.getDefaultState());
+        assertFalse(pattern.isCacheValid(world));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void deprecated_cache_matches_the_cached_positions() {
+        World world = new DummyWorld();
+        buildTube(world, 2);
+        BlockPattern pattern = createPattern();
+        assertNotNull(pattern.checkPatternFastAt(world, CENTER, EnumFacing.NORTH));
+
+        Long2ObjectMap<BlockInfo> cache = pattern.getCache();
+        assertEquals(pattern.getCachedPositions(), cache.keySet());
+        pattern.getCachedPredicates().forEach((pos, predicate) -> {
+            assertSame(predicate, cache.get(pos.toLong()).getInfo());
+            assertSame(world.getBlockState(pos), cache.get(pos.toLong()).getBlockState());
+        });
+    }
+
+    @Test
+    public void custom_predicates_are_not_snapshot_safe() {
+        assertTrue(createPattern().isSnapshotSafe());
+
+        BlockPattern pattern = FactoryBlockPattern.start()
+                .aisle("XXX", "XSX", "XXX")
+                .where('S', MultiblockControllerBase.blocks(Blocks.GOLD_BLOCK).setCenter())
+                .where('X', new TraceabilityPredicate(blockWorldState -> blockWorldState.getTileEntity() == null))
+                .build();
+        assertFalse(pattern.isSnapshotSafe());
+    }
+
+    /**
+     * Checks the world with one pattern and a snapshot of it off the main thread with another
+     */
+    private static void assertSameResult(World world, String structure) throws Exception {
+        BlockPattern worldPattern = createPattern();
+        PatternMatchContext worldContext = worldPattern.checkPatternFastAt(world, CENTER, EnumFacing.NORTH);
+
+        BlockPattern snapshotPattern = createPattern();
+        BlockPatternSnapshot snapshot = snapshotPattern.createSnapshot(world, CENTER, EnumFacing.NORTH);
+        PatternMatchContext snapshotContext = PatternCheckExecutor.submit(() -> snapshotPattern.checkPatternAt(world, snapshot, CENTER, EnumFacing.NORTH)).get();
+
+        assertEquals(structure, worldContext == null, snapshotContext == null);
+        assertEquals(structure, worldPattern.getCachedPositions(), snapshotPattern.getCachedPositions());
+        assertEquals(structure, worldPattern.getError() == null, snapshotPattern.getError() == null);
+        if (worldPattern.getError() != null) {
+            assertEquals(structure, worldPattern.getError().getClass(), snapshotPattern.getError().getClass());
+        }
+    }
+
+    /**
+     * A pattern of a stone tube with a gold block in the middle of its front, the tube is 1 to 4 blocks long
+     */
+    private static BlockPattern createPattern() {
+        return FactoryBlockPattern.start()
+                .aisle("XXX", "XXX", "XXX")
+                .aisle("XXX", "X#X", "XXX").setRepeatable(1, 4)
+                .aisle("XXX", "XSX", "XXX")
+                .where('S', MultiblockControllerBase.blocks(Blocks.GOLD_BLOCK).setCenter())
+                .where('X', MultiblockControllerBase.states(Blocks.STONE.getDefaultState()).setMinGlobalLimited(20))
+                .where('#', MultiblockControllerBase.air())
+                .build();
+    }
+
+    /**
+     * Builds the tube behind the center, which is north of it for a check facing north
+     */
+    private static void buildTube(World world, int length) {
+        for (int z = -length - 1; z <= 0; z++) {
+            for (int x = -1; x <= 1; x++) {
+                for (int y = -1; y <= 1; y++) {
+                    world.setBlockState(CENTER.add(x, y, z), Blocks.STONE.getDefaultState());
+                }
+            }
+            if (z != 0 && z != -length - 1) {
+                world.setBlockState(CENTER.add(0, 0, z), Blocks.AIR.getDefaultState());
+            }
+        }
+        world.setBlockState(CENTER, Blocks.GOLD_BLOCK.getDefaultState());
+    }
+}
@@ -0,0 +1,131 @@
+package gregtech.api.pipenet;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class PipeNetTest {
+
+    private static final Object NODE_DATA = new Object();
+
+    @Test
+    public void getChunkPos_matches_chunk_of_block_pos() {
+        int[] coordinates = {0, 1, 15, 16, 17, -1, -15, -16, -17, 12345, -12345, 29999999, -30000000};
+        for (int x : coordinates) {
+            for (int z : coordinates) {
+                for (int y : new int[]{0, 64, 255}) {
+                    BlockPos pos = new BlockPos(x, y, z);
+                    ChunkPos chunkPos = new ChunkPos(pos);
+                    assertEquals(pos.toString(), ChunkPos.asLong(chunkPos.x, chunkPos.z), PipeNet.getChunkPos(pos.toLong()));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void removing_node_of_grid_keeps_one_net() {
+        TestWorldPipeNet worldNet = new TestWorldPipeNet();
+        for (int x = 0; x < 8; x++) {
+            for (int z = 0; z < 8; z++) {
+                worldNet.addNode(new BlockPos(x, 64, z), NODE_DATA, Node.DEFAULT_MARK, 0b111111, false);
+            }
+        }
+        worldNet.removeNode(new BlockPos(3, 64, 3));
+
+        assertEquals(1, worldNet.getNetCount());
+        assertEquals(63, worldNet.getNetFromPos(new BlockPos(0, 64, 0)).getAllNodes().size());
+    }
+
+    @Test
+    public void removing_node_splits_off_every_separated_part() {
+        // a cross of four arms of different length, across chunk borders
+        TestWorldPipeNet worldNet = new TestWorldPipeNet();
+        BlockPos center = new BlockPos(-1, 64, 15);
+        worldNet.addNode(center, NODE_DATA, Node.DEFAULT_MARK, 0b111111, false);
+        EnumFacing[] arms = {EnumFacing.NORTH, EnumFacing.SOUTH, EnumFacing.WEST, EnumFacing.EAST};
+        for (int arm = 0; arm < arms.length; arm++) {
+            for (int i = 1; i <= 5 + arm * 10; i++) {
+                worldNet.addNode(center.offset(arms[arm], i), NODE_DATA, Node.DEFAULT_MARK, 0b111111, false);
+            }
+        }
+        assertEquals(1, worldNet.getNetCount());
+
+        worldNet.removeNode(center);
+
+        assertEquals(4, worldNet.getNetCount());
+        assertNull(worldNet.getNetFromPos(center));
+        Set<PipeNet<Object>> nets = new HashSet<>();
+        for (int arm = 0; arm < arms.length; arm++) {
+            PipeNet<Object> net = worldNet.getNetFromPos(center.offset(arms[arm], 1));
+            assertNotNull(net);
+            assertEquals(5 + arm * 10, net.getAllNodes().size());
+            assertSame(net, worldNet.getNetFromPos(center.offset(arms[arm], 5 + arm * 10)));
+            nets.add(net);
+        }
+        assertEquals(4, nets.size());
+    }
+
+    @Test
+    public void blocking_connection_splits_only_if_not_connected_otherwise() {
+        // a ring of eight nodes, with a tail of two nodes
+        TestWorldPipeNet worldNet = new TestWorldPipeNet();
+        BlockPos[] ring = new BlockPos[8];
+        int index = 0;
+        for (int x = 0; x < 3; x++) {
+            for (int z = 0; z < 3; z++) {
+                if (x != 1 || z != 1) {
+                    ring[index++] = new BlockPos(x, 64, z);
+                }
+            }
+        }
+        for (BlockPos pos : ring) {
+            worldNet.addNode(pos, NODE_DATA, Node.DEFAULT_MARK, 0b111111, false);
+        }
+        worldNet.addNode(new BlockPos(3, 64, 0), NODE_DATA, Node.DEFAULT_MARK, 0b111111, false);
+        worldNet.addNode(new BlockPos(4, 64, 0), NODE_DATA, Node.DEFAULT_MARK, 0b111111, false);
+
+        // the ring is still connected the other way around
+        worldNet.updateBlockedConnections(new BlockPos(0, 64, 0), EnumFacing.EAST, true);
+        assertEquals(1, worldNet.getNetCount());
+        assertTrue(worldNet.getNetFromPos(new BlockPos(0, 64, 0)).getNodeAt(new BlockPos(0, 64, 0)).isBlocked(EnumFacing.EAST));
+
+        // the tail is not
+        worldNet.updateBlockedConnections(new BlockPos(2, 64, 0), EnumFacing.EAST, true);
+        assertEquals(2, worldNet.getNetCount());
+        assertEquals(2, worldNet.getNetFromPos(new BlockPos(4, 64, 0)).getAllNodes().size());
+        assertEquals(8, worldNet.getNetFromPos(new BlockPos(0, 64, 0)).getAllNodes().size());
+    }
+
+    private static class TestWorldPipeNet extends WorldPipeNet<Object, PipeNet<Object>> {
+
+        private TestWorldPipeNet() {
+            super("test");
+        }
+
+        private int getNetCount() {
+            return pipeNets.size();
+        }
+
+        @Override
+        protected PipeNet<Object> createNetInstance() {
+            return new PipeNet<Object>(this) {
+
+                @Override
+                protected void writeNodeData(Object nodeData, NBTTagCompound tagCompound) {
+                }
+
+                @Override
+                protected Object readNodeData(NBTTagCompound tagCompound) {
+                    return NODE_DATA;
+                }
+            };
+        }
+    }
+}
@@ -2,16 +2,21 @@ package gregtech.api.recipes;
 
 import gregtech.Bootstrap;
 import gregtech.api.recipes.builders.SimpleRecipeBuilder;
+import gregtech.api.unification.OreDictIdIndex;
+import gregtech.common.ConfigHolder;
 import net.minecraft.init.Blocks;
+import net.minecraft.init.Items;
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.fluids.FluidRegistry;
 import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.oredict.OreDictionary;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import static gregtech.api.unification.material.Materials.*;
 import static org.junit.Assert.*;
@@ -118,4 +123,164 @@ public class RecipeMapTest {
         assertEquals(2, map.getRecipeList().size());
     }
 
+    @Test
+    public void findRecipeCompiled() {
+        Recipe itemRecipe = map.findRecipe(1, Collections.singletonList(new ItemStack(Blocks.COBBLESTONE)), Collections.singletonList(null), 0);
+        Recipe fluidRecipe = map.findRecipe(30,
+                Collections.singletonList(ItemStack.EMPTY),
+                Arrays.asList(
+                        Epichlorohydrin.getFluid(144),
+                        Naphtha.getFluid(3000),
+                        NitrogenDioxide.getFluid(1000)),
+                64000);
+        assertNotNull(itemRecipe);
+        assertNotNull(fluidRecipe);
+
+        map.compileLookup();
+
+        assertSame(itemRecipe, map.findRecipe(1, Collections.singletonList(new ItemStack(Blocks.COBBLESTONE)), Collections.singletonList(null), 0));
+        assertSame(fluidRecipe, map.findRecipe(30,
+                Collections.singletonList(ItemStack.EMPTY),
+                Arrays.asList(
+                        Epichlorohydrin.getFluid(144),
+                        Naphtha.getFluid(3000),
+                        NitrogenDioxide.getFluid(1000)),
+                64000));
+        assertNull(map.findRecipe(30, Collections.singletonList(new ItemStack(Blocks.DIRT)), Collections.emptyList(), 0));
+
+        // changing the map discards the compiled lookup
+        assert map.removeRecipe(fluidRecipe);
+        assertNull(map.findRecipe(30,
+                Collections.singletonList(ItemStack.EMPTY),
+                Arrays.asList(
+                        Epichlorohydrin.getFluid(144),
+                        Naphtha.getFluid(3000),
+                        NitrogenDioxide.getFluid(1000)),
+                64000));
+    }
+
+    @Test
+    public void negativeRecipeCache() {
+        map.getNegativeCache().resetStatistics();
+        assertNull(map.findRecipe(30, Collections.singletonList(new ItemStack(Blocks.DIRT)), Collections.emptyList(), 0));
+        assertNull(map.findRecipe(30, Collections.singletonList(new ItemStack(Blocks.DIRT)), Collections.emptyList(), 0));
+        assertEquals(1, map.getNegativeCache().getHits());
+        assertEquals(1, map.getNegativeCache().getMisses());
+
+        // adding a recipe clears the cache
+        map.recipeBuilder()
+                .inputs(new ItemStack(Blocks.DIRT))
+                .outputs(new ItemStack(Blocks.GRASS))
+                .EUt(1).duration(1)
+                .buildAndRegister();
+        assertNotNull(map.findRecipe(30, Collections.singletonList(new ItemStack(Blocks.DIRT)), Collections.emptyList(), 0));
+    }
+
+    @Test
+    public void negativeRecipeCacheClearedByOreDictionaryIndex() {
+        map.recipeBuilder()
+                .input("plateNegativeCacheTest", 1)
+                .outputs(new ItemStack(Blocks.GRASS))
+                .EUt(1).duration(1)
+                .buildAndRegister();
+        List<ItemStack> inputs = Collections.singletonList(new ItemStack(Items.PAPER));
+        assertNull(map.findRecipe(30, inputs, Collections.emptyList(), 0));
+        assertEquals(1, map.getNegativeCache().size());
+
+        // like scripts changing the ore dictionary before loading completes
+        OreDictionary.registerOre("plateNegativeCacheTest", Items.PAPER);
+        OreDictIdIndex.rebuild();
+        assertEquals(0, map.getNegativeCache().size());
+        assertNotNull(map.findRecipe(30, inputs, Collections.emptyList(), 0));
+    }
+
+    @Test
+    public void parallelTreeBuildMatchesSequential() {
+        RecipeMap<SimpleRecipeBuilder> sequential = createBuildTestMap("sequential_build");
+        addBuildTestRecipes(sequential);
+
+        boolean parallelRecipeTreeBuild = ConfigHolder.recipes.parallelRecipeTreeBuild;
+        ConfigHolder.recipes.parallelRecipeTreeBuild = true;
+        RecipeMap<SimpleRecipeBuilder> parallel;
+        try {
+            RecipeMap.startBulkLoading();
+            parallel = createBuildTestMap("parallel_build");
+            addBuildTestRecipes(parallel);
+            RecipeMap.finishBulkLoading();
+        } finally {
+            ConfigHolder.recipes.parallelRecipeTreeBuild = parallelRecipeTreeBuild;
+        }
+
+        assertEquals(sequential.getRecipeList().size(), parallel.getRecipeList().size());
+        List<List<ItemStack>> itemQueries = Arrays.asList(
+                Collections.singletonList(new ItemStack(Blocks.COBBLESTONE)),
+                Collections.singletonList(new ItemStack(Blocks.STONE)),
+                Arrays.asList(new ItemStack(Items.IRON_INGOT), new ItemStack(Items.REDSTONE)),
+                Arrays.asList(new ItemStack(Items.REDSTONE), new ItemStack(Items.IRON_INGOT)),
+                Collections.singletonList(new ItemStack(Items.IRON_INGOT)),
+                Collections.singletonList(new ItemStack(Blocks.DIRT)),
+                Collections.emptyList());
+        List<List<FluidStack>> fluidQueries = Arrays.asList(
+                Collections.emptyList(),
+                Collections.singletonList(new FluidStack(FluidRegistry.WATER, 1000)),
+                Arrays.asList(Epichlorohydrin.getFluid(144), Naphtha.getFluid(3000), NitrogenDioxide.getFluid(1000)));
+        for (List<ItemStack> items : itemQueries) {
+            for (List<FluidStack> fluids : fluidQueries) {
+                for (long voltage : new long[]{1, 30}) {
+                    assertEquals(items + " " + fluids + " at " + voltage,
+                            describe(sequential.findRecipe(voltage, items, fluids, 64000)),
+                            describe(parallel.findRecipe(voltage, items, fluids, 64000)));
+                }
+            }
+        }
+    }
+
+    private static RecipeMap<SimpleRecipeBuilder> createBuildTestMap(String name) {
+        return new RecipeMap<>(name, 0, 2, 0, 2, 0, 3, 0, 2, new SimpleRecipeBuilder().EUt(30), false);
+    }
+
+    private static void addBuildTestRecipes(RecipeMap<SimpleRecipeBuilder> map) {
+        // the second recipe is a duplicate of the first, the first one added is kept
+        map.recipeBuilder()
+                .notConsumable(new ItemStack(Blocks.COBBLESTONE))
+                .outputs(new ItemStack(Blocks.STONE))
+                .EUt(1).duration(1)
+                .buildAndRegister();
+        map.recipeBuilder()
+                .notConsumable(new ItemStack(Blocks.COBBLESTONE))
+                .outputs(new ItemStack(Blocks.GRAVEL))
+                .EUt(1).duration(2)
+                .buildAndRegister();
+        map.recipeBuilder()
+                .inputs(new ItemStack(Blocks.STONE))
+                .notConsumable(FluidRegistry.WATER)
+                .outputs(new ItemStack(Blocks.STONE))
+                .EUt(1).duration(1)
+                .buildAndRegister();
+        map.recipeBuilder()
+                .inputs(new ItemStack(Items.IRON_INGOT), new ItemStack(Items.REDSTONE))
+                .outputs(new ItemStack(Items.GOLD_INGOT))
+                .EUt(30).duration(10)
+                .buildAndRegister();
+        map.recipeBuilder()
+                .inputs(new ItemStack(Items.IRON_INGOT))
+                .fluidInputs(new FluidStack(FluidRegistry.WATER, 100))
+                .outputs(new ItemStack(Items.IRON_NUGGET))
+                .EUt(1).duration(10)
+                .buildAndRegister();
+        map.recipeBuilder()
+                .fluidInputs(Epichlorohydrin.getFluid(144))
+                .fluidInputs(Naphtha.getFluid(3000))
+                .fluidInputs(NitrogenDioxide.getFluid(1000))
+                .fluidOutputs(Epoxy.getFluid(288))
+                .duration(240).EUt(30).buildAndRegister();
+    }
+
+    private static String describe(Recipe recipe) {
+        if (recipe == null) {
+            return "no recipe";
+        }
+        return recipe.getEUt() + " EU/t " + recipe.getDuration() + " ticks " + recipe.getOutputs();
+    }
+
 }
@@ -20,6 +20,8 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class ParallelLogicTest {
 
@@ -940,4 +942,481 @@ public class ParallelLogicTest {
         assertEquals(parallelLimit, secondFluidRatio);
 
     }
+
+    @Test
+    public void getMaxRecipeMultiplier_SameNonConsumedItemTest() {
+        int parallelLimit = 4;
+
+        // Create a recipe Map to be used for testing
+        RecipeMap<BlastRecipeBuilder> map = new RecipeMap<>("electric_blast_furnace",
+                1,
+                3,
+                1,
+                2,
+                0,
+                1,
+                0,
+                1,
+                new BlastRecipeBuilder(),
+                false);
+
+        // Create a simple recipe to be used for testing
+        Recipe recipe = map.recipeBuilder()
+                .inputs(new ItemStack(Blocks.COBBLESTONE))
+                .notConsumable(new ItemStack(Blocks.COBBLESTONE))
+                .outputs(new ItemStack(Blocks.STONE))
+                .blastFurnaceTemp(1000)
+                .EUt(30).duration(100)
+                .build().getResult();
+
+        // Test less than maximum limit
+        importItemBus.getImportItems().insertItem(0, new ItemStack(Blocks.COBBLESTONE, 3), false);
+
+        int itemRatio = ParallelLogic.getMaxRecipeMultiplier(recipe, importItemBus.getImportItems(), importFluidBus.getImportFluids(), parallelLimit);
+
+        assertEquals(2, itemRatio);
+
+        // Test = max limit
+        importItemBus.getImportItems().insertItem(0, new ItemStack(Blocks.COBBLESTONE, 2), false);
+
+        int secondItemRatio = ParallelLogic.getMaxRecipeMultiplier(recipe, importItemBus.getImportItems(), importFluidBus.getImportFluids(), parallelLimit);
+
+        assertEquals(parallelLimit, secondItemRatio);
+
+        // Test > max limit
+        importItemBus.getImportItems().insertItem(0, new ItemStack(Blocks.COBBLESTONE, 2), false);
+
+        int thirdItemRatio = ParallelLogic.getMaxRecipeMultiplier(recipe, importItemBus.getImportItems(), importFluidBus.getImportFluids(), parallelLimit);
+
+        assertEquals(parallelLimit, thirdItemRatio);
+
+    }
+
+    @Test
+    public void getMaxRecipeMultiplier_DifferentNonConsumedItemTest() {
+        int parallelLimit = 4;
+
+        // Create a recipe Map to be used for testing
+        RecipeMap<BlastRecipeBuilder> map = new RecipeMap<>("electric_blast_furnace",
+                1,
+                3,
+                1,
+                2,
+                0,
+                1,
+                0,
+                1,
+                new BlastRecipeBuilder(),
+                false);
+
+        // Create a simple recipe to be used for testing
+        Recipe recipe = map.recipeBuilder()
+                .inputs(new ItemStack(Blocks.COBBLESTONE))
+                .notConsumable(new ItemStack(Blocks.STONE))
+                .outputs(new ItemStack(Blocks.STONE))
+                .blastFurnaceTemp(1000)
+                .EUt(30).duration(100)
+                .build().getResult();
+
+        importItemBus.getImportItems().insertItem(0, new ItemStack(Blocks.COBBLESTONE, 4), false);
+        importItemBus.getImportItems().insertItem(1, new ItemStack(Blocks.STONE, 1), false);
+
+
+        int itemRatio = ParallelLogic.getMaxRecipeMultiplier(recipe, importItemBus.getImportItems(), importFluidBus.getImportFluids(), parallelLimit);
+
+        assertEquals(4, itemRatio);
+
+    }
+
+    @Test
+    public void getMaxRecipeMultiplier_OnlyNonConsumedItemTest() {
+        int parallelLimit = 4;
+
+        // Create a recipe Map to be used for testing
+        RecipeMap<BlastRecipeBuilder> map = new RecipeMap<>("electric_blast_furnace",
+                1,
+                3,
+                1,
+                2,
+                0,
+                1,
+                0,
+                1,
+                new BlastRecipeBuilder(),
+                false);
+
+        // Create a simple recipe to be used for testing
+        Recipe recipe = map.recipeBuilder()
+                .notConsumable(new ItemStack(Blocks.STONE))
+                .outputs(new ItemStack(Blocks.STONE))
+                .blastFurnaceTemp(1000)
+                .EUt(30).duration(100)
+                .build().getResult();
+
+        importItemBus.getImportItems().insertItem(0, new ItemStack(Blocks.STONE, 1), false);
+
+
+        int itemRatio = ParallelLogic.getMaxRecipeMultiplier(recipe, importItemBus.getImportItems(), importFluidBus.getImportFluids(), parallelLimit);
+
+        assertEquals(parallelLimit, itemRatio);
+
+    }
+
+    @Test
+    public void getMaxRecipeMultiplier_OnlyNonConsumedWithStacksizeItemTest() {
+        int parallelLimit = 4;
+
+        // Create a recipe Map to be used for testing
+        RecipeMap<BlastRecipeBuilder> map = new RecipeMap<>("electric_blast_furnace",
+                1,
+                3,
+                1,
+                2,
+                0,
+                1,
+                0,
+                1,
+                new BlastRecipeBuilder(),
+                false);
+
+        // Create a simple recipe to be used for testing
+        Recipe recipe = map.recipeBuilder()
+                .notConsumable(new ItemStack(Blocks.STONE, 2))
+                .outputs(new ItemStack(Blocks.STONE))
+                .blastFurnaceTemp(1000)
+                .EUt(30).duration(100)
+                .build().getResult();
+
+        // Test Parallel Limit with not enough Non-consumed items
+        importItemBus.getImportItems().insertItem(0, new ItemStack(Blocks.STONE, 1), false);
+
+        int itemRatioFailure = ParallelLogic.getMaxRecipeMultiplier(recipe, importItemBus.getImportItems(), importFluidBus.getImportFluids(), parallelLimit);
+
+        assertEquals(0, itemRatioFailure);
+
+        // Test Parallel Limit by Non-consumed item amounts
+        // Add one more stone to meet the recipe NC amount
+        importItemBus.getImportItems().insertItem(0, new ItemStack(Blocks.STONE, 1), false);
+
+        int itemRatio = ParallelLogic.getMaxRecipeMultiplier(recipe, importItemBus.getImportItems(), importFluidBus.getImportFluids(), parallelLimit);
+
+        assertEquals(parallelLimit, itemRatio);
+
+        // Test Parallel Limit for > max
+        importItemBus.getImportItems().insertItem(1, new ItemStack(Blocks.STONE, 6), false);
+
+        int secondItemRatio = ParallelLogic.getMaxRecipeMultiplier(recipe, importItemBus.getImportItems(), importFluidBus.getImportFluids(), parallelLimit);
+
+        assertEquals(parallelLimit, secondItemRatio);
+
+    }
+
+    @Test
+    public void getMaxRecipeMultiplier_RegularFluidInputsTest() {
+        int parallelLimit = 4;
+
+        // Create a recipe Map to be used for testing
+        RecipeMap<BlastRecipeBuilder> map = new RecipeMap<>("electric_blast_furnace",
+                1,
+                3,
+                1,
+                2,
+                0,
+                1,
+                0,
+                1,
+                new BlastRecipeBuilder(),
+                false);
+
+        // Create a simple recipe to be used for testing
+        Recipe recipe = map.recipeBuilder()
+                .fluidInputs(Materials.Water.getFluid(1000))
+                .outputs(new ItemStack(Blocks.STONE))
+                .blastFurnaceTemp(1000)
+                .EUt(30).duration(100)
+                .build().getResult();
+
+        // Test Not enough fluid for 1 parallel
+        importFluidBus.getImportFluids().fill(Materials.Water.getFluid(500), true);
+
+        int fluidRatioFailure = ParallelLogic.getMaxRecipeMultiplier(recipe, importItemBus.getImportItems(), importFluidBus.getImportFluids(), parallelLimit);
+
+        assertEquals(0, fluidRatioFailure);
+
+        // Test Parallel Limit with > min, < max parallels
+        importFluidBus.getImportFluids().fill(Materials.Water.getFluid(2500), true);
+
+        int fluidRatio = ParallelLogic.getMaxRecipeMultiplier(recipe, importItemBus.getImportItems(), importFluidBus.getImportFluids(), parallelLimit);
+
+        assertEquals(3, fluidRatio);
+
+        // Test Parallel Limit with > max parallels
+        importFluidBus.getImportFluids().fill(Materials.Water.getFluid(2500), true);
+
+        int secondFluidRatio = ParallelLogic.getMaxRecipeMultiplier(recipe, importItemBus.getImportItems(), importFluidBus.getImportFluids(), parallelLimit);
+
+        assertEquals(parallelLimit, secondFluidRatio);
+
+    }
+
+    @Test
+    public void getMaxRecipeMultiplier_SameNonConsumedFluidTest() {
+        int parallelLimit = 4;
+
+        // Create a recipe Map to be used for testing
+        RecipeMap<BlastRecipeBuilder> map = new RecipeMap<>("electric_blast_furnace",
+                1,
+                3,
+                1,
+                2,
+                0,
+                1,
+                0,
+                1,
+                new BlastRecipeBuilder(),
+                false);
+
+        // Create a simple recipe to be used for testing
+        Recipe recipe = map.recipeBuilder()
+                .fluidInputs(Materials.Water.getFluid(1000))
+                .notConsumable(Materials.Water.getFluid())
+                .outputs(new ItemStack(Blocks.STONE))
+                .blastFurnaceTemp(1000)
+                .EUt(30).duration(100)
+                .build().getResult();
+
+        // Test Not enough fluid for 1 parallel
+        importFluidBus.getImportFluids().fill(Materials.Water.getFluid(500), true);
+
+        int fluidRatioFailure = ParallelLogic.getMaxRecipeMultiplier(recipe, importItemBus.getImportItems(), importFluidBus.getImportFluids(), parallelLimit);
+
+        assertEquals(0, fluidRatioFailure);
+
+        // Test Parallel Limit with > min, < max parallels
+        importFluidBus.getImportFluids().fill(Materials.Water.getFluid(1501), true);
+
+        int fluidRatio = ParallelLogic.getMaxRecipeMultiplier(recipe, importItemBus.getImportItems(), importFluidBus.getImportFluids(), parallelLimit);
+
+        assertEquals(2, fluidRatio);
+
+        // Test Parallel Limit Exactly equal inputs
+        importFluidBus.getImportFluids().fill(Materials.Water.getFluid(2000), true);
+
+        int fluidRatioExact = ParallelLogic.getMaxRecipeMultiplier(recipe, importItemBus.getImportItems(), importFluidBus.getImportFluids(), parallelLimit);
+
+        assertEquals(parallelLimit, fluidRatioExact);
+
+        // Test Parallel Limit with > max parallels
+        importFluidBus.getImportFluids().fill(Materials.Water.getFluid(2500), true);
+
+        int secondFluidRatio = ParallelLogic.getMaxRecipeMultiplier(recipe, importItemBus.getImportItems(), importFluidBus.getImportFluids(), parallelLimit);
+
+        assertEquals(parallelLimit, secondFluidRatio);
+
+    }
+
+    @Test
+    public void getMaxRecipeMultiplier_DifferentNonConsumedFluidTest() {
+        int parallelLimit = 4;
+
+        // Create a recipe Map to be used for testing
+        RecipeMap<BlastRecipeBuilder> map = new RecipeMap<>("electric_blast_furnace",
+                1,
+                3,
+                1,
+                2,
+                0,
+                2,
+                0,
+                1,
+                new BlastRecipeBuilder(),
+                false);
+
+        // Create a simple recipe to be used for testing
+        Recipe recipe = map.recipeBuilder()
+                .fluidInputs(Materials.Water.getFluid(1000))
+                .notConsumable(Materials.Acetone.getFluid())
+                .outputs(new ItemStack(Blocks.STONE))
+                .blastFurnaceTemp(1000)
+                .EUt(30).duration(100)
+                .build().getResult();
+
+        // Test Not enough fluid for 1 parallel
+        importFluidBus.getImportFluids().fill(Materials.Water.getFluid(1000), true);
+
+        int fluidRatioFailure = ParallelLogic.getMaxRecipeMultiplier(recipe, importItemBus.getImportItems(), importFluidBus.getImportFluids(), parallelLimit);
+
+        assertEquals(0, fluidRatioFailure);
+
+        // Test Parallel Limit with > min, < max parallels
+        importFluidBus.getImportFluids().fill(Materials.Water.getFluid(1000), true);
+        secondImportFluidBus.getImportFluids().fill(Materials.Acetone.getFluid(1), true);
+
+        IMultipleTankHandler tankHandler = new FluidTankList(false, importFluidBus.getImportFluids().getTankAt(0), secondImportFluidBus.getImportFluids().getTankAt(0));
+
+        int fluidRatio = ParallelLogic.getMaxRecipeMultiplier(recipe, importItemBus.getImportItems(), tankHandler, parallelLimit);
+
+        assertEquals(2, fluidRatio);
+
+        // Test Parallel Limit Exactly equal inputs
+        importFluidBus.getImportFluids().fill(Materials.Water.getFluid(2000), true);
+
+        int fluidRatioExact = ParallelLogic.getMaxRecipeMultiplier(recipe, importItemBus.getImportItems(), tankHandler, parallelLimit);
+
+        assertEquals(parallelLimit, fluidRatioExact);
+
+        // Test Parallel Limit with > max parallels
+        importFluidBus.getImportFluids().fill(Materials.Water.getFluid(2500), true);
+
+        int secondFluidRatio = ParallelLogic.getMaxRecipeMultiplier(recipe, importItemBus.getImportItems(), tankHandler, parallelLimit);
+
+        assertEquals(parallelLimit, secondFluidRatio);
+
+    }
+
+    @Test
+    public void getMaxRecipeMultiplier_OnlyNonConsumedFluidTest() {
+        int parallelLimit = 4;
+
+        // Create a recipe Map to be used for testing
+        RecipeMap<BlastRecipeBuilder> map = new RecipeMap<>("electric_blast_furnace",
+                1,
+                3,
+                1,
+                2,
+                0,
+                2,
+                0,
+                1,
+                new BlastRecipeBuilder(),
+                false);
+
+        // Create a simple recipe to be used for testing
+        Recipe recipe = map.recipeBuilder()
+                .notConsumable(Materials.Acetone.getFluid())
+                .outputs(new ItemStack(Blocks.STONE))
+                .blastFurnaceTemp(1000)
+                .EUt(30).duration(100)
+                .build().getResult();
+
+        // Test Not enough fluid for 1 parallel
+        importFluidBus.getImportFluids().fill(Materials.Acetone.getFluid(0), true);
+
+        int fluidRatioFailure = ParallelLogic.getMaxRecipeMultiplier(recipe, importItemBus.getImportItems(), importFluidBus.getImportFluids(), parallelLimit);
+
+        assertEquals(0, fluidRatioFailure);
+
+
+        // Test Parallel Limit Exactly equal inputs
+        importFluidBus.getImportFluids().fill(Materials.Acetone.getFluid(4), true);
+
+        int fluidRatioExact = ParallelLogic.getMaxRecipeMultiplier(recipe, importItemBus.getImportItems(), importFluidBus.getImportFluids(), parallelLimit);
+
+        assertEquals(parallelLimit, fluidRatioExact);
+
+        // Test Parallel Limit with > max parallels
+        importFluidBus.getImportFluids().fill(Materials.Acetone.getFluid(2500), true);
+
+
+        int secondFluidRatio = ParallelLogic.getMaxRecipeMultiplier(recipe, importItemBus.getImportItems(), importFluidBus.getImportFluids(), parallelLimit);
+
+        assertEquals(parallelLimit, secondFluidRatio);
+
+    }
+
+    @Test
+    public void getMaxRecipeMultiplier_OnlyNonConsumedWithStacksizeFluidTest() {
+        int parallelLimit = 4;
+
+        // Create a recipe Map to be used for testing
+        RecipeMap<BlastRecipeBuilder> map = new RecipeMap<>("electric_blast_furnace",
+                1,
+                3,
+                1,
+                2,
+                0,
+                2,
+                0,
+                1,
+                new BlastRecipeBuilder(),
+                false);
+
+        // Create a simple recipe to be used for testing
+        Recipe recipe = map.recipeBuilder()
+                .notConsumable(Materials.Acetone.getFluid(1000))
+                .outputs(new ItemStack(Blocks.STONE))
+                .blastFurnaceTemp(1000)
+                .EUt(30).duration(100)
+                .build().getResult();
+
+        // Test Not enough fluid for 1 parallel
+        importFluidBus.getImportFluids().fill(Materials.Acetone.getFluid(500), true);
+
+        int fluidRatioFailure = ParallelLogic.getMaxRecipeMultiplier(recipe, importItemBus.getImportItems(), importFluidBus.getImportFluids(), parallelLimit);
+
+        assertEquals(0, fluidRatioFailure);
+
+
+        // Test Parallel Limit Exactly equal inputs
+        importFluidBus.getImportFluids().fill(Materials.Acetone.getFluid(500), true);
+
+        int fluidRatioExact = ParallelLogic.getMaxRecipeMultiplier(recipe, importItemBus.getImportItems(), importFluidBus.getImportFluids(), parallelLimit);
+
+        assertEquals(parallelLimit, fluidRatioExact);
+
+        // Test Parallel Limit with > max parallels
+        importFluidBus.getImportFluids().fill(Materials.Acetone.getFluid(2500), true);
+
+
+        int secondFluidRatio = ParallelLogic.getMaxRecipeMultiplier(recipe, importItemBus.getImportItems(), importFluidBus.getImportFluids(), parallelLimit);
+
+        assertEquals(parallelLimit, secondFluidRatio);
+
+    }
+
+    @Test
+    public void getMaxRecipeMultiplier_NonConsumableTest() {
+
+        int parallelLimit = 4;
+
+        // Create a recipe Map to be used for testing
+        RecipeMap<BlastRecipeBuilder> map = new RecipeMap<>("electric_blast_furnace",
+                2,
+                3,
+                1,
+                2,
+                0,
+                1,
+                0,
+                1,
+                new BlastRecipeBuilder(),
+                false);
+
+        // Create a simple recipe to be used for testing
+        Recipe recipe = map.recipeBuilder()
+                .inputs(new ItemStack(Blocks.COBBLESTONE))
+                .notConsumable(new ItemStack(Blocks.STONE))
+                .fluidInputs(Materials.Acetone.getFluid(100))
+                .outputs(new ItemStack(Blocks.STONE))
+                .blastFurnaceTemp(1000)
+                .EUt(30).duration(100)
+                .build().getResult();
+
+        importFluidBus.getImportFluids().fill(Materials.Acetone.getFluid(8000), true);
+        importItemBus.getImportItems().insertItem(1, new ItemStack(Blocks.COBBLESTONE, 3), false);
+
+        // the non-consumed input is missing
+        assertFalse(recipe.matches(false, importItemBus.getImportItems(), importFluidBus.getImportFluids()));
+        assertEquals(0, ParallelLogic.getMaxRecipeMultiplier(recipe, importItemBus.getImportItems(), importFluidBus.getImportFluids(), parallelLimit));
+
+        importItemBus.getImportItems().insertItem(0, new ItemStack(Blocks.STONE, 1), false);
+
+        // the non-consumed input does not limit the multiplier
+        assertTrue(recipe.matches(false, importItemBus.getImportItems(), importFluidBus.getImportFluids()));
+        assertEquals(3, ParallelLogic.getMaxRecipeMultiplier(recipe, importItemBus.getImportItems(), importFluidBus.getImportFluids(), parallelLimit));
+
+        // matching without consuming must leave the inputs untouched
+        assertEquals(1, importItemBus.getImportItems().getStackInSlot(0).getCount());
+        assertEquals(3, importItemBus.getImportItems().getStackInSlot(1).getCount());
+    }
 }
@@ -0,0 +1,38 @@
+package gregtech.api.recipes.map;
+
+import gregtech.Bootstrap;
+import gregtech.api.unification.material.Materials;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraftforge.fluids.FluidStack;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class MapFluidProbeTest {
+
+    @BeforeClass
+    public static void bootstrap() {
+        Bootstrap.perform();
+    }
+
+    @Test
+    public void probe_finds_the_ingredient_of_its_fluid() {
+        FluidStack taggedWater = Materials.Water.getFluid(1000);
+        taggedWater.tag = new NBTTagCompound();
+        taggedWater.tag.setBoolean("nonConsumable", true);
+
+        Object2IntOpenHashMap<AbstractMapIngredient> ids = new Object2IntOpenHashMap<>();
+        ids.defaultReturnValue(-1);
+        ids.put(new MapFluidIngredient(Materials.Water.getFluid(1000)), 0);
+        ids.put(new MapFluidIngredient(taggedWater), 1);
+        ids.put(new MapFluidIngredient(Materials.Lava.getFluid(1000)), 2);
+
+        MapFluidProbe probe = new MapFluidProbe();
+        assertEquals(0, ids.getInt(probe.set(Materials.Water.getFluid(10))));
+        assertEquals(1, ids.getInt(probe.set(taggedWater)));
+        assertEquals(2, ids.getInt(probe.set(Materials.Lava.getFluid(1))));
+        assertEquals(-1, ids.getInt(probe.set(Materials.Acetone.getFluid(1000))));
+    }
+}
@@ -0,0 +1,70 @@
+package gregtech.api.recipes.map;
+
+import gregtech.Bootstrap;
+import net.minecraft.init.Blocks;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.FluidStack;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class NegativeRecipeCacheTest {
+
+    private static final int CAPACITY = 4;
+
+    @BeforeClass
+    public static void bootstrap() {
+        Bootstrap.perform();
+    }
+
+    @Test
+    public void colliding_fingerprint_with_other_checksum_is_a_miss() {
+        NegativeRecipeCache cache = new NegativeRecipeCache();
+        cache.add(42, 1, CAPACITY);
+
+        assertFalse(cache.contains(42, 2));
+        assertTrue(cache.contains(42, 1));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        // the search of the colliding inputs found no recipe either, its checksum replaces the old one
+        cache.add(42, 2, CAPACITY);
+        assertTrue(cache.contains(42, 2));
+        assertFalse(cache.contains(42, 1));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void least_recently_used_fingerprint_is_evicted() {
+        NegativeRecipeCache cache = new NegativeRecipeCache();
+        for (int i = 0; i < CAPACITY; i++) {
+            cache.add(i, i, CAPACITY);
+        }
+        assertTrue(cache.contains(0, 0));
+        cache.add(CAPACITY, CAPACITY, CAPACITY);
+
+        assertEquals(CAPACITY, cache.size());
+        assertTrue(cache.contains(0, 0));
+        assertFalse(cache.contains(1, 1));
+    }
+
+    @Test
+    public void checksum_is_independent_of_fingerprint() {
+        List<ItemStack> inputs = Arrays.asList(new ItemStack(Blocks.COBBLESTONE, 3), ItemStack.EMPTY, new ItemStack(Blocks.STONE));
+        List<ItemStack> swapped = Arrays.asList(new ItemStack(Blocks.STONE), ItemStack.EMPTY, new ItemStack(Blocks.COBBLESTONE, 3));
+        List<FluidStack> fluids = Collections.emptyList();
+
+        long fingerprint = NegativeRecipeCache.fingerprint(30, false, inputs, fluids, 64, 64000);
+        long checksum = NegativeRecipeCache.checksum(30, false, inputs, fluids, 64, 64000);
+
+        assertNotEquals(fingerprint, checksum);
+        assertEquals(checksum, NegativeRecipeCache.checksum(30, false, inputs, fluids, 64, 64000));
+        assertNotEquals(checksum, NegativeRecipeCache.checksum(30, false, swapped, fluids, 64, 64000));
+        assertNotEquals(checksum, NegativeRecipeCache.checksum(32, false, inputs, fluids, 64, 64000));
+    }
+}
@@ -0,0 +1,149 @@
+package gregtech.api.util;
+
+import gregtech.common.ConfigHolder;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class TaskSchedulerTest {
+
+    private final int defaultBudget = ConfigHolder.misc.taskTimeBudget;
+
+    @After
+    public void restoreBudget() {
+        ConfigHolder.misc.taskTimeBudget = defaultBudget;
+    }
+
+    @Test
+    public void tasks_run_in_order_of_priority() {
+        ConfigHolder.misc.taskTimeBudget = 0;
+        TaskScheduler scheduler = new TaskScheduler();
+        List<String> runs = new ArrayList<>();
+        scheduler.scheduleTask(() -> {
+            runs.add("low");
+            return false;
+        }, TaskPriority.LOW);
+        scheduler.scheduleTask(() -> {
+            runs.add("normal");
+            return false;
+        });
+        scheduler.scheduleTask(() -> {
+            runs.add("high");
+            return false;
+        }, TaskPriority.HIGH);
+
+        scheduler.tick();
+
+        assertEquals(Arrays.asList("high", "normal", "low"), runs);
+        assertEquals(0, scheduler.getQueueDepth());
+    }
+
+    @Test
+    public void tasks_over_budget_run_first_on_next_tick() {
+        ConfigHolder.misc.taskTimeBudget = 1;
+        TaskScheduler scheduler = new TaskScheduler();
+        List<String> runs = new ArrayList<>();
+        scheduler.scheduleTask(() -> {
+            runs.add(spin("first"));
+            return false;
+        });
+        scheduler.scheduleTask(() -> {
+            runs.add(spin("second"));
+            return false;
+        });
+
+        scheduler.tick();
+        assertEquals(Collections.singletonList("first"), runs);
+        assertEquals(1, scheduler.getQueueDepth());
+
+        scheduler.tick();
+        assertEquals(Arrays.asList("first", "second"), runs);
+        assertEquals(0, scheduler.getQueueDepth());
+    }
+
+    @Test
+    public void repeating_task_over_budget_runs_on_next_tick_until_finished() {
+        // wide enough for the short task, so only the busy one uses it up
+        ConfigHolder.misc.taskTimeBudget = 50;
+        TaskScheduler scheduler = new TaskScheduler();
+        List<String> runs = new ArrayList<>();
+        // a task using up the budget every tick, ahead of one which runs twice like the heat task of a cable
+        scheduler.scheduleTask(() -> {
+            runs.add(spin("busy", 200_000));
+            return true;
+        });
+        int[] runsLeft = {2};
+        scheduler.scheduleTask(() -> {
+            runs.add("cooling");
+            return --runsLeft[0] > 0;
+        });
+
+        scheduler.tick();
+        assertEquals(Collections.singletonList("busy"), runs);
+        assertEquals("the deferred task is still queued", 2, scheduler.getQueueDepth());
+
+        scheduler.tick();
+        assertEquals(Arrays.asList("busy", "cooling", "busy"), runs);
+        assertEquals(2, scheduler.getQueueDepth());
+
+        scheduler.tick();
+        assertEquals(Arrays.asList("busy", "cooling", "busy", "cooling", "busy"), runs);
+        assertEquals(1, scheduler.getQueueDepth());
+    }
+
+    @Test
+    public void high_priority_tasks_ignore_budget() {
+        ConfigHolder.misc.taskTimeBudget = 1;
+        TaskScheduler scheduler = new TaskScheduler();
+        List<String> runs = new ArrayList<>();
+        scheduler.scheduleTask(() -> {
+            runs.add(spin("first"));
+            return false;
+        }, TaskPriority.HIGH);
+        scheduler.scheduleTask(() -> {
+            runs.add(spin("second"));
+            return false;
+        }, TaskPriority.HIGH);
+        scheduler.scheduleTask(() -> {
+            runs.add(spin("normal"));
+            return false;
+        });
+
+        scheduler.tick();
+        assertEquals(Arrays.asList("first", "second"), runs);
+        assertEquals(1, scheduler.getQueueDepth());
+    }
+
+    @Test
+    public void metrics_count_runs_per_task_class() {
+        TaskScheduler scheduler = new TaskScheduler();
+        int[] runsLeft = {3};
+        scheduler.scheduleTask(() -> --runsLeft[0] > 0);
+
+        for (int i = 0; i < 3; i++) {
+            scheduler.tick();
+        }
+
+        TaskMetrics metrics = scheduler.getMetrics().values().iterator().next();
+        assertEquals(3, metrics.getRuns());
+        assertEquals(0, metrics.getQueued());
+    }
+
+    private static String spin(String result) {
+        return spin(result, 10_000);
+    }
+
+    private static String spin(String result, long nanos) {
+        long end = System.nanoTime() + nanos;
+        while (System.nanoTime() < end) {
+            // wait until the budget is used up
+        }
+        return result;
+    }
+}
@@ -0,0 +1,97 @@
+package gregtech.common.covers;
+
+import gregtech.Bootstrap;
+import gregtech.api.util.ItemStackKey;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.EnumFacing;
+import net.minecraftforge.items.ItemStackHandler;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class CoverConveyorTest {
+
+    /**
+     * Required. Without this all item-related operations will fail because registries haven't been initialized.
+     */
+    @BeforeClass
+    public static void bootstrap() {
+        Bootstrap.perform();
+    }
+
+    @Test
+    public void countInventoryItemsByType_does_not_keep_counts_of_the_previous_call() {
+        CoverConveyor conveyor = new CoverConveyor(null, EnumFacing.UP, 1, 8);
+
+        ItemStackHandler first = new ItemStackHandler(3);
+        first.setStackInSlot(0, new ItemStack(Items.IRON_INGOT, 10));
+        first.setStackInSlot(1, new ItemStack(Items.GOLD_INGOT, 5));
+        Map<ItemStackKey, CoverConveyor.TypeItemInfo> firstCount = conveyor.countInventoryItemsByType(first);
+        assertEquals(2, firstCount.size());
+        assertEquals(10, firstCount.get(new ItemStackKey(new ItemStack(Items.IRON_INGOT))).totalCount);
+
+        ItemStackHandler second = new ItemStackHandler(3);
+        second.setStackInSlot(2, new ItemStack(Items.IRON_INGOT, 3));
+        Map<ItemStackKey, CoverConveyor.TypeItemInfo> secondCount = conveyor.countInventoryItemsByType(second);
+        assertEquals("gold is gone", 1, secondCount.size());
+        CoverConveyor.TypeItemInfo iron = secondCount.get(new ItemStackKey(new ItemStack(Items.IRON_INGOT)));
+        assertEquals(3, iron.totalCount);
+        assertEquals(1, iron.slots.size());
+        assertEquals(2, iron.slots.get(0));
+    }
+
+    @Test
+    public void countInventoryItemsByMatchSlot_does_not_keep_counts_of_the_previous_call() {
+        CoverConveyor conveyor = new CoverConveyor(null, EnumFacing.UP, 1, 8);
+        ItemStackHandler source = new ItemStackHandler(2);
+        source.setStackInSlot(0, new ItemStack(Items.IRON_INGOT, 10));
+        source.setStackInSlot(1, new ItemStack(Items.GOLD_INGOT, 5));
+        ItemStackHandler destination = new ItemStackHandler(2);
+        destination.setStackInSlot(0, new ItemStack(Items.IRON_INGOT, 1));
+
+        // without a filter every item matches the same slot
+        Map<Object, CoverConveyor.GroupItemInfo> sourceCount = conveyor.doCountSourceInventoryItemsByMatchIndex(destination, source);
+        Map<Object, CoverConveyor.GroupItemInfo> destinationCount = conveyor.doCountDestinationInventoryItemsByMatchIndex(destination, source);
+        assertNotSame(sourceCount, destinationCount);
+        assertEquals(15, sourceCount.values().iterator().next().totalCount);
+        assertEquals(1, destinationCount.values().iterator().next().totalCount);
+
+        source.setStackInSlot(0, ItemStack.EMPTY);
+        sourceCount = conveyor.doCountSourceInventoryItemsByMatchIndex(destination, source);
+        assertEquals(1, sourceCount.size());
+        assertEquals(5, sourceCount.values().iterator().next().totalCount);
+
+        source.setStackInSlot(1, ItemStack.EMPTY);
+        assertTrue(conveyor.doCountSourceInventoryItemsByMatchIndex(destination, source).isEmpty());
+        destinationCount = conveyor.doCountDestinationInventoryItemsByMatchIndex(destination, source);
+        assertEquals(1, destinationCount.values().iterator().next().totalCount);
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void countInventoryItemsByMatchSlot_without_a_map_counts_into_a_new_one() {
+        CoverConveyor conveyor = new CoverConveyor(null, EnumFacing.UP, 1, 8);
+        ItemStackHandler inventory = new ItemStackHandler(3);
+        inventory.setStackInSlot(0, new ItemStack(Items.IRON_INGOT, 10));
+        inventory.setStackInSlot(1, new ItemStack(Items.GOLD_INGOT, 5));
+        inventory.setStackInSlot(2, new ItemStack(Items.IRON_INGOT, 2));
+
+        Map<Object, CoverConveyor.GroupItemInfo> firstCount = conveyor.countInventoryItemsByMatchSlot(inventory);
+        CoverConveyor.GroupItemInfo group = firstCount.values().iterator().next();
+        assertEquals(17, group.totalCount);
+        assertEquals(2, group.itemStackTypes.size());
+
+        inventory.setStackInSlot(1, ItemStack.EMPTY);
+        Map<Object, CoverConveyor.GroupItemInfo> secondCount = conveyor.countInventoryItemsByMatchSlot(inventory);
+        assertNotSame(firstCount, secondCount);
+        group = secondCount.values().iterator().next();
+        assertEquals(12, group.totalCount);
+        assertEquals(1, group.itemStackTypes.size());
+        // the result of the first call is left alone
+        assertEquals(17, firstCount.values().iterator().next().totalCount);
+    }
+}
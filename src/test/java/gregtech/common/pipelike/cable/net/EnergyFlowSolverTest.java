@@ -0,0 +1,231 @@
+package gregtech.common.pipelike.cable.net;
+
+import gregtech.Bootstrap;
+import gregtech.api.unification.material.properties.WireProperties;
+import gregtech.api.util.world.DummyWorld;
+import gregtech.common.pipelike.cable.tile.TileEntityCable;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class EnergyFlowSolverTest {
+
+    private final EnergyFlowSolver<TestCable> solver = new EnergyFlowSolver<>(cable -> cable.loss);
+    // every path added up cable by cable, the way the energy net handler does without the solver
+    private final Map<TestCable, long[]> walked = new HashMap<>();
+
+    @BeforeClass
+    public static void bootstrap() {
+        Bootstrap.perform();
+    }
+
+    @Test
+    public void single_path_matches_walking_the_path() {
+        TestCable[] cables = createCables(5, 1);
+        addFlow("source", cables, 2, 128);
+
+        Map<TestCable, long[]> solved = assertSolvedLikeWalked();
+        assertEquals(5, solved.size());
+        // the last cable sees the voltage after the loss of all five cables
+        assertEquals(123, solved.get(cables[4])[1]);
+    }
+
+    @Test
+    public void branches_of_one_source_are_summed_towards_the_source() {
+        // a bus of eight cables, with a branch of two cables at every bus cable
+        TestCable[] bus = createCables(8, 1);
+        long totalAmperage = 0;
+        for (int i = 0; i < bus.length; i++) {
+            TestCable[] branch = createCables(2, 2);
+            TestCable[] path = new TestCable[i + 1 + branch.length];
+            System.arraycopy(bus, 0, path, 0, i + 1);
+            System.arraycopy(branch, 0, path, i + 1, branch.length);
+            addFlow("source", path, 1 + i % 3, 512);
+            // a handler directly at the bus cable as well
+            addFlow("source", Arrays.copyOf(bus, i + 1), 1, 512);
+            totalAmperage += 1 + i % 3 + 1;
+        }
+
+        Map<TestCable, long[]> solved = assertSolvedLikeWalked();
+        // the first bus cable carries every flow
+        assertEquals(totalAmperage, solved.get(bus[0])[0]);
+    }
+
+    @Test
+    public void flows_of_several_sources_are_added_up() {
+        TestCable[] shared = createCables(6, 3);
+        // one source at each end of the shared cables, at different voltages
+        addFlow("first", shared, 1, 32);
+        TestCable[] reversed = shared.clone();
+        Collections.reverse(Arrays.asList(reversed));
+        addFlow("second", reversed, 2, 128);
+        addFlow("second", Arrays.copyOf(reversed, 3), 1, 128);
+
+        Map<TestCable, long[]> solved = assertSolvedLikeWalked();
+        assertEquals(3, solved.get(shared[0])[0]);
+        assertEquals(4, solved.get(shared[5])[0]);
+        // the far end of the second source still sees a higher voltage than the first source
+        assertEquals(128 - 3 * 6, solved.get(shared[0])[1]);
+    }
+
+    @Test
+    public void random_trees_match_walking_every_path() {
+        Random random = new Random(2022);
+        TestCable[] cables = new TestCable[200];
+        for (int i = 0; i < cables.length; i++) {
+            cables[i] = new TestCable(random.nextInt(4));
+        }
+        for (int source = 0; source < 4; source++) {
+            // a random tree over a shuffled order of the cables, each cable reached from one before it
+            List<TestCable> order = new ArrayList<>(Arrays.asList(cables));
+            Collections.shuffle(order, random);
+            Map<TestCable, TestCable> parents = new HashMap<>();
+            for (int i = 1; i < order.size(); i++) {
+                parents.put(order.get(i), order.get(random.nextInt(i)));
+            }
+            long voltage = 2048L << source;
+            for (int i = 0; i < 60; i++) {
+                List<TestCable> path = new ArrayList<>();
+                for (TestCable cable = order.get(random.nextInt(order.size())); cable != null; cable = parents.get(cable)) {
+                    path.add(cable);
+                }
+                Collections.reverse(path);
+                addFlow(source, path.toArray(new TestCable[0]), 1 + random.nextInt(4), voltage);
+            }
+        }
+
+        assertSolvedLikeWalked();
+    }
+
+    @Test
+    public void solver_is_empty_after_solving() {
+        assertTrue(solver.isEmpty());
+        addFlow("source", createCables(3, 1), 1, 32);
+        assertSolvedLikeWalked();
+        assertTrue(solver.isEmpty());
+
+        Map<TestCable, long[]> solved = solve();
+        assertTrue(solved.isEmpty());
+    }
+
+    @Test
+    public void overamped_cables_heat_and_burn_like_walking_every_path() {
+        World world = new DummyWorld();
+        EnergyNet net = new EnergyNet(new WorldENet("test") {
+            {
+                setWorldAndInit(world);
+            }
+        });
+        EnergyRoutes routes = new EnergyRoutes(BlockPos.ORIGIN);
+        // the same line of cables twice, one heated path by path and one by the solver
+        int[] cableAmperages = {64, 2, 2, 4, 1, 8};
+        Map<TileEntityCable, Integer> walkedHeat = new HashMap<>();
+        Map<TileEntityCable, Integer> solvedHeat = new HashMap<>();
+        TileEntityCable[] walkedCables = createHeatedCables(world, cableAmperages, walkedHeat);
+        TileEntityCable[] solvedCables = createHeatedCables(world, cableAmperages, solvedHeat);
+        // the length of the path and the amperage sent over it, in the order the energy is sent
+        int[][] flows = {{3, 2}, {6, 2}, {2, 2}, {5, 1}, {4, 8}, {6, 3}, {2, 1}, {6, 24}};
+
+        for (int tick = 1; tick <= 2; tick++) {
+            world.setTotalWorldTime(tick);
+            for (int[] flow : flows) {
+                long voltageTraveled = 128;
+                for (int i = 0; i < flow[0]; i++) {
+                    voltageTraveled -= walkedCables[i].getNodeData().getLossPerBlock();
+                    walkedCables[i].incrementAmperage(flow[1], voltageTraveled);
+                }
+                TileEntityCable[] path = Arrays.copyOf(solvedCables, flow[0]);
+                net.addFlow(routes, new RoutePath(BlockPos.ORIGIN, EnumFacing.UP, path, flow[0], flow[0]), flow[1], 128);
+            }
+            net.solveFlows();
+
+            for (int i = 0; i < cableAmperages.length; i++) {
+                int heat = walkedHeat.getOrDefault(walkedCables[i], 0);
+                assertEquals("heat of cable " + i, heat, (int) solvedHeat.getOrDefault(solvedCables[i], 0));
+                // without cooling in between, a cable melts once it was heated from 293 to 3000
+                assertEquals("burn of cable " + i, heat >= 3000 - 293, solvedHeat.getOrDefault(solvedCables[i], 0) >= 3000 - 293);
+            }
+        }
+        // the first cable is never overamped, the weakest cable burns and the last one only heats up
+        assertEquals(0, (int) solvedHeat.getOrDefault(solvedCables[0], 0));
+        assertTrue(solvedHeat.get(solvedCables[4]) >= 3000 - 293);
+        assertTrue(solvedHeat.get(solvedCables[5]) < 3000 - 293);
+    }
+
+    private static TileEntityCable[] createHeatedCables(World world, int[] amperages, Map<TileEntityCable, Integer> heat) {
+        TileEntityCable[] cables = new TileEntityCable[amperages.length];
+        for (int i = 0; i < amperages.length; i++) {
+            WireProperties properties = new WireProperties(128, amperages[i], 1);
+            cables[i] = new TileEntityCable() {
+                @Override
+                public WireProperties getNodeData() {
+                    return properties;
+                }
+
+                @Override
+                public void applyHeat(int amount) {
+                    heat.merge(this, amount, Integer::sum);
+                }
+            };
+            cables[i].setWorld(world);
+        }
+        return cables;
+    }
+
+    private static TestCable[] createCables(int amount, long loss) {
+        TestCable[] cables = new TestCable[amount];
+        for (int i = 0; i < amount; i++) {
+            cables[i] = new TestCable(loss);
+        }
+        return cables;
+    }
+
+    private void addFlow(Object tree, TestCable[] path, long amperage, long voltage) {
+        long loss = 0;
+        long voltageTraveled = voltage;
+        for (TestCable cable : path) {
+            loss += cable.loss;
+            voltageTraveled -= cable.loss;
+            long[] result = walked.computeIfAbsent(cable, k -> new long[3]);
+            result[0] += amperage;
+            result[1] = Math.max(result[1], voltageTraveled);
+            result[2] += voltageTraveled;
+        }
+        solver.addFlow(tree, path, loss, amperage, voltage);
+    }
+
+    private Map<TestCable, long[]> assertSolvedLikeWalked() {
+        Map<TestCable, long[]> solved = solve();
+        assertEquals(walked.keySet(), solved.keySet());
+        for (Map.Entry<TestCable, long[]> entry : walked.entrySet()) {
+            assertEquals(Arrays.toString(entry.getValue()), Arrays.toString(solved.get(entry.getKey())));
+        }
+        return solved;
+    }
+
+    private Map<TestCable, long[]> solve() {
+        Map<TestCable, long[]> solved = new HashMap<>();
+        solver.solve((cable, amperage, maxVoltage, voltageSum) -> {
+            solved.put(cable, new long[]{amperage, maxVoltage, voltageSum});
+            return false;
+        }, (cable, amperage) -> fail("no flow was asked for"));
+        return solved;
+    }
+
+    private static class TestCable {
+
+        private final long loss;
+
+        private TestCable(long loss) {
+            this.loss = loss;
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package gregtech.common.pipelike.cable.net;
+
+import gregtech.Bootstrap;
+import gregtech.api.capability.IEnergyContainer;
+import gregtech.api.unification.material.properties.WireProperties;
+import gregtech.api.util.world.DummyWorld;
+import gregtech.common.pipelike.cable.tile.TileEntityCable;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.common.capabilities.Capability;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Applies edits to an energy net like the game does, and checks after every edit that the incrementally updated
+ * routes equal the routes of a graph walked from scratch.
+ */
+public class EnergyNetTest {
+
+    private static final WireProperties WIRE_PROPERTIES = new WireProperties(32, 1, 1);
+
+    private final Long2ObjectOpenHashMap<TileEntity> tiles = new Long2ObjectOpenHashMap<>();
+    private final List<BlockPos> sources = new ArrayList<>();
+    private World world;
+    private WorldENet worldNet;
+
+    @BeforeClass
+    public static void bootstrap() {
+        Bootstrap.perform();
+    }
+
+    @Before
+    public void createNet() {
+        this.world = new DummyWorld() {
+            @Nullable
+            @Override
+            public TileEntity getTileEntity(@Nonnull BlockPos pos) {
+                return tiles.get(pos.toLong());
+            }
+        };
+        this.worldNet = new WorldENet("test") {
+            {
+                setWorldAndInit(world);
+            }
+        };
+        // a line of six cables with a handler at both ends
+        for (int x = 0; x < 6; x++) {
+            placeCable(pos(x, 0));
+        }
+        placeHandler(pos(-1, 0));
+        placeHandler(pos(6, 0));
+        sources.add(pos(0, 0));
+        sources.add(pos(3, 0));
+        assertRoutesMatchWalk();
+    }
+
+    @Test
+    public void leaf_cables_and_handlers_are_added() {
+        placeCable(pos(3, 1));
+        assertRoutesMatchWalk();
+        placeCable(pos(3, 2));
+        assertRoutesMatchWalk();
+        placeHandler(pos(3, 3));
+        assertRoutesMatchWalk();
+        placeHandler(pos(4, 1));
+        assertRoutesMatchWalk();
+    }
+
+    @Test
+    public void shortcut_link_replaces_longer_routes() {
+        // a detour from the first to the last cable, then closing it into a ring
+        placeCable(pos(0, 1));
+        placeCable(pos(0, 2));
+        for (int x = 1; x < 6; x++) {
+            placeCable(pos(x, 2));
+            assertRoutesMatchWalk();
+        }
+        placeHandler(pos(2, 3));
+        assertRoutesMatchWalk();
+        placeCable(pos(5, 1));
+        assertRoutesMatchWalk();
+
+        setLinked(pos(5, 1), EnumFacing.SOUTH, false);
+        assertRoutesMatchWalk();
+        setLinked(pos(5, 1), EnumFacing.SOUTH, true);
+        assertRoutesMatchWalk();
+    }
+
+    @Test
+    public void removed_cables_and_handlers_drop_their_routes() {
+        placeCable(pos(3, 1));
+        placeCable(pos(3, 2));
+        placeHandler(pos(3, 3));
+        assertRoutesMatchWalk();
+
+        // a leaf cable, then a cable routes pass through
+        breakCable(pos(3, 2));
+        assertRoutesMatchWalk();
+        placeCable(pos(3, 2));
+        assertRoutesMatchWalk();
+        breakCable(pos(3, 1));
+        assertRoutesMatchWalk();
+
+        removeHandler(pos(6, 0));
+        assertRoutesMatchWalk();
+        placeHandler(pos(6, 0));
+        assertRoutesMatchWalk();
+    }
+
+    @Test
+    public void unlinked_cable_splits_the_routes() {
+        setLinked(pos(2, 0), EnumFacing.EAST, false);
+        assertRoutesMatchWalk();
+        setLinked(pos(2, 0), EnumFacing.EAST, true);
+        assertRoutesMatchWalk();
+    }
+
+    @Test
+    public void reloaded_cables_replace_the_old_tile_entities() {
+        reloadCable(pos(2, 0));
+        assertRoutesMatchWalk();
+        reloadCable(pos(5, 0));
+        assertRoutesMatchWalk();
+    }
+
+    private void assertRoutesMatchWalk() {
+        for (BlockPos source : sources) {
+            if (!(world.getTileEntity(source) instanceof TileEntityCable)) {
+                continue;
+            }
+            EnergyNet net = worldNet.getNetFromPos(source);
+            List<RoutePath> routes = net.getNetData(source);
+            EnergyNetGraph graph = EnergyNetWalker.createNetGraph(world, source);
+            assertNotNull(graph);
+            List<RoutePath> expected = graph.createRoutes(source).getRoutes();
+            assertEquals("routes of " + source, describe(expected), describe(routes));
+            for (RoutePath route : routes) {
+                for (TileEntityCable cable : route.getPath()) {
+                    assertSame("cable of a route of " + source, world.getTileEntity(cable.getPipePos()), cable);
+                }
+            }
+        }
+    }
+
+    /**
+     * Routes of the same length may take different cables, so only their destinations and lengths are compared
+     */
+    private static List<String> describe(List<RoutePath> routes) {
+        List<String> descriptions = new ArrayList<>();
+        for (RoutePath route : routes) {
+            descriptions.add(route.getPipePos() + " " + route.getFaceToHandler() + " " + route.getDistance() + " " + route.getMaxLoss());
+        }
+        Collections.sort(descriptions);
+        return descriptions;
+    }
+
+    /**
+     * Places a cable connected to every cable and handler around it, like a placed cable connects to its neighbours
+     */
+    private void placeCable(BlockPos pos) {
+        TestCable cable = new TestCable(pos);
+        setTile(pos, cable);
+        for (EnumFacing facing : EnumFacing.VALUES) {
+            TileEntity neighbour = world.getTileEntity(pos.offset(facing));
+            if (neighbour instanceof TestCable) {
+                cable.setLinked(facing, true);
+                ((TestCable) neighbour).setLinked(facing.getOpposite(), true);
+                worldNet.updateBlockedConnections(pos.offset(facing), facing.getOpposite(), false);
+            } else if (neighbour != null) {
+                cable.setLinked(facing, true);
+            }
+        }
+        worldNet.addNode(pos, WIRE_PROPERTIES, 0, cable.connections, true);
+    }
+
+    /**
+     * Breaks a cable, its neighbours then close their connection to it
+     */
+    private void breakCable(BlockPos pos) {
+        setTile(pos, null);
+        worldNet.removeNode(pos);
+        for (EnumFacing facing : EnumFacing.VALUES) {
+            TileEntity neighbour = world.getTileEntity(pos.offset(facing));
+            if (neighbour instanceof TestCable) {
+                ((TestCable) neighbour).setLinked(facing.getOpposite(), false);
+                worldNet.updateBlockedConnections(pos.offset(facing), facing.getOpposite(), true);
+            }
+        }
+    }
+
+    private void reloadCable(BlockPos pos) {
+        TestCable oldCable = (TestCable) world.getTileEntity(pos);
+        TestCable cable = new TestCable(pos);
+        cable.connections = oldCable.connections;
+        setTile(pos, cable);
+        worldNet.getNetFromPos(pos).onCableLoaded(cable);
+    }
+
+    /**
+     * Opens or closes the connection between two cables on both sides
+     */
+    private void setLinked(BlockPos pos, EnumFacing facing, boolean linked) {
+        BlockPos neighbourPos = pos.offset(facing);
+        ((TestCable) world.getTileEntity(pos)).setLinked(facing, linked);
+        worldNet.updateBlockedConnections(pos, facing, !linked);
+        ((TestCable) world.getTileEntity(neighbourPos)).setLinked(facing.getOpposite(), linked);
+        worldNet.updateBlockedConnections(neighbourPos, facing.getOpposite(), !linked);
+    }
+
+    /**
+     * Places a handler, the cables around it connect to it
+     */
+    private void placeHandler(BlockPos pos) {
+        setTile(pos, new TileEntity() {
+            @Nullable
+            @Override
+            public <T> T getCapability(@Nonnull Capability<T> capability, @Nullable EnumFacing facing) {
+                // the capability is not injected in tests, so every capability is the energy container
+                return (T) IEnergyContainer.DEFAULT;
+            }
+        });
+        for (EnumFacing facing : EnumFacing.VALUES) {
+            TileEntity neighbour = world.getTileEntity(pos.offset(facing));
+            if (neighbour instanceof TestCable) {
+                ((TestCable) neighbour).setLinked(facing.getOpposite(), true);
+                worldNet.updateBlockedConnections(pos.offset(facing), facing.getOpposite(), false);
+            }
+        }
+    }
+
+    /**
+     * Removes a handler, the cables around it are only notified about the changed block
+     */
+    private void removeHandler(BlockPos pos) {
+        setTile(pos, null);
+        for (EnumFacing facing : EnumFacing.VALUES) {
+            EnergyNet net = worldNet.getNetFromPos(pos.offset(facing));
+            if (net != null) {
+                net.onNeighbourUpdate(pos);
+            }
+        }
+    }
+
+    private void setTile(BlockPos pos, @Nullable TileEntity tile) {
+        if (tile == null) {
+            tiles.remove(pos.toLong());
+        } else {
+            tile.setPos(pos);
+            tiles.put(pos.toLong(), tile);
+        }
+    }
+
+    private static BlockPos pos(int x, int z) {
+        return new BlockPos(x, 64, z);
+    }
+
+    private static class TestCable extends TileEntityCable {
+
+        private int connections;
+
+        private TestCable(BlockPos pos) {
+            setPos(pos);
+        }
+
+        private void setLinked(EnumFacing facing, boolean linked) {
+            this.connections = withSideConnection(connections, facing, linked);
+        }
+
+        @Override
+        public boolean isConnected(EnumFacing side) {
+            return (connections & 1 << side.getIndex()) != 0;
+        }
+
+        @Override
+        public int getConnections() {
+            return connections;
+        }
+
+        @Override
+        public boolean isFaceBlocked(EnumFacing side) {
+            return false;
+        }
+
+        @Override
+        public WireProperties getNodeData() {
+            return WIRE_PROPERTIES;
+        }
+    }
+}
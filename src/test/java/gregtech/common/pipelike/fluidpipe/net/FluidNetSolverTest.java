@@ -0,0 +1,298 @@
+package gregtech.common.pipelike.fluidpipe.net;
+
+import gregtech.Bootstrap;
+import gregtech.api.pipenet.block.BlockPipe;
+import gregtech.api.unification.material.Materials;
+import gregtech.api.unification.material.properties.FluidPipeProperties;
+import gregtech.api.util.world.DummyWorld;
+import gregtech.common.ConfigHolder;
+import gregtech.common.pipelike.fluidpipe.BlockFluidPipe;
+import gregtech.common.pipelike.fluidpipe.FluidPipeType;
+import gregtech.common.pipelike.fluidpipe.tile.TileEntityFluidPipe;
+import gregtech.common.pipelike.fluidpipe.tile.TileEntityFluidPipeTickable;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.CapabilityManager;
+import net.minecraftforge.fluids.FluidRegistry;
+import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.FluidTank;
+import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
+import net.minecraftforge.fluids.capability.IFluidHandler;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.Field;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Moves fluid through a line of pipes into a tank, once with every pipe pushing on its own like without net
+ * transport, and once with {@link FluidNetSolver}, and compares how much arrives and which pipes are damaged.
+ */
+public class FluidNetSolverTest {
+
+    private static final int CYCLES = 40;
+
+    private static BlockFluidPipe pipeBlock;
+
+    private final Long2ObjectOpenHashMap<TileEntity> tiles = new Long2ObjectOpenHashMap<>();
+    private final List<TestPipe> pipes = new ArrayList<>();
+    // the causes passed to destroyPipe for each pipe
+    private final Map<BlockPos, String> damagedPipes = new HashMap<>();
+    private World world;
+    private WorldFluidPipeNet worldNet;
+    private FluidTank tank;
+    private int supplied;
+
+    @BeforeClass
+    public static void bootstrap() throws ReflectiveOperationException {
+        Bootstrap.perform();
+        if (CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY == null) {
+            // capabilities are not injected in tests, but the pipes only hand out their tanks for this one
+            CapabilityFluidHandler.register();
+            Field providers = CapabilityManager.class.getDeclaredField("providers");
+            providers.setAccessible(true);
+            //noinspection unchecked
+            CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY = (Capability<IFluidHandler>) ((Map<String, Capability<?>>) providers.get(CapabilityManager.INSTANCE))
+                    .get(IFluidHandler.class.getName().intern());
+        }
+        pipeBlock = new BlockFluidPipe(FluidPipeType.NORMAL);
+    }
+
+    @After
+    public void disableNetTransport() {
+        ConfigHolder.machines.fluidPipeNetTransport = false;
+    }
+
+    @Test
+    public void throughput_is_limited_by_the_narrowest_pipe() {
+        FluidPipeProperties[] line = createLine(10, 10, 10, 5, 10, 10);
+        // a pipe sends half of its capacity per update, 50 L for the narrow one
+        int limit = 5 * 20 / 2;
+        FluidStack water = new FluidStack(FluidRegistry.WATER, 1);
+
+        int[] perPipe = runPipes(line, water);
+        int perPipeTotal = Arrays.stream(perPipe).sum();
+        assertTrue("per pipe transfer reaches the tank", perPipeTotal > 0);
+        assertTrue("per pipe transfer exceeds the narrowest pipe", perPipeTotal <= CYCLES * limit);
+        assertFluidKept("per pipe transfer");
+
+        int[] solved = runNet(line, water);
+        for (int cycle = 0; cycle < CYCLES; cycle++) {
+            assertEquals("net transport in update " + cycle, limit, solved[cycle]);
+        }
+        assertTrue("net transport moves less than the pipes", Arrays.stream(solved).sum() >= perPipeTotal);
+        assertFluidKept("net transport");
+        assertTrue(damagedPipes.isEmpty());
+    }
+
+    @Test
+    public void gas_leaks_from_the_same_pipes() {
+        // pipes which are not gas proof leak gases
+        FluidPipeProperties[] line = createLine(10, 10, 10, 10, 10, 10);
+        FluidStack hydrogen = Materials.Hydrogen.getFluid(1);
+
+        runPipes(line, hydrogen);
+        Map<BlockPos, String> perPipe = new HashMap<>(damagedPipes);
+        assertEquals(line.length, perPipe.size());
+        assertEquals("leaking", perPipe.get(pos(line.length - 1)));
+
+        runNet(line, hydrogen);
+        assertEquals(perPipe, damagedPipes);
+    }
+
+    @Test
+    public void hot_fluids_burn_the_same_pipes() {
+        // lava is hotter than the pipes can take
+        FluidPipeProperties[] line = createLine(10, 10, 10, 10, 10, 10);
+        FluidStack lava = new FluidStack(FluidRegistry.LAVA, 1);
+
+        runPipes(line, lava);
+        Map<BlockPos, String> perPipe = new HashMap<>(damagedPipes);
+        assertEquals(line.length, perPipe.size());
+        assertEquals("burning", perPipe.get(pos(line.length - 1)));
+
+        runNet(line, lava);
+        assertEquals(perPipe, damagedPipes);
+    }
+
+    /**
+     * Moves the fluid like the pipes do on their own, every pipe pushing once every {@link TileEntityFluidPipe#FREQUENCY} ticks
+     *
+     * @return the amount arriving in the tank in each cycle
+     */
+    private int[] runPipes(FluidPipeProperties[] line, FluidStack fluid) {
+        ConfigHolder.machines.fluidPipeNetTransport = false;
+        placeLine(line);
+        int[] arrived = new int[CYCLES];
+        for (int cycle = 0; cycle < CYCLES; cycle++) {
+            int before = tank.getFluidAmount();
+            supply(fluid);
+            for (int tick = 0; tick < TileEntityFluidPipe.FREQUENCY; tick++) {
+                for (TestPipe pipe : pipes) {
+                    pipe.update();
+                }
+            }
+            arrived[cycle] = tank.getFluidAmount() - before;
+        }
+        return arrived;
+    }
+
+    /**
+     * Moves the fluid with the net, which updates once every {@link TileEntityFluidPipe#FREQUENCY} ticks
+     *
+     * @return the amount arriving in the tank in each cycle
+     */
+    private int[] runNet(FluidPipeProperties[] line, FluidStack fluid) {
+        ConfigHolder.machines.fluidPipeNetTransport = true;
+        placeLine(line);
+        FluidPipeNet net = worldNet.getNetFromPos(pos(0));
+        assertNotNull(net);
+        int[] arrived = new int[CYCLES];
+        for (int cycle = 0; cycle < CYCLES; cycle++) {
+            int before = tank.getFluidAmount();
+            supply(fluid);
+            net.update();
+            arrived[cycle] = tank.getFluidAmount() - before;
+        }
+        return arrived;
+    }
+
+    /**
+     * Fills the first pipe from the west, like a machine pushing into it
+     */
+    private void supply(FluidStack fluid) {
+        FluidStack stack = fluid.copy();
+        stack.amount = pipes.get(0).getCapacityPerTank();
+        this.supplied += pipes.get(0).getTankList(EnumFacing.WEST).fill(stack, true);
+    }
+
+    private void assertFluidKept(String message) {
+        int stored = tank.getFluidAmount();
+        for (TestPipe pipe : pipes) {
+            for (FluidTank pipeTank : pipe.getFluidTanks()) {
+                stored += pipeTank.getFluidAmount();
+            }
+        }
+        assertEquals(message, supplied, stored);
+    }
+
+    private static FluidPipeProperties[] createLine(int... throughputs) {
+        FluidPipeProperties[] line = new FluidPipeProperties[throughputs.length];
+        for (int i = 0; i < throughputs.length; i++) {
+            line[i] = new FluidPipeProperties(1000, throughputs[i], false, false, true, false);
+        }
+        return line;
+    }
+
+    /**
+     * Places a line of pipes from west to east in a new world, the last pipe is connected to a tank
+     */
+    private void placeLine(FluidPipeProperties[] line) {
+        tiles.clear();
+        pipes.clear();
+        damagedPipes.clear();
+        this.supplied = 0;
+        this.world = new DummyWorld() {
+            @Nullable
+            @Override
+            public TileEntity getTileEntity(@Nonnull BlockPos pos) {
+                return tiles.get(pos.toLong());
+            }
+        };
+        this.worldNet = new WorldFluidPipeNet("test") {
+            {
+                setWorldAndInit(world);
+            }
+        };
+        for (int x = 0; x < line.length; x++) {
+            TestPipe pipe = new TestPipe(line[x]);
+            if (x > 0) {
+                pipe.connections |= 1 << EnumFacing.WEST.getIndex();
+            }
+            pipe.connections |= 1 << EnumFacing.EAST.getIndex();
+            setTile(pos(x), pipe);
+            pipes.add(pipe);
+            worldNet.addNode(pos(x), line[x], 0, pipe.connections, true);
+        }
+
+        FluidTank tank = new FluidTank(Integer.MAX_VALUE);
+        this.tank = tank;
+        setTile(pos(line.length), new TileEntity() {
+            @Nullable
+            @Override
+            public <T> T getCapability(@Nonnull Capability<T> capability, @Nullable EnumFacing facing) {
+                return capability == CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY ? CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY.cast(tank) : null;
+            }
+        });
+    }
+
+    private void setTile(BlockPos pos, TileEntity tile) {
+        // the net only moves fluid through loaded chunks
+        world.getChunk(pos);
+        tile.setWorld(world);
+        tile.setPos(pos);
+        tiles.put(pos.toLong(), tile);
+    }
+
+    private static BlockPos pos(int x) {
+        return new BlockPos(x, 64, 0);
+    }
+
+    private class TestPipe extends TileEntityFluidPipeTickable {
+
+        private final FluidPipeProperties properties;
+        private int connections;
+
+        private TestPipe(FluidPipeProperties properties) {
+            this.properties = properties;
+        }
+
+        @Override
+        public BlockPipe<FluidPipeType, FluidPipeProperties, ?> getPipeBlock() {
+            return pipeBlock;
+        }
+
+        @Override
+        public FluidPipeProperties getNodeData() {
+            return properties;
+        }
+
+        @Override
+        public boolean isConnected(EnumFacing side) {
+            return (connections & 1 << side.getIndex()) != 0;
+        }
+
+        @Override
+        public int getConnections() {
+            return connections;
+        }
+
+        @Override
+        public boolean isFaceBlocked(EnumFacing side) {
+            return false;
+        }
+
+        /**
+         * Only records the causes, the effects on the world are random
+         */
+        @Override
+        public void destroyPipe(FluidStack stack, boolean isBurning, boolean isLeaking, boolean isCorroding, boolean isShattering, boolean isMelting) {
+            StringJoiner causes = new StringJoiner(" ");
+            if (isBurning) causes.add("burning");
+            if (isLeaking) causes.add("leaking");
+            if (isCorroding) causes.add("corroding");
+            if (isShattering) causes.add("shattering");
+            if (isMelting) causes.add("melting");
+            damagedPipes.put(getPos(), causes.toString());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package gregtech.common.pipelike.itempipe.net;
+
+import gregtech.Bootstrap;
+import gregtech.api.unification.material.properties.ItemPipeProperties;
+import net.minecraft.init.Items;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.items.IItemHandler;
+import net.minecraftforge.items.ItemStackHandler;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class ItemRoutesTest {
+
+    private final ItemPipeNet.Inventory first = createInventory(0);
+    private final ItemPipeNet.Inventory second = createInventory(1);
+    private final ItemRoutes routes = new ItemRoutes(Arrays.asList(first, second));
+
+    @BeforeClass
+    public static void bootstrap() {
+        Bootstrap.perform();
+    }
+
+    @Test
+    public void rejected_destination_is_skipped_until_the_hint_expires() {
+        routes.reject(first, 100);
+
+        assertTrue(routes.isRejected(first, 100));
+        assertTrue(routes.isRejected(first, 100 + ItemRouteTable.HINT_TICKS - 1));
+        assertFalse(routes.isRejected(first, 100 + ItemRouteTable.HINT_TICKS));
+        assertFalse(routes.isRejected(second, 100));
+    }
+
+    @Test
+    public void destination_which_did_not_accept_anything_is_rejected() {
+        routes.onInserted(second, 8, 0, 50);
+
+        assertTrue(routes.isRejected(second, 51));
+        assertFalse(routes.isRejected(second, 50 + ItemRouteTable.HINT_TICKS));
+    }
+
+    @Test
+    public void destination_which_accepted_items_is_asked_again() {
+        routes.onInserted(first, 64, 10, 0);
+
+        assertFalse(routes.isRejected(first, 1));
+    }
+
+    @Test
+    public void destination_filled_up_between_simulations_is_asked_again() {
+        ItemStackHandler target = new ItemStackHandler(1);
+        ItemStack stack = new ItemStack(Items.IRON_INGOT, 16);
+
+        assertEquals(16, simulateInsertion(first, target, stack, 0));
+
+        // another source fills the target, without the pipe net noticing
+        target.insertItem(0, new ItemStack(Items.IRON_INGOT, 60), false);
+
+        assertEquals(4, simulateInsertion(first, target, stack, 1));
+        target.insertItem(0, new ItemStack(Items.IRON_INGOT, 4), false);
+        assertEquals(0, simulateInsertion(first, target, stack, 2));
+        assertTrue(routes.isRejected(first, 3));
+    }
+
+    @Test
+    public void unknown_destination_has_no_hints() {
+        ItemPipeNet.Inventory other = createInventory(2);
+        routes.reject(other, 0);
+        routes.onInserted(other, 8, 0, 0);
+
+        assertFalse(routes.isRejected(other, 0));
+    }
+
+    @Test
+    public void table_keeps_separate_routes_for_each_entry_side() {
+        ItemRouteTable table = new ItemRouteTable();
+        BlockPos pipe = new BlockPos(5, 0, 0);
+        ItemStack stack = new ItemStack(Items.IRON_INGOT);
+        // items entering from different sides may have different destinations
+        ItemRoutes fromWest = table.getRoutes(pipe, EnumFacing.WEST, stack, Arrays.asList(first, second), 0);
+        ItemRoutes fromEast = table.getRoutes(pipe, EnumFacing.EAST, stack, Arrays.asList(first, second), 0);
+        assertNotSame(fromWest, fromEast);
+        assertSame(fromWest, table.getRoutes(pipe, EnumFacing.WEST, stack, Arrays.asList(first, second), 1));
+
+        fromWest.reject(second, 1);
+        assertTrue(table.getRoutes(pipe, EnumFacing.WEST, stack, Arrays.asList(first, second), 2).isRejected(second, 2));
+        assertFalse(table.getRoutes(pipe, EnumFacing.EAST, stack, Arrays.asList(first, second), 2).isRejected(second, 2));
+    }
+
+    /**
+     * Simulates an insertion like {@link ItemNetHandler#insert}
+     *
+     * @return the amount the target accepts
+     */
+    private int simulateInsertion(ItemPipeNet.Inventory destination, IItemHandler target, ItemStack stack, long time) {
+        if (routes.isRejected(destination, time)) {
+            return 0;
+        }
+        int accepted = stack.getCount() - target.insertItem(0, stack, true).getCount();
+        routes.onInserted(destination, stack.getCount(), accepted, time);
+        return accepted;
+    }
+
+    private static ItemPipeNet.Inventory createInventory(int x) {
+        return new ItemPipeNet.Inventory(new BlockPos(x, 0, 0), EnumFacing.UP, x + 1, new ItemPipeProperties(), Collections.emptyList());
+    }
+}